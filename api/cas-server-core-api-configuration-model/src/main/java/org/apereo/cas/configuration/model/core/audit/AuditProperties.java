@@ -65,6 +65,13 @@ public class AuditProperties implements Serializable {
      */
     private boolean useServerHostAddress;
 
+    /**
+     * Control how audit records are queued and stored in batches,
+     * for audit destinations that store records asynchronously.
+     */
+    @NestedConfigurationProperty
+    private AuditQueueProperties queue = new AuditQueueProperties();
+
     /**
      * Family of sub-properties pertaining to Jdbc-based audit destinations.
      */
@@ -0,0 +1,58 @@
+package org.apereo.cas.configuration.model.core.audit;
+
+import org.apereo.cas.configuration.support.RequiresModule;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.io.Serializable;
+
+/**
+ * This is {@link AuditQueueProperties}. Controls how audit records
+ * are queued and flushed in batches when recorded asynchronously.
+ *
+ * @author Misagh Moayyed
+ * @since 6.1.0
+ */
+@RequiresModule(name = "cas-server-core-audit")
+@Getter
+@Setter
+public class AuditQueueProperties implements Serializable {
+
+    private static final long serialVersionUID = -2873937542950283493L;
+
+    /**
+     * Maximum number of audit records that may wait in the queue to be stored.
+     */
+    private int capacity = 10_000;
+
+    /**
+     * Maximum number of audit records that are stored together in a single batch.
+     */
+    private int batchSize = 100;
+
+    /**
+     * Maximum amount of time a queued audit record waits
+     * for its batch to fill up before the batch is stored.
+     */
+    private String flushInterval = "PT1S";
+
+    /**
+     * Decide what happens when the queue is full.
+     */
+    private OverflowPolicies overflowPolicy = OverflowPolicies.BLOCK;
+
+    /**
+     * Policies that decide what happens when the queue is full.
+     */
+    public enum OverflowPolicies {
+        /**
+         * The caller waits until there is room in the queue.
+         */
+        BLOCK,
+        /**
+         * The audit record is discarded.
+         */
+        DROP
+    }
+}
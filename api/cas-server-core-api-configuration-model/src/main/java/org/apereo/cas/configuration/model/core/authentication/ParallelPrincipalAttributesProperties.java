@@ -0,0 +1,60 @@
+package org.apereo.cas.configuration.model.core.authentication;
+
+import org.apereo.cas.configuration.support.RequiresModule;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.io.Serializable;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * This is {@link ParallelPrincipalAttributesProperties}.
+ * Controls whether attribute repository sources are queried concurrently,
+ * rather than one after another, when attributes are resolved for a principal.
+ *
+ * @author Misagh Moayyed
+ * @since 6.1.0
+ */
+@RequiresModule(name = "cas-server-support-person-directory", automated = true)
+@Getter
+@Setter
+public class ParallelPrincipalAttributesProperties implements Serializable {
+
+    private static final long serialVersionUID = 2318163795638468294L;
+
+    /**
+     * Query attribute repository sources concurrently.
+     */
+    private boolean enabled;
+
+    /**
+     * Number of threads used to query attribute repository sources.
+     */
+    private int poolSize = 20;
+
+    /**
+     * Maximum number of queries waiting for a thread. Once the queue is full,
+     * sources are queried by the thread that resolves the principal.
+     */
+    private int queueCapacity = 500;
+
+    /**
+     * Time allowed for each source to produce attributes, unless overridden for the type of source.
+     */
+    private String timeout = "PT5S";
+
+    /**
+     * Time allowed for each type of source to produce attributes, keyed by the type of source.
+     * Accepted keys are {@code ldap}, {@code jdbc}, {@code json}, {@code groovy}, {@code grouper},
+     * {@code rest}, {@code script} and {@code stub}.
+     */
+    private Map<String, String> sourceTimeouts = new LinkedHashMap<>();
+
+    /**
+     * Whether attributes produced by the remaining sources should be used when a source fails or times out.
+     * Otherwise, attribute resolution fails as a whole.
+     */
+    private boolean failOpen = true;
+}
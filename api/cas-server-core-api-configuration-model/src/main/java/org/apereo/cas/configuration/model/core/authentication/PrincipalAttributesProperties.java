@@ -133,4 +133,9 @@ public class PrincipalAttributesProperties implements Serializable {
      * </pre>
      */
     private GrouperPrincipalAttributesProperties grouper = new GrouperPrincipalAttributesProperties();
+
+    /**
+     * Query attribute repository sources concurrently, each with its own timeout.
+     */
+    private ParallelPrincipalAttributesProperties parallel = new ParallelPrincipalAttributesProperties();
 }
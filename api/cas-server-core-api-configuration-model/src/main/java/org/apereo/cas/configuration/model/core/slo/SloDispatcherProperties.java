@@ -0,0 +1,63 @@
+package org.apereo.cas.configuration.model.core.slo;
+
+import org.apereo.cas.configuration.support.RequiresModule;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.io.Serializable;
+
+/**
+ * This is {@link SloDispatcherProperties}.
+ * Controls how asynchronous back-channel logout messages are dispatched to applications.
+ *
+ * @author Misagh Moayyed
+ * @since 6.1.0
+ */
+@RequiresModule(name = "cas-server-core-logout", automated = true)
+@Getter
+@Setter
+public class SloDispatcherProperties implements Serializable {
+
+    private static final long serialVersionUID = -3107338395839447625L;
+
+    /**
+     * Number of threads that send logout messages.
+     */
+    private int poolSize = 10;
+
+    /**
+     * Maximum number of logout messages waiting to be sent. Once the queue is full,
+     * messages are tried again after the backoff, and are dropped if they cannot be
+     * queued before the timeout passes. The same limit applies to the number of
+     * messages waiting to be tried again; messages beyond it are dropped.
+     */
+    private int queueCapacity = 5000;
+
+    /**
+     * Maximum number of logout messages sent concurrently to the same host.
+     */
+    private int maxConcurrencyPerDestination = 5;
+
+    /**
+     * Maximum number of logout messages waiting for the same host while
+     * other messages are in flight to it. Messages beyond this limit are dropped.
+     */
+    private int maxWaitingPerDestination = 500;
+
+    /**
+     * Number of attempts made to deliver a logout message before it is considered failed.
+     */
+    private int maxAttempts = 3;
+
+    /**
+     * Initial delay before a failed delivery is retried. The delay doubles with every attempt.
+     */
+    private String backoff = "PT2S";
+
+    /**
+     * Time allowed for a logout message to be delivered, including retries,
+     * after which delivery is abandoned.
+     */
+    private String timeout = "PT1M";
+}
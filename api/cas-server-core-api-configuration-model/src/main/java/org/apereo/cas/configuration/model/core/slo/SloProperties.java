@@ -4,6 +4,7 @@ import org.apereo.cas.configuration.support.RequiresModule;
 
 import lombok.Getter;
 import lombok.Setter;
+import org.springframework.boot.context.properties.NestedConfigurationProperty;
 
 import java.io.Serializable;
 
@@ -30,4 +31,10 @@ public class SloProperties implements Serializable {
      * Whether SLO should be entirely disabled globally for the CAS deployment.
      */
     private boolean disabled;
+
+    /**
+     * Settings that control the dispatch of asynchronous back-channel logout messages.
+     */
+    @NestedConfigurationProperty
+    private SloDispatcherProperties dispatcher = new SloDispatcherProperties();
 }
@@ -119,6 +119,19 @@ public class TicketRegistryProperties implements Serializable {
     @NestedConfigurationProperty
     private ScheduledJobProperties cleaner = new ScheduledJobProperties("PT10S", "PT1M");
 
+    /**
+     * Ticket serialization settings for registries that store tickets as binary payloads.
+     */
+    @NestedConfigurationProperty
+    private TicketSerializationProperties serialization = new TicketSerializationProperties();
+
+    /**
+     * How often session and service ticket counts are requested from the registry
+     * to report them as metrics. Registries that do not keep track of their counts
+     * have to scan their tickets to report them.
+     */
+    private String metricsRefreshInterval = "PT1M";
+
     @RequiresModule(name = "cas-server-core-tickets", automated = true)
     @Getter
     @Setter
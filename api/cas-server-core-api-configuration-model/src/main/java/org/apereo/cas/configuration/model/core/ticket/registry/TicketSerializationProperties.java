@@ -0,0 +1,49 @@
+package org.apereo.cas.configuration.model.core.ticket.registry;
+
+import org.apereo.cas.configuration.support.RequiresModule;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.io.Serializable;
+
+/**
+ * This is {@link TicketSerializationProperties}.
+ *
+ * @author Misagh Moayyed
+ * @since 6.1.0
+ */
+@RequiresModule(name = "cas-server-core-tickets", automated = true)
+@Getter
+@Setter
+public class TicketSerializationProperties implements Serializable {
+
+    private static final long serialVersionUID = 5517346853720370452L;
+
+    /**
+     * Serialization strategy used by ticket registries that store tickets
+     * as binary payloads. Accepted values are {@code JDK} and {@code KRYO}.
+     * The Kryo strategy requires the {@code cas-server-support-kryo} module.
+     * Payloads produced by Java serialization can still be read when
+     * switching to Kryo, which allows for rolling upgrades.
+     */
+    private String type = "JDK";
+
+    /**
+     * If {@code true}, an exception is thrown when an unregistered class
+     * is encountered by the Kryo serializer.
+     */
+    private boolean kryoRegistrationRequired;
+
+    /**
+     * When true, references to the same object are tracked
+     * by the Kryo serializer, which supports cyclic graphs.
+     */
+    private boolean kryoObjectsByReference = true;
+
+    /**
+     * If {@code true}, Kryo reset is called automatically after an entire
+     * object graph has been read or written.
+     */
+    private boolean kryoAutoReset = true;
+}
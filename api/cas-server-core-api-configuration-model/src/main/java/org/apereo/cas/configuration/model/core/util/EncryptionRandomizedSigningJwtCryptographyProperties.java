@@ -38,6 +38,15 @@ public class EncryptionRandomizedSigningJwtCryptographyProperties implements Ser
 
     /**
      * The signing/encryption algorithm to use.
+     * Ticket registries also accept {@code AES-GCM}, which encrypts and authenticates
+     * tickets in a single pass and digests ticket ids using a keyed hash.
      */
     private String alg = "AES";
+
+    /**
+     * When ticket registries use the {@code AES-GCM} algorithm, continue to read tickets
+     * that were encrypted and signed by the default algorithm and keep digesting ticket ids
+     * using SHA-512, so that existing tickets remain available while they are migrated.
+     */
+    private boolean migration;
 }
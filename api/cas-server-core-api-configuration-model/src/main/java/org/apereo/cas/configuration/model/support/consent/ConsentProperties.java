@@ -76,6 +76,13 @@ public class ConsentProperties implements Serializable {
      */
     private CouchDb couchDb = new CouchDb();
 
+    /**
+     * How long consent decisions found for a principal and service
+     * may be cached before the repository is consulted again.
+     * A zero or negative duration turns off the cache.
+     */
+    private String cacheDuration = "PT1M";
+
     /**
      * Signing/encryption settings.
      */
@@ -104,6 +111,13 @@ public class ConsentProperties implements Serializable {
     public static class Json extends SpringResourceProperties {
 
         private static final long serialVersionUID = 7079027843747126083L;
+
+        /**
+         * Changes are appended to a journal next to the JSON resource.
+         * Once the journal holds this many entries, decisions are written
+         * back to the JSON resource and the journal is cleared.
+         */
+        private int journalCompactionThreshold = 1000;
     }
 
     @RequiresModule(name = "cas-server-consent-webflow")
@@ -32,4 +32,25 @@ public class MaxmindProperties extends BaseGeoLocationProperties {
      */
     @RequiredProperty
     private transient Resource countryDatabase;
+
+    /**
+     * Maximum number of geo location results to cache, keyed by ip address.
+     */
+    private long cacheMaximumSize = 10_000;
+
+    /**
+     * Duration for which geo location results are cached.
+     */
+    private String cacheTimeToLive = "PT1H";
+
+    /**
+     * Cache geo location results by the /24 prefix of IPv4 addresses rather than
+     * by the full address, trading precision for a higher hit rate.
+     */
+    private boolean cacheAddressPrefix;
+
+    /**
+     * Watch database files for changes and reload them without restarting CAS.
+     */
+    private boolean watchDatabases = true;
 }
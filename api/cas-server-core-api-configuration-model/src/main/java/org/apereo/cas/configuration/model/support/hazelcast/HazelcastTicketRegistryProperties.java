@@ -25,6 +25,22 @@ public class HazelcastTicketRegistryProperties extends BaseHazelcastProperties {
      */
     private long pageSize = 500;
 
+    /**
+     * Whether each member should keep a near cache of ticket-granting tickets.
+     * Cached entries are invalidated as soon as the ticket changes anywhere in the cluster.
+     */
+    private boolean nearCacheEnabled;
+
+    /**
+     * Maximum number of ticket-granting tickets kept in the near cache of each member.
+     */
+    private int nearCacheMaxSize = 10_000;
+
+    /**
+     * Number of seconds after which unused entries are removed from the near cache.
+     */
+    private int nearCacheMaxIdleSeconds = 300;
+
     /**
      * Crypto settings for the registry.
      */
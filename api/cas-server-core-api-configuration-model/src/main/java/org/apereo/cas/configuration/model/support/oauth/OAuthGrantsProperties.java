@@ -25,6 +25,11 @@ public class OAuthGrantsProperties implements Serializable {
      */
     private ResourceOwner resourceOwner = new ResourceOwner();
 
+    /**
+     * Client credentials grant settings.
+     */
+    private ClientCredentials clientCredentials = new ClientCredentials();
+
     @RequiresModule(name = "cas-server-support-oauth")
     @Getter
     @Setter
@@ -40,4 +45,19 @@ public class OAuthGrantsProperties implements Serializable {
          */
         private boolean requireServiceHeader;
     }
+
+    @RequiresModule(name = "cas-server-support-oauth")
+    @Getter
+    @Setter
+    public static class ClientCredentials implements Serializable {
+
+        private static final long serialVersionUID = -5493129374651290832L;
+
+        /**
+         * For services that reuse access tokens issued for the client credentials grant,
+         * the minimum lifetime a previously issued access token must have left
+         * in order to be handed out again, rather than issuing a new one.
+         */
+        private String reuseMinimumRemainingTimeToLive = "PT60S";
+    }
 }
@@ -135,6 +135,24 @@ public class Pac4jDelegatedAuthenticationProperties implements Serializable {
      */
     private String name;
 
+    /**
+     * Whether delegated clients should be initialized in the background once CAS starts,
+     * rather than on the first request that needs them.
+     */
+    private boolean initializeClientsEagerly = true;
+
+    /**
+     * Number of attempts made to initialize a delegated client in the background before giving up.
+     * Clients that could not be initialized eagerly are still initialized on first use.
+     */
+    private int clientInitializationMaxAttempts = 5;
+
+    /**
+     * Delay before retrying the initialization of a delegated client,
+     * doubled after every failed attempt.
+     */
+    private String clientInitializationRetryDelay = "PT10S";
+
     /**
      * Indicates settings related to tracking the delegation cookie.
      */
@@ -43,6 +43,19 @@ public class SamlIdPMetadataProperties implements Serializable {
      */
     private long cacheExpirationMinutes = TimeUnit.DAYS.toMinutes(1);
 
+    /**
+     * Fraction of the metadata cache lifetime after which metadata is reloaded
+     * in the background, while the previously loaded metadata continues to be served.
+     * A value of zero (or one and above) turns off background refreshes.
+     */
+    private double cacheRefreshAheadFactor = 0.75;
+
+    /**
+     * How long metadata that could not be refreshed in the background
+     * may continue to be served past its expiration.
+     */
+    private String cacheMaximumStaleness = "PT12H";
+
     /**
      * Directory location of SAML metadata and signing/encryption keys.
      * This directory will be used to hold the configuration files.
@@ -50,6 +63,11 @@ public class SamlIdPMetadataProperties implements Serializable {
     @RequiredProperty
     private transient Resource location = new FileSystemResource("/etc/cas/saml");
 
+    /**
+     * Metadata aggregates that are loaded once and shared by all services referencing them.
+     */
+    private List<SamlMetadataAggregateProperties> aggregates = new ArrayList<>();
+
     /**
      * Properties pertaining to mongo db saml metadata resolvers.
      */
@@ -0,0 +1,49 @@
+package org.apereo.cas.configuration.model.support.saml.idp.metadata;
+
+import org.apereo.cas.configuration.support.RequiredProperty;
+import org.apereo.cas.configuration.support.RequiresModule;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.io.Serializable;
+
+/**
+ * This is {@link SamlMetadataAggregateProperties}.
+ * Describes a metadata aggregate that is loaded once and shared
+ * by all services whose metadata location points to it.
+ *
+ * @author Misagh Moayyed
+ * @since 6.1.0
+ */
+@RequiresModule(name = "cas-server-support-saml-idp")
+@Getter
+@Setter
+public class SamlMetadataAggregateProperties implements Serializable {
+
+    private static final long serialVersionUID = 3359171632458305227L;
+
+    /**
+     * Location of the metadata aggregate, as a URL or a file path.
+     * Services whose metadata location matches this value share the aggregate.
+     */
+    @RequiredProperty
+    private String location;
+
+    /**
+     * Location of the certificate used to verify the signature of the aggregate.
+     */
+    private String signatureLocation;
+
+    /**
+     * How often the aggregate should be checked for changes.
+     * Unchanged aggregates, as reported by the server or the file system, are not parsed again.
+     */
+    private String refreshInterval = "PT1H";
+
+    /**
+     * Whether a compressed copy of the aggregate should be kept on disk,
+     * to be used when the aggregate cannot be fetched.
+     */
+    private boolean backupEnabled = true;
+}
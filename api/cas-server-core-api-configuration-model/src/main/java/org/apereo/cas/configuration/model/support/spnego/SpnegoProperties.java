@@ -74,6 +74,28 @@ public class SpnegoProperties implements Serializable {
      */
     private String dnsTimeout = "PT2S";
 
+    /**
+     * When validating clients, specifies how long host names resolved for an address are cached.
+     */
+    private String dnsCacheTimeToLive = "PT10M";
+
+    /**
+     * When validating clients, specifies how long addresses that could not be resolved
+     * to a host name are cached before they are looked up again.
+     */
+    private String dnsNegativeCacheTimeToLive = "PT1M";
+
+    /**
+     * When validating clients, the maximum number of addresses whose host names are cached.
+     */
+    private long dnsCacheMaximumSize = 10_000;
+
+    /**
+     * When validating clients, the number of threads that are allowed to run
+     * reverse DNS lookups at the same time.
+     */
+    private int dnsResolverPoolSize = 10;
+
     /**
      * A regex pattern that indicates whether the client host name is allowed for spnego.
      */
@@ -0,0 +1,81 @@
+package org.apereo.cas.ticket.registry;
+
+import org.apereo.cas.authentication.principal.Service;
+import org.apereo.cas.ticket.TicketGrantingTicket;
+import org.apereo.cas.ticket.TicketState;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+import lombok.val;
+
+import java.io.Serializable;
+import java.time.ZonedDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+
+/**
+ * This is {@link TicketGrantingTicketDelta} that describes how a ticket-granting ticket
+ * has changed as a result of granting tickets for services. It carries the services that
+ * were added to or removed from the ticket, along with its usage state, and never the
+ * authentication which stays the same for the lifetime of the ticket.
+ *
+ * @author Misagh Moayyed
+ * @since 6.1.0
+ */
+@Getter
+@Setter
+@ToString
+@NoArgsConstructor
+@AllArgsConstructor
+public class TicketGrantingTicketDelta implements Serializable {
+    private static final long serialVersionUID = 4437384539216427353L;
+
+    private HashMap<String, Service> addedServices = new HashMap<>();
+
+    private HashSet<String> removedServices = new HashSet<>();
+
+    private ZonedDateTime lastTimeUsed;
+
+    private ZonedDateTime previousTimeUsed;
+
+    private int countOfUses;
+
+    /**
+     * Build the delta of the ticket-granting ticket, given the ids of the services
+     * that were tracked by the ticket before it changed.
+     *
+     * @param ticket             the ticket-granting ticket
+     * @param previousServiceIds the ids of services previously tracked by the ticket
+     * @return the delta
+     */
+    public static TicketGrantingTicketDelta of(final TicketGrantingTicket ticket, final Collection<String> previousServiceIds) {
+        val services = ticket.getServices();
+        val added = new HashMap<String, Service>();
+        services.forEach((id, service) -> {
+            if (!previousServiceIds.contains(id)) {
+                added.put(id, service);
+            }
+        });
+        val removed = new HashSet<String>(previousServiceIds);
+        removed.removeAll(services.keySet());
+        if (ticket instanceof TicketState) {
+            val state = (TicketState) ticket;
+            return new TicketGrantingTicketDelta(added, removed, state.getLastTimeUsed(), state.getPreviousTimeUsed(), state.getCountOfUses());
+        }
+        return new TicketGrantingTicketDelta(added, removed, null, null, ticket.getCountOfUses());
+    }
+
+    /**
+     * Whether the delta only adds services to the ticket.
+     * Such deltas can be appended to what is already stored for the ticket.
+     *
+     * @return true/false
+     */
+    public boolean isAppendOnly() {
+        return this.removedServices.isEmpty();
+    }
+}
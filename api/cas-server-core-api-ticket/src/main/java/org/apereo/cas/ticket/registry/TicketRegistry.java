@@ -1,6 +1,8 @@
 package org.apereo.cas.ticket.registry;
 
 import org.apereo.cas.ticket.Ticket;
+import org.apereo.cas.ticket.TicketGrantingTicket;
+import org.apereo.cas.ticket.TicketState;
 
 import java.util.Collection;
 import java.util.function.Predicate;
@@ -53,6 +55,48 @@ public interface TicketRegistry {
      */
     Ticket getTicket(String ticketId, Predicate<Ticket> predicate);
 
+    /**
+     * Consume a ticket in a single step. The ticket is fetched and, if it is found,
+     * unexpired and accepted by the predicate, its usage is recorded. The ticket is then either
+     * written back or removed from the registry if this usage caused it to expire.
+     * Registries should override this operation to carry out these steps atomically,
+     * such that the same ticket cannot be consumed concurrently beyond its allowed number of uses.
+     *
+     * @param <T>       the generic ticket type to return that extends {@link Ticket}
+     * @param ticketId  the ticket id
+     * @param clazz     the expected class of the ticket
+     * @param predicate the predicate that must accept the ticket before it is consumed
+     * @return the consumed ticket, or null if the ticket cannot be found, has expired or is rejected by the predicate.
+     */
+    default <T extends Ticket> T consumeTicket(final String ticketId, final Class<T> clazz, final Predicate<T> predicate) {
+        final T ticket = getTicket(ticketId, clazz);
+        if (ticket == null || ticket.isExpired() || !predicate.test(ticket)) {
+            return null;
+        }
+        if (ticket instanceof TicketState) {
+            ((TicketState) ticket).update();
+        }
+        if (ticket.isExpired()) {
+            deleteTicket(ticket);
+        } else {
+            updateTicket(ticket);
+        }
+        return ticket;
+    }
+
+    /**
+     * Consume a ticket in a single step.
+     *
+     * @param <T>      the generic ticket type to return that extends {@link Ticket}
+     * @param ticketId the ticket id
+     * @param clazz    the expected class of the ticket
+     * @return the consumed ticket, or null if the ticket cannot be found or has expired.
+     * @see #consumeTicket(String, Class, Predicate)
+     */
+    default <T extends Ticket> T consumeTicket(final String ticketId, final Class<T> clazz) {
+        return consumeTicket(ticketId, clazz, ticket -> true);
+    }
+
     /**
      * Remove a specific ticket from the registry.
      * If ticket to delete is TGT then related service tickets are removed as well.
@@ -98,6 +142,20 @@ public interface TicketRegistry {
         return getTicketsStream().filter(predicate);
     }
 
+    /**
+     * Gets the tickets that have expired and are due for cleanup.
+     * Registries that keep track of ticket expiration times should override this
+     * operation to only look at tickets that are due to expire, rather than all tickets.
+     *
+     * The returning stream may be bound to an IO channel (such as database connection),
+     * so it should be properly closed after usage.
+     *
+     * @return the expired tickets
+     */
+    default Stream<? extends Ticket> getExpiredTickets() {
+        return getTicketsStream().filter(Ticket::isExpired);
+    }
+
     /**
      * Update the received ticket.
      *
@@ -106,6 +164,20 @@ public interface TicketRegistry {
      */
     Ticket updateTicket(Ticket ticket);
 
+    /**
+     * Update the ticket-granting ticket after it has granted a ticket for a service.
+     * Registries that keep the services and usage state of a ticket-granting ticket
+     * apart from its authentication may only record the given changes, rather than
+     * writing the whole ticket again. By default, the ticket is updated as a whole.
+     *
+     * @param ticket the ticket-granting ticket
+     * @param delta  the changes made to the ticket
+     * @return the updated ticket
+     */
+    default Ticket updateTicketGrantingTicket(final TicketGrantingTicket ticket, final TicketGrantingTicketDelta delta) {
+        return updateTicket(ticket);
+    }
+
     /**
      * Computes the number of SSO sessions stored in the ticket registry.
      *
@@ -120,6 +192,35 @@ public interface TicketRegistry {
      */
     long serviceTicketCount();
 
+    /**
+     * Gets the unexpired ticket-granting tickets (i.e. SSO sessions) that are owned by the given principal.
+     * Principal ids are compared without regard to case. Registries that maintain a principal index
+     * should override this operation to avoid scanning the entire registry.
+     *
+     * The returning stream may be bound to an IO channel (such as database connection),
+     * so it should be properly closed after usage.
+     *
+     * @param principalId the principal id
+     * @return the ticket-granting tickets that belong to the principal
+     */
+    default Stream<? extends TicketGrantingTicket> getSessionsFor(final String principalId) {
+        return getTickets(ticket -> ticket instanceof TicketGrantingTicket && !ticket.isExpired()
+            && ((TicketGrantingTicket) ticket).getAuthentication().getPrincipal().getId().equalsIgnoreCase(principalId))
+            .map(TicketGrantingTicket.class::cast);
+    }
+
+    /**
+     * Counts the number of unexpired SSO sessions owned by the given principal.
+     *
+     * @param principalId the principal id
+     * @return the number of sessions that belong to the principal
+     */
+    default long countSessionsFor(final String principalId) {
+        try (Stream<? extends TicketGrantingTicket> sessions = getSessionsFor(principalId)) {
+            return sessions.count();
+        }
+    }
+
     /**
      * Gets tickets stream.
      *
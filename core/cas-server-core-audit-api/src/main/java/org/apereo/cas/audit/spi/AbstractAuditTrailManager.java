@@ -1,18 +1,35 @@
 package org.apereo.cas.audit.spi;
 
-import lombok.AllArgsConstructor;
+import org.apereo.cas.configuration.model.core.audit.AuditQueueProperties;
+import org.apereo.cas.configuration.support.Beans;
+
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.apache.commons.lang3.concurrent.BasicThreadFactory;
 import org.apereo.inspektr.audit.AuditActionContext;
 import org.apereo.inspektr.audit.AuditTrailManager;
+import org.springframework.beans.factory.DisposableBean;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 
 /**
  * This is {@link AbstractAuditTrailManager}.
+ * Audit records that are saved asynchronously are placed onto a bounded queue, and are stored in batches
+ * once the batch is full or the flush interval has passed, whichever comes first.
  *
  * @author Misagh Moayyed
  * @since 5.2.0
@@ -21,22 +38,72 @@ import java.util.concurrent.Executors;
 @Setter
 @Getter
 @NoArgsConstructor
-@AllArgsConstructor
-public abstract class AbstractAuditTrailManager implements AuditTrailManager {
+public abstract class AbstractAuditTrailManager implements AuditTrailManager, DisposableBean {
+    private static final long SHUTDOWN_TIMEOUT_SECONDS = 30;
 
     /**
      * Save records asynchronously.
      */
     protected boolean asynchronous;
 
-    private final ExecutorService executorService = Executors.newSingleThreadExecutor();
+    /**
+     * Settings that control the queue of asynchronously saved records.
+     */
+    private AuditQueueProperties queue = new AuditQueueProperties();
+
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private volatile BlockingQueue<AuditActionContext> auditRecordsQueue;
+
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private ExecutorService executorService;
+
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private final Object auditRecordsQueueLock = new Object();
+
+    public AbstractAuditTrailManager(final boolean asynchronous) {
+        this.asynchronous = asynchronous;
+    }
 
     @Override
     public void record(final AuditActionContext audit) {
-        if (this.asynchronous) {
-            this.executorService.execute(() -> saveAuditRecord(audit));
-        } else {
+        if (!this.asynchronous) {
             saveAuditRecord(audit);
+            return;
+        }
+        val records = getOrCreateAuditRecordsQueue();
+        if (queue.getOverflowPolicy() == AuditQueueProperties.OverflowPolicies.DROP) {
+            if (!records.offer(audit)) {
+                LOGGER.debug("Audit queue is full; audit record [{}] is dropped", audit);
+                Metrics.counter("cas.audit.queue.dropped", getMetricTags()).increment();
+            }
+            return;
+        }
+        try {
+            records.put(audit);
+        } catch (final InterruptedException e) {
+            LOGGER.warn("Interrupted while waiting to queue audit record [{}]", audit);
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Stop accepting queued records, and wait for the records that remain
+     * in the queue to be stored.
+     *
+     * @throws InterruptedException the interrupted exception
+     */
+    @Override
+    public void destroy() throws InterruptedException {
+        synchronized (this.auditRecordsQueueLock) {
+            if (this.executorService != null) {
+                this.executorService.shutdownNow();
+                if (!this.executorService.awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                    LOGGER.warn("Timed out waiting for queued audit records to be stored");
+                }
+            }
         }
     }
 
@@ -45,4 +112,92 @@ public abstract class AbstractAuditTrailManager implements AuditTrailManager {
      * @param audit Audit record to be saved.
      */
     protected abstract void saveAuditRecord(AuditActionContext audit);
+
+    /**
+     * Save a batch of audit records. Implementations that are able to store
+     * multiple records at once should override this method.
+     *
+     * @param audits audit records to be saved.
+     */
+    protected void saveAuditRecords(final Collection<AuditActionContext> audits) {
+        audits.forEach(this::saveAuditRecord);
+    }
+
+    private BlockingQueue<AuditActionContext> getOrCreateAuditRecordsQueue() {
+        var records = this.auditRecordsQueue;
+        if (records == null) {
+            synchronized (this.auditRecordsQueueLock) {
+                records = this.auditRecordsQueue;
+                if (records == null) {
+                    records = new ArrayBlockingQueue<>(Math.max(1, queue.getCapacity()));
+                    Metrics.gauge("cas.audit.queue.size", getMetricTags(), records, BlockingQueue::size);
+                    this.executorService = Executors.newSingleThreadExecutor(new BasicThreadFactory.Builder()
+                        .namingPattern(getClass().getSimpleName() + "-%d")
+                        .daemon(true)
+                        .build());
+                    val queued = records;
+                    this.executorService.execute(() -> flushAuditRecords(queued));
+                    this.auditRecordsQueue = records;
+                }
+            }
+        }
+        return records;
+    }
+
+    private void flushAuditRecords(final BlockingQueue<AuditActionContext> records) {
+        val batchSize = Math.max(1, queue.getBatchSize());
+        val flushInterval = Beans.newDuration(queue.getFlushInterval()).toNanos();
+        val batch = new ArrayList<AuditActionContext>(batchSize);
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                val first = records.take();
+                batch.add(first);
+                val deadline = System.nanoTime() + flushInterval;
+                while (batch.size() < batchSize) {
+                    records.drainTo(batch, batchSize - batch.size());
+                    val remaining = deadline - System.nanoTime();
+                    if (batch.size() >= batchSize || remaining <= 0) {
+                        break;
+                    }
+                    val next = records.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+                flushBatch(batch);
+            }
+        } catch (final InterruptedException e) {
+            LOGGER.trace("Audit queue is shutting down");
+        }
+        /*
+         * The queue is only interrupted when shutting down; clear the interrupt
+         * so the records that remain in the queue can still be stored.
+         */
+        Thread.interrupted();
+        flushBatch(batch);
+        while (records.drainTo(batch, batchSize) > 0) {
+            flushBatch(batch);
+        }
+    }
+
+    private void flushBatch(final List<AuditActionContext> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        val sample = Timer.start(Metrics.globalRegistry);
+        try {
+            LOGGER.trace("Saving batch of [{}] audit records", batch.size());
+            saveAuditRecords(new ArrayList<>(batch));
+        } catch (final Exception e) {
+            LOGGER.error("Unable to save batch of [{}] audit records: [{}]", batch.size(), e.getMessage(), e);
+        } finally {
+            sample.stop(Metrics.timer("cas.audit.queue.flush", getMetricTags()));
+            batch.clear();
+        }
+    }
+
+    private Tags getMetricTags() {
+        return Tags.of("manager", getClass().getSimpleName());
+    }
 }
@@ -0,0 +1,121 @@
+package org.apereo.cas.audit.spi;
+
+import org.apereo.cas.configuration.model.core.audit.AuditQueueProperties;
+
+import lombok.Getter;
+import lombok.SneakyThrows;
+import lombok.val;
+import org.apereo.inspektr.audit.AuditActionContext;
+import org.junit.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+/**
+ * This is {@link AbstractAuditTrailManagerTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 6.1.0
+ */
+public class AbstractAuditTrailManagerTests {
+
+    private static AuditActionContext getAuditActionContext() {
+        return new AuditActionContext("casuser", "TEST", "TEST",
+            "CAS", new Date(), "1.2.3.4",
+            "1.2.3.4");
+    }
+
+    @Test
+    public void verifySynchronousRecord() {
+        val manager = new InMemoryAuditTrailManager(false);
+        manager.record(getAuditActionContext());
+        assertEquals(1, manager.getBatches().size());
+    }
+
+    @Test
+    public void verifyRecordsAreSavedInBatches() throws Exception {
+        val manager = new InMemoryAuditTrailManager(true);
+        manager.getQueue().setBatchSize(5);
+        manager.getQueue().setFlushInterval("PT30S");
+        for (var i = 0; i < 7; i++) {
+            manager.record(getAuditActionContext());
+        }
+        assertTrue(manager.getStarted().await(5, TimeUnit.SECONDS));
+        manager.getRelease().countDown();
+        manager.destroy();
+        assertEquals(2, manager.getBatches().size());
+        assertEquals(5, manager.getBatches().get(0).size());
+        assertEquals(2, manager.getBatches().get(1).size());
+    }
+
+    @Test
+    public void verifyQueuedRecordsAreSavedOnDestroy() throws Exception {
+        val manager = new InMemoryAuditTrailManager(true);
+        manager.getQueue().setBatchSize(2);
+        manager.getQueue().setFlushInterval("PT30S");
+        manager.getRelease().countDown();
+        for (var i = 0; i < 6; i++) {
+            manager.record(getAuditActionContext());
+        }
+        manager.destroy();
+        assertEquals(6, manager.getBatches().stream().mapToInt(List::size).sum());
+        assertTrue(manager.getBatches().stream().allMatch(batch -> batch.size() <= 2));
+    }
+
+    @Test
+    public void verifyRecordsAreDroppedWhenQueueIsFull() throws Exception {
+        val manager = new InMemoryAuditTrailManager(true);
+        manager.getQueue().setCapacity(1);
+        manager.getQueue().setBatchSize(1);
+        manager.getQueue().setOverflowPolicy(AuditQueueProperties.OverflowPolicies.DROP);
+
+        manager.record(getAuditActionContext());
+        assertTrue(manager.getStarted().await(5, TimeUnit.SECONDS));
+        for (var i = 0; i < 100; i++) {
+            manager.record(getAuditActionContext());
+        }
+        manager.getRelease().countDown();
+        manager.destroy();
+        assertEquals(2, manager.getBatches().size());
+    }
+
+    @Getter
+    private static class InMemoryAuditTrailManager extends AbstractAuditTrailManager {
+        private final List<List<AuditActionContext>> batches = new CopyOnWriteArrayList<>();
+
+        private final CountDownLatch started = new CountDownLatch(1);
+
+        private final CountDownLatch release = new CountDownLatch(1);
+
+        InMemoryAuditTrailManager(final boolean asynchronous) {
+            super(asynchronous);
+        }
+
+        @Override
+        protected void saveAuditRecord(final AuditActionContext audit) {
+            batches.add(List.of(audit));
+        }
+
+        @Override
+        @SneakyThrows
+        protected void saveAuditRecords(final Collection<AuditActionContext> audits) {
+            started.countDown();
+            release.await();
+            batches.add(new ArrayList<>(audits));
+        }
+
+        @Override
+        public Set<? extends AuditActionContext> getAuditRecordsSince(final LocalDate localDate) {
+            return Set.of();
+        }
+    }
+}
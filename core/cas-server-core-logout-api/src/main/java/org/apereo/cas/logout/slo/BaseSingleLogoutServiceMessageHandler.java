@@ -13,6 +13,7 @@ import org.apereo.cas.util.http.HttpClient;
 
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
+import lombok.Setter;
 import lombok.SneakyThrows;
 import lombok.extern.slf4j.Slf4j;
 import lombok.val;
@@ -40,6 +41,13 @@ public abstract class BaseSingleLogoutServiceMessageHandler implements SingleLog
     private final boolean asynchronous;
     private final AuthenticationServiceSelectionPlan authenticationRequestServiceSelectionStrategies;
 
+    /**
+     * Dispatcher for asynchronous logout messages. If undefined, asynchronous
+     * messages are handed over to the http client without tracking their delivery.
+     */
+    @Setter
+    private SingleLogoutMessageDispatcher singleLogoutMessageDispatcher;
+
     @Override
     public Collection<SingleLogoutRequest> handle(final WebApplicationService singleLogoutService, final String ticketId,
                                                   final TicketGrantingTicket ticketGrantingTicket) {
@@ -176,6 +184,12 @@ public abstract class BaseSingleLogoutServiceMessageHandler implements SingleLog
         val logoutService = request.getService();
         LOGGER.trace("Preparing logout request for [{}] to [{}]", logoutService.getId(), request.getLogoutUrl());
         val msg = getLogoutHttpMessageToSend(request, logoutMessage);
+        if (isDispatched()) {
+            LOGGER.debug("Prepared logout message to send is [{}]. Dispatching...", msg);
+            this.singleLogoutMessageDispatcher.dispatch(request, () -> sendMessageToEndpoint(msg, request, logoutMessage));
+            logoutService.setLoggedOutAlready(true);
+            return true;
+        }
         LOGGER.debug("Prepared logout message to send is [{}]. Sending...", msg);
         val result = sendMessageToEndpoint(msg, request, logoutMessage);
         logoutService.setLoggedOutAlready(result);
@@ -202,7 +216,16 @@ public abstract class BaseSingleLogoutServiceMessageHandler implements SingleLog
      * @return the logout http message to send
      */
     protected LogoutHttpMessage getLogoutHttpMessageToSend(final SingleLogoutRequest request, final SingleLogoutMessage logoutMessage) {
-        return new LogoutHttpMessage(request.getLogoutUrl(), logoutMessage.getPayload(), this.asynchronous);
+        return new LogoutHttpMessage(request.getLogoutUrl(), logoutMessage.getPayload(), this.asynchronous && !isDispatched());
+    }
+
+    /**
+     * Whether logout messages are handed over to the dispatcher, which sends them synchronously on its own threads.
+     *
+     * @return true/false
+     */
+    protected boolean isDispatched() {
+        return this.asynchronous && this.singleLogoutMessageDispatcher != null;
     }
 
     @Override
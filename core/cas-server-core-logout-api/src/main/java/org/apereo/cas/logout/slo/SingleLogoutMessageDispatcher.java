@@ -0,0 +1,293 @@
+package org.apereo.cas.logout.slo;
+
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.Setter;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.apache.commons.lang3.concurrent.BasicThreadFactory;
+import org.springframework.beans.factory.DisposableBean;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * This is {@link SingleLogoutMessageDispatcher} that sends back-channel logout messages
+ * on a dedicated, bounded thread pool. The number of messages sent concurrently to the same
+ * host is limited and messages beyond that limit wait in line for the host, failed deliveries
+ * are retried with an exponential backoff, and messages that cannot be queued because the
+ * queue is full are tried again after the backoff until their timeout passes.
+ * Messages are only ever sent by threads of the pool. The number of messages waiting for a host
+ * and the number of messages waiting to be retried are both bounded; messages beyond those bounds,
+ * or whose timeout has passed, are dropped and counted.
+ *
+ * @author Misagh Moayyed
+ * @since 6.1.0
+ */
+@Slf4j
+public class SingleLogoutMessageDispatcher implements DisposableBean {
+    private static final String METRIC_NAME_PREFIX = "cas.slo.dispatch.";
+
+    private final Map<String, Destination> destinations = new ConcurrentHashMap<>();
+
+    private final ThreadPoolExecutor executor;
+
+    private final ScheduledExecutorService scheduler;
+
+    private final int maxConcurrencyPerDestination;
+
+    private final int maxWaitingPerDestination;
+
+    private final int maxScheduled;
+
+    private final AtomicInteger scheduled = new AtomicInteger();
+
+    private final int maxAttempts;
+
+    private final Duration backoff;
+
+    private final Duration timeout;
+
+    public SingleLogoutMessageDispatcher(final int poolSize, final int queueCapacity,
+                                         final int maxConcurrencyPerDestination, final int maxWaitingPerDestination,
+                                         final int maxAttempts, final Duration backoff, final Duration timeout) {
+        val queue = new ArrayBlockingQueue<Runnable>(Math.max(1, queueCapacity));
+        val threads = Math.max(1, poolSize);
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS, queue,
+            new BasicThreadFactory.Builder().namingPattern("slo-dispatch-%d").daemon(true).build(),
+            new ThreadPoolExecutor.AbortPolicy());
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(
+            new BasicThreadFactory.Builder().namingPattern("slo-dispatch-retry-%d").daemon(true).build());
+        this.maxConcurrencyPerDestination = Math.max(1, maxConcurrencyPerDestination);
+        this.maxWaitingPerDestination = Math.max(0, maxWaitingPerDestination);
+        this.maxScheduled = Math.max(1, queueCapacity);
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.backoff = backoff;
+        this.timeout = timeout;
+        Metrics.gauge(METRIC_NAME_PREFIX + "queue", queue, BlockingQueue::size);
+        Metrics.gauge(METRIC_NAME_PREFIX + "scheduled", this.scheduled, AtomicInteger::get);
+    }
+
+    /**
+     * Dispatch the logout message produced by the sender.
+     * The sender is expected to deliver the message synchronously and report the outcome.
+     *
+     * @param request the logout request
+     * @param sender  the sender
+     * @return the outcome of the delivery, once all attempts are made
+     */
+    public CompletableFuture<Boolean> dispatch(final SingleLogoutRequest request, final Supplier<Boolean> sender) {
+        val delivery = new Delivery(request, sender, System.nanoTime() + timeout.toNanos());
+        submit(delivery);
+        return delivery.getResult();
+    }
+
+    @Override
+    public void destroy() {
+        this.scheduler.shutdownNow();
+        this.executor.shutdown();
+    }
+
+    private void submit(final Delivery delivery) {
+        if (this.executor.isShutdown()) {
+            LOGGER.warn("Logout message dispatcher is shut down; logout message to [{}] is not sent", delivery.getRequest().getLogoutUrl());
+            delivery.getResult().complete(Boolean.FALSE);
+            return;
+        }
+        try {
+            this.executor.execute(() -> attempt(delivery));
+        } catch (final RejectedExecutionException e) {
+            val request = delivery.getRequest();
+            Metrics.counter(METRIC_NAME_PREFIX + "rejected", Tags.of("service", getServiceName(request))).increment();
+            LOGGER.debug("Logout message queue is full; delivery to [{}] is delayed by [{}]", request.getLogoutUrl(), backoff);
+            schedule(delivery, backoff.toMillis());
+        }
+    }
+
+    /**
+     * Try the delivery again after the delay, unless the delay runs past its timeout
+     * or too many deliveries are already waiting to be tried again.
+     */
+    private void schedule(final Delivery delivery, final long delayMillis) {
+        if (this.scheduler.isShutdown()) {
+            delivery.getResult().complete(Boolean.FALSE);
+            return;
+        }
+        if (delivery.getDeadline() - System.nanoTime() - TimeUnit.MILLISECONDS.toNanos(delayMillis) < 0) {
+            drop(delivery, "timeout");
+            return;
+        }
+        if (this.scheduled.incrementAndGet() > maxScheduled) {
+            this.scheduled.decrementAndGet();
+            drop(delivery, "overflow");
+            return;
+        }
+        try {
+            this.scheduler.schedule(() -> {
+                this.scheduled.decrementAndGet();
+                submit(delivery);
+            }, delayMillis, TimeUnit.MILLISECONDS);
+        } catch (final RejectedExecutionException e) {
+            this.scheduled.decrementAndGet();
+            delivery.getResult().complete(Boolean.FALSE);
+        }
+    }
+
+    private void attempt(final Delivery delivery) {
+        val request = delivery.getRequest();
+        val tags = Tags.of("service", getServiceName(request));
+        if (isExpired(delivery)) {
+            drop(delivery, "timeout");
+            return;
+        }
+        val destination = getDestination(request);
+        val slot = acquire(destination, delivery);
+        if (slot == Slot.FULL) {
+            drop(delivery, "overflow");
+            return;
+        }
+        if (slot == Slot.WAITING) {
+            LOGGER.trace("Too many logout messages are in flight to [{}]; delivery waits for the destination", request.getLogoutUrl());
+            return;
+        }
+        val attempt = delivery.nextAttempt();
+        val sample = Timer.start(Metrics.globalRegistry);
+        var delivered = false;
+        try {
+            delivered = Boolean.TRUE.equals(delivery.getSender().get());
+        } catch (final Exception e) {
+            LOGGER.debug("Unable to send logout message to [{}]", request.getLogoutUrl(), e);
+        } finally {
+            release(destination);
+            sample.stop(Metrics.timer(METRIC_NAME_PREFIX + "latency", tags));
+        }
+        if (delivered) {
+            Metrics.counter(METRIC_NAME_PREFIX + "success", tags).increment();
+            delivery.getResult().complete(Boolean.TRUE);
+            return;
+        }
+        if (attempt >= maxAttempts) {
+            LOGGER.warn("Logout message to [{}] could not be delivered after [{}] attempts", request.getLogoutUrl(), attempt);
+            Metrics.counter(METRIC_NAME_PREFIX + "failure", tags).increment();
+            delivery.getResult().complete(Boolean.FALSE);
+            return;
+        }
+        val delay = backoff.toMillis() << (attempt - 1);
+        LOGGER.debug("Logout message to [{}] is not delivered; retrying in [{}] ms", request.getLogoutUrl(), delay);
+        Metrics.counter(METRIC_NAME_PREFIX + "retry", tags).increment();
+        schedule(delivery, delay);
+    }
+
+    /**
+     * Take a slot for the destination, or put the delivery in line for the destination if all slots are taken
+     * and the line is not full. Destinations are tracked only while messages are in flight to them or are waiting.
+     */
+    private Slot acquire(final String destination, final Delivery delivery) {
+        val slot = new AtomicReference<Slot>();
+        this.destinations.compute(destination, (key, current) -> {
+            val state = current != null ? current : new Destination();
+            if (state.getInFlight() < maxConcurrencyPerDestination) {
+                state.setInFlight(state.getInFlight() + 1);
+                slot.set(Slot.ACQUIRED);
+            } else if (state.getWaiting().size() < maxWaitingPerDestination) {
+                state.getWaiting().add(delivery);
+                slot.set(Slot.WAITING);
+            } else {
+                slot.set(Slot.FULL);
+            }
+            return state.getInFlight() <= 0 && state.getWaiting().isEmpty() ? null : state;
+        });
+        return slot.get();
+    }
+
+    /**
+     * Give back the slot for the destination, and hand it to the next delivery in line, if any.
+     * Deliveries in line whose timeout has passed are dropped along the way.
+     */
+    private void release(final String destination) {
+        val next = new AtomicReference<Delivery>();
+        val expired = new ArrayList<Delivery>();
+        this.destinations.computeIfPresent(destination, (key, state) -> {
+            state.setInFlight(state.getInFlight() - 1);
+            var delivery = state.getWaiting().poll();
+            while (delivery != null && isExpired(delivery)) {
+                expired.add(delivery);
+                delivery = state.getWaiting().poll();
+            }
+            next.set(delivery);
+            return state.getInFlight() <= 0 && state.getWaiting().isEmpty() ? null : state;
+        });
+        expired.forEach(delivery -> drop(delivery, "timeout"));
+        if (next.get() != null) {
+            submit(next.get());
+        }
+    }
+
+    private static boolean isExpired(final Delivery delivery) {
+        return System.nanoTime() - delivery.getDeadline() > 0;
+    }
+
+    private void drop(final Delivery delivery, final String reason) {
+        val request = delivery.getRequest();
+        if ("timeout".equals(reason)) {
+            LOGGER.warn("Logout message to [{}] could not be delivered within [{}] and is dropped", request.getLogoutUrl(), timeout);
+        } else {
+            LOGGER.warn("Too many logout messages are waiting to be sent; logout message to [{}] is dropped", request.getLogoutUrl());
+        }
+        Metrics.counter(METRIC_NAME_PREFIX + "dropped", Tags.of("service", getServiceName(request), "reason", reason)).increment();
+        delivery.getResult().complete(Boolean.FALSE);
+    }
+
+    private static String getDestination(final SingleLogoutRequest request) {
+        val url = request.getLogoutUrl();
+        return url.getHost() + ':' + url.getPort();
+    }
+
+    private static String getServiceName(final SingleLogoutRequest request) {
+        val registeredService = request.getRegisteredService();
+        return registeredService != null ? registeredService.getName() : "unknown";
+    }
+
+    @RequiredArgsConstructor
+    @Getter
+    private static class Delivery {
+        private final SingleLogoutRequest request;
+        private final Supplier<Boolean> sender;
+        private final long deadline;
+        private final CompletableFuture<Boolean> result = new CompletableFuture<>();
+        private int attempts;
+
+        int nextAttempt() {
+            return ++attempts;
+        }
+    }
+
+    private enum Slot {
+        ACQUIRED, WAITING, FULL
+    }
+
+    @Getter
+    @Setter
+    private static class Destination {
+        private final Queue<Delivery> waiting = new ArrayDeque<>();
+        private int inFlight;
+    }
+}
@@ -2,6 +2,7 @@ package org.apereo.cas.logout.config;
 
 import org.apereo.cas.authentication.AuthenticationServiceSelectionPlan;
 import org.apereo.cas.configuration.CasConfigurationProperties;
+import org.apereo.cas.configuration.support.Beans;
 import org.apereo.cas.logout.DefaultLogoutExecutionPlan;
 import org.apereo.cas.logout.DefaultLogoutManager;
 import org.apereo.cas.logout.DefaultSingleLogoutMessageCreator;
@@ -11,6 +12,7 @@ import org.apereo.cas.logout.LogoutManager;
 import org.apereo.cas.logout.slo.DefaultSingleLogoutServiceLogoutUrlBuilder;
 import org.apereo.cas.logout.slo.DefaultSingleLogoutServiceMessageHandler;
 import org.apereo.cas.logout.slo.SingleLogoutMessageCreator;
+import org.apereo.cas.logout.slo.SingleLogoutMessageDispatcher;
 import org.apereo.cas.logout.slo.SingleLogoutServiceLogoutUrlBuilder;
 import org.apereo.cas.logout.slo.SingleLogoutServiceMessageHandler;
 import org.apereo.cas.services.ServicesManager;
@@ -72,15 +74,30 @@ public class CasCoreLogoutConfiguration implements LogoutExecutionPlanConfigurer
         return new DefaultSingleLogoutServiceLogoutUrlBuilder(this.urlValidator.getIfAvailable());
     }
 
+    @ConditionalOnMissingBean(name = "singleLogoutMessageDispatcher")
+    @Bean
+    public SingleLogoutMessageDispatcher singleLogoutMessageDispatcher() {
+        val dispatcher = casProperties.getSlo().getDispatcher();
+        return new SingleLogoutMessageDispatcher(dispatcher.getPoolSize(),
+            dispatcher.getQueueCapacity(),
+            dispatcher.getMaxConcurrencyPerDestination(),
+            dispatcher.getMaxWaitingPerDestination(),
+            dispatcher.getMaxAttempts(),
+            Beans.newDuration(dispatcher.getBackoff()),
+            Beans.newDuration(dispatcher.getTimeout()));
+    }
+
     @ConditionalOnMissingBean(name = "defaultSingleLogoutServiceMessageHandler")
     @Bean
     public SingleLogoutServiceMessageHandler defaultSingleLogoutServiceMessageHandler() {
-        return new DefaultSingleLogoutServiceMessageHandler(httpClient.getIfAvailable(),
+        val handler = new DefaultSingleLogoutServiceMessageHandler(httpClient.getIfAvailable(),
             defaultSingleLogoutMessageCreator(),
             servicesManager.getIfAvailable(),
             singleLogoutServiceLogoutUrlBuilder(),
             casProperties.getSlo().isAsynchronous(),
             authenticationServiceSelectionPlan.getIfAvailable());
+        handler.setSingleLogoutMessageDispatcher(singleLogoutMessageDispatcher());
+        return handler;
     }
 
     @ConditionalOnMissingBean(name = "logoutManager")
@@ -14,7 +14,8 @@ import org.junit.runners.Suite;
     DefaultLogoutManagerTests.class,
     DefaultSingleLogoutServiceLogoutUrlBuilderTests.class,
     LogoutHttpMessageTests.class,
-    SamlCompliantLogoutMessageCreatorTests.class
+    SamlCompliantLogoutMessageCreatorTests.class,
+    SingleLogoutMessageDispatcherTests.class
 })
 public class CasLogoutTestsSuite {
 }
@@ -0,0 +1,182 @@
+package org.apereo.cas.logout;
+
+import org.apereo.cas.logout.slo.SingleLogoutMessageDispatcher;
+
+import lombok.SneakyThrows;
+import lombok.val;
+import org.junit.After;
+import org.junit.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.net.URL;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+/**
+ * This is {@link SingleLogoutMessageDispatcherTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 6.1.0
+ */
+public class SingleLogoutMessageDispatcherTests {
+    private final SingleLogoutMessageDispatcher dispatcher = new SingleLogoutMessageDispatcher(2, 10, 1, 10, 3,
+        Duration.ofMillis(10), Duration.ofSeconds(30));
+
+    @SneakyThrows
+    private static DefaultSingleLogoutRequest getLogoutRequest() {
+        return DefaultSingleLogoutRequest.builder()
+            .ticketId("ST-1")
+            .logoutUrl(new URL("https://www.apereo.org/logout"))
+            .registeredService(DefaultLogoutManagerTests.getRegisteredService("https://www.apereo.org"))
+            .build();
+    }
+
+    @After
+    public void tearDown() {
+        dispatcher.destroy();
+    }
+
+    @Test
+    @SneakyThrows
+    public void verifyMessageIsDelivered() {
+        val result = dispatcher.dispatch(getLogoutRequest(), () -> Boolean.TRUE);
+        assertTrue(result.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    @SneakyThrows
+    public void verifyMessageIsRetried() {
+        val attempts = new AtomicInteger();
+        val result = dispatcher.dispatch(getLogoutRequest(), () -> attempts.incrementAndGet() > 1);
+        assertTrue(result.get(5, TimeUnit.SECONDS));
+        assertEquals(2, attempts.get());
+    }
+
+    @Test
+    @SneakyThrows
+    public void verifyMessageFailsAfterMaxAttempts() {
+        val attempts = new AtomicInteger();
+        val result = dispatcher.dispatch(getLogoutRequest(), () -> {
+            attempts.incrementAndGet();
+            throw new IllegalStateException("Unable to reach endpoint");
+        });
+        assertFalse(result.get(5, TimeUnit.SECONDS));
+        assertEquals(3, attempts.get());
+    }
+
+    @Test
+    @SneakyThrows
+    public void verifyMessagesWaitForBusyDestination() {
+        val inFlight = new AtomicInteger();
+        val maxInFlight = new AtomicInteger();
+        val results = new ArrayList<CompletableFuture<Boolean>>();
+        for (var i = 0; i < 5; i++) {
+            results.add(dispatcher.dispatch(getLogoutRequest(), () -> {
+                maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+                try {
+                    Thread.sleep(20);
+                } catch (final InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                inFlight.decrementAndGet();
+                return Boolean.TRUE;
+            }));
+        }
+        for (val result : results) {
+            assertTrue(result.get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(1, maxInFlight.get());
+        val destinations = (Map<?, ?>) ReflectionTestUtils.getField(dispatcher, "destinations");
+        assertNotNull(destinations);
+        assertTrue(destinations.isEmpty());
+    }
+
+    @Test
+    @SneakyThrows
+    public void verifyMessagesAreNotSentByCallerWhenQueueIsFull() {
+        val saturated = new SingleLogoutMessageDispatcher(1, 2, 5, 10, 3, Duration.ofMillis(10), Duration.ofSeconds(30));
+        try {
+            val latch = new CountDownLatch(1);
+            val threads = ConcurrentHashMap.<String>newKeySet();
+            val results = new ArrayList<CompletableFuture<Boolean>>();
+            results.add(saturated.dispatch(getLogoutRequest(), () -> {
+                threads.add(Thread.currentThread().getName());
+                try {
+                    return latch.await(5, TimeUnit.SECONDS);
+                } catch (final InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return Boolean.FALSE;
+                }
+            }));
+            for (var i = 0; i < 3; i++) {
+                results.add(saturated.dispatch(getLogoutRequest(), () -> {
+                    threads.add(Thread.currentThread().getName());
+                    return Boolean.TRUE;
+                }));
+            }
+            latch.countDown();
+            for (val result : results) {
+                assertTrue(result.get(5, TimeUnit.SECONDS));
+            }
+            assertFalse(threads.contains(Thread.currentThread().getName()));
+            assertTrue(threads.stream().allMatch(name -> name.startsWith("slo-dispatch-") && !name.startsWith("slo-dispatch-retry-")));
+        } finally {
+            saturated.destroy();
+        }
+    }
+
+    @Test
+    @SneakyThrows
+    public void verifyMessagesBeyondWaitingLimitAreDropped() {
+        val limited = new SingleLogoutMessageDispatcher(2, 10, 1, 1, 3, Duration.ofMillis(10), Duration.ofSeconds(30));
+        try {
+            val latch = new CountDownLatch(1);
+            val results = new ArrayList<CompletableFuture<Boolean>>();
+            for (var i = 0; i < 4; i++) {
+                results.add(limited.dispatch(getLogoutRequest(), () -> {
+                    try {
+                        return latch.await(5, TimeUnit.SECONDS);
+                    } catch (final InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        return Boolean.FALSE;
+                    }
+                }));
+            }
+            for (var i = 0; i < 100 && results.stream().filter(CompletableFuture::isDone).count() < 2; i++) {
+                Thread.sleep(50);
+            }
+            latch.countDown();
+            var delivered = 0;
+            for (val result : results) {
+                if (result.get(5, TimeUnit.SECONDS)) {
+                    delivered++;
+                }
+            }
+            assertEquals(2, delivered);
+        } finally {
+            limited.destroy();
+        }
+    }
+
+    @Test
+    @SneakyThrows
+    public void verifyRetryPastTimeoutIsDropped() {
+        val expiring = new SingleLogoutMessageDispatcher(1, 10, 1, 10, 5, Duration.ofSeconds(10), Duration.ofSeconds(1));
+        try {
+            val attempts = new AtomicInteger();
+            val result = expiring.dispatch(getLogoutRequest(), () -> attempts.incrementAndGet() < 0);
+            assertFalse(result.get(5, TimeUnit.SECONDS));
+            assertEquals(1, attempts.get());
+        } finally {
+            expiring.destroy();
+        }
+    }
+}
@@ -9,6 +9,8 @@ import org.apereo.cas.support.events.service.CasRegisteredServiceSavedEvent;
 import org.apereo.cas.support.events.service.CasRegisteredServicesDeletedEvent;
 import org.apereo.cas.support.events.service.CasRegisteredServicesLoadedEvent;
 
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import lombok.val;
@@ -20,6 +22,8 @@ import org.springframework.context.ApplicationEventPublisher;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
@@ -45,15 +49,15 @@ public abstract class AbstractServicesManager implements ServicesManager, Initia
 
     private Map<Long, RegisteredService> services = new ConcurrentHashMap<>();
 
+    /**
+     * Sorted and initialized view of the services available in the active environments,
+     * replaced as a whole whenever services are loaded, saved or deleted.
+     */
+    private volatile List<RegisteredService> orderedServices = List.of();
+
     @Override
     public Collection<RegisteredService> getAllServices() {
-        return this.services.values()
-            .stream()
-            .filter(this::validateAndFilterServiceByEnvironment)
-            .filter(getRegisteredServicesFilteringPredicate())
-            .sorted()
-            .peek(RegisteredService::initialize)
-            .collect(Collectors.toList());
+        return this.orderedServices;
     }
 
 
@@ -63,11 +67,9 @@ public abstract class AbstractServicesManager implements ServicesManager, Initia
             return new ArrayList<>(0);
         }
 
-        return getAllServices()
+        return this.orderedServices
             .stream()
-            .filter(getRegisteredServicesFilteringPredicate(predicate))
-            .sorted()
-            .peek(RegisteredService::initialize)
+            .filter(predicate)
             .collect(Collectors.toList());
 
     }
@@ -78,11 +80,9 @@ public abstract class AbstractServicesManager implements ServicesManager, Initia
             return null;
         }
 
-        val service = getCandidateServicesToMatch(serviceId)
-            .stream()
-            .filter(r -> r.matches(serviceId))
-            .findFirst()
-            .orElse(null);
+        val sample = Timer.start(Metrics.globalRegistry);
+        val service = findMatchingService(serviceId);
+        sample.stop(Metrics.timer("cas.services.manager.lookup"));
 
         if (service != null) {
             service.initialize();
@@ -151,6 +151,7 @@ public abstract class AbstractServicesManager implements ServicesManager, Initia
             publishEvent(new CasRegisteredServicePreDeleteEvent(this, service));
             this.serviceRegistry.delete(service);
             this.services.remove(service.getId());
+            refreshOrderedServices();
             deleteInternal(service);
             publishEvent(new CasRegisteredServiceDeletedEvent(this, service));
         }
@@ -173,7 +174,8 @@ public abstract class AbstractServicesManager implements ServicesManager, Initia
         publishEvent(new CasRegisteredServicePreSaveEvent(this, registeredService));
         val r = this.serviceRegistry.save(registeredService);
         this.services.put(r.getId(), r);
-        saveInternal(registeredService);
+        refreshOrderedServices();
+        saveInternal(r);
 
         if (publishEvent) {
             publishEvent(new CasRegisteredServiceSavedEvent(this, r));
@@ -198,6 +200,7 @@ public abstract class AbstractServicesManager implements ServicesManager, Initia
                 LOGGER.debug("Adding registered service [{}]", r.getServiceId());
                 return r.getId();
             }, Function.identity(), (r, s) -> s == null ? r : s));
+        refreshOrderedServices();
         loadInternal();
         publishEvent(new CasRegisteredServicesLoadedEvent(this, getAllServices()));
         evaluateExpiredServiceDefinitions();
@@ -209,9 +212,20 @@ public abstract class AbstractServicesManager implements ServicesManager, Initia
     public synchronized void deleteAll() {
         this.services.forEach((k, v) -> delete(v));
         this.services.clear();
+        refreshOrderedServices();
         publishEvent(new CasRegisteredServicesDeletedEvent(this));
     }
 
+    private synchronized void refreshOrderedServices() {
+        this.orderedServices = this.services.values()
+            .stream()
+            .filter(this::validateAndFilterServiceByEnvironment)
+            .filter(getRegisteredServicesFilteringPredicate())
+            .sorted()
+            .peek(RegisteredService::initialize)
+            .collect(Collectors.collectingAndThen(Collectors.toList(), Collections::unmodifiableList));
+    }
+
     private void evaluateExpiredServiceDefinitions() {
         this.services.values()
             .stream()
@@ -256,6 +270,20 @@ public abstract class AbstractServicesManager implements ServicesManager, Initia
         return registeredService;
     }
 
+    /**
+     * Find the first candidate service, in evaluation order, that matches the service id.
+     *
+     * @param serviceId the service id
+     * @return the registered service, or null
+     */
+    protected RegisteredService findMatchingService(final String serviceId) {
+        return getCandidateServicesToMatch(serviceId)
+            .stream()
+            .filter(r -> r.matches(serviceId))
+            .findFirst()
+            .orElse(null);
+    }
+
     /**
      * Gets candidate services to match the service id.
      *
@@ -292,7 +320,13 @@ public abstract class AbstractServicesManager implements ServicesManager, Initia
         }
     }
 
-    private boolean validateAndFilterServiceByEnvironment(final RegisteredService service) {
+    /**
+     * Validate and filter service by environment.
+     *
+     * @param service the service
+     * @return true if the service is available in the active environments
+     */
+    protected boolean validateAndFilterServiceByEnvironment(final RegisteredService service) {
         if (this.environments.isEmpty()) {
             LOGGER.trace("No environments are defined by which services could be filtered");
             return true;
@@ -4,7 +4,6 @@ import org.springframework.context.ApplicationEventPublisher;
 
 import java.util.Collection;
 import java.util.Set;
-import java.util.concurrent.ConcurrentSkipListSet;
 
 /**
  * Default implementation of the {@link ServicesManager} interface.
@@ -14,7 +13,7 @@ import java.util.concurrent.ConcurrentSkipListSet;
  */
 public class DefaultServicesManager extends AbstractServicesManager {
 
-    private Set<RegisteredService> orderedServices = new ConcurrentSkipListSet<>();
+    private RegisteredServiceMatchingIndex matchingIndex = new RegisteredServiceMatchingIndex();
 
     public DefaultServicesManager(final ServiceRegistry serviceRegistry, final ApplicationEventPublisher eventPublisher, final Set<String> environments) {
         super(serviceRegistry, eventPublisher, environments);
@@ -22,21 +21,31 @@ public class DefaultServicesManager extends AbstractServicesManager {
 
     @Override
     protected Collection<RegisteredService> getCandidateServicesToMatch(final String serviceId) {
-        return this.orderedServices;
+        return this.matchingIndex.getServices();
+    }
+
+    @Override
+    protected RegisteredService findMatchingService(final String serviceId) {
+        return this.matchingIndex.findMatchingService(serviceId);
     }
 
     @Override
     protected void deleteInternal(final RegisteredService service) {
-        this.orderedServices.remove(service);
+        this.matchingIndex.remove(service);
     }
 
     @Override
     protected void saveInternal(final RegisteredService service) {
-        this.orderedServices = new ConcurrentSkipListSet<>(getAllServices());
+        if (validateAndFilterServiceByEnvironment(service)) {
+            service.initialize();
+            this.matchingIndex.add(service);
+        } else {
+            this.matchingIndex.remove(service);
+        }
     }
 
     @Override
     protected void loadInternal() {
-        this.orderedServices = new ConcurrentSkipListSet<>(getAllServices());
+        this.matchingIndex = RegisteredServiceMatchingIndex.of(getAllServices());
     }
 }
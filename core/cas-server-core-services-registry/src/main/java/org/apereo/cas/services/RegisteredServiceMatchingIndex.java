@@ -0,0 +1,278 @@
+package org.apereo.cas.services;
+
+import org.apereo.cas.util.RegexUtils;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.apache.commons.lang3.StringUtils;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.stream.Collectors;
+
+/**
+ * This is {@link RegisteredServiceMatchingIndex}. It organizes registered services by the shape of their service id
+ * so that a service identifier can be resolved without evaluating the pattern of every definition.
+ * Regular expression service ids that are plain literals are looked up by exact value, those that are
+ * a literal followed by {@code .*} are kept in a prefix tree, and everything else is evaluated as before.
+ * The first match is always chosen by the natural order of registered services, so evaluation order is preserved.
+ *
+ * @author Misagh Moayyed
+ * @since 6.1.0
+ */
+@Slf4j
+public class RegisteredServiceMatchingIndex {
+    private static final String REGEX_META_CHARACTERS = "\\^$.|?*+()[]{}";
+
+    private volatile Set<RegisteredService> services = new ConcurrentSkipListSet<>();
+
+    private final Map<Long, LiteralPattern> literalsById = new ConcurrentHashMap<>();
+
+    private final Map<String, Set<RegisteredService>> exactMatches = new ConcurrentHashMap<>();
+
+    private final PrefixNode prefixMatches = new PrefixNode();
+
+    private volatile Set<RegisteredService> patternMatches = new ConcurrentSkipListSet<>();
+
+    /**
+     * Build an index from the given services.
+     *
+     * @param registeredServices the registered services
+     * @return the index
+     */
+    public static RegisteredServiceMatchingIndex of(final Collection<RegisteredService> registeredServices) {
+        val index = new RegisteredServiceMatchingIndex();
+        registeredServices.forEach(index::add);
+        return index;
+    }
+
+    /**
+     * Gets all indexed services, sorted by their natural order.
+     *
+     * @return the services
+     */
+    public Collection<RegisteredService> getServices() {
+        return this.services;
+    }
+
+    /**
+     * Add the service to the index, replacing a previous definition with the same id.
+     *
+     * @param service the service
+     */
+    public synchronized void add(final RegisteredService service) {
+        remove(service);
+        this.services.add(service);
+
+        val serviceId = service.getServiceId();
+        val literal = isRegexMatchedService(service) ? LiteralPattern.parse(serviceId) : LiteralPattern.NONE;
+        this.literalsById.put(service.getId(), literal);
+        if (literal == LiteralPattern.NONE) {
+            LOGGER.trace("Service [{}] is indexed as a pattern to be evaluated", serviceId);
+            this.patternMatches.add(service);
+        } else if (literal.isPrefix()) {
+            LOGGER.trace("Service [{}] is indexed by prefix [{}]", serviceId, literal.getValue());
+            this.prefixMatches.add(literal.getValue(), service);
+        } else {
+            LOGGER.trace("Service [{}] is indexed by exact value [{}]", serviceId, literal.getValue());
+            this.exactMatches.computeIfAbsent(literal.getValue(), k -> new ConcurrentSkipListSet<>()).add(service);
+        }
+    }
+
+    /**
+     * Remove the service, or the definition previously indexed under the same id, from the index.
+     * The definition is located by the id and the literal it was indexed with, since the
+     * service instance itself may have been modified in the meantime.
+     *
+     * @param service the service
+     */
+    public synchronized void remove(final RegisteredService service) {
+        val id = service.getId();
+        val literal = this.literalsById.remove(id);
+        if (literal == null) {
+            return;
+        }
+        this.services = removeById(this.services, id);
+        if (literal == LiteralPattern.NONE) {
+            this.patternMatches = removeById(this.patternMatches, id);
+        } else if (literal.isPrefix()) {
+            this.prefixMatches.remove(literal.getValue(), id);
+        } else {
+            this.exactMatches.computeIfPresent(literal.getValue(), (k, v) -> {
+                val remaining = removeById(v, id);
+                return remaining.isEmpty() ? null : remaining;
+            });
+        }
+    }
+
+    /**
+     * Find the first service, by natural order, whose service id matches the given identifier.
+     *
+     * @param serviceId the service id
+     * @return the registered service, or null
+     */
+    public RegisteredService findMatchingService(final String serviceId) {
+        if (StringUtils.isBlank(serviceId)) {
+            return null;
+        }
+        if (StringUtils.containsAny(serviceId, '\n', '\r', '\u0085', '\u2028', '\u2029')) {
+            LOGGER.trace("Service [{}] contains line terminators and is matched against all services", serviceId);
+            return this.services.stream().filter(r -> r.matches(serviceId)).findFirst().orElse(null);
+        }
+        val candidate = findLiteralMatch(serviceId);
+        for (val service : this.patternMatches) {
+            if (candidate != null && service.compareTo(candidate) >= 0) {
+                break;
+            }
+            if (service.matches(serviceId)) {
+                return service;
+            }
+        }
+        return candidate;
+    }
+
+    private RegisteredService findLiteralMatch(final String serviceId) {
+        val value = LiteralPattern.foldCase(serviceId);
+        var candidate = first(this.exactMatches.get(value), null);
+        var node = this.prefixMatches;
+        for (var i = 0; node != null; i++) {
+            candidate = first(node.services, candidate);
+            node = i < value.length() ? node.children.get(value.charAt(i)) : null;
+        }
+        return candidate;
+    }
+
+    /**
+     * Remove the service with the given id, and return the set that should be used from now on.
+     * If the service instance was modified after it was indexed, its position in the sorted set no longer
+     * reflects its ordering and cannot be removed; a new sorted set without it is built instead, so that
+     * readers see either the previous set or the new one and never a partially rebuilt set.
+     */
+    private static Set<RegisteredService> removeById(final Set<RegisteredService> services, final long id) {
+        val found = services.stream().filter(r -> r.getId() == id).findFirst();
+        if (found.isEmpty() || services.remove(found.get())) {
+            return services;
+        }
+        LOGGER.trace("Service [{}] was modified since it was indexed; re-sorting indexed services", found.get().getServiceId());
+        return services.stream()
+            .filter(s -> s.getId() != id)
+            .collect(Collectors.toCollection(ConcurrentSkipListSet::new));
+    }
+
+    private static RegisteredService first(final Set<RegisteredService> services, final RegisteredService candidate) {
+        if (services == null || services.isEmpty()) {
+            return candidate;
+        }
+        val service = services.iterator().next();
+        return candidate == null || service.compareTo(candidate) < 0 ? service : candidate;
+    }
+
+    /**
+     * Only services whose matching logic is the regular expression of {@link RegexRegisteredService}
+     * can be indexed by literal value; anything else is always evaluated.
+     */
+    private static boolean isRegexMatchedService(final RegisteredService service) {
+        if (!(service instanceof RegexRegisteredService)) {
+            return false;
+        }
+        try {
+            return service.getClass().getMethod("matches", String.class).getDeclaringClass().equals(RegexRegisteredService.class);
+        } catch (final NoSuchMethodException e) {
+            return false;
+        }
+    }
+
+    /**
+     * A node in the prefix tree of literal service id prefixes.
+     */
+    private static class PrefixNode {
+        private final Map<Character, PrefixNode> children = new ConcurrentHashMap<>();
+
+        private volatile Set<RegisteredService> services = new ConcurrentSkipListSet<>();
+
+        void add(final String prefix, final RegisteredService service) {
+            var node = this;
+            for (var i = 0; i < prefix.length(); i++) {
+                node = node.children.computeIfAbsent(prefix.charAt(i), c -> new PrefixNode());
+            }
+            node.services.add(service);
+        }
+
+        void remove(final String prefix, final long id) {
+            var node = this;
+            for (var i = 0; i < prefix.length() && node != null; i++) {
+                node = node.children.get(prefix.charAt(i));
+            }
+            if (node != null) {
+                node.services = removeById(node.services, id);
+            }
+        }
+    }
+
+    /**
+     * A service id pattern that is a literal value, optionally followed by {@code .*}.
+     * Literals are limited to ASCII, which is what case-insensitive pattern matching folds.
+     */
+    @Getter
+    @RequiredArgsConstructor
+    private static class LiteralPattern {
+        static final LiteralPattern NONE = new LiteralPattern(null, false);
+
+        private final String value;
+        private final boolean prefix;
+
+        static LiteralPattern parse(final String pattern) {
+            if (StringUtils.isBlank(pattern) || !RegexUtils.isValidRegex(pattern)) {
+                return NONE;
+            }
+            val builder = new StringBuilder(pattern.length());
+            var i = pattern.startsWith("^") ? 1 : 0;
+            while (i < pattern.length()) {
+                val c = pattern.charAt(i);
+                if (c > 0x7F) {
+                    return NONE;
+                }
+                if (c == '\\') {
+                    if (i + 1 >= pattern.length()) {
+                        return NONE;
+                    }
+                    val escaped = pattern.charAt(i + 1);
+                    if (escaped > 0x7F || Character.isLetterOrDigit(escaped)) {
+                        return NONE;
+                    }
+                    builder.append(escaped);
+                    i += 2;
+                    continue;
+                }
+                if (REGEX_META_CHARACTERS.indexOf(c) >= 0) {
+                    val remainder = pattern.substring(i);
+                    if ("$".equals(remainder)) {
+                        return new LiteralPattern(foldCase(builder.toString()), false);
+                    }
+                    if (".*".equals(remainder) || ".*$".equals(remainder)) {
+                        return new LiteralPattern(foldCase(builder.toString()), true);
+                    }
+                    return NONE;
+                }
+                builder.append(c);
+                i++;
+            }
+            return new LiteralPattern(foldCase(builder.toString()), false);
+        }
+
+        static String foldCase(final String value) {
+            val chars = value.toCharArray();
+            for (var i = 0; i < chars.length; i++) {
+                if (chars[i] >= 'A' && chars[i] <= 'Z') {
+                    chars[i] = (char) (chars[i] + ('a' - 'A'));
+                }
+            }
+            return new String(chars);
+        }
+    }
+}
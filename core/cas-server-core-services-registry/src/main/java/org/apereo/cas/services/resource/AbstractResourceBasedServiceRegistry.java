@@ -9,35 +9,46 @@ import org.apereo.cas.support.events.service.CasRegisteredServiceDeletedEvent;
 import org.apereo.cas.support.events.service.CasRegisteredServiceLoadedEvent;
 import org.apereo.cas.support.events.service.CasRegisteredServicePreDeleteEvent;
 import org.apereo.cas.util.CollectionUtils;
+import org.apereo.cas.util.DigestUtils;
 import org.apereo.cas.util.RegexUtils;
 import org.apereo.cas.util.ResourceUtils;
 import org.apereo.cas.util.io.PathWatcherService;
 import org.apereo.cas.util.serialization.StringSerializer;
 
 import lombok.Getter;
+import lombok.RequiredArgsConstructor;
 import lombok.SneakyThrows;
 import lombok.ToString;
 import lombok.extern.slf4j.Slf4j;
 import lombok.val;
 import org.apache.commons.io.FileUtils;
+import org.apache.commons.codec.digest.MessageDigestAlgorithms;
 import org.apache.commons.lang3.ObjectUtils;
+import org.apache.commons.lang3.concurrent.BasicThreadFactory;
 import org.apache.commons.lang3.math.NumberUtils;
 import org.springframework.beans.factory.DisposableBean;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.core.io.Resource;
 import org.springframework.util.Assert;
 
+import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.function.BinaryOperator;
 import java.util.function.Function;
 import java.util.regex.Pattern;
@@ -55,6 +66,8 @@ public abstract class AbstractResourceBasedServiceRegistry extends AbstractServi
 
     private static final String PATTERN_REGISTERED_SERVICE_FILE_NAME = "(\\w+)-(\\d+)\\.";
 
+    private static final int MAX_RESOURCE_LOADER_THREADS = 8;
+
     private static final BinaryOperator<RegisteredService> LOG_DUPLICATE_AND_RETURN_FIRST_ONE = (s1, s2) -> {
         BaseResourceBasedRegisteredServiceWatcher.LOG_SERVICE_DUPLICATE.accept(s2);
         return s1;
@@ -84,6 +97,13 @@ public abstract class AbstractResourceBasedServiceRegistry extends AbstractServi
 
     private RegisteredServiceResourceNamingStrategy resourceNamingStrategy;
 
+    /**
+     * Service definition files keyed by path, along with the services last loaded from each.
+     */
+    private final Map<String, RegisteredServiceResource> loadedResources = new ConcurrentHashMap<>();
+
+    private ExecutorService resourceLoaderExecutor;
+
     public AbstractResourceBasedServiceRegistry(final Resource configDirectory,
                                                 final Collection<StringSerializer<RegisteredService>> serializers,
                                                 final ApplicationEventPublisher eventPublisher) throws Exception {
@@ -138,6 +158,9 @@ public abstract class AbstractResourceBasedServiceRegistry extends AbstractServi
             new NoOpRegisteredServiceReplicationStrategy());
         this.resourceNamingStrategy = ObjectUtils.defaultIfNull(resourceNamingStrategy, new DefaultRegisteredServiceResourceNamingStrategy());
         this.registeredServiceSerializers = serializers;
+        this.resourceLoaderExecutor = Executors.newFixedThreadPool(
+            Math.min(Runtime.getRuntime().availableProcessors(), MAX_RESOURCE_LOADER_THREADS),
+            new BasicThreadFactory.Builder().namingPattern(getClass().getSimpleName() + "-loader-%d").daemon(true).build());
 
         val pattern = String.join("|", getExtensions());
         this.serviceFileNamePattern = RegexUtils.createPattern(PATTERN_REGISTERED_SERVICE_FILE_NAME.concat(pattern));
@@ -171,6 +194,9 @@ public abstract class AbstractResourceBasedServiceRegistry extends AbstractServi
         if (this.serviceRegistryConfigWatcher != null) {
             this.serviceRegistryConfigWatcher.close();
         }
+        if (this.resourceLoaderExecutor != null) {
+            this.resourceLoaderExecutor.shutdownNow();
+        }
     }
 
     @Override
@@ -216,16 +242,33 @@ public abstract class AbstractResourceBasedServiceRegistry extends AbstractServi
         this.serviceMap.remove(service.getId());
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>Only files that are new, or whose modification time, size and content have changed since they were
+     * last loaded are parsed again, in parallel; services of all other files are reused as they are.
+     */
     @Override
     public synchronized Collection<RegisteredService> load() {
         LOGGER.trace("Loading files from [{}]", this.serviceRegistryDirectory);
         val files = FileUtils.listFiles(this.serviceRegistryDirectory.toFile(), getExtensions(), true);
         LOGGER.trace("Located [{}] files from [{}] are [{}]", getExtensions(), this.serviceRegistryDirectory, files);
 
-        this.serviceMap = files
+        val modifiedFiles = files.stream().filter(this::isResourceModified).collect(Collectors.toList());
+        LOGGER.debug("Loading [{}] new or modified file(s) out of [{}] from [{}]", modifiedFiles.size(), files.size(), this.serviceRegistryDirectory);
+        modifiedFiles
+            .stream()
+            .map(file -> CompletableFuture.runAsync(() -> load(file), this.resourceLoaderExecutor))
+            .collect(Collectors.toList())
+            .forEach(CompletableFuture::join);
+
+        val resourceKeys = files.stream().map(AbstractResourceBasedServiceRegistry::getResourceKey).collect(Collectors.toSet());
+        this.loadedResources.keySet().retainAll(resourceKeys);
+
+        this.serviceMap = resourceKeys
             .stream()
-            .map(this::load)
+            .map(this.loadedResources::get)
             .filter(Objects::nonNull)
+            .map(RegisteredServiceResource::getServices)
             .flatMap(Collection::stream)
             .sorted()
             .collect(Collectors.toMap(RegisteredService::getId, Function.identity(),
@@ -237,10 +280,18 @@ public abstract class AbstractResourceBasedServiceRegistry extends AbstractServi
         return results;
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>The file is recorded along with the loaded services, so that subsequent calls to {@link #load()}
+     * do not parse it again unless it changes. If the file content is unchanged since it was last loaded,
+     * the previously loaded services are returned.
+     */
     @Override
     @SneakyThrows
     public Collection<RegisteredService> load(final File file) {
         val fileName = file.getName();
+        val resourceKey = getResourceKey(file);
+        val previous = this.loadedResources.remove(resourceKey);
         if (!file.canRead()) {
             LOGGER.warn("[{}] is not readable. Check file permissions", fileName);
             return new ArrayList<>(0);
@@ -266,14 +317,27 @@ public abstract class AbstractResourceBasedServiceRegistry extends AbstractServi
         }
 
         LOGGER.trace("Attempting to read and parse [{}]", file.getCanonicalFile());
-        try (val in = Files.newBufferedReader(file.toPath())) {
-            return this.registeredServiceSerializers
-                .stream()
-                .filter(s -> s.supports(file))
-                .map(s -> s.load(in))
-                .filter(Objects::nonNull)
-                .flatMap(Collection::stream)
-                .collect(Collectors.toList());
+        try {
+            val lastModified = file.lastModified();
+            val length = file.length();
+            val content = Files.readAllBytes(file.toPath());
+            val hash = DigestUtils.digest(MessageDigestAlgorithms.SHA_256, content);
+            if (previous != null && previous.getHash().equals(hash)) {
+                LOGGER.trace("Content of [{}] is unchanged; reusing previously loaded service definitions", fileName);
+                this.loadedResources.put(resourceKey, new RegisteredServiceResource(lastModified, length, hash, previous.getServices()));
+                return new ArrayList<>(previous.getServices());
+            }
+            try (val in = new InputStreamReader(new ByteArrayInputStream(content), StandardCharsets.UTF_8)) {
+                val services = this.registeredServiceSerializers
+                    .stream()
+                    .filter(s -> s.supports(file))
+                    .map(s -> s.load(in))
+                    .filter(Objects::nonNull)
+                    .flatMap(Collection::stream)
+                    .collect(Collectors.toList());
+                this.loadedResources.put(resourceKey, new RegisteredServiceResource(lastModified, length, hash, services));
+                return new ArrayList<>(services);
+            }
         } catch (final Exception e) {
             LOGGER.error("Error reading configuration file [{}]", fileName, e);
         }
@@ -356,10 +420,37 @@ public abstract class AbstractResourceBasedServiceRegistry extends AbstractServi
 
     }
 
+    /**
+     * Determine whether the file is new, or its modification time or size changed since it was last loaded.
+     *
+     * @param file the file
+     * @return true/false
+     */
+    protected boolean isResourceModified(final File file) {
+        val resource = this.loadedResources.get(getResourceKey(file));
+        return resource == null || resource.getLastModified() != file.lastModified() || resource.getLength() != file.length();
+    }
+
+    private static String getResourceKey(final File file) {
+        return file.getAbsolutePath();
+    }
+
     /**
      * Gets extension associated with files in the given resource directory.
      *
      * @return the extension
      */
     protected abstract String[] getExtensions();
+
+    /**
+     * A service definition file as it was last loaded, along with the services it contained.
+     */
+    @Getter
+    @RequiredArgsConstructor
+    private static class RegisteredServiceResource {
+        private final long lastModified;
+        private final long length;
+        private final String hash;
+        private final List<RegisteredService> services;
+    }
 }
@@ -22,6 +22,7 @@ import org.apereo.cas.services.RefuseRegisteredServiceProxyPolicyTests;
 import org.apereo.cas.services.RegexMatchingRegisteredServiceProxyPolicyTests;
 import org.apereo.cas.services.RegexRegisteredServiceTests;
 import org.apereo.cas.services.RegisteredServiceAuthenticationHandlerResolverTests;
+import org.apereo.cas.services.RegisteredServiceMatchingIndexTests;
 import org.apereo.cas.services.RegisteredServicePublicKeyImplTests;
 import org.apereo.cas.services.RemoteEndpointServiceAccessStrategyTests;
 import org.apereo.cas.services.ScriptedRegisteredServiceUsernameProviderTests;
@@ -66,6 +67,7 @@ import org.junit.runners.Suite;
     RegisteredServiceMappedRegexAttributeFilterTests.class,
     RegisteredServiceRegexAttributeFilterTests.class,
     RegisteredServicePublicKeyImplTests.class,
+    RegisteredServiceMatchingIndexTests.class,
     TimeBasedRegisteredServiceAccessStrategyTests.class,
     UnauthorizedProxyingExceptionTests.class,
     UnauthorizedServiceExceptionTests.class,
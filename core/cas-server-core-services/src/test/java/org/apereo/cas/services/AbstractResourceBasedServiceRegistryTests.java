@@ -15,6 +15,8 @@ import org.springframework.core.io.ClassPathResource;
 import java.util.Collection;
 import java.util.Collections;
 
+import static org.junit.Assert.*;
+
 /**
  * This is {@link AbstractResourceBasedServiceRegistryTests}.
  *
@@ -52,6 +54,21 @@ public abstract class AbstractResourceBasedServiceRegistryTests extends Abstract
         this.dao.save(r);
     }
 
+    @Test
+    public void verifyUnchangedResourcesAreNotParsedAgain() {
+        val r = buildRegisteredServiceInstance(RandomUtils.nextInt());
+        this.dao.save(r);
+        this.dao.load();
+        val loaded = this.dao.findServiceById(r.getId());
+        this.dao.load();
+        assertSame(loaded, this.dao.findServiceById(r.getId()));
+
+        r.setDescription("Updated service definition description");
+        this.dao.save(r);
+        this.dao.load();
+        assertEquals(r.getDescription(), this.dao.findServiceById(r.getId()).getDescription());
+    }
+
     @Override
     public ServiceRegistry getNewServiceRegistry() {
         return this.dao;
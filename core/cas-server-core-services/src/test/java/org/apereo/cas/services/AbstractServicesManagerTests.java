@@ -70,4 +70,21 @@ public abstract class AbstractServicesManagerTests {
         this.servicesManager.delete(r);
         assertNull(this.servicesManager.findServiceBy(r.getId()));
     }
+
+    @Test
+    public void verifyServicesSnapshotIsSorted() {
+        val r = new RegexRegisteredService();
+        r.setId(3000);
+        r.setName(TEST);
+        r.setServiceId(TEST);
+        r.setEvaluationOrder(1);
+        this.servicesManager.save(r);
+
+        val services = this.servicesManager.getAllServices();
+        assertEquals(r, services.iterator().next());
+        assertEquals(1, this.servicesManager.findServiceBy(s -> s.getId() == 3000).size());
+
+        this.servicesManager.delete(r);
+        assertFalse(this.servicesManager.getAllServices().contains(r));
+    }
 }
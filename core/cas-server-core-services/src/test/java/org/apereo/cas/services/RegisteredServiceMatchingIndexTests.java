@@ -0,0 +1,103 @@
+package org.apereo.cas.services;
+
+import lombok.val;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.Assert.*;
+
+/**
+ * This is {@link RegisteredServiceMatchingIndexTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 6.1.0
+ */
+public class RegisteredServiceMatchingIndexTests {
+
+    private static RegexRegisteredService newService(final long id, final String serviceId, final int order) {
+        val service = new RegexRegisteredService();
+        service.setId(id);
+        service.setName("Service" + id);
+        service.setServiceId(serviceId);
+        service.setEvaluationOrder(order);
+        return service;
+    }
+
+    @Test
+    public void verifyExactAndPrefixMatches() {
+        val exact = newService(1, "^https://app\\.example\\.org/login$", 10);
+        val prefix = newService(2, "^https://app\\.example\\.org/.*", 20);
+        val pattern = newService(3, "^https://(app|www)\\.example\\.org/.+", 30);
+        val index = RegisteredServiceMatchingIndex.of(Arrays.asList(pattern, prefix, exact));
+
+        assertEquals(exact, index.findMatchingService("https://APP.example.org/login"));
+        assertEquals(prefix, index.findMatchingService("https://app.example.org/other"));
+        assertEquals(pattern, index.findMatchingService("https://www.example.org/other"));
+        assertNull(index.findMatchingService("https://app.example.net/other"));
+    }
+
+    @Test
+    public void verifyEvaluationOrderIsKept() {
+        val pattern = newService(1, "^https://.+", 1);
+        val exact = newService(2, "https://app.example.org", 10);
+        val index = RegisteredServiceMatchingIndex.of(Arrays.asList(exact, pattern));
+        assertEquals(pattern, index.findMatchingService("https://app.example.org"));
+
+        pattern.setEvaluationOrder(100);
+        index.add(pattern);
+        assertEquals(exact, index.findMatchingService("https://app.example.org"));
+    }
+
+    @Test
+    public void verifyIncrementalUpdates() {
+        val service = newService(1, "^https://app\\.example\\.org/.*", 1);
+        val index = RegisteredServiceMatchingIndex.of(Arrays.asList(service));
+        assertEquals(service, index.findMatchingService("https://app.example.org/cas"));
+
+        val updated = newService(1, "^https://www\\.example\\.org/.*", 1);
+        index.add(updated);
+        assertNull(index.findMatchingService("https://app.example.org/cas"));
+        assertEquals(updated, index.findMatchingService("https://www.example.org/cas"));
+        assertEquals(1, index.getServices().size());
+
+        index.remove(updated);
+        assertNull(index.findMatchingService("https://www.example.org/cas"));
+        assertTrue(index.getServices().isEmpty());
+    }
+
+    @Test
+    public void verifyServicesStayVisibleWhileModifiedServiceIsReindexed() throws Exception {
+        val services = IntStream.rangeClosed(1, 100)
+            .mapToObj(i -> newService(i, "^https://app" + i + "\\.example\\.org/(cas|.+)", i))
+            .collect(Collectors.toList());
+        val index = RegisteredServiceMatchingIndex.of(services);
+        val expected = services.get(49);
+
+        val done = new AtomicBoolean();
+        val misses = new AtomicInteger();
+        val reader = new Thread(() -> {
+            while (!done.get()) {
+                if (index.findMatchingService("https://app50.example.org/cas") != expected) {
+                    misses.incrementAndGet();
+                }
+            }
+        });
+        reader.start();
+        val modified = services.get(0);
+        for (var i = 0; i < 500; i++) {
+            modified.setEvaluationOrder(modified.getEvaluationOrder() == 1 ? 1000 : 1);
+            index.add(modified);
+        }
+        done.set(true);
+        reader.join();
+
+        assertEquals(0, misses.get());
+        assertEquals(100, index.getServices().size());
+        assertEquals(expected, index.findMatchingService("https://app50.example.org/cas"));
+    }
+}
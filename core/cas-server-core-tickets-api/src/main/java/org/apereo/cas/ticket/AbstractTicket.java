@@ -1,6 +1,7 @@
 package org.apereo.cas.ticket;
 
 import org.apereo.cas.authentication.Authentication;
+import org.apereo.cas.util.CoreTicketUtils;
 
 import com.fasterxml.jackson.annotation.JsonIdentityInfo;
 import com.fasterxml.jackson.annotation.JsonIgnore;
@@ -16,6 +17,8 @@ import javax.persistence.Column;
 import javax.persistence.Id;
 import javax.persistence.Lob;
 import javax.persistence.MappedSuperclass;
+import javax.persistence.PrePersist;
+import javax.persistence.PreUpdate;
 import java.time.ZoneOffset;
 import java.time.ZonedDateTime;
 
@@ -95,6 +98,15 @@ public abstract class AbstractTicket implements Ticket, TicketState {
     @Column(name = "EXPIRED", nullable = false)
     private Boolean expired = Boolean.FALSE;
 
+    /**
+     * The time by which the ticket is expected to have expired.
+     * Kept to locate expired tickets without inspecting every ticket.
+     */
+    @JsonIgnore
+    @Column(name = "EXPIRES_AT")
+    @Getter
+    private ZonedDateTime expiresAt;
+
 
     public AbstractTicket(final String id, final ExpirationPolicy expirationPolicy) {
         this.id = id;
@@ -116,6 +128,15 @@ public abstract class AbstractTicket implements Ticket, TicketState {
         }
     }
 
+    /**
+     * Calculate and record the expiration time of the ticket before it's stored.
+     */
+    @PrePersist
+    @PreUpdate
+    protected void updateExpirationTime() {
+        this.expiresAt = CoreTicketUtils.getExpirationTime(this);
+    }
+
     @Override
     public boolean isExpired() {
         return this.expirationPolicy.isExpired(this) || isExpiredInternal();
@@ -18,6 +18,7 @@ import javax.persistence.Column;
 import javax.persistence.DiscriminatorColumn;
 import javax.persistence.DiscriminatorValue;
 import javax.persistence.Entity;
+import javax.persistence.Index;
 import javax.persistence.Lob;
 import javax.persistence.ManyToOne;
 import javax.persistence.Table;
@@ -37,7 +38,10 @@ import java.util.List;
  * @since 3.0.0
  */
 @Entity
-@Table(name = "TICKETGRANTINGTICKET")
+@Table(name = "TICKETGRANTINGTICKET", indexes = {
+    @Index(name = "IDX_TGT_PRINCIPAL_ID", columnList = "PRINCIPAL_ID"),
+    @Index(name = "IDX_TGT_EXPIRES_AT", columnList = "EXPIRES_AT")
+})
 @DiscriminatorColumn(name = "TYPE")
 @DiscriminatorValue(TicketGrantingTicket.PREFIX)
 @JsonIgnoreProperties(ignoreUnknown = true)
@@ -58,6 +62,14 @@ public class TicketGrantingTicketImpl extends AbstractTicket implements TicketGr
     @Column(name = "AUTHENTICATION", nullable = false, length = Integer.MAX_VALUE)
     private Authentication authentication;
 
+    /**
+     * The normalized id of the authenticated principal, kept
+     * separately to allow for lookups of sessions by principal.
+     */
+    @JsonIgnore
+    @Column(name = "PRINCIPAL_ID")
+    private String principalId;
+
     /**
      * Service that produced a proxy-granting ticket.
      */
@@ -113,6 +125,9 @@ public class TicketGrantingTicketImpl extends AbstractTicket implements TicketGr
         this.ticketGrantingTicket = parentTicketGrantingTicket;
         this.authentication = authentication;
         this.proxiedBy = proxiedBy;
+        if (authentication.getPrincipal() != null) {
+            this.principalId = StringUtils.lowerCase(StringUtils.trim(authentication.getPrincipal().getId()));
+        }
     }
 
     /**
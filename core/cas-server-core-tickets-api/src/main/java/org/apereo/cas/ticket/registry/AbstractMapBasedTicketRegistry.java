@@ -2,6 +2,7 @@ package org.apereo.cas.ticket.registry;
 
 import org.apereo.cas.CipherExecutor;
 import org.apereo.cas.ticket.Ticket;
+import org.apereo.cas.ticket.TicketGrantingTicket;
 
 import lombok.NoArgsConstructor;
 import lombok.NonNull;
@@ -11,7 +12,13 @@ import org.apache.commons.lang3.StringUtils;
 
 import java.util.Collection;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.function.Predicate;
+import java.util.stream.Stream;
 
 /**
  * This is {@link AbstractMapBasedTicketRegistry}.
@@ -23,6 +30,26 @@ import java.util.function.Predicate;
 @NoArgsConstructor
 public abstract class AbstractMapBasedTicketRegistry extends AbstractTicketRegistry {
 
+    /**
+     * Principal index keys mapped to the ids of the sso sessions they own.
+     */
+    private final Map<String, Set<String>> principalSessions = new ConcurrentHashMap<>();
+
+    /**
+     * Session ids mapped to the principal index key that owns them.
+     */
+    private final Map<String, String> sessionPrincipals = new ConcurrentHashMap<>();
+
+    /**
+     * Number of ticket-granting tickets held by the map instance.
+     */
+    private final LongAdder sessionCounter = new LongAdder();
+
+    /**
+     * Number of service tickets held by the map instance.
+     */
+    private final LongAdder serviceTicketCounter = new LongAdder();
+
     /**
      * Creates a new, empty registry with the cipher.
      *
@@ -36,7 +63,11 @@ public abstract class AbstractMapBasedTicketRegistry extends AbstractTicketRegis
     public void addTicket(final @NonNull Ticket ticket) {
         val encTicket = encodeTicket(ticket);
         LOGGER.debug("Added ticket [{}] to registry.", ticket.getId());
-        getMapInstance().put(encTicket.getId(), encTicket);
+        val previous = getMapInstance().put(encTicket.getId(), encTicket);
+        if (previous == null) {
+            updateTicketCount(ticket.getId(), 1);
+        }
+        addToSessionIndex(ticket, encTicket.getId());
     }
 
     @Override
@@ -60,22 +91,107 @@ public abstract class AbstractMapBasedTicketRegistry extends AbstractTicketRegis
         return result;
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>The ticket is consumed atomically by way of {@link Map#computeIfPresent(Object, java.util.function.BiFunction)},
+     * which requires the map instance to be a concurrent map.
+     */
+    @Override
+    public <T extends Ticket> T consumeTicket(final String ticketId, final Class<T> clazz, final Predicate<T> predicate) {
+        val encTicketId = encodeTicketId(ticketId);
+        if (StringUtils.isBlank(encTicketId)) {
+            return null;
+        }
+        val consumed = new AtomicReference<T>();
+        val removed = new AtomicReference<Ticket>();
+        getMapInstance().computeIfPresent(encTicketId, (id, found) -> {
+            val ticket = getTicketOfType(decodeTicket(found), clazz);
+            if (ticket.isExpired()) {
+                LOGGER.debug("Ticket [{}] has expired and is now removed from the ticket registry", ticketId);
+                removed.set(ticket);
+                return null;
+            }
+            if (!predicate.test(ticket)) {
+                LOGGER.debug("The condition enforced by the predicate cannot successfully accept/test the ticket id [{}]", ticketId);
+                return found;
+            }
+            consumed.set(ticket);
+            if (recordTicketUsage(ticket)) {
+                return encodeTicket(ticket);
+            }
+            removed.set(ticket);
+            return null;
+        });
+        if (removed.get() != null) {
+            removeFromSessionIndex(encTicketId);
+            updateTicketCount(removed.get().getId(), -1);
+        }
+        return consumed.get();
+    }
+
     @Override
     public boolean deleteSingleTicket(final String ticketId) {
         val encTicketId = encodeTicketId(ticketId);
         if (StringUtils.isBlank(encTicketId)) {
             return false;
         }
-        return getMapInstance().remove(encTicketId) != null;
+        removeFromSessionIndex(encTicketId);
+        val removed = getMapInstance().remove(encTicketId);
+        if (removed == null) {
+            return false;
+        }
+        updateTicketCount(ticketId, -1);
+        return true;
     }
 
     @Override
     public long deleteAll() {
         val size = getMapInstance().size();
         getMapInstance().clear();
+        principalSessions.clear();
+        sessionPrincipals.clear();
+        sessionCounter.reset();
+        serviceTicketCounter.reset();
         return size;
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>The count is maintained as tickets are added and removed, and does not require a scan of the map instance.
+     */
+    @Override
+    public long sessionCount() {
+        return sessionCounter.sum();
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>The count is maintained as tickets are added and removed, and does not require a scan of the map instance.
+     */
+    @Override
+    public long serviceTicketCount() {
+        return serviceTicketCounter.sum();
+    }
+
+    @Override
+    public Stream<? extends TicketGrantingTicket> getSessionsFor(final String principalId) {
+        val key = getPrincipalIndexKey(principalId);
+        if (key == null) {
+            return Stream.empty();
+        }
+        val sessions = principalSessions.get(key);
+        if (sessions == null) {
+            return Stream.empty();
+        }
+        return Set.copyOf(sessions)
+            .stream()
+            .map(id -> getMapInstance().get(id))
+            .filter(Objects::nonNull)
+            .map(this::decodeTicket)
+            .filter(ticket -> ticket instanceof TicketGrantingTicket && !ticket.isExpired())
+            .map(TicketGrantingTicket.class::cast);
+    }
+
     @Override
     public Collection<? extends Ticket> getTickets() {
         return decodeTickets(getMapInstance().values());
@@ -84,9 +200,49 @@ public abstract class AbstractMapBasedTicketRegistry extends AbstractTicketRegis
     @Override
     public Ticket updateTicket(final Ticket ticket) {
         addTicket(ticket);
+        deleteLegacyTicketEntry(ticket);
         return ticket;
     }
 
+    private void addToSessionIndex(final Ticket ticket, final String encTicketId) {
+        val key = getPrincipalIndexKey(ticket);
+        if (key != null) {
+            sessionPrincipals.put(encTicketId, key);
+            principalSessions.computeIfAbsent(key, k -> ConcurrentHashMap.newKeySet()).add(encTicketId);
+        }
+    }
+
+    /**
+     * Update the ticket counters as a ticket enters or leaves the map instance.
+     * The type of the ticket is derived from the prefix of its id, so that
+     * encoded tickets do not need to be decoded to be counted.
+     *
+     * @param ticketId the ticket id
+     * @param delta    the delta
+     */
+    protected void updateTicketCount(final String ticketId, final long delta) {
+        if (isTicketGrantingTicketId(ticketId)) {
+            sessionCounter.add(delta);
+        } else if (isServiceTicketId(ticketId)) {
+            serviceTicketCounter.add(delta);
+        }
+    }
+
+    /**
+     * Remove the ticket from the principal session index.
+     *
+     * @param ticketId the ticket id, as it is keyed in the map instance
+     */
+    protected void removeFromSessionIndex(final String ticketId) {
+        val key = sessionPrincipals.remove(ticketId);
+        if (key != null) {
+            principalSessions.computeIfPresent(key, (k, sessions) -> {
+                sessions.remove(ticketId);
+                return sessions.isEmpty() ? null : sessions;
+            });
+        }
+    }
+
     /**
      * Create map instance, which must ben created during initialization phases
      * and always be the same instance.
@@ -1,11 +1,15 @@
 package org.apereo.cas.ticket.registry;
 
 import org.apereo.cas.CipherExecutor;
+import org.apereo.cas.ticket.AbstractTicket;
 import org.apereo.cas.ticket.ServiceTicket;
 import org.apereo.cas.ticket.Ticket;
 import org.apereo.cas.ticket.TicketGrantingTicket;
+import org.apereo.cas.ticket.TicketState;
 import org.apereo.cas.ticket.proxy.ProxyGrantingTicket;
+import org.apereo.cas.ticket.proxy.ProxyTicket;
 import org.apereo.cas.util.DigestUtils;
+import org.apereo.cas.util.cipher.AesGcmTicketCipherExecutor;
 import org.apereo.cas.util.serialization.SerializationUtils;
 
 import com.google.common.io.ByteSource;
@@ -21,6 +25,8 @@ import java.util.Collection;
 import java.util.LinkedHashSet;
 import java.util.Set;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -38,6 +44,12 @@ public abstract class AbstractTicketRegistry implements TicketRegistry {
 
     private static final String MESSAGE = "Ticket encryption is not enabled. Falling back to default behavior";
 
+    /**
+     * Whether ticket ids are being encoded, on this thread, the way they were
+     * prior to switching to the {@link AesGcmTicketCipherExecutor}.
+     */
+    private static final ThreadLocal<Boolean> LEGACY_TICKET_ID_ENCODING = ThreadLocal.withInitial(() -> Boolean.FALSE);
+
     /**
      * The cipher executor for ticket objects.
      */
@@ -45,26 +57,122 @@ public abstract class AbstractTicketRegistry implements TicketRegistry {
 
     @Override
     public Ticket getTicket(final String ticketId) {
-        return getTicket(ticketId, ticket -> {
+        final Predicate<Ticket> predicate = ticket -> {
             if (ticket != null && ticket.isExpired()) {
                 LOGGER.debug("Ticket [{}] has expired and is now removed from the ticket registry", ticket.getId());
-                deleteSingleTicket(ticketId);
+                deleteSingleTicketEntries(ticketId);
                 return false;
             }
             return true;
-        });
+        };
+        val ticket = getTicket(ticketId, predicate);
+        if (ticket == null && isTicketIdMigrationEnabled()) {
+            LOGGER.trace("Ticket [{}] cannot be found; looking it up by its legacy encoded id", ticketId);
+            return withLegacyTicketIdEncoding(() -> getTicket(ticketId, predicate));
+        }
+        return ticket;
     }
 
     @Override
     public <T extends Ticket> T getTicket(final String ticketId, final @NonNull Class<T> clazz) {
         val ticket = getTicket(ticketId);
+        if (ticket == null) {
+            return null;
+        }
+        return getTicketOfType(ticket, clazz);
+    }
+
+    /**
+     * Cast the ticket to the expected type.
+     *
+     * @param <T>    the generic ticket type
+     * @param ticket the ticket
+     * @param clazz  the expected class of the ticket
+     * @return the ticket, or null if the given ticket is null
+     */
+    protected static <T extends Ticket> T getTicketOfType(final Ticket ticket, final @NonNull Class<T> clazz) {
         if (ticket == null) {
             return null;
         }
         if (!clazz.isAssignableFrom(ticket.getClass())) {
             throw new ClassCastException("Ticket [" + ticket.getId() + " is of type " + ticket.getClass() + " when we were expecting " + clazz);
         }
-        return (T) ticket;
+        return clazz.cast(ticket);
+    }
+
+    /**
+     * Record the usage of a ticket that is being consumed.
+     *
+     * @param ticket the ticket
+     * @return true if the ticket remains usable and should be written back, false if it has now expired and should be removed.
+     */
+    protected static boolean recordTicketUsage(final Ticket ticket) {
+        if (ticket instanceof TicketState) {
+            ((TicketState) ticket).update();
+        }
+        if (ticket.isExpired()) {
+            LOGGER.debug("Ticket [{}] has expired as a result of its usage and will be removed from the registry", ticket.getId());
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Whether the ticket id is that of a ticket-granting ticket, including proxy-granting tickets.
+     * Registries that count tickets by type use this to avoid decoding tickets.
+     *
+     * @param ticketId the ticket id
+     * @return true/false
+     */
+    protected static boolean isTicketGrantingTicketId(final String ticketId) {
+        return StringUtils.startsWithAny(ticketId, TicketGrantingTicket.PREFIX + '-',
+            ProxyGrantingTicket.PROXY_GRANTING_TICKET_PREFIX + '-');
+    }
+
+    /**
+     * Whether the ticket id is that of a service ticket, including proxy tickets.
+     *
+     * @param ticketId the ticket id
+     * @return true/false
+     */
+    protected static boolean isServiceTicketId(final String ticketId) {
+        return StringUtils.startsWithAny(ticketId, ServiceTicket.PREFIX + '-',
+            ProxyTicket.PROXY_TICKET_PREFIX + '-');
+    }
+
+    /**
+     * Whether the changes made to the ticket-granting ticket can be recorded on their own,
+     * without writing the whole ticket again. That is only possible if tickets are not encrypted
+     * and the changes only add services to the ticket.
+     *
+     * @param delta the changes made to the ticket
+     * @return true/false
+     */
+    protected boolean isTicketGrantingTicketDeltaApplicable(final TicketGrantingTicketDelta delta) {
+        return delta != null && delta.isAppendOnly() && !isCipherExecutorEnabled();
+    }
+
+    /**
+     * Apply changes recorded for a ticket-granting ticket to the ticket as it was last stored as a whole.
+     *
+     * @param ticket the ticket
+     * @param delta  the recorded changes
+     * @return the ticket
+     */
+    protected static Ticket applyTicketGrantingTicketDelta(final Ticket ticket, final TicketGrantingTicketDelta delta) {
+        if (!(ticket instanceof TicketGrantingTicket) || delta == null) {
+            return ticket;
+        }
+        val services = ((TicketGrantingTicket) ticket).getServices();
+        delta.getRemovedServices().forEach(services::remove);
+        services.putAll(delta.getAddedServices());
+        if (ticket instanceof AbstractTicket && delta.getLastTimeUsed() != null && delta.getCountOfUses() >= ticket.getCountOfUses()) {
+            val state = (AbstractTicket) ticket;
+            state.setLastTimeUsed(delta.getLastTimeUsed());
+            state.setPreviousTimeUsed(delta.getPreviousTimeUsed());
+            state.setCountOfUses(delta.getCountOfUses());
+        }
+        return ticket;
     }
 
     @Override
@@ -117,12 +225,57 @@ public abstract class AbstractTicketRegistry implements TicketRegistry {
             }
         }
         LOGGER.debug("Removing ticket [{}] from the registry.", ticket);
-        if (deleteSingleTicket(ticket.getId())) {
+        if (deleteSingleTicketEntries(ticket.getId())) {
             count.incrementAndGet();
         }
+        if (ticket instanceof TicketGrantingTicket) {
+            removeFromSessionIndex((TicketGrantingTicket) ticket);
+        }
         return count.intValue();
     }
 
+    /**
+     * Remove the ticket-granting ticket from the principal session index.
+     * Registries that keep a separate principal index should override this
+     * operation; by default, there is nothing to maintain.
+     *
+     * @param ticket the ticket-granting ticket that is removed
+     */
+    protected void removeFromSessionIndex(final TicketGrantingTicket ticket) {
+        LOGGER.trace("Ticket registry [{}] does not maintain a principal session index", getClass().getSimpleName());
+    }
+
+    /**
+     * Gets the key under which sessions of the ticket owner are indexed.
+     *
+     * @param ticket the ticket
+     * @return the principal index key, or null if the ticket is not owned by a principal.
+     */
+    protected String getPrincipalIndexKey(final Ticket ticket) {
+        if (ticket instanceof TicketGrantingTicket) {
+            val authentication = ((TicketGrantingTicket) ticket).getAuthentication();
+            if (authentication != null && authentication.getPrincipal() != null) {
+                return getPrincipalIndexKey(authentication.getPrincipal().getId());
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Gets the key under which sessions of the principal are indexed.
+     * Principal ids are treated without regard to case, and are
+     * hashed if ticket encryption is turned on.
+     *
+     * @param principalId the principal id
+     * @return the principal index key
+     */
+    protected String getPrincipalIndexKey(final String principalId) {
+        if (StringUtils.isBlank(principalId)) {
+            return null;
+        }
+        return encodeTicketId(principalId.trim().toLowerCase());
+    }
+
     /**
      * Delete tickets.
      *
@@ -170,7 +323,7 @@ public abstract class AbstractTicketRegistry implements TicketRegistry {
         val services = ticket.getServices();
         if (services != null && !services.isEmpty()) {
             services.keySet().forEach(ticketId -> {
-                if (deleteSingleTicket(ticketId)) {
+                if (deleteSingleTicketEntries(ticketId)) {
                     LOGGER.debug("Removed ticket [{}]", ticketId);
                     count.incrementAndGet();
                 } else {
@@ -190,7 +343,70 @@ public abstract class AbstractTicketRegistry implements TicketRegistry {
     public abstract boolean deleteSingleTicket(String ticketId);
 
     /**
-     * Encode ticket id into a SHA-512.
+     * Delete a single ticket instance from the store, along with the copy
+     * stored under its legacy encoded id while ticket ids are being migrated.
+     *
+     * @param ticketId the ticket id
+     * @return true/false
+     */
+    protected boolean deleteSingleTicketEntries(final String ticketId) {
+        val deleted = deleteSingleTicket(ticketId);
+        if (isTicketIdMigrationEnabled()) {
+            return withLegacyTicketIdEncoding(() -> deleteSingleTicket(ticketId)) || deleted;
+        }
+        return deleted;
+    }
+
+    /**
+     * Whether ticket ids are being migrated from their legacy encoding,
+     * such that tickets that cannot be found should be looked up by their legacy encoded id.
+     *
+     * @return true/false
+     */
+    protected boolean isTicketIdMigrationEnabled() {
+        return isCipherExecutorEnabled()
+            && this.cipherExecutor instanceof AesGcmTicketCipherExecutor
+            && ((AesGcmTicketCipherExecutor) this.cipherExecutor).isMigration();
+    }
+
+    /**
+     * Carry out the operation while encoding ticket ids the way they were
+     * prior to switching to the {@link AesGcmTicketCipherExecutor}.
+     *
+     * @param <T>       the result type
+     * @param operation the operation
+     * @return the result
+     */
+    protected static <T> T withLegacyTicketIdEncoding(final Supplier<T> operation) {
+        val previous = LEGACY_TICKET_ID_ENCODING.get();
+        LEGACY_TICKET_ID_ENCODING.set(Boolean.TRUE);
+        try {
+            return operation.get();
+        } finally {
+            if (previous) {
+                LEGACY_TICKET_ID_ENCODING.set(previous);
+            } else {
+                LEGACY_TICKET_ID_ENCODING.remove();
+            }
+        }
+    }
+
+    /**
+     * Delete the copy of the ticket stored under its legacy encoded id, if any,
+     * once the ticket is written back under its current encoded id while ticket ids are being migrated.
+     *
+     * @param ticket the ticket
+     */
+    protected void deleteLegacyTicketEntry(final Ticket ticket) {
+        if (isTicketIdMigrationEnabled()) {
+            withLegacyTicketIdEncoding(() -> deleteSingleTicket(ticket.getId()));
+        }
+    }
+
+    /**
+     * Encode ticket id into a SHA-512, or into the digest
+     * produced by the {@link AesGcmTicketCipherExecutor} when that is used,
+     * unless legacy encoded ids are being looked up while migrating.
      *
      * @param ticketId the ticket id
      * @return the ticket
@@ -203,7 +419,9 @@ public abstract class AbstractTicketRegistry implements TicketRegistry {
         if (StringUtils.isBlank(ticketId)) {
             return ticketId;
         }
-        val encodedId = DigestUtils.sha512(ticketId);
+        val encodedId = this.cipherExecutor instanceof AesGcmTicketCipherExecutor && !LEGACY_TICKET_ID_ENCODING.get()
+            ? ((AesGcmTicketCipherExecutor) this.cipherExecutor).digestTicketId(ticketId)
+            : DigestUtils.sha512(ticketId);
         LOGGER.debug("Encoded original ticket id [{}] to [{}]", ticketId, encodedId);
         return encodedId;
     }
@@ -89,6 +89,12 @@ public class CachingTicketRegistry extends AbstractMapBasedTicketRegistry {
 
         @Override
         public void onRemoval(final String key, final Ticket value, final RemovalCause cause) {
+            if (cause != RemovalCause.REPLACED) {
+                removeFromSessionIndex(key);
+            }
+            if (cause.wasEvicted()) {
+                updateTicketCount(decodeTicket(value).getId(), -1);
+            }
             if (cause == RemovalCause.EXPIRED) {
                 LOGGER.warn("Received removal notification for ticket [{}] with cause [{}]. Cleaning...", key, cause);
                 if (value instanceof TicketGrantingTicket) {
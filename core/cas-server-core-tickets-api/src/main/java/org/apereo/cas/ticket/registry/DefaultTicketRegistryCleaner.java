@@ -5,6 +5,9 @@ import org.apereo.cas.ticket.Ticket;
 import org.apereo.cas.ticket.TicketGrantingTicket;
 import org.apereo.cas.ticket.registry.support.LockingStrategy;
 
+import com.google.common.collect.Iterators;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import lombok.val;
@@ -24,6 +27,10 @@ import java.io.Serializable;
 public class DefaultTicketRegistryCleaner implements TicketRegistryCleaner, Serializable {
     private static final long serialVersionUID = -8581398063126547772L;
 
+    private static final int CLEANUP_BATCH_SIZE = 500;
+
+    private static final String METRIC_NAME_PREFIX = "cas.ticket.registry.cleaner.";
+
     private final transient LockingStrategy lockingStrategy;
     private final transient LogoutManager logoutManager;
     private final transient TicketRegistry ticketRegistry;
@@ -54,17 +61,29 @@ public class DefaultTicketRegistryCleaner implements TicketRegistryCleaner, Seri
     }
 
     /**
-     * Clean tickets.
+     * Clean tickets. Expired tickets are requested from the registry,
+     * which may look them up by expiration time, and are processed in bounded batches.
      *
      * @return the int
      */
     protected int cleanInternal() {
-        try (val expiredTickets = ticketRegistry.getTicketsStream().filter(Ticket::isExpired)) {
-            val ticketsDeleted = expiredTickets
-                .mapToInt(this::cleanTicket)
-                .sum();
-            LOGGER.info("[{}] expired tickets removed.", ticketsDeleted);
+        val sample = Timer.start(Metrics.globalRegistry);
+        try (val expiredTickets = ticketRegistry.getExpiredTickets()) {
+            val batches = Iterators.partition(expiredTickets.iterator(), CLEANUP_BATCH_SIZE);
+            var ticketsDeleted = 0;
+            var batchCount = 0;
+            while (batches.hasNext()) {
+                val batch = batches.next();
+                batchCount++;
+                LOGGER.debug("Cleaning up batch [{}] of [{}] expired tickets", batchCount, batch.size());
+                ticketsDeleted += batch.stream().mapToInt(this::cleanTicket).sum();
+            }
+            Metrics.counter(METRIC_NAME_PREFIX + "batches").increment(batchCount);
+            Metrics.summary(METRIC_NAME_PREFIX + "removed").record(ticketsDeleted);
+            LOGGER.info("[{}] expired tickets removed in [{}] batch(es).", ticketsDeleted, batchCount);
             return ticketsDeleted;
+        } finally {
+            sample.stop(Metrics.timer(METRIC_NAME_PREFIX + "runs"));
         }
     }
 
@@ -0,0 +1,70 @@
+package org.apereo.cas.ticket.registry;
+
+import com.google.common.base.Supplier;
+import com.google.common.base.Suppliers;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This is {@link TicketRegistryMeterBinder} that exposes the ticket counts
+ * maintained by the ticket registry as gauges. Counts that the registry is unable
+ * to report are exposed as {@link Double#NaN}.
+ * <p>
+ * Registries that do not keep track of their counts have to scan their tickets to report them,
+ * so counts are only requested from the registry once per refresh interval, regardless of how often
+ * the gauges are scraped. The memoized counts are also made available to other consumers,
+ * such as reporting endpoints, so they do not need to request them from the registry again.
+ *
+ * @author Misagh Moayyed
+ * @since 6.1.0
+ */
+public class TicketRegistryMeterBinder implements MeterBinder {
+    private static final String METRIC_NAME_PREFIX = "cas.ticket.registry.";
+
+    private final Supplier<Long> sessionCount;
+
+    private final Supplier<Long> serviceTicketCount;
+
+    public TicketRegistryMeterBinder(final TicketRegistry ticketRegistry, final Duration refreshInterval) {
+        this.sessionCount = Suppliers.memoizeWithExpiration(ticketRegistry::sessionCount,
+            refreshInterval.toMillis(), TimeUnit.MILLISECONDS);
+        this.serviceTicketCount = Suppliers.memoizeWithExpiration(ticketRegistry::serviceTicketCount,
+            refreshInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Gets the number of ticket-granting tickets, as last reported by the registry.
+     *
+     * @return the session count, or {@link Long#MIN_VALUE} if the registry cannot report it
+     */
+    public long getSessionCount() {
+        return sessionCount.get();
+    }
+
+    /**
+     * Gets the number of service tickets, as last reported by the registry.
+     *
+     * @return the service ticket count, or {@link Long#MIN_VALUE} if the registry cannot report it
+     */
+    public long getServiceTicketCount() {
+        return serviceTicketCount.get();
+    }
+
+    private static double toGaugeValue(final long count) {
+        return count == Long.MIN_VALUE ? Double.NaN : count;
+    }
+
+    @Override
+    public void bindTo(final MeterRegistry registry) {
+        Gauge.builder(METRIC_NAME_PREFIX + "sessions", this, b -> toGaugeValue(b.getSessionCount()))
+            .description("Number of ticket-granting tickets in the ticket registry")
+            .register(registry);
+        Gauge.builder(METRIC_NAME_PREFIX + "service.tickets", this, b -> toGaugeValue(b.getServiceTicketCount()))
+            .description("Number of service tickets in the ticket registry")
+            .register(registry);
+    }
+}
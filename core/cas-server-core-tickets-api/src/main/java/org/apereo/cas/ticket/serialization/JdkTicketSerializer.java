@@ -0,0 +1,35 @@
+package org.apereo.cas.ticket.serialization;
+
+import org.apereo.cas.ticket.Ticket;
+import org.apereo.cas.util.serialization.SerializationUtils;
+
+/**
+ * This is {@link JdkTicketSerializer} that serializes tickets using Java serialization.
+ *
+ * @author Misagh Moayyed
+ * @since 6.1.0
+ */
+public class JdkTicketSerializer implements TicketSerializer {
+    private static final byte[] STREAM_MAGIC = {(byte) 0xAC, (byte) 0xED};
+
+    /**
+     * Whether the data is produced by Java serialization.
+     *
+     * @param data the data
+     * @return true/false
+     */
+    public static boolean isJdkSerialized(final byte[] data) {
+        return data != null && data.length >= STREAM_MAGIC.length
+            && data[0] == STREAM_MAGIC[0] && data[1] == STREAM_MAGIC[1];
+    }
+
+    @Override
+    public byte[] serialize(final Ticket ticket) {
+        return SerializationUtils.serialize(ticket);
+    }
+
+    @Override
+    public Ticket deserialize(final byte[] data) {
+        return SerializationUtils.deserialize(data, Ticket.class);
+    }
+}
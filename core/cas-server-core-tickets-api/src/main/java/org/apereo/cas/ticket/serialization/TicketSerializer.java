@@ -0,0 +1,29 @@
+package org.apereo.cas.ticket.serialization;
+
+import org.apereo.cas.ticket.Ticket;
+
+/**
+ * This is {@link TicketSerializer}. It turns tickets into a binary form
+ * that is suitable for ticket registries that store tickets as bytes, and back.
+ *
+ * @author Misagh Moayyed
+ * @since 6.1.0
+ */
+public interface TicketSerializer {
+
+    /**
+     * Serialize the ticket.
+     *
+     * @param ticket the ticket
+     * @return the serialized ticket
+     */
+    byte[] serialize(Ticket ticket);
+
+    /**
+     * Deserialize the ticket.
+     *
+     * @param data the serialized ticket
+     * @return the ticket
+     */
+    Ticket deserialize(byte[] data);
+}
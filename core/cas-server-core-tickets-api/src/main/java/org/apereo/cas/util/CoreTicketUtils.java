@@ -2,6 +2,9 @@ package org.apereo.cas.util;
 
 import org.apereo.cas.CipherExecutor;
 import org.apereo.cas.configuration.model.core.util.EncryptionRandomizedSigningJwtCryptographyProperties;
+import org.apereo.cas.ticket.Ticket;
+import org.apereo.cas.ticket.TicketState;
+import org.apereo.cas.util.cipher.AesGcmTicketCipherExecutor;
 import org.apereo.cas.util.cipher.DefaultTicketCipherExecutor;
 import org.apereo.cas.util.function.FunctionUtils;
 
@@ -10,6 +13,9 @@ import lombok.extern.slf4j.Slf4j;
 import lombok.val;
 import org.apache.commons.lang3.StringUtils;
 
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+
 /**
  * This is {@link CoreTicketUtils}.
  *
@@ -57,6 +63,16 @@ public class CoreTicketUtils {
 
         if (enabled || forceIfBlankKeys) {
             LOGGER.debug("Ticket registry encryption/signing is enabled for [{}]", registryName);
+            if (AesGcmTicketCipherExecutor.ALGORITHM.equalsIgnoreCase(registry.getAlg())) {
+                LOGGER.debug("Ticket registry [{}] uses [{}] with migration mode set to [{}]", registryName, registry.getAlg(), registry.isMigration());
+                return new AesGcmTicketCipherExecutor(
+                    registry.getEncryption().getKey(),
+                    registry.getSigning().getKey(),
+                    registry.getSigning().getKeySize(),
+                    registry.getEncryption().getKeySize(),
+                    registryName,
+                    registry.isMigration());
+            }
             return new DefaultTicketCipherExecutor(
                 registry.getEncryption().getKey(),
                 registry.getSigning().getKey(),
@@ -70,4 +86,29 @@ public class CoreTicketUtils {
             + "ticket registry tickets, and verify the chosen ticket registry does support this behavior.");
         return CipherExecutor.noOp();
     }
+
+    /**
+     * Calculate the point in time at which the ticket is expected to have expired,
+     * based on the time-to-live reported by its expiration policy.
+     * The result is never earlier than the actual expiration of the ticket, which
+     * makes it suitable for locating expired ticket candidates. Tickets whose policy
+     * is unable to report a time-to-live are considered candidates immediately.
+     *
+     * @param ticket the ticket
+     * @return the expiration time
+     */
+    public static ZonedDateTime getExpirationTime(final Ticket ticket) {
+        val now = ZonedDateTime.now(ZoneOffset.UTC);
+        val expirationPolicy = ticket.getExpirationPolicy();
+        if (expirationPolicy == null || ticket.isExpired()) {
+            return now;
+        }
+        val ttl = ticket instanceof TicketState
+            ? expirationPolicy.getTimeToLive((TicketState) ticket)
+            : expirationPolicy.getTimeToLive();
+        if (ttl == null || ttl <= 0) {
+            return now;
+        }
+        return now.plusSeconds(ttl);
+    }
 }
@@ -11,6 +11,7 @@ import org.apereo.cas.ticket.registry.CachingTicketRegistryTests;
 import org.apereo.cas.ticket.registry.DefaultTicketRegistryCleanerTests;
 import org.apereo.cas.ticket.registry.DefaultTicketRegistryTests;
 import org.apereo.cas.ticket.registry.DistributedTicketRegistryTests;
+import org.apereo.cas.ticket.registry.TicketRegistryMeterBinderTests;
 import org.apereo.cas.ticket.support.AlwaysExpiresExpirationPolicyTests;
 import org.apereo.cas.ticket.support.HardTimeoutExpirationPolicyTests;
 import org.apereo.cas.ticket.support.MultiTimeUseOrTimeoutExpirationPolicyTests;
@@ -52,6 +53,7 @@ import org.junit.runners.Suite;
     HardTimeoutExpirationPolicyTests.class,
     NeverExpiresExpirationPolicyTests.class,
     DefaultTicketRegistryCleanerTests.class,
+    TicketRegistryMeterBinderTests.class,
     TicketSerializersTests.class,
     Cas20ProxyHandlerTests.class})
 public class AllTestsSuite {
@@ -9,8 +9,10 @@ import org.apereo.cas.ticket.ServiceTicket;
 import org.apereo.cas.ticket.Ticket;
 import org.apereo.cas.ticket.TicketGrantingTicket;
 import org.apereo.cas.ticket.TicketGrantingTicketImpl;
+import org.apereo.cas.ticket.TicketState;
 import org.apereo.cas.ticket.proxy.ProxyGrantingTicket;
 import org.apereo.cas.ticket.support.AlwaysExpiresExpirationPolicy;
+import org.apereo.cas.ticket.support.MultiTimeUseOrTimeoutExpirationPolicy;
 import org.apereo.cas.ticket.support.NeverExpiresExpirationPolicy;
 import org.apereo.cas.util.CoreTicketUtils;
 import org.apereo.cas.util.ProxyGrantingTicketIdGenerator;
@@ -27,7 +29,10 @@ import org.springframework.test.util.AopTestUtils;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashSet;
+import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
 import static org.junit.Assert.*;
@@ -202,6 +207,71 @@ public abstract class BaseTicketRegistryTests {
         }
     }
 
+    @Test
+    public void verifyUpdateTicketGrantingTicketWithDelta() {
+        try {
+            TicketGrantingTicket tgt = new TicketGrantingTicketImpl(
+                ticketGrantingTicketId,
+                CoreAuthenticationTestUtils.getAuthentication(),
+                new NeverExpiresExpirationPolicy());
+            ticketRegistry.addTicket(tgt);
+
+            tgt = ticketRegistry.getTicket(tgt.getId(), TicketGrantingTicket.class);
+            var previousServices = new HashSet<String>(tgt.getServices().keySet());
+            tgt.grantServiceTicket("ST1", RegisteredServiceTestUtils.getService("TGT_DELTA_TEST1"),
+                new NeverExpiresExpirationPolicy(), false, false);
+            ticketRegistry.updateTicketGrantingTicket(tgt, TicketGrantingTicketDelta.of(tgt, previousServices));
+
+            tgt = ticketRegistry.getTicket(tgt.getId(), TicketGrantingTicket.class);
+            previousServices = new HashSet<>(tgt.getServices().keySet());
+            tgt.grantServiceTicket("ST2", RegisteredServiceTestUtils.getService("TGT_DELTA_TEST2"),
+                new NeverExpiresExpirationPolicy(), false, false);
+            ticketRegistry.updateTicketGrantingTicket(tgt, TicketGrantingTicketDelta.of(tgt, previousServices));
+
+            tgt = ticketRegistry.getTicket(tgt.getId(), TicketGrantingTicket.class);
+            assertEquals(new HashSet<>(Arrays.asList("ST1", "ST2")), tgt.getServices().keySet());
+            assertEquals(2, tgt.getCountOfUses());
+
+            previousServices = new HashSet<>(tgt.getServices().keySet());
+            tgt.grantServiceTicket("ST3", RegisteredServiceTestUtils.getService("TGT_DELTA_TEST1"),
+                new NeverExpiresExpirationPolicy(), false, true);
+            val delta = TicketGrantingTicketDelta.of(tgt, previousServices);
+            assertFalse(delta.isAppendOnly());
+            ticketRegistry.updateTicketGrantingTicket(tgt, delta);
+
+            tgt = ticketRegistry.getTicket(tgt.getId(), TicketGrantingTicket.class);
+            assertEquals(new HashSet<>(Arrays.asList("ST2", "ST3")), tgt.getServices().keySet());
+        } catch (final Exception e) {
+            throw new AssertionError(CAUGHT_AN_EXCEPTION_BUT_WAS_NOT_EXPECTED + e.getMessage(), e);
+        }
+    }
+
+    @Test
+    public void verifyManyTicketGrantingTicketDeltas() {
+        try {
+            TicketGrantingTicket tgt = new TicketGrantingTicketImpl(
+                ticketGrantingTicketId,
+                CoreAuthenticationTestUtils.getAuthentication(),
+                new NeverExpiresExpirationPolicy());
+            ticketRegistry.addTicket(tgt);
+
+            val expectedServices = new HashSet<String>();
+            for (var i = 0; i < 50; i++) {
+                tgt = ticketRegistry.getTicket(tgt.getId(), TicketGrantingTicket.class);
+                val previousServices = new HashSet<String>(tgt.getServices().keySet());
+                tgt.grantServiceTicket("ST" + i, RegisteredServiceTestUtils.getService("TGT_DELTA_TEST" + i),
+                    new NeverExpiresExpirationPolicy(), false, false);
+                ticketRegistry.updateTicketGrantingTicket(tgt, TicketGrantingTicketDelta.of(tgt, previousServices));
+                expectedServices.add("ST" + i);
+            }
+            tgt = ticketRegistry.getTicket(tgt.getId(), TicketGrantingTicket.class);
+            assertEquals(expectedServices, tgt.getServices().keySet());
+            assertEquals(50, tgt.getCountOfUses());
+        } catch (final Exception e) {
+            throw new AssertionError(CAUGHT_AN_EXCEPTION_BUT_WAS_NOT_EXPECTED + e.getMessage(), e);
+        }
+    }
+
     @Test
     public void verifyDeleteAllExistingTickets() {
         Assume.assumeTrue(isIterableRegistry());
@@ -434,4 +504,64 @@ public abstract class BaseTicketRegistryTests {
         val c = ticketRegistry.deleteTicket(ticketGrantingTicketId);
         assertEquals(6, c);
     }
+
+    @Test
+    @Transactional
+    public void verifySessionsForPrincipal() {
+        Assume.assumeTrue(isIterableRegistry());
+        ticketRegistry.addTicket(new TicketGrantingTicketImpl(ticketGrantingTicketId + "-1",
+            CoreAuthenticationTestUtils.getAuthentication("casuser"), new NeverExpiresExpirationPolicy()));
+        ticketRegistry.addTicket(new TicketGrantingTicketImpl(ticketGrantingTicketId + "-2",
+            CoreAuthenticationTestUtils.getAuthentication("casuser"), new NeverExpiresExpirationPolicy()));
+        ticketRegistry.addTicket(new TicketGrantingTicketImpl(ticketGrantingTicketId + "-3",
+            CoreAuthenticationTestUtils.getAuthentication("someone-else"), new NeverExpiresExpirationPolicy()));
+
+        assertEquals(2, ticketRegistry.countSessionsFor("CasUser"));
+        assertEquals(1, ticketRegistry.countSessionsFor("someone-else"));
+        assertEquals(0, ticketRegistry.countSessionsFor("unknown"));
+
+        ticketRegistry.deleteTicket(ticketGrantingTicketId + "-1");
+        try (val sessions = ticketRegistry.getSessionsFor("casuser")) {
+            val ids = sessions.map(Ticket::getId).collect(Collectors.toList());
+            assertEquals(Collections.singletonList(ticketGrantingTicketId + "-2"), ids);
+        }
+    }
+
+    @Test
+    @Transactional
+    public void verifyConsumeTicket() {
+        ticketRegistry.addTicket(new TicketGrantingTicketImpl(ticketGrantingTicketId,
+            CoreAuthenticationTestUtils.getAuthentication(), new NeverExpiresExpirationPolicy()));
+        val tgt = ticketRegistry.getTicket(ticketGrantingTicketId, TicketGrantingTicket.class);
+        val service = RegisteredServiceTestUtils.getService("TGT_CONSUME_TEST");
+        val st = tgt.grantServiceTicket(serviceTicketId, service, new MultiTimeUseOrTimeoutExpirationPolicy(2, 60), false, true);
+        ticketRegistry.addTicket(st);
+        ticketRegistry.updateTicket(tgt);
+
+        assertNull(ticketRegistry.consumeTicket(serviceTicketId, ServiceTicket.class, ticket -> false));
+        val consumed = ticketRegistry.consumeTicket(serviceTicketId, ServiceTicket.class);
+        assertNotNull(consumed);
+        assertEquals(1, ((TicketState) consumed).getCountOfUses());
+        assertNotNull(ticketRegistry.consumeTicket(serviceTicketId, ServiceTicket.class));
+        assertNull(ticketRegistry.consumeTicket(serviceTicketId, ServiceTicket.class));
+        assertNull(ticketRegistry.getTicket(serviceTicketId, ServiceTicket.class));
+    }
+
+    @Test
+    public void verifyExpiredTickets() {
+        Assume.assumeTrue(isIterableRegistry());
+        ticketRegistry.addTicket(new TicketGrantingTicketImpl(ticketGrantingTicketId,
+            CoreAuthenticationTestUtils.getAuthentication(), new NeverExpiresExpirationPolicy()));
+        val expiredId = ticketGrantingTicketId + "-EXPIRED";
+        val expired = new TicketGrantingTicketImpl(expiredId,
+            CoreAuthenticationTestUtils.getAuthentication(), new NeverExpiresExpirationPolicy());
+        expired.markTicketExpired();
+        ticketRegistry.addTicket(expired);
+
+        try (val expiredTickets = ticketRegistry.getExpiredTickets()) {
+            val ids = expiredTickets.map(Ticket::getId).collect(Collectors.toSet());
+            assertTrue(ids.contains(expiredId));
+            assertFalse(ids.contains(ticketGrantingTicketId));
+        }
+    }
 }
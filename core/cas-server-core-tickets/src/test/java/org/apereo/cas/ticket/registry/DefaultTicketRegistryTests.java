@@ -1,9 +1,16 @@
 package org.apereo.cas.ticket.registry;
 
 import org.apereo.cas.CipherExecutor;
+import org.apereo.cas.authentication.CoreAuthenticationTestUtils;
 import org.apereo.cas.config.CasCoreTicketCatalogConfiguration;
 import org.apereo.cas.config.CasCoreTicketsConfiguration;
+import org.apereo.cas.services.RegisteredServiceTestUtils;
+import org.apereo.cas.ticket.TicketGrantingTicketImpl;
+import org.apereo.cas.ticket.support.NeverExpiresExpirationPolicy;
+import org.apereo.cas.util.cipher.AesGcmTicketCipherExecutor;
+import org.apereo.cas.util.cipher.DefaultTicketCipherExecutor;
 
+import lombok.val;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.junit.runners.Parameterized;
@@ -27,6 +34,9 @@ import static org.junit.Assert.*;
     CasCoreTicketCatalogConfiguration.class
 })
 public class DefaultTicketRegistryTests extends BaseSpringRunnableTicketRegistryTests {
+    private static final String ENCRYPTION_KEY = "Q7jX2mP9vL4tR8wZ";
+
+    private static final String SIGNING_KEY = "szxK-5_eJjs-aUj-64MpUZ-GPPzGLhYPLGl0wrYjYNVAGva2P0lLe6UGKGM7k8dWxsOVGutZWgvmY3l5oVPO3w";
 
     public DefaultTicketRegistryTests(final boolean useEncryption) {
         super(useEncryption);
@@ -46,4 +56,73 @@ public class DefaultTicketRegistryTests extends BaseSpringRunnableTicketRegistry
     public void verifyOtherConstructor() {
         assertNotNull(new DefaultTicketRegistry(10, 10, 5, CipherExecutor.noOp()));
     }
+
+    @Test
+    public void verifyTicketCountsAreMaintained() {
+        val registry = new DefaultTicketRegistry();
+        val tgt = new TicketGrantingTicketImpl("TGT-COUNT",
+            CoreAuthenticationTestUtils.getAuthentication(), new NeverExpiresExpirationPolicy());
+        registry.addTicket(tgt);
+        val st = tgt.grantServiceTicket("ST-COUNT", RegisteredServiceTestUtils.getService(),
+            new NeverExpiresExpirationPolicy(), false, true);
+        registry.addTicket(st);
+        registry.updateTicket(tgt);
+        assertEquals(1, registry.sessionCount());
+        assertEquals(1, registry.serviceTicketCount());
+
+        registry.deleteSingleTicket(st.getId());
+        assertEquals(0, registry.serviceTicketCount());
+        registry.deleteAll();
+        assertEquals(0, registry.sessionCount());
+    }
+
+    @Test
+    public void verifyTicketsWrittenWhileMigratingSurviveMigration() {
+        val registry = new DefaultTicketRegistry(newAesGcmCipher(true));
+        val tgt = new TicketGrantingTicketImpl("TGT-MIGRATING",
+            CoreAuthenticationTestUtils.getAuthentication(), new NeverExpiresExpirationPolicy());
+        registry.addTicket(tgt);
+        assertNotNull(registry.getTicket(tgt.getId()));
+
+        registry.setCipherExecutor(newAesGcmCipher(false));
+        assertNotNull(registry.getTicket(tgt.getId()));
+    }
+
+    @Test
+    public void verifyLegacyTicketsAreFoundWhileMigrating() {
+        val registry = new DefaultTicketRegistry(new DefaultTicketCipherExecutor(ENCRYPTION_KEY, SIGNING_KEY, "AES", 512, 16, "registry"));
+        val tgt = new TicketGrantingTicketImpl("TGT-LEGACY",
+            CoreAuthenticationTestUtils.getAuthentication(), new NeverExpiresExpirationPolicy());
+        registry.addTicket(tgt);
+
+        registry.setCipherExecutor(newAesGcmCipher(true));
+        assertNotNull(registry.getTicket(tgt.getId()));
+        registry.updateTicket(tgt);
+        assertEquals(1, registry.getMapInstance().size());
+        assertEquals(1, registry.sessionCount());
+        assertNotNull(registry.getTicket(tgt.getId()));
+
+        assertEquals(1, registry.deleteTicket(tgt.getId()));
+        assertTrue(registry.getMapInstance().isEmpty());
+        assertNull(registry.getTicket(tgt.getId()));
+    }
+
+    @Test
+    public void verifyLegacyTicketIdEncodingIsReentrant() {
+        val registry = new DefaultTicketRegistry(new DefaultTicketCipherExecutor(ENCRYPTION_KEY, SIGNING_KEY, "AES", 512, 16, "registry"));
+        val tgt = new TicketGrantingTicketImpl("TGT-NESTED",
+            CoreAuthenticationTestUtils.getAuthentication(), new NeverExpiresExpirationPolicy());
+        registry.addTicket(tgt);
+
+        registry.setCipherExecutor(newAesGcmCipher(true));
+        val found = AbstractTicketRegistry.withLegacyTicketIdEncoding(() -> {
+            AbstractTicketRegistry.withLegacyTicketIdEncoding(() -> registry.getTicket(tgt.getId()));
+            return registry.getMapInstance().get(registry.encodeTicketId(tgt.getId()));
+        });
+        assertNotNull(found);
+    }
+
+    private static AesGcmTicketCipherExecutor newAesGcmCipher(final boolean migration) {
+        return new AesGcmTicketCipherExecutor(ENCRYPTION_KEY, SIGNING_KEY, 512, 16, "registry", migration);
+    }
 }
@@ -0,0 +1,40 @@
+package org.apereo.cas.ticket.registry;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.val;
+import org.junit.Test;
+
+import java.time.Duration;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * This is {@link TicketRegistryMeterBinderTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 6.1.0
+ */
+public class TicketRegistryMeterBinderTests {
+
+    @Test
+    public void verifyCountsAreRequestedOncePerInterval() {
+        val ticketRegistry = mock(TicketRegistry.class);
+        when(ticketRegistry.sessionCount()).thenReturn(5L);
+        when(ticketRegistry.serviceTicketCount()).thenReturn(Long.MIN_VALUE);
+
+        val registry = new SimpleMeterRegistry();
+        val binder = new TicketRegistryMeterBinder(ticketRegistry, Duration.ofHours(1));
+        binder.bindTo(registry);
+        val sessions = registry.get("cas.ticket.registry.sessions").gauge();
+        val serviceTickets = registry.get("cas.ticket.registry.service.tickets").gauge();
+
+        assertEquals(5, sessions.value(), 0);
+        assertEquals(5, sessions.value(), 0);
+        assertTrue(Double.isNaN(serviceTickets.value()));
+        assertEquals(5, binder.getSessionCount());
+        assertEquals(Long.MIN_VALUE, binder.getServiceTicketCount());
+        verify(ticketRegistry, times(1)).sessionCount();
+        verify(ticketRegistry, times(1)).serviceTicketCount();
+    }
+}
@@ -0,0 +1,172 @@
+package org.apereo.cas.util.cipher;
+
+import org.apereo.cas.util.DigestUtils;
+import org.apereo.cas.util.crypto.DecryptionException;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hashing;
+import lombok.Getter;
+import lombok.SneakyThrows;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.apache.commons.codec.digest.MessageDigestAlgorithms;
+import org.apache.commons.lang3.ArrayUtils;
+
+import javax.crypto.AEADBadTagException;
+import javax.crypto.Cipher;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.SecureRandom;
+
+/**
+ * This is {@link AesGcmTicketCipherExecutor} that encrypts and authenticates tickets
+ * in a single pass using AES-GCM. Encoded values carry a compact versioned header,
+ * followed by the initialization vector and the ciphertext along with its authentication tag.
+ * Ticket ids are digested using a keyed SipHash function, and digests of recently used ids are cached.
+ * <p>
+ * In migration mode, values encoded by {@link DefaultTicketCipherExecutor} can still be decoded,
+ * and ticket registries look up ids that cannot be found by their keyed digest using the legacy
+ * SHA-512 digest, so that tickets stored prior to the switch can be found and read until they expire.
+ * New tickets are always stored under the keyed digest, so migration can be turned off without losing them.
+ *
+ * @author Misagh Moayyed
+ * @since 6.1.0
+ */
+@Slf4j
+public class AesGcmTicketCipherExecutor extends DefaultTicketCipherExecutor {
+    /**
+     * Algorithm name that selects this cipher for ticket registries.
+     */
+    public static final String ALGORITHM = "AES-GCM";
+
+    private static final byte[] HEADER = {(byte) 0xCA, (byte) 0x5E, 0x01};
+
+    private static final String CIPHER_ALGORITHM = "AES/GCM/NoPadding";
+
+    private static final int IV_LENGTH = 12;
+
+    private static final int TAG_LENGTH_BITS = 128;
+
+    private static final int TICKET_ID_CACHE_MAXIMUM_SIZE = 10_000;
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    private static final ThreadLocal<Cipher> CIPHERS = ThreadLocal.withInitial(AesGcmTicketCipherExecutor::newCipher);
+
+    @Getter
+    private final boolean migration;
+
+    private final SecretKeySpec aeadKey;
+
+    private final HashFunction ticketIdHashFunction;
+
+    private final Cache<String, String> ticketIdDigests = Caffeine.newBuilder()
+        .maximumSize(TICKET_ID_CACHE_MAXIMUM_SIZE)
+        .build();
+
+    public AesGcmTicketCipherExecutor(final String encryptionSecretKey, final String signingSecretKey,
+                                      final int signingKeySize, final int encryptionKeySize,
+                                      final String cipherName, final boolean migration) {
+        super(encryptionSecretKey, signingSecretKey, "AES", signingKeySize, encryptionKeySize, cipherName);
+        this.migration = migration;
+        this.aeadKey = new SecretKeySpec(getEncryptionSecretKey(), "AES");
+        this.ticketIdHashFunction = buildTicketIdHashFunction();
+    }
+
+    @SneakyThrows
+    private static Cipher newCipher() {
+        return Cipher.getInstance(CIPHER_ALGORITHM);
+    }
+
+    private static boolean isAeadEncoded(final byte[] value) {
+        if (value.length < HEADER.length + IV_LENGTH + TAG_LENGTH_BITS / Byte.SIZE) {
+            return false;
+        }
+        for (var i = 0; i < HEADER.length; i++) {
+            if (value[i] != HEADER[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    @SneakyThrows
+    public byte[] encode(final byte[] value, final Object[] parameters) {
+        val iv = new byte[IV_LENGTH];
+        RANDOM.nextBytes(iv);
+        val cipher = CIPHERS.get();
+        cipher.init(Cipher.ENCRYPT_MODE, this.aeadKey, new GCMParameterSpec(TAG_LENGTH_BITS, iv));
+        cipher.updateAAD(HEADER);
+
+        val offset = HEADER.length + IV_LENGTH;
+        val result = new byte[offset + cipher.getOutputSize(value.length)];
+        System.arraycopy(HEADER, 0, result, 0, HEADER.length);
+        System.arraycopy(iv, 0, result, HEADER.length, IV_LENGTH);
+        cipher.doFinal(value, 0, value.length, result, offset);
+        return result;
+    }
+
+    @Override
+    @SneakyThrows
+    public byte[] decode(final byte[] value, final Object[] parameters) {
+        if (isAeadEncoded(value)) {
+            val cipher = CIPHERS.get();
+            cipher.init(Cipher.DECRYPT_MODE, this.aeadKey, new GCMParameterSpec(TAG_LENGTH_BITS, value, HEADER.length, IV_LENGTH));
+            cipher.updateAAD(value, 0, HEADER.length);
+            val offset = HEADER.length + IV_LENGTH;
+            try {
+                return cipher.doFinal(value, offset, value.length - offset);
+            } catch (final AEADBadTagException e) {
+                if (LOGGER.isTraceEnabled()) {
+                    throw new DecryptionException(e);
+                }
+                //noinspection ThrowInsideCatchBlockWhichIgnoresCaughtException
+                throw new DecryptionException(); //NOPMD
+            }
+        }
+        if (this.migration) {
+            LOGGER.trace("Value is not encoded with [{}]; attempting to decode it as a legacy value", ALGORITHM);
+            return super.decode(value, parameters);
+        }
+        throw new DecryptionException();
+    }
+
+    /**
+     * Digest the ticket id.
+     *
+     * @param ticketId the ticket id
+     * @return the digested ticket id
+     */
+    public String digestTicketId(final String ticketId) {
+        return this.ticketIdDigests.get(ticketId, id -> this.ticketIdHashFunction.hashString(id, StandardCharsets.UTF_8).toString());
+    }
+
+    /**
+     * Digest the ticket id the way {@link DefaultTicketCipherExecutor} does,
+     * to locate tickets stored prior to the switch while migrating.
+     *
+     * @param ticketId the ticket id
+     * @return the digested ticket id
+     */
+    public String digestLegacyTicketId(final String ticketId) {
+        return DigestUtils.sha512(ticketId);
+    }
+
+    /**
+     * Two SipHash functions are concatenated to produce 128-bit digests.
+     * Their keys are derived from the encryption and signing keys.
+     */
+    private HashFunction buildTicketIdHashFunction() {
+        val signingKey = getSigningKey().getEncoded();
+        val material = ArrayUtils.addAll(getEncryptionSecretKey(), signingKey == null ? ArrayUtils.EMPTY_BYTE_ARRAY : signingKey);
+        val keys = ByteBuffer.wrap(DigestUtils.rawDigest(MessageDigestAlgorithms.SHA_256, material));
+        return Hashing.concatenating(
+            Hashing.sipHash24(keys.getLong(), keys.getLong()),
+            Hashing.sipHash24(keys.getLong(), keys.getLong()));
+    }
+}
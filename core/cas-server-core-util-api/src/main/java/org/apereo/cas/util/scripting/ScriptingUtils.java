@@ -1,12 +1,17 @@
 package org.apereo.cas.util.scripting;
 
+import org.apereo.cas.util.DigestUtils;
 import org.apereo.cas.util.RegexUtils;
 import org.apereo.cas.util.ResourceUtils;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import groovy.lang.Binding;
 import groovy.lang.GroovyClassLoader;
 import groovy.lang.GroovyObject;
-import groovy.lang.GroovyShell;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import lombok.SneakyThrows;
 import lombok.experimental.UtilityClass;
 import lombok.extern.slf4j.Slf4j;
@@ -15,12 +20,12 @@ import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang3.ArrayUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.codehaus.groovy.control.CompilerConfiguration;
+import org.codehaus.groovy.runtime.InvokerHelper;
 import org.codehaus.groovy.runtime.InvokerInvocationException;
 import org.springframework.core.io.Resource;
 
 import javax.script.Invocable;
 import javax.script.ScriptEngineManager;
-import javax.script.SimpleBindings;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.security.AccessController;
@@ -32,6 +37,9 @@ import java.util.regex.Pattern;
 
 /**
  * This is {@link ScriptingUtils}.
+ * Groovy scripts are compiled once and the compiled classes are kept in a bounded cache,
+ * keyed by the hash of the script source. Every execution runs against a new script instance
+ * with its own binding, so cached classes can be shared safely across threads.
  *
  * @author Misagh Moayyed
  * @since 5.1.0
@@ -51,6 +59,13 @@ public class ScriptingUtils {
      */
     private static final Pattern FILE_GROOVY_PATTERN = RegexUtils.createPattern("(file|classpath):(.+\\.groovy)");
 
+    private static final int GROOVY_SCRIPT_CACHE_MAXIMUM_SIZE = 1_000;
+
+    /**
+     * Compiled groovy classes, keyed by the hash of their source.
+     */
+    private static final Cache<String, Class> GROOVY_SCRIPT_CACHE = buildGroovyScriptCache();
+
     /**
      * Is inline groovy script ?.
      *
@@ -104,17 +119,10 @@ public class ScriptingUtils {
                                                  final Map<String, Object> variables,
                                                  final Class<T> clazz) {
         try {
-            val binding = new Binding();
-            val shell = new GroovyShell(binding);
-            if (variables != null && !variables.isEmpty()) {
-                variables.forEach(binding::setVariable);
-            }
-            if (!binding.hasVariable("logger")) {
-                binding.setVariable("logger", LOGGER);
-            }
+            val binding = getGroovyScriptBinding(variables);
             LOGGER.debug("Executing groovy script [{}] with variables [{}]", script, binding.getVariables());
 
-            val result = shell.evaluate(script);
+            val result = evaluateGroovyScript(script, binding);
             return getGroovyScriptExecutionResultOrThrow(clazz, result);
         } catch (final Exception e) {
             LOGGER.error(e.getMessage(), e);
@@ -276,11 +284,11 @@ public class ScriptingUtils {
     public static GroovyObject parseGroovyScript(final Resource groovyScript,
                                                  final boolean failOnError) {
         return AccessController.doPrivileged((PrivilegedAction<GroovyObject>) () -> {
-            val parent = ScriptingUtils.class.getClassLoader();
-            try (val loader = new GroovyClassLoader(parent)) {
+            try {
                 val groovyFile = groovyScript.getFile();
                 if (groovyFile.exists()) {
-                    val groovyClass = loader.parseClass(groovyFile);
+                    val script = new String(Files.readAllBytes(groovyFile.toPath()), StandardCharsets.UTF_8);
+                    val groovyClass = getCompiledGroovyClass(script, groovyFile.getName());
                     LOGGER.trace("Creating groovy object instance from class [{}]", groovyFile.getCanonicalPath());
                     return (GroovyObject) groovyClass.getDeclaredConstructor().newInstance();
                 }
@@ -337,6 +345,9 @@ public class ScriptingUtils {
     public static <T> T executeScriptEngine(final String scriptFile, final Object[] args, final Class<T> clazz) {
         try {
             val engineName = getScriptEngineName(scriptFile);
+            if ("groovy".equals(engineName)) {
+                return executeGroovyScript(ResourceUtils.getResourceFrom(scriptFile), args, clazz, false);
+            }
             val engine = new ScriptEngineManager().getEngineByName(engineName);
             if (engine == null || StringUtils.isBlank(engineName)) {
                 LOGGER.warn("Script engine is not available for [{}]", engineName);
@@ -377,19 +388,7 @@ public class ScriptingUtils {
                                                   final Map<String, Object> variables,
                                                   final Class<T> clazz) {
         try {
-            val engine = new ScriptEngineManager().getEngineByName("groovy");
-            if (engine == null) {
-                LOGGER.warn("Script engine is not available for Groovy");
-                return null;
-            }
-            val binding = new SimpleBindings();
-            if (variables != null && !variables.isEmpty()) {
-                binding.putAll(variables);
-            }
-            if (!binding.containsKey("logger")) {
-                binding.put("logger", LOGGER);
-            }
-            val result = engine.eval(script, binding);
+            val result = evaluateGroovyScript(script, getGroovyScriptBinding(variables));
             return getGroovyScriptExecutionResultOrThrow(clazz, result);
         } catch (final Exception e) {
             LOGGER.error(e.getMessage(), e);
@@ -432,11 +431,7 @@ public class ScriptingUtils {
 
             val script = IOUtils.toString(resource.getInputStream(), StandardCharsets.UTF_8);
 
-            val clazz = AccessController.doPrivileged((PrivilegedAction<Class<T>>) () -> {
-                val classLoader = new GroovyClassLoader(ScriptingUtils.class.getClassLoader(),
-                    new CompilerConfiguration(), true);
-                return classLoader.parseClass(script);
-            });
+            val clazz = (Class<T>) getCompiledGroovyClass(script, null);
 
             LOGGER.debug("Preparing constructor arguments [{}] for resource [{}]", args, resource);
             val ctor = clazz.getDeclaredConstructor(constructorArgs);
@@ -454,6 +449,49 @@ public class ScriptingUtils {
         return null;
     }
 
+    private static Object evaluateGroovyScript(final String script, final Binding binding) {
+        val scriptClass = getCompiledGroovyClass(script, null);
+        return InvokerHelper.createScript(scriptClass, binding).run();
+    }
+
+    private static Binding getGroovyScriptBinding(final Map<String, Object> variables) {
+        val binding = new Binding();
+        if (variables != null && !variables.isEmpty()) {
+            variables.forEach(binding::setVariable);
+        }
+        if (!binding.hasVariable("logger")) {
+            binding.setVariable("logger", LOGGER);
+        }
+        return binding;
+    }
+
+    private static Class getCompiledGroovyClass(final String script, final String fileName) {
+        val key = StringUtils.defaultString(fileName) + ':' + DigestUtils.sha256(script);
+        return GROOVY_SCRIPT_CACHE.get(key, k -> compileGroovyScript(script, fileName));
+    }
+
+    private static Class compileGroovyScript(final String script, final String fileName) {
+        val sample = Timer.start(Metrics.globalRegistry);
+        try {
+            return AccessController.doPrivileged((PrivilegedAction<Class>) () -> {
+                val classLoader = new GroovyClassLoader(ScriptingUtils.class.getClassLoader(),
+                    new CompilerConfiguration(), true);
+                LOGGER.trace("Compiling groovy script [{}]", StringUtils.defaultString(fileName, script));
+                return StringUtils.isBlank(fileName) ? classLoader.parseClass(script) : classLoader.parseClass(script, fileName);
+            });
+        } finally {
+            sample.stop(Metrics.timer("cas.scripting.groovy.compile"));
+        }
+    }
+
+    private static Cache<String, Class> buildGroovyScriptCache() {
+        val cache = Caffeine.newBuilder()
+            .maximumSize(GROOVY_SCRIPT_CACHE_MAXIMUM_SIZE)
+            .recordStats()
+            .<String, Class>build();
+        return CaffeineCacheMetrics.monitor(Metrics.globalRegistry, cache, "cas.scripting.groovy");
+    }
+
     private static String getScriptEngineName(final String scriptFile) {
         if (scriptFile.endsWith(".py")) {
             return "python";
@@ -9,6 +9,7 @@ import org.apereo.cas.util.RegexUtilsTests;
 import org.apereo.cas.util.ResourceUtilsTests;
 import org.apereo.cas.util.ScriptingUtilsTests;
 import org.apereo.cas.util.cipher.BinaryCipherExecutorTests;
+import org.apereo.cas.util.cipher.AesGcmTicketCipherExecutorTests;
 import org.apereo.cas.util.cipher.DefaultTicketCipherExecutorTests;
 import org.apereo.cas.util.cipher.JsonWebKeySetStringCipherExecutorTests;
 import org.apereo.cas.util.cipher.ProtocolTicketCipherExecutorTests;
@@ -53,6 +54,7 @@ import org.junit.runners.Suite;
     DefaultLongNumericGeneratorTests.class,
     DefaultRandomStringGeneratorTests.class,
     DefaultTicketCipherExecutorTests.class,
+    AesGcmTicketCipherExecutorTests.class,
     EncodingUtilsTests.class,
     HexRandomStringGeneratorTests.class,
     RegexUtilsTests.class,
@@ -36,6 +36,30 @@ public class ScriptingUtilsTests {
         assertEquals("casuser", result.toString());
     }
 
+    @Test
+    public void verifyCompiledGroovyScriptUsesNewBinding() {
+        val script = "return name + '-' + (binding.hasVariable('count') ? count : 0)";
+        assertEquals("casuser-1", ScriptingUtils.executeGroovyShellScript(script,
+            CollectionUtils.wrap("name", "casuser", "count", 1), String.class));
+        assertEquals("cas-0", ScriptingUtils.executeGroovyShellScript(script,
+            CollectionUtils.wrap("name", "cas"), String.class));
+    }
+
+    @Test
+    public void verifyModifiedGroovyResourceIsCompiledAgain() {
+        try {
+            val file = File.createTempFile("test", ".groovy");
+            FileUtils.write(file, "def process(String name) { return name }", StandardCharsets.UTF_8);
+            val resource = new FileSystemResource(file);
+            assertEquals("casuser", ScriptingUtils.executeGroovyScript(resource, "process", String.class, "casuser"));
+
+            FileUtils.write(file, "def process(String name) { return name.toUpperCase() }", StandardCharsets.UTF_8);
+            assertEquals("CASUSER", ScriptingUtils.executeGroovyScript(resource, "process", String.class, "casuser"));
+        } catch (final Exception e) {
+            throw new AssertionError(e.getMessage(), e);
+        }
+    }
+
     @Test
     public void verifyGroovyResourceExecution() {
         try {
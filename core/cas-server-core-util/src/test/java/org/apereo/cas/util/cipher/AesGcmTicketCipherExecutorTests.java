@@ -0,0 +1,72 @@
+package org.apereo.cas.util.cipher;
+
+import org.apereo.cas.util.DigestUtils;
+import org.apereo.cas.util.crypto.DecryptionException;
+
+import lombok.val;
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.Assert.*;
+
+/**
+ * This is {@link AesGcmTicketCipherExecutorTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 6.1.0
+ */
+public class AesGcmTicketCipherExecutorTests {
+    private static final String ENCRYPTION_KEY = "Q7jX2mP9vL4tR8wZ";
+
+    private static final String SIGNING_KEY = "szxK-5_eJjs-aUj-64MpUZ-GPPzGLhYPLGl0wrYjYNVAGva2P0lLe6UGKGM7k8dWxsOVGutZWgvmY3l5oVPO3w";
+
+    private static final String TICKET_ID = "ST-1234567890";
+
+    @Test
+    public void verifyEncodeAndDecode() {
+        val cipher = new AesGcmTicketCipherExecutor(ENCRYPTION_KEY, SIGNING_KEY, 512, 16, "registry", false);
+        val encoded = cipher.encode(TICKET_ID.getBytes(StandardCharsets.UTF_8));
+        assertEquals(TICKET_ID, new String(cipher.decode(encoded), StandardCharsets.UTF_8));
+        assertNotEquals(new String(encoded, StandardCharsets.ISO_8859_1),
+            new String(cipher.encode(TICKET_ID.getBytes(StandardCharsets.UTF_8)), StandardCharsets.ISO_8859_1));
+    }
+
+    @Test(expected = DecryptionException.class)
+    public void verifyTamperedValueIsRejected() {
+        val cipher = new AesGcmTicketCipherExecutor(ENCRYPTION_KEY, SIGNING_KEY, 512, 16, "registry", false);
+        val encoded = cipher.encode(TICKET_ID.getBytes(StandardCharsets.UTF_8));
+        encoded[encoded.length - 1] ^= 1;
+        cipher.decode(encoded);
+    }
+
+    @Test
+    public void verifyLegacyValuesInMigrationMode() {
+        val legacy = new DefaultTicketCipherExecutor(ENCRYPTION_KEY, SIGNING_KEY, "AES", 512, 16, "registry");
+        val encoded = legacy.encode(TICKET_ID.getBytes(StandardCharsets.UTF_8));
+
+        val cipher = new AesGcmTicketCipherExecutor(ENCRYPTION_KEY, SIGNING_KEY, 512, 16, "registry", true);
+        assertEquals(TICKET_ID, new String(cipher.decode(encoded), StandardCharsets.UTF_8));
+        assertEquals(DigestUtils.sha512(TICKET_ID), cipher.digestLegacyTicketId(TICKET_ID));
+        assertNotEquals(cipher.digestLegacyTicketId(TICKET_ID), cipher.digestTicketId(TICKET_ID));
+
+        val strict = new AesGcmTicketCipherExecutor(ENCRYPTION_KEY, SIGNING_KEY, 512, 16, "registry", false);
+        try {
+            strict.decode(encoded);
+            fail("Legacy values should not be decoded outside of migration mode");
+        } catch (final DecryptionException e) {
+            assertNotNull(e);
+        }
+    }
+
+    @Test
+    public void verifyTicketIdDigest() {
+        val cipher = new AesGcmTicketCipherExecutor(ENCRYPTION_KEY, SIGNING_KEY, 512, 16, "registry", false);
+        val digest = cipher.digestTicketId(TICKET_ID);
+        assertEquals(32, digest.length());
+        assertEquals(digest, cipher.digestTicketId(TICKET_ID));
+        assertEquals(digest, new AesGcmTicketCipherExecutor(ENCRYPTION_KEY, SIGNING_KEY, 512, 16, "registry", false).digestTicketId(TICKET_ID));
+        assertEquals(digest, new AesGcmTicketCipherExecutor(ENCRYPTION_KEY, SIGNING_KEY, 512, 16, "registry", true).digestTicketId(TICKET_ID));
+        assertNotEquals(digest, cipher.digestTicketId("ST-0987654321"));
+    }
+}
@@ -39,6 +39,7 @@ import org.apereo.cas.ticket.proxy.ProxyGrantingTicket;
 import org.apereo.cas.ticket.proxy.ProxyGrantingTicketFactory;
 import org.apereo.cas.ticket.proxy.ProxyTicket;
 import org.apereo.cas.ticket.proxy.ProxyTicketFactory;
+import org.apereo.cas.ticket.registry.TicketGrantingTicketDelta;
 import org.apereo.cas.ticket.registry.TicketRegistry;
 import org.apereo.cas.util.DigestUtils;
 import org.apereo.cas.validation.Assertion;
@@ -52,6 +53,7 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 
 /**
@@ -135,8 +137,9 @@ public class DefaultCentralAuthenticationService extends AbstractCentralAuthenti
         AuthenticationCredentialsThreadLocalBinder.bindCurrent(latestAuthentication);
         val principal = latestAuthentication.getPrincipal();
         val factory = (ServiceTicketFactory) this.ticketFactory.get(ServiceTicket.class);
+        val previousServices = new HashSet<String>(ticketGrantingTicket.getServices().keySet());
         val serviceTicket = factory.create(ticketGrantingTicket, service, credentialProvided, ServiceTicket.class);
-        this.ticketRegistry.updateTicket(ticketGrantingTicket);
+        this.ticketRegistry.updateTicketGrantingTicket(ticketGrantingTicket, TicketGrantingTicketDelta.of(ticketGrantingTicket, previousServices));
         this.ticketRegistry.addTicket(serviceTicket);
 
         LOGGER.info("Granted ticket [{}] for service [{}] and principal [{}]", serviceTicket.getId(), DigestUtils.abbreviate(service.getId()), principal.getId());
@@ -171,9 +174,11 @@ public class DefaultCentralAuthenticationService extends AbstractCentralAuthenti
 
         val principal = authentication.getPrincipal();
         val factory = (ProxyTicketFactory) this.ticketFactory.get(ProxyTicket.class);
+        val previousServices = new HashSet<String>(proxyGrantingTicketObject.getServices().keySet());
         val proxyTicket = factory.create(proxyGrantingTicketObject, service, ProxyTicket.class);
 
-        this.ticketRegistry.updateTicket(proxyGrantingTicketObject);
+        this.ticketRegistry.updateTicketGrantingTicket(proxyGrantingTicketObject,
+            TicketGrantingTicketDelta.of(proxyGrantingTicketObject, previousServices));
         this.ticketRegistry.addTicket(proxyTicket);
 
         LOGGER.info("Granted ticket [{}] for service [{}] for user [{}]",
@@ -240,79 +245,58 @@ public class DefaultCentralAuthenticationService extends AbstractCentralAuthenti
             throw new InvalidTicketException(serviceTicketId);
         }
 
-        val serviceTicket = this.ticketRegistry.getTicket(serviceTicketId, ServiceTicket.class);
-
+        val serviceTicket = this.ticketRegistry.consumeTicket(serviceTicketId, ServiceTicket.class);
         if (serviceTicket == null) {
-            LOGGER.warn("Service ticket [{}] does not exist.", serviceTicketId);
+            LOGGER.warn("Service ticket [{}] does not exist or has expired.", serviceTicketId);
             throw new InvalidTicketException(serviceTicketId);
         }
 
-        try {
-            /*
-             * Synchronization on ticket object in case of cache based registry doesn't serialize
-             * access to critical section. The reason is that cache pulls serialized data and
-             * builds new object, most likely for each pull. Is this synchronization needed here?
-             */
-            synchronized (serviceTicket) {
-                if (serviceTicket.isExpired()) {
-                    LOGGER.info("ServiceTicket [{}] has expired.", serviceTicketId);
-                    throw new InvalidTicketException(serviceTicketId);
-                }
-
-                if (!serviceTicket.isValidFor(service)) {
-                    LOGGER.error("Service ticket [{}] with service [{}] does not match supplied service [{}]",
-                        serviceTicketId, serviceTicket.getService().getId(), service);
-                    throw new UnrecognizableServiceForServiceTicketValidationException(serviceTicket.getService());
-                }
-            }
+        if (!service.matches(serviceTicket.getService())) {
+            LOGGER.error("Service ticket [{}] with service [{}] does not match supplied service [{}]",
+                serviceTicketId, serviceTicket.getService().getId(), service);
+            throw new UnrecognizableServiceForServiceTicketValidationException(serviceTicket.getService());
+        }
 
-            val selectedService = resolveServiceFromAuthenticationRequest(serviceTicket.getService());
-            LOGGER.debug("Resolved service [{}] from the authentication request", selectedService);
+        val selectedService = resolveServiceFromAuthenticationRequest(serviceTicket.getService());
+        LOGGER.debug("Resolved service [{}] from the authentication request", selectedService);
 
-            val registeredService = this.servicesManager.findServiceBy(selectedService);
-            LOGGER.trace("Located registered service definition [{}] from [{}] to handle validation request", registeredService, selectedService);
-            RegisteredServiceAccessStrategyUtils.ensureServiceAccessIsAllowed(selectedService, registeredService);
+        val registeredService = this.servicesManager.findServiceBy(selectedService);
+        LOGGER.trace("Located registered service definition [{}] from [{}] to handle validation request", registeredService, selectedService);
+        RegisteredServiceAccessStrategyUtils.ensureServiceAccessIsAllowed(selectedService, registeredService);
 
-            val root = serviceTicket.getTicketGrantingTicket().getRoot();
-            val authentication = getAuthenticationSatisfiedByPolicy(root.getAuthentication(),
-                new ServiceContext(selectedService, registeredService));
-            val principal = authentication.getPrincipal();
+        val root = serviceTicket.getTicketGrantingTicket().getRoot();
+        val authentication = getAuthenticationSatisfiedByPolicy(root.getAuthentication(),
+            new ServiceContext(selectedService, registeredService));
+        val principal = authentication.getPrincipal();
 
-            val attributePolicy = registeredService.getAttributeReleasePolicy();
-            LOGGER.debug("Attribute policy [{}] is associated with service [{}]", attributePolicy, registeredService);
+        val attributePolicy = registeredService.getAttributeReleasePolicy();
+        LOGGER.debug("Attribute policy [{}] is associated with service [{}]", attributePolicy, registeredService);
 
-            val attributesToRelease = attributePolicy != null
-                ? attributePolicy.getAttributes(principal, selectedService, registeredService) : new HashMap<String, Object>();
+        val attributesToRelease = attributePolicy != null
+            ? attributePolicy.getAttributes(principal, selectedService, registeredService) : new HashMap<String, Object>();
 
-            LOGGER.debug("Calculated attributes for release per the release policy are [{}]", attributesToRelease.keySet());
+        LOGGER.debug("Calculated attributes for release per the release policy are [{}]", attributesToRelease.keySet());
 
-            val principalId = registeredService.getUsernameAttributeProvider().resolveUsername(principal, selectedService, registeredService);
-            val modifiedPrincipal = this.principalFactory.createPrincipal(principalId, attributesToRelease);
-            val builder = DefaultAuthenticationBuilder.newInstance(authentication);
-            builder.setPrincipal(modifiedPrincipal);
-            LOGGER.debug("Principal determined for release to [{}] is [{}]", registeredService.getServiceId(), principalId);
+        val principalId = registeredService.getUsernameAttributeProvider().resolveUsername(principal, selectedService, registeredService);
+        val modifiedPrincipal = this.principalFactory.createPrincipal(principalId, attributesToRelease);
+        val builder = DefaultAuthenticationBuilder.newInstance(authentication);
+        builder.setPrincipal(modifiedPrincipal);
+        LOGGER.debug("Principal determined for release to [{}] is [{}]", registeredService.getServiceId(), principalId);
 
-            val finalAuthentication = builder.build();
+        val finalAuthentication = builder.build();
 
-            enforceRegisteredServiceAccess(finalAuthentication, selectedService, registeredService);
+        enforceRegisteredServiceAccess(finalAuthentication, selectedService, registeredService);
 
-            AuthenticationCredentialsThreadLocalBinder.bindCurrent(finalAuthentication);
+        AuthenticationCredentialsThreadLocalBinder.bindCurrent(finalAuthentication);
 
-            val assertion = new DefaultAssertionBuilder(finalAuthentication)
-                .with(selectedService)
-                .with(serviceTicket.getTicketGrantingTicket().getChainedAuthentications())
-                .with(serviceTicket.isFromNewLogin())
-                .build();
-            doPublishEvent(new CasServiceTicketValidatedEvent(this, serviceTicket, assertion));
+        val assertion = new DefaultAssertionBuilder(finalAuthentication)
+            .with(selectedService)
+            .with(serviceTicket.getTicketGrantingTicket().getChainedAuthentications())
+            .with(serviceTicket.isFromNewLogin())
+            .build();
+        doPublishEvent(new CasServiceTicketValidatedEvent(this, serviceTicket, assertion));
 
-            return assertion;
-        } finally {
-            if (serviceTicket.isExpired()) {
-                deleteTicket(serviceTicketId);
-            } else {
-                this.ticketRegistry.updateTicket(serviceTicket);
-            }
-        }
+        return assertion;
     }
 
     @Audit(
@@ -1,6 +1,7 @@
 package org.apereo.cas.couchdb.audit;
 
 import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
 import lombok.val;
 import org.apereo.inspektr.audit.AuditActionContext;
 import org.ektorp.ComplexKey;
@@ -10,6 +11,7 @@ import org.ektorp.support.View;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -19,6 +21,7 @@ import java.util.List;
  * @since 6.0.0
  */
 @Getter
+@Slf4j
 @View(name = "all", map = "function(doc) { if(doc.whenActionWasPerformed) { emit(doc._id, doc) } }")
 public class AuditActionContextCouchDbRepository extends CouchDbRepositorySupport<CouchDbAuditActionContext> {
 
@@ -26,6 +29,18 @@ public class AuditActionContextCouchDbRepository extends CouchDbRepositorySuppor
         super(CouchDbAuditActionContext.class, db, createIfNotExists);
     }
 
+    /**
+     * Add the audit records in a single bulk request.
+     *
+     * @param records the audit records
+     */
+    public void addAll(final Collection<CouchDbAuditActionContext> records) {
+        val results = db.executeBulk(records);
+        if (!results.isEmpty()) {
+            LOGGER.warn("Unable to store [{}] audit record(s) in bulk: [{}]", results.size(), results);
+        }
+    }
+
     /**
      * Find audit records since +localDate+.
      * @param localDate Date to search from.
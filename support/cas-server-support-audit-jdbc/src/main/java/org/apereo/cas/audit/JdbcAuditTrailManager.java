@@ -0,0 +1,116 @@
+package org.apereo.cas.audit;
+
+import org.apereo.cas.audit.spi.AbstractAuditTrailManager;
+import org.apereo.cas.audit.spi.entity.AuditTrailEntity;
+import org.apereo.cas.util.DateTimeUtils;
+
+import lombok.Setter;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.apache.commons.lang3.StringUtils;
+import org.apereo.inspektr.audit.AuditActionContext;
+import org.apereo.inspektr.audit.support.WhereClauseMatchCriteria;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * This is {@link JdbcAuditTrailManager} that stores audit records in a relational database.
+ * Batches of audit records are inserted using a single batched statement in one transaction.
+ *
+ * @author Misagh Moayyed
+ * @since 6.1.0
+ */
+@Slf4j
+@Setter
+public class JdbcAuditTrailManager extends AbstractAuditTrailManager {
+    private static final String INSERT_SQL_TEMPLATE = "INSERT INTO %s "
+        + "(AUD_USER, AUD_CLIENT_IP, AUD_SERVER_IP, AUD_RESOURCE, AUD_ACTION, APPLIC_CD, AUD_DATE) "
+        + "VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String SELECT_SQL_TEMPLATE = "SELECT * FROM %s WHERE AUD_DATE>=? ORDER BY AUD_DATE DESC";
+
+    private static final String DELETE_SQL_TEMPLATE = "DELETE FROM %s %s";
+
+    private static final int DEFAULT_COLUMN_LENGTH = 100;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private String tableName = AuditTrailEntity.AUDIT_TRAIL_TABLE_NAME;
+
+    private int columnLength = DEFAULT_COLUMN_LENGTH;
+
+    private WhereClauseMatchCriteria cleanupCriteria;
+
+    public JdbcAuditTrailManager(final TransactionTemplate transactionTemplate, final JdbcTemplate jdbcTemplate, final boolean asynchronous) {
+        super(asynchronous);
+        this.transactionTemplate = transactionTemplate;
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    protected void saveAuditRecord(final AuditActionContext audit) {
+        saveAuditRecords(List.of(audit));
+    }
+
+    @Override
+    protected void saveAuditRecords(final Collection<AuditActionContext> audits) {
+        val sql = String.format(INSERT_SQL_TEMPLATE, this.tableName);
+        val parameters = audits.stream()
+            .map(this::getInsertParameters)
+            .collect(Collectors.toList());
+        transactionTemplate.execute(status -> jdbcTemplate.batchUpdate(sql, parameters));
+        LOGGER.trace("Saved [{}] audit records into [{}]", parameters.size(), this.tableName);
+    }
+
+    @Override
+    public Set<? extends AuditActionContext> getAuditRecordsSince(final LocalDate localDate) {
+        val sql = String.format(SELECT_SQL_TEMPLATE, this.tableName);
+        val since = DateTimeUtils.dateOf(localDate);
+        return transactionTemplate.execute(status -> new LinkedHashSet<>(jdbcTemplate.query(sql,
+            (rs, rowNum) -> new AuditActionContext(rs.getString("AUD_USER"), rs.getString("AUD_RESOURCE"),
+                rs.getString("AUD_ACTION"), rs.getString("APPLIC_CD"), rs.getTimestamp("AUD_DATE"),
+                rs.getString("AUD_CLIENT_IP"), rs.getString("AUD_SERVER_IP")), since)));
+    }
+
+    /**
+     * Remove audit records that match the cleanup criteria.
+     */
+    public void clean() {
+        if (this.cleanupCriteria == null) {
+            LOGGER.trace("No cleanup criteria is defined to remove audit records");
+            return;
+        }
+        val sql = String.format(DELETE_SQL_TEMPLATE, this.tableName, this.cleanupCriteria);
+        val parameters = this.cleanupCriteria.getParameterValues().toArray();
+        val count = transactionTemplate.execute(status -> jdbcTemplate.update(sql, parameters));
+        LOGGER.info("Removed [{}] audit records from [{}]", count, this.tableName);
+    }
+
+    private Object[] getInsertParameters(final AuditActionContext audit) {
+        return new Object[]{
+            trim(audit.getPrincipal()),
+            audit.getClientIpAddress(),
+            audit.getServerIpAddress(),
+            trim(audit.getResourceOperatedUpon()),
+            trim(audit.getActionPerformed()),
+            audit.getApplicationCode(),
+            audit.getWhenActionWasPerformed()
+        };
+    }
+
+    private String trim(final String value) {
+        if (this.columnLength <= 0) {
+            return value;
+        }
+        return StringUtils.substring(value, 0, this.columnLength);
+    }
+}
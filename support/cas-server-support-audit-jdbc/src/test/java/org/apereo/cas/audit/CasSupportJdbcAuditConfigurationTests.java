@@ -7,7 +7,10 @@ import org.apereo.cas.config.CasCoreUtilConfiguration;
 import org.apereo.cas.configuration.CasConfigurationProperties;
 
 import lombok.Getter;
+import lombok.val;
+import org.apereo.inspektr.audit.AuditActionContext;
 import org.apereo.inspektr.audit.AuditTrailManager;
+import org.junit.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.autoconfigure.aop.AopAutoConfiguration;
@@ -16,6 +19,13 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.cloud.autoconfigure.RefreshAutoConfiguration;
 import org.springframework.test.context.TestPropertySource;
 
+import java.time.LocalDate;
+import java.util.Date;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.Assert.*;
+
 /**
  * This is {@link CasSupportJdbcAuditConfigurationTests}.
  *
@@ -37,4 +47,17 @@ public class CasSupportJdbcAuditConfigurationTests extends BaseAuditConfiguratio
     @Autowired
     @Qualifier("jdbcAuditTrailManager")
     private AuditTrailManager auditTrailManager;
+
+    @Test
+    public void verifyAuditRecordsAreSavedInBatch() {
+        val manager = (JdbcAuditTrailManager) getAuditTrailManager();
+        val since = LocalDate.now().minusDays(2);
+        val count = manager.getAuditRecordsSince(since).size();
+        val records = IntStream.range(0, 10)
+            .mapToObj(i -> new AuditActionContext("batchuser" + i, "TEST", "TEST",
+                "CAS", new Date(), "1.2.3.4", "1.2.3.4"))
+            .collect(Collectors.toList());
+        manager.saveAuditRecords(records);
+        assertEquals(count + records.size(), manager.getAuditRecordsSince(since).size());
+    }
 }
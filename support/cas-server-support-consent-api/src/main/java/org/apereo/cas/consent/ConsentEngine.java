@@ -86,4 +86,13 @@ public interface ConsentEngine extends Serializable {
      * @return the consent repository
      */
     ConsentRepository getConsentRepository();
+
+    /**
+     * Forget any cached consent decisions for the principal,
+     * typically once decisions are removed from the repository directly.
+     *
+     * @param principal the principal
+     */
+    default void invalidateConsentDecisions(final String principal) {
+    }
 }
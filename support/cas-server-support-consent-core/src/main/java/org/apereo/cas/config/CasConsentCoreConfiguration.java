@@ -4,6 +4,7 @@ import org.apereo.cas.CipherExecutor;
 import org.apereo.cas.audit.AuditTrailRecordResolutionPlan;
 import org.apereo.cas.audit.AuditTrailRecordResolutionPlanConfigurer;
 import org.apereo.cas.configuration.CasConfigurationProperties;
+import org.apereo.cas.configuration.support.Beans;
 import org.apereo.cas.consent.AttributeConsentReportEndpoint;
 import org.apereo.cas.consent.AttributeReleaseConsentCipherExecutor;
 import org.apereo.cas.consent.ConsentDecisionBuilder;
@@ -55,7 +56,8 @@ public class CasConsentCoreConfiguration implements AuditTrailRecordResolutionPl
     @Bean
     @RefreshScope
     public ConsentEngine consentEngine() {
-        return new DefaultConsentEngine(consentRepository(), consentDecisionBuilder());
+        return new DefaultConsentEngine(consentRepository(), consentDecisionBuilder(),
+            Beans.newDuration(casProperties.getConsent().getCacheDuration()));
     }
 
     @ConditionalOnMissingBean(name = "consentCipherExecutor")
@@ -90,7 +92,7 @@ public class CasConsentCoreConfiguration implements AuditTrailRecordResolutionPl
         if (location != null) {
             LOGGER.warn("Storing consent records in [{}]. This MAY NOT be appropriate in production. "
                 + "Consider choosing an alternative repository format for storing consent decisions", location);
-            return new JsonConsentRepository(location);
+            return new JsonConsentRepository(location, casProperties.getConsent().getJson().getJournalCompactionThreshold());
         }
 
         val groovy = casProperties.getConsent().getGroovy().getLocation();
@@ -59,7 +59,9 @@ public class AttributeConsentReportEndpoint {
     @DeleteOperation
     public boolean revokeConsents(@Selector final String principal, @Selector final long decisionId) {
         LOGGER.debug("Deleting consent decisions for principal [{}].", principal);
-        return this.consentRepository.deleteConsentDecision(decisionId, principal);
+        val result = this.consentRepository.deleteConsentDecision(decisionId, principal);
+        this.consentEngine.invalidateConsentDecisions(principal);
+        return result;
     }
 
 }
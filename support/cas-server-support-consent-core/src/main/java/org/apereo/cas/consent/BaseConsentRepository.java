@@ -5,78 +5,119 @@ import org.apereo.cas.authentication.principal.Service;
 import org.apereo.cas.services.RegisteredService;
 import org.apereo.cas.util.RandomUtils;
 
-import lombok.AllArgsConstructor;
-import lombok.RequiredArgsConstructor;
-import lombok.Setter;
 import lombok.val;
 
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.LinkedHashSet;
+import java.util.Map;
 import java.util.Set;
-import java.util.stream.Collectors;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * This is {@link BaseConsentRepository}.
+ * Decisions are indexed by their identifier and by principal and service,
+ * so lookups do not need to walk all decisions.
  *
  * @author Misagh Moayyed
  * @since 5.2.0
  */
-@Setter
-@RequiredArgsConstructor
-@AllArgsConstructor
 public abstract class BaseConsentRepository implements ConsentRepository {
     private static final long serialVersionUID = 1736846688546785564L;
-    private transient Set<ConsentDecision> consentDecisions = new LinkedHashSet<>();
+
+    private final transient Map<Long, ConsentDecision> consentDecisions = new ConcurrentHashMap<>();
+
+    private final transient Map<String, Map<String, ConsentDecision>> consentDecisionsByPrincipal = new ConcurrentHashMap<>();
 
     @Override
     public ConsentDecision findConsentDecision(final Service service, final RegisteredService registeredService,
                                                final Authentication authentication) {
-        return this.consentDecisions.stream()
-            .filter(d -> d.getPrincipal().equals(authentication.getPrincipal().getId())
-                && d.getService().equals(service.getId()))
-            .findFirst()
-            .orElse(null);
+        val decisions = this.consentDecisionsByPrincipal.get(authentication.getPrincipal().getId());
+        return decisions != null ? decisions.get(service.getId()) : null;
     }
 
     @Override
     public Collection<? extends ConsentDecision> findConsentDecisions(final String principal) {
-        return this.consentDecisions.stream()
-            .filter(d -> d.getPrincipal().equals(principal))
-            .collect(Collectors.toSet());
+        val decisions = this.consentDecisionsByPrincipal.get(principal);
+        return decisions != null ? new LinkedHashSet<>(decisions.values()) : new LinkedHashSet<>(0);
     }
 
     @Override
     public Collection<? extends ConsentDecision> findConsentDecisions() {
-        return new ArrayList<>(this.consentDecisions);
+        return new ArrayList<>(this.consentDecisions.values());
     }
 
     @Override
     public boolean storeConsentDecision(final ConsentDecision decision) {
-        val consent = getConsentDecisions()
-            .stream()
-            .filter(d -> d.getId() == decision.getId())
-            .findFirst()
-            .orElse(null);
-        if (consent != null) {
-            getConsentDecisions().remove(decision);
-        } else {
+        if (!this.consentDecisions.containsKey(decision.getId())) {
             decision.setId(RandomUtils.getNativeInstance().nextInt());
         }
-        getConsentDecisions().add(decision);
+        addConsentDecision(decision);
         return true;
     }
 
-
     @Override
     public boolean deleteConsentDecision(final long decisionId, final String principal) {
-        val decisions = findConsentDecisions(principal);
-        val result = decisions.stream().filter(d -> d.getId() == decisionId).findFirst();
-        result.ifPresent(value -> this.consentDecisions.remove(value));
-        return result.isPresent();
+        val decision = this.consentDecisions.get(decisionId);
+        if (decision == null || !decision.getPrincipal().equals(principal)) {
+            return false;
+        }
+        removeConsentDecision(decision);
+        return true;
     }
 
+    /**
+     * Gets all consent decisions.
+     *
+     * @return the consent decisions
+     */
     protected Set<ConsentDecision> getConsentDecisions() {
-        return this.consentDecisions;
+        return new LinkedHashSet<>(this.consentDecisions.values());
+    }
+
+    /**
+     * Replace all consent decisions.
+     *
+     * @param decisions the decisions
+     */
+    protected void setConsentDecisions(final Collection<ConsentDecision> decisions) {
+        this.consentDecisions.clear();
+        this.consentDecisionsByPrincipal.clear();
+        decisions.forEach(this::addConsentDecision);
+    }
+
+    /**
+     * Add or replace the consent decision, keeping all indexes up to date.
+     *
+     * @param decision the decision
+     */
+    protected void addConsentDecision(final ConsentDecision decision) {
+        val previous = this.consentDecisions.put(decision.getId(), decision);
+        if (previous != null && previous != decision) {
+            unindex(previous);
+        }
+        val replaced = this.consentDecisionsByPrincipal
+            .computeIfAbsent(decision.getPrincipal(), k -> new ConcurrentHashMap<>())
+            .put(decision.getService(), decision);
+        if (replaced != null && replaced.getId() != decision.getId()) {
+            this.consentDecisions.remove(replaced.getId(), replaced);
+        }
+    }
+
+    /**
+     * Remove the consent decision from all indexes.
+     *
+     * @param decision the decision
+     */
+    protected void removeConsentDecision(final ConsentDecision decision) {
+        this.consentDecisions.remove(decision.getId());
+        unindex(decision);
+    }
+
+    private void unindex(final ConsentDecision decision) {
+        this.consentDecisionsByPrincipal.computeIfPresent(decision.getPrincipal(), (principal, decisions) -> {
+            decisions.remove(decision.getService(), decision);
+            return decisions.isEmpty() ? null : decisions;
+        });
     }
 }
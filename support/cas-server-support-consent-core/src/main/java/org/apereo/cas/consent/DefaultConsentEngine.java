@@ -5,17 +5,20 @@ import org.apereo.cas.authentication.principal.Service;
 import org.apereo.cas.services.RegisteredService;
 import org.apereo.cas.util.function.FunctionUtils;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import lombok.Getter;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import lombok.val;
 import org.apache.commons.lang3.tuple.Pair;
 import org.apereo.inspektr.audit.annotation.Audit;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
 import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.Optional;
 
 /**
  * This is {@link DefaultConsentEngine}.
@@ -24,13 +27,33 @@ import java.util.Map;
  * @since 5.1.0
  */
 @Slf4j
-@RequiredArgsConstructor
 @Getter
 public class DefaultConsentEngine implements ConsentEngine {
     private static final long serialVersionUID = -617809298856160625L;
 
+    private static final int MAX_CACHE_SIZE = 100_000;
+
     private final ConsentRepository consentRepository;
     private final ConsentDecisionBuilder consentDecisionBuilder;
+    private final transient Cache<Pair<String, String>, Optional<ConsentDecision>> consentDecisionCache;
+
+    public DefaultConsentEngine(final ConsentRepository consentRepository, final ConsentDecisionBuilder consentDecisionBuilder) {
+        this(consentRepository, consentDecisionBuilder, Duration.ZERO);
+    }
+
+    public DefaultConsentEngine(final ConsentRepository consentRepository, final ConsentDecisionBuilder consentDecisionBuilder,
+                                final Duration cacheDuration) {
+        this.consentRepository = consentRepository;
+        this.consentDecisionBuilder = consentDecisionBuilder;
+        if (cacheDuration.isZero() || cacheDuration.isNegative()) {
+            this.consentDecisionCache = null;
+        } else {
+            this.consentDecisionCache = Caffeine.newBuilder()
+                .maximumSize(MAX_CACHE_SIZE)
+                .expireAfterWrite(cacheDuration)
+                .build();
+        }
+    }
 
     @Override
     public Pair<Boolean, ConsentDecision> isConsentRequiredFor(final Service service,
@@ -97,6 +120,9 @@ public class DefaultConsentEngine implements ConsentEngine {
         decision.setReminderTimeUnit(reminderTimeUnit);
 
         if (consentRepository.storeConsentDecision(decision)) {
+            if (consentDecisionCache != null) {
+                consentDecisionCache.put(Pair.of(principalId, service.getId()), Optional.of(decision));
+            }
             return decision;
         }
         throw new IllegalArgumentException("Could not store consent decision");
@@ -106,7 +132,20 @@ public class DefaultConsentEngine implements ConsentEngine {
     public ConsentDecision findConsentDecision(final Service service,
                                                final RegisteredService registeredService,
                                                final Authentication authentication) {
-        return consentRepository.findConsentDecision(service, registeredService, authentication);
+        if (consentDecisionCache == null) {
+            return consentRepository.findConsentDecision(service, registeredService, authentication);
+        }
+        val key = Pair.of(authentication.getPrincipal().getId(), service.getId());
+        return consentDecisionCache.get(key,
+            k -> Optional.ofNullable(consentRepository.findConsentDecision(service, registeredService, authentication)))
+            .orElse(null);
+    }
+
+    @Override
+    public void invalidateConsentDecisions(final String principal) {
+        if (consentDecisionCache != null) {
+            consentDecisionCache.asMap().keySet().removeIf(key -> key.getLeft().equals(principal));
+        }
     }
 
     @Override
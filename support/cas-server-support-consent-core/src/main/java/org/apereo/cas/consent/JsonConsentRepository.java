@@ -4,44 +4,78 @@ import org.apereo.cas.util.ResourceUtils;
 
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
 import lombok.SneakyThrows;
+import lombok.extern.slf4j.Slf4j;
 import lombok.val;
+import org.apache.commons.lang3.StringUtils;
 import org.hjson.JsonValue;
 import org.springframework.core.io.Resource;
 
+import java.io.File;
 import java.io.InputStreamReader;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
 import java.util.LinkedHashSet;
 import java.util.Set;
 
 /**
  * This is {@link JsonConsentRepository}.
+ * Changes are appended to a journal file next to the JSON resource, rather than rewriting
+ * the resource on every change. Once the journal grows past the compaction threshold,
+ * all decisions are written back to the JSON resource and the journal is cleared.
  *
  * @author Misagh Moayyed
  * @since 5.2.0
  */
+@Slf4j
 public class JsonConsentRepository extends BaseConsentRepository {
+    /**
+     * Default number of journal entries after which the journal is compacted.
+     */
+    public static final int DEFAULT_JOURNAL_COMPACTION_THRESHOLD = 1000;
+
     private static final long serialVersionUID = -402728417464783825L;
 
     private static final ObjectMapper MAPPER = new ObjectMapper().findAndRegisterModules();
+
+    private static final String JOURNAL_FILE_EXTENSION = ".journal";
+
     private final transient Resource jsonResource;
 
+    private final int journalCompactionThreshold;
+
+    private transient int journalEntries;
+
     public JsonConsentRepository(final Resource jsonResource) {
+        this(jsonResource, DEFAULT_JOURNAL_COMPACTION_THRESHOLD);
+    }
+
+    public JsonConsentRepository(final Resource jsonResource, final int journalCompactionThreshold) {
         this.jsonResource = jsonResource;
+        this.journalCompactionThreshold = Math.max(1, journalCompactionThreshold);
         setConsentDecisions(readDecisionsFromJsonResource());
+        replayJournal();
     }
 
     @Override
-    public boolean storeConsentDecision(final ConsentDecision decision) {
+    public synchronized boolean storeConsentDecision(final ConsentDecision decision) {
         val result = super.storeConsentDecision(decision);
-        writeAccountToJsonResource();
+        appendToJournal(new JournalEntry(JournalOperation.STORE, decision, decision.getId(), decision.getPrincipal()));
         return result;
     }
 
     @Override
-    public boolean deleteConsentDecision(final long decisionId, final String principal) {
+    public synchronized boolean deleteConsentDecision(final long decisionId, final String principal) {
         val result = super.deleteConsentDecision(decisionId, principal);
-        writeAccountToJsonResource();
+        if (result) {
+            appendToJournal(new JournalEntry(JournalOperation.DELETE, null, decisionId, principal));
+        }
         return result;
     }
 
@@ -58,9 +92,85 @@ public class JsonConsentRepository extends BaseConsentRepository {
     }
 
     @SneakyThrows
-    private boolean writeAccountToJsonResource() {
-        MAPPER.writerWithDefaultPrettyPrinter().writeValue(this.jsonResource.getFile(), getConsentDecisions());
-        readDecisionsFromJsonResource();
-        return true;
+    private File getJournalFile() {
+        val file = this.jsonResource.getFile();
+        return new File(file.getParentFile(), file.getName() + JOURNAL_FILE_EXTENSION);
+    }
+
+    private void replayJournal() {
+        try {
+            val journal = getJournalFile();
+            if (!journal.exists()) {
+                return;
+            }
+            val lines = Files.readAllLines(journal.toPath(), StandardCharsets.UTF_8);
+            lines.stream()
+                .filter(StringUtils::isNotBlank)
+                .forEach(line -> {
+                    try {
+                        val entry = MAPPER.readValue(line, JournalEntry.class);
+                        if (entry.getOperation() == JournalOperation.STORE) {
+                            addConsentDecision(entry.getDecision());
+                        } else {
+                            super.deleteConsentDecision(entry.getId(), entry.getPrincipal());
+                        }
+                        this.journalEntries++;
+                    } catch (final Exception e) {
+                        LOGGER.warn("Skipping unreadable consent journal entry [{}]", line);
+                        LOGGER.debug(e.getMessage(), e);
+                    }
+                });
+            LOGGER.debug("Replayed [{}] consent journal entries from [{}]", this.journalEntries, journal);
+            if (this.journalEntries >= this.journalCompactionThreshold) {
+                compact();
+            }
+        } catch (final Exception e) {
+            LOGGER.error("Unable to replay consent journal for [{}]: [{}]", this.jsonResource, e.getMessage());
+            LOGGER.debug(e.getMessage(), e);
+        }
+    }
+
+    @SneakyThrows
+    private void appendToJournal(final JournalEntry entry) {
+        val line = MAPPER.writeValueAsString(entry) + System.lineSeparator();
+        Files.write(getJournalFile().toPath(), line.getBytes(StandardCharsets.UTF_8),
+            StandardOpenOption.CREATE, StandardOpenOption.APPEND, StandardOpenOption.WRITE);
+        this.journalEntries++;
+        if (this.journalEntries >= this.journalCompactionThreshold) {
+            compact();
+        }
+    }
+
+    /**
+     * Write all decisions back to the JSON resource and clear the journal.
+     * Replaying the journal is idempotent, so a failure between the two steps loses nothing.
+     */
+    @SneakyThrows
+    private void compact() {
+        val file = this.jsonResource.getFile();
+        val tempFile = new File(file.getParentFile(), file.getName() + ".tmp");
+        MAPPER.writerWithDefaultPrettyPrinter().writeValue(tempFile, getConsentDecisions());
+        Files.move(tempFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        Files.deleteIfExists(getJournalFile().toPath());
+        LOGGER.debug("Compacted [{}] consent journal entries into [{}]", this.journalEntries, file);
+        this.journalEntries = 0;
+    }
+
+    /**
+     * Operations recorded in the consent journal.
+     */
+    private enum JournalOperation {
+        STORE, DELETE
+    }
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    private static class JournalEntry {
+        private JournalOperation operation;
+        private ConsentDecision decision;
+        private long id;
+        private String principal;
     }
 }
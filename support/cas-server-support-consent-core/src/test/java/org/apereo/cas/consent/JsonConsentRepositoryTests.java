@@ -1,15 +1,25 @@
 package org.apereo.cas.consent;
 
 import org.apereo.cas.audit.spi.config.CasCoreAuditConfiguration;
+import org.apereo.cas.authentication.CoreAuthenticationTestUtils;
 import org.apereo.cas.config.CasConsentCoreConfiguration;
 
 import lombok.Getter;
+import lombok.SneakyThrows;
+import lombok.val;
+import org.junit.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.cloud.autoconfigure.RefreshAutoConfiguration;
+import org.springframework.core.io.FileSystemResource;
 import org.springframework.test.context.TestPropertySource;
 
+import java.io.File;
+import java.nio.file.Files;
+
+import static org.junit.Assert.*;
+
 /**
  * This is {@link JsonConsentRepositoryTests}.
  *
@@ -30,4 +40,30 @@ public class JsonConsentRepositoryTests extends BaseConsentRepositoryTests {
     @Autowired
     @Qualifier("consentRepository")
     protected ConsentRepository repository;
+
+    @Test
+    @SneakyThrows
+    public void verifyJournalIsReplayedAndCompacted() {
+        val file = File.createTempFile("consent", ".json");
+        Files.write(file.toPath(), "[]".getBytes());
+        val journal = new File(file.getParentFile(), file.getName() + ".journal");
+        journal.deleteOnExit();
+        file.deleteOnExit();
+
+        val repo = new JsonConsentRepository(new FileSystemResource(file), 3);
+        val decision = BUILDER.build(SVC, REG_SVC, CASUSER_2, ATTR);
+        assertTrue(repo.storeConsentDecision(decision));
+        assertTrue(journal.exists());
+
+        val replayed = new JsonConsentRepository(new FileSystemResource(file), 3);
+        assertNotNull(replayed.findConsentDecision(SVC, REG_SVC, CoreAuthenticationTestUtils.getAuthentication(CASUSER_2)));
+
+        assertTrue(replayed.deleteConsentDecision(decision.getId(), CASUSER_2));
+        assertTrue(replayed.storeConsentDecision(BUILDER.build(SVC, REG_SVC, "casuser3", ATTR)));
+        assertFalse(journal.exists());
+
+        val compacted = new JsonConsentRepository(new FileSystemResource(file), 3);
+        assertNull(compacted.findConsentDecision(SVC, REG_SVC, CoreAuthenticationTestUtils.getAuthentication(CASUSER_2)));
+        assertNotNull(compacted.findConsentDecision(SVC, REG_SVC, CoreAuthenticationTestUtils.getAuthentication("casuser3")));
+    }
 }
@@ -66,9 +66,12 @@ public class JpaConsentRepository implements ConsentRepository {
                                                final Authentication authentication) {
         try {
             val query = SELECT_QUERY.concat("where r.principal = :principal and r.service = :service");
-            return this.entityManager.createQuery(query, ConsentDecision.class)
+            val results = this.entityManager.createQuery(query, ConsentDecision.class)
                 .setParameter("principal", authentication.getPrincipal().getId())
-                .setParameter("service", service.getId()).getSingleResult();
+                .setParameter("service", service.getId())
+                .setMaxResults(1)
+                .getResultList();
+            return results.isEmpty() ? null : results.get(0);
         } catch (final NoResultException e) {
             LOGGER.debug(e.getMessage());
         } catch (final Exception e) {
@@ -95,8 +98,10 @@ public class JpaConsentRepository implements ConsentRepository {
     @Override
     public boolean deleteConsentDecision(final long decisionId, final String principal) {
         try {
-            val decision = this.entityManager.createQuery(SELECT_QUERY.concat("where r.id = :id"), ConsentDecision.class)
-                .setParameter("id", decisionId).getSingleResult();
+            val decision = this.entityManager.find(ConsentDecision.class, decisionId);
+            if (decision == null) {
+                return false;
+            }
             this.entityManager.remove(decision);
             return true;
         } catch (final Exception e) {
@@ -10,6 +10,8 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.index.Index;
 
 /**
  * This is {@link CasConsentMongoDbConfiguration}.
@@ -30,6 +32,8 @@ public class CasConsentMongoDbConfiguration {
         val factory = new MongoDbConnectionFactory();
         val mongoTemplate = factory.buildMongoTemplate(mongo);
         factory.createCollection(mongoTemplate, mongo.getCollection(), mongo.isDropCollection());
+        val index = new Index().on("principal", Sort.Direction.ASC).on("service", Sort.Direction.ASC);
+        mongoTemplate.indexOps(mongo.getCollection()).ensureIndex(index);
         return new MongoDbConsentRepository(mongoTemplate, mongo.getCollection());
     }
 }
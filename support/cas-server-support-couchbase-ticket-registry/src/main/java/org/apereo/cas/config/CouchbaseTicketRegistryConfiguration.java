@@ -8,9 +8,11 @@ import org.apereo.cas.ticket.registry.CouchbaseTicketRegistry;
 import org.apereo.cas.ticket.registry.NoOpTicketRegistryCleaner;
 import org.apereo.cas.ticket.registry.TicketRegistry;
 import org.apereo.cas.ticket.registry.TicketRegistryCleaner;
+import org.apereo.cas.ticket.serialization.TicketSerializer;
 import org.apereo.cas.util.CoreTicketUtils;
 
 import lombok.val;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
@@ -32,6 +34,10 @@ public class CouchbaseTicketRegistryConfiguration {
     @Autowired
     private CasConfigurationProperties casProperties;
 
+    @Autowired
+    @Qualifier("ticketSerializer")
+    private ObjectProvider<TicketSerializer> ticketSerializer;
+
     @RefreshScope
     @Bean
     public CouchbaseClientFactory ticketRegistryCouchbaseClientFactory() {
@@ -51,6 +57,9 @@ public class CouchbaseTicketRegistryConfiguration {
         val couchbase = casProperties.getTicket().getRegistry().getCouchbase();
         val c = new CouchbaseTicketRegistry(ticketCatalog, ticketRegistryCouchbaseClientFactory());
         c.setCipherExecutor(CoreTicketUtils.newTicketRegistryCipherExecutor(couchbase.getCrypto(), "couchbase"));
+        if (!"JDK".equalsIgnoreCase(casProperties.getTicket().getRegistry().getSerialization().getType())) {
+            c.setTicketSerializer(ticketSerializer.getIfAvailable());
+        }
         return c;
     }
 
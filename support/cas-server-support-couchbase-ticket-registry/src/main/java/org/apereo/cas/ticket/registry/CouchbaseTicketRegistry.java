@@ -5,15 +5,19 @@ import org.apereo.cas.ticket.ServiceTicket;
 import org.apereo.cas.ticket.Ticket;
 import org.apereo.cas.ticket.TicketCatalog;
 import org.apereo.cas.ticket.TicketGrantingTicket;
+import org.apereo.cas.ticket.serialization.TicketSerializer;
 import org.apereo.cas.util.CollectionUtils;
 
+import com.couchbase.client.java.document.ByteArrayDocument;
 import com.couchbase.client.java.document.SerializableDocument;
+import com.couchbase.client.java.error.TranscodingException;
 import com.couchbase.client.java.view.DefaultView;
 import com.couchbase.client.java.view.View;
 import com.couchbase.client.java.view.ViewQuery;
 import com.couchbase.client.java.view.ViewResult;
 import com.couchbase.client.java.view.ViewRow;
 import lombok.RequiredArgsConstructor;
+import lombok.Setter;
 import lombok.SneakyThrows;
 import lombok.extern.slf4j.Slf4j;
 import lombok.val;
@@ -32,6 +36,8 @@ import java.util.stream.Collectors;
  * CouchBase is a multi host NoSQL database with a memcached interface
  * to persistent storage which also is quite usable as a replicated
  * ticket storage engine for multiple front end CAS servers.
+ * Tickets are stored as serialized documents, or as binary documents produced by the
+ * {@link TicketSerializer} if one is assigned; either form is read back.
  *
  * @author Fredrik Jönsson "fjo@kth.se"
  * @author Misagh Moayyed
@@ -69,6 +75,9 @@ public class CouchbaseTicketRegistry extends AbstractTicketRegistry implements D
     private final TicketCatalog ticketCatalog;
     private final CouchbaseClientFactory couchbase;
 
+    @Setter
+    private TicketSerializer ticketSerializer;
+
     private static int getViewRowCountFromViewResultIterator(final Iterator<ViewRow> iterator) {
         if (iterator.hasNext()) {
             val res = iterator.next();
@@ -100,6 +109,7 @@ public class CouchbaseTicketRegistry extends AbstractTicketRegistry implements D
     @Override
     public Ticket updateTicket(final Ticket ticket) {
         addTicket(ticket);
+        deleteLegacyTicketEntry(ticket);
         return ticket;
     }
 
@@ -108,7 +118,9 @@ public class CouchbaseTicketRegistry extends AbstractTicketRegistry implements D
         LOGGER.debug("Adding ticket [{}]", ticketToAdd);
         try {
             val ticket = encodeTicket(ticketToAdd);
-            val document = SerializableDocument.create(ticket.getId(), getTimeToLive(ticketToAdd), ticket);
+            val document = this.ticketSerializer != null
+                ? ByteArrayDocument.create(ticket.getId(), getTimeToLive(ticketToAdd), this.ticketSerializer.serialize(ticket))
+                : SerializableDocument.create(ticket.getId(), getTimeToLive(ticketToAdd), ticket);
             val bucket = this.couchbase.getBucket();
             LOGGER.debug("Created document for ticket [{}]. Upserting into bucket [{}]", ticketToAdd, bucket.name());
             bucket.upsert(document);
@@ -127,9 +139,8 @@ public class CouchbaseTicketRegistry extends AbstractTicketRegistry implements D
                 return null;
             }
 
-            val document = this.couchbase.getBucket().get(encTicketId, SerializableDocument.class);
-            if (document != null) {
-                val t = (Ticket) document.content();
+            val t = getTicketDocumentContent(encTicketId);
+            if (t != null) {
                 LOGGER.debug("Got ticket [{}] from the registry.", t);
 
                 val decoded = decodeTicket(t);
@@ -160,9 +171,9 @@ public class CouchbaseTicketRegistry extends AbstractTicketRegistry implements D
     public Collection<? extends Ticket> getTickets() {
         return this.ticketCatalog.findAll().stream().flatMap(t -> getViewResultIteratorForPrefixedTickets(t.getPrefix() + '-').allRows().stream())
             .filter(row -> StringUtils.isNotBlank(row.id())).map(row -> {
-                val ticket = (Ticket) row.document().content();
+                val ticket = getTicketDocumentContent(row.id());
                 LOGGER.debug("Got ticket [{}] from the registry.", ticket);
-                return decodeTicket(ticket);
+                return ticket != null ? decodeTicket(ticket) : null;
             }).map(decoded -> {
                 if (decoded == null || decoded.isExpired()) {
                     LOGGER.warn("Ticket has expired or cannot be decoded");
@@ -196,7 +207,7 @@ public class CouchbaseTicketRegistry extends AbstractTicketRegistry implements D
 
     @Override
     public long deleteAll() {
-        val remove = (Consumer<? super ViewRow>) t -> this.couchbase.getBucket().remove(t.document());
+        val remove = (Consumer<? super ViewRow>) t -> this.couchbase.getBucket().remove(t.id());
         return this.ticketCatalog.findAll()
             .stream()
             .mapToLong(t -> {
@@ -208,6 +219,24 @@ public class CouchbaseTicketRegistry extends AbstractTicketRegistry implements D
             .sum();
     }
 
+    /**
+     * Binary documents are read if a ticket serializer is assigned; documents
+     * stored before the serializer was assigned are read as serialized documents.
+     */
+    private Ticket getTicketDocumentContent(final String id) {
+        val bucket = this.couchbase.getBucket();
+        if (this.ticketSerializer != null) {
+            try {
+                val document = bucket.get(id, ByteArrayDocument.class);
+                return document != null ? this.ticketSerializer.deserialize(document.content()) : null;
+            } catch (final TranscodingException e) {
+                LOGGER.trace("Ticket [{}] is not stored as a binary document and is read as a serialized document", id);
+            }
+        }
+        val document = bucket.get(id, SerializableDocument.class);
+        return document != null ? (Ticket) document.content() : null;
+    }
+
     private int runQuery(final String prefix) {
         val iterator = getViewResultIteratorForPrefixedTickets(prefix).iterator();
         return getViewRowCountFromViewResultIterator(iterator);
@@ -130,6 +130,7 @@ public class CouchDbTicketRegistry extends AbstractTicketRegistry {
             }
             if (success) {
                 LOGGER.debug("Successfully updated ticket [{}].", encodedTicket.getId());
+                deleteLegacyTicketEntry(ticket);
                 return ticket;
             }
         }
@@ -6,6 +6,7 @@ import org.apereo.cas.ticket.TicketCatalog;
 import org.apereo.cas.ticket.registry.DynamoDbTicketRegistry;
 import org.apereo.cas.ticket.registry.DynamoDbTicketRegistryFacilitator;
 import org.apereo.cas.ticket.registry.TicketRegistry;
+import org.apereo.cas.ticket.serialization.TicketSerializer;
 import org.apereo.cas.util.CoreTicketUtils;
 
 import com.amazonaws.services.dynamodbv2.AmazonDynamoDB;
@@ -30,6 +31,10 @@ public class DynamoDbTicketRegistryConfiguration {
     @Autowired
     private CasConfigurationProperties casProperties;
 
+    @Autowired
+    @Qualifier("ticketSerializer")
+    private TicketSerializer ticketSerializer;
+
     @Autowired
     @RefreshScope
     @Bean
@@ -45,7 +50,7 @@ public class DynamoDbTicketRegistryConfiguration {
     @Bean
     public DynamoDbTicketRegistryFacilitator dynamoDbTicketRegistryFacilitator(@Qualifier("ticketCatalog") final TicketCatalog ticketCatalog) {
         val db = casProperties.getTicket().getRegistry().getDynamoDb();
-        val f = new DynamoDbTicketRegistryFacilitator(ticketCatalog, db, amazonDynamoDbClient());
+        val f = new DynamoDbTicketRegistryFacilitator(ticketCatalog, db, amazonDynamoDbClient(), ticketSerializer);
         if (!db.isPreventTableCreationOnStartup()) {
             f.createTicketTables(db.isDropTablesOnStartup());
         }
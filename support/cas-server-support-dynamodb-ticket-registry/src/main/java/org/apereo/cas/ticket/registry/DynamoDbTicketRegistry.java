@@ -65,6 +65,7 @@ public class DynamoDbTicketRegistry extends AbstractTicketRegistry {
     @Override
     public Ticket updateTicket(final Ticket ticket) {
         addTicket(ticket);
+        deleteLegacyTicketEntry(ticket);
         return ticket;
     }
 
@@ -159,6 +159,7 @@ public class EhCacheTicketRegistry extends AbstractTicketRegistry {
     @Override
     public Ticket updateTicket(final Ticket ticket) {
         addTicket(ticket);
+        deleteLegacyTicketEntry(ticket);
         return ticket;
     }
 
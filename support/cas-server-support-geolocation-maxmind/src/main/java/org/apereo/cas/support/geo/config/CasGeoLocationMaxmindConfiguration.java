@@ -2,10 +2,9 @@ package org.apereo.cas.support.geo.config;
 
 import org.apereo.cas.authentication.adaptive.geo.GeoLocationService;
 import org.apereo.cas.configuration.CasConfigurationProperties;
+import org.apereo.cas.configuration.support.Beans;
 import org.apereo.cas.support.geo.maxmind.MaxmindDatabaseGeoLocationService;
 
-import com.maxmind.db.CHMCache;
-import com.maxmind.geoip2.DatabaseReader;
 import lombok.SneakyThrows;
 import lombok.val;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -13,9 +12,6 @@ import org.springframework.boot.context.properties.EnableConfigurationProperties
 import org.springframework.cloud.context.config.annotation.RefreshScope;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.core.io.Resource;
-
-import java.io.IOException;
 
 /**
  * This is {@link CasGeoLocationMaxmindConfiguration}.
@@ -34,22 +30,20 @@ public class CasGeoLocationMaxmindConfiguration {
     @SneakyThrows
     public GeoLocationService geoLocationService() {
         val properties = casProperties.getMaxmind();
-        val cityDatabase = readDatabase(properties.getCityDatabase());
-        val countryDatabase = readDatabase(properties.getCountryDatabase());
+        val cityDatabase = MaxmindDatabaseGeoLocationService.newDatabaseReader(properties.getCityDatabase());
+        val countryDatabase = MaxmindDatabaseGeoLocationService.newDatabaseReader(properties.getCountryDatabase());
 
         if (cityDatabase == null && countryDatabase == null) {
             throw new IllegalArgumentException("No geolocation services have been defined for Maxmind");
         }
 
-        val svc = new MaxmindDatabaseGeoLocationService(cityDatabase, countryDatabase);
+        val svc = new MaxmindDatabaseGeoLocationService(cityDatabase, countryDatabase,
+            properties.getCacheMaximumSize(), Beans.newDuration(properties.getCacheTimeToLive()),
+            properties.isCacheAddressPrefix());
         svc.setIpStackAccessKey(properties.getIpStackApiAccessKey());
-        return svc;
-    }
-
-    private static DatabaseReader readDatabase(final Resource maxmindDatabase) throws IOException {
-        if (maxmindDatabase != null && maxmindDatabase.exists()) {
-            return new DatabaseReader.Builder(maxmindDatabase.getFile()).withCache(new CHMCache()).build();
+        if (properties.isWatchDatabases()) {
+            svc.watchDatabases(properties.getCityDatabase(), properties.getCountryDatabase());
         }
-        return null;
+        return svc;
     }
 }
@@ -2,54 +2,108 @@ package org.apereo.cas.support.geo.maxmind;
 
 import org.apereo.cas.authentication.adaptive.geo.GeoLocationResponse;
 import org.apereo.cas.support.geo.AbstractGeoLocationService;
+import org.apereo.cas.util.io.FileWatcherService;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.maxmind.db.CHMCache;
+import com.maxmind.db.Reader;
 import com.maxmind.geoip2.DatabaseReader;
 import com.maxmind.geoip2.exception.AddressNotFoundException;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import lombok.val;
+import org.apache.commons.lang3.tuple.Pair;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.core.io.Resource;
 
+import java.io.IOException;
+import java.net.Inet4Address;
 import java.net.InetAddress;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
 
 /**
  * This is {@link MaxmindDatabaseGeoLocationService} that reads geo data
  * from a maxmind database and constructs a geo location based on the ip address.
- * Default caching of the databases is enabled by default.
+ * Databases are memory-mapped and lookups are cached by ip address, or optionally by the /24 prefix
+ * of IPv4 addresses. Addresses that are not found in the database are cached as misses, while other
+ * lookup failures are not cached so they can be retried. Database files that are watched are swapped in place when they change,
+ * without blocking lookups that are in progress.
  *
  * @author Misagh Moayyed
  * @since 5.0.0
  */
 @Slf4j
-@RequiredArgsConstructor
-public class MaxmindDatabaseGeoLocationService extends AbstractGeoLocationService {
-    private final DatabaseReader cityDatabaseReader;
-    private final DatabaseReader countryDatabaseReader;
+public class MaxmindDatabaseGeoLocationService extends AbstractGeoLocationService implements DisposableBean {
+    private static final long DEFAULT_CACHE_MAXIMUM_SIZE = 10_000;
+
+    private static final Duration DEFAULT_CACHE_TIME_TO_LIVE = Duration.ofHours(1);
+
+    private final AtomicReference<Pair<DatabaseReader, DatabaseReader>> databaseReaders;
+
+    private final Cache<String, Optional<GeoLocationResponse>> cache;
+
+    private final boolean cacheAddressPrefix;
+
+    private final List<FileWatcherService> watchers = new ArrayList<>();
+
+    public MaxmindDatabaseGeoLocationService(final DatabaseReader cityDatabaseReader, final DatabaseReader countryDatabaseReader) {
+        this(cityDatabaseReader, countryDatabaseReader, DEFAULT_CACHE_MAXIMUM_SIZE, DEFAULT_CACHE_TIME_TO_LIVE, false);
+    }
+
+    public MaxmindDatabaseGeoLocationService(final DatabaseReader cityDatabaseReader, final DatabaseReader countryDatabaseReader,
+                                             final long cacheMaximumSize, final Duration cacheTimeToLive,
+                                             final boolean cacheAddressPrefix) {
+        this.databaseReaders = new AtomicReference<>(Pair.of(cityDatabaseReader, countryDatabaseReader));
+        this.cache = Caffeine.newBuilder()
+            .maximumSize(cacheMaximumSize)
+            .expireAfterWrite(cacheTimeToLive)
+            .build();
+        this.cacheAddressPrefix = cacheAddressPrefix;
+    }
+
+    /**
+     * Build a database reader for the resource. Databases that are files are memory-mapped;
+     * others are read into memory.
+     *
+     * @param maxmindDatabase the maxmind database
+     * @return the database reader, or null if the resource does not exist
+     * @throws IOException the io exception
+     */
+    public static DatabaseReader newDatabaseReader(final Resource maxmindDatabase) throws IOException {
+        if (maxmindDatabase == null || !maxmindDatabase.exists()) {
+            return null;
+        }
+        if (maxmindDatabase.isFile()) {
+            return new DatabaseReader.Builder(maxmindDatabase.getFile())
+                .fileMode(Reader.FileMode.MEMORY_MAPPED)
+                .withCache(new CHMCache())
+                .build();
+        }
+        try (val is = maxmindDatabase.getInputStream()) {
+            return new DatabaseReader.Builder(is).withCache(new CHMCache()).build();
+        }
+    }
 
     @Override
     public GeoLocationResponse locate(final InetAddress address) {
+        val key = getCacheKey(address);
+        val cached = this.cache.getIfPresent(key);
+        if (cached != null) {
+            LOGGER.trace("Geo location for [{}] is found in cache as [{}]", address, cached);
+            return cached.orElse(null);
+        }
         try {
-            val location = new GeoLocationResponse();
-            if (this.cityDatabaseReader != null) {
-                val response = this.cityDatabaseReader.city(address);
-                location.addAddress(response.getCity().getName());
-                val loc = response.getLocation();
-                if (loc != null) {
-                    if (loc.getLatitude() != null) {
-                        location.setLatitude(loc.getLatitude());
-                    }
-                    if (loc.getLongitude() != null) {
-                        location.setLongitude(loc.getLongitude());
-                    }
-                }
-            }
-            if (this.countryDatabaseReader != null) {
-                val response = this.countryDatabaseReader.country(address);
-                location.addAddress(response.getCountry().getName());
-            }
-            LOGGER.debug("Geo location for [{}] is calculated as [{}]", address, location);
+            val location = lookup(address);
+            this.cache.put(key, Optional.of(location));
             return location;
         } catch (final AddressNotFoundException e) {
             LOGGER.info(e.getMessage(), e);
+            this.cache.put(key, Optional.empty());
         } catch (final Exception e) {
             LOGGER.error(e.getMessage(), e);
         }
@@ -71,4 +125,79 @@ public class MaxmindDatabaseGeoLocationService extends AbstractGeoLocationServic
         LOGGER.warn("Geo-locating an address by latitude/longitude [{}]/[{}] is not supported", latitude, longitude);
         return null;
     }
+
+    /**
+     * Watch the database files for changes, and swap in the new databases when they change.
+     *
+     * @param cityDatabase    the city database
+     * @param countryDatabase the country database
+     * @throws IOException the io exception
+     */
+    public void watchDatabases(final Resource cityDatabase, final Resource countryDatabase) throws IOException {
+        watchDatabase(cityDatabase, reader -> this.databaseReaders.updateAndGet(readers -> Pair.of(reader, readers.getRight())));
+        watchDatabase(countryDatabase, reader -> this.databaseReaders.updateAndGet(readers -> Pair.of(readers.getLeft(), reader)));
+    }
+
+    @Override
+    public void destroy() {
+        this.watchers.forEach(FileWatcherService::close);
+    }
+
+    private void watchDatabase(final Resource database, final Consumer<DatabaseReader> onReload) throws IOException {
+        if (database == null || !database.exists() || !database.isFile()) {
+            return;
+        }
+        val watcher = new FileWatcherService(database.getFile(), file -> {
+            try {
+                val reader = newDatabaseReader(database);
+                if (reader != null) {
+                    onReload.accept(reader);
+                    this.cache.invalidateAll();
+                    LOGGER.info("Reloaded maxmind database [{}]", file);
+                }
+            } catch (final Exception e) {
+                LOGGER.error("Unable to reload maxmind database [{}]: [{}]", file, e.getMessage());
+                LOGGER.debug(e.getMessage(), e);
+            }
+        });
+        watcher.start(getClass().getSimpleName());
+        this.watchers.add(watcher);
+    }
+
+    private GeoLocationResponse lookup(final InetAddress address) throws Exception {
+        val readers = this.databaseReaders.get();
+        val cityDatabaseReader = readers.getLeft();
+        val countryDatabaseReader = readers.getRight();
+
+        val location = new GeoLocationResponse();
+        if (cityDatabaseReader != null) {
+            val response = cityDatabaseReader.city(address);
+            location.addAddress(response.getCity().getName());
+            val loc = response.getLocation();
+            if (loc != null) {
+                if (loc.getLatitude() != null) {
+                    location.setLatitude(loc.getLatitude());
+                }
+                if (loc.getLongitude() != null) {
+                    location.setLongitude(loc.getLongitude());
+                }
+            }
+            if (response.getCountry() != null) {
+                location.addAddress(response.getCountry().getName());
+            }
+        } else if (countryDatabaseReader != null) {
+            val response = countryDatabaseReader.country(address);
+            location.addAddress(response.getCountry().getName());
+        }
+        LOGGER.debug("Geo location for [{}] is calculated as [{}]", address, location);
+        return location;
+    }
+
+    private String getCacheKey(final InetAddress address) {
+        if (this.cacheAddressPrefix && address instanceof Inet4Address) {
+            val bytes = address.getAddress();
+            return String.format("%d.%d.%d.0/24", bytes[0] & 0xFF, bytes[1] & 0xFF, bytes[2] & 0xFF);
+        }
+        return address.getHostAddress();
+    }
 }
@@ -1,6 +1,7 @@
 package org.apereo.cas.support.geo.maxmind;
 
 import com.maxmind.geoip2.DatabaseReader;
+import com.maxmind.geoip2.exception.AddressNotFoundException;
 import com.maxmind.geoip2.model.CityResponse;
 import com.maxmind.geoip2.model.CountryResponse;
 import com.maxmind.geoip2.record.City;
@@ -14,7 +15,9 @@ import com.maxmind.geoip2.record.Traits;
 import lombok.val;
 import org.junit.Test;
 
+import java.io.IOException;
 import java.net.InetAddress;
+import java.time.Duration;
 import java.util.ArrayList;
 
 import static org.junit.Assert.*;
@@ -48,4 +51,80 @@ public class MaxmindDatabaseGeoLocationServiceTests {
         val response2 = service.locate(100D, 100D);
         assertNull(response2);
     }
+
+    @Test
+    public void verifyCityDatabaseAloneIsConsulted() throws Exception {
+        val city = mockCityDatabase();
+        val country = mock(DatabaseReader.class);
+        val service = new MaxmindDatabaseGeoLocationService(city, country);
+        assertNotNull(service.locate("192.168.1.10"));
+        verify(country, never()).country(any(InetAddress.class));
+    }
+
+    @Test
+    public void verifyCountryDatabaseWithoutCity() throws Exception {
+        val country = mock(DatabaseReader.class);
+        val countryResponse = new CountryResponse(new Continent(), new Country(),
+            new MaxMind(), new Country(),
+            new RepresentedCountry(), new Traits());
+        when(country.country(any(InetAddress.class))).thenReturn(countryResponse);
+        val service = new MaxmindDatabaseGeoLocationService(null, country);
+        assertNotNull(service.locate("192.168.1.10"));
+        verify(country, times(1)).country(any(InetAddress.class));
+    }
+
+    @Test
+    public void verifyResultsAreCached() throws Exception {
+        val city = mockCityDatabase();
+        val service = new MaxmindDatabaseGeoLocationService(city, null);
+        assertNotNull(service.locate("192.168.1.10"));
+        assertNotNull(service.locate("192.168.1.10"));
+        assertNotNull(service.locate("192.168.1.11"));
+        verify(city, times(2)).city(any(InetAddress.class));
+    }
+
+    @Test
+    public void verifyResultsAreCachedByAddressPrefix() throws Exception {
+        val city = mockCityDatabase();
+        val service = new MaxmindDatabaseGeoLocationService(city, null, 100, Duration.ofMinutes(1), true);
+        assertNotNull(service.locate("192.168.1.10"));
+        assertNotNull(service.locate("192.168.1.11"));
+        verify(city, times(1)).city(any(InetAddress.class));
+        assertNotNull(service.locate("192.168.2.10"));
+        verify(city, times(2)).city(any(InetAddress.class));
+    }
+
+    @Test
+    public void verifyAddressNotFoundIsCached() throws Exception {
+        val city = mock(DatabaseReader.class);
+        when(city.city(any(InetAddress.class))).thenThrow(new AddressNotFoundException("Address not found"));
+        val service = new MaxmindDatabaseGeoLocationService(city, null);
+        assertNull(service.locate("192.168.1.10"));
+        assertNull(service.locate("192.168.1.10"));
+        verify(city, times(1)).city(any(InetAddress.class));
+    }
+
+    @Test
+    public void verifyLookupFailureIsNotCached() throws Exception {
+        val city = mock(DatabaseReader.class);
+        val cityResponse = new CityResponse(new City(), new Continent(), new Country(),
+            new Location(), new MaxMind(), new Postal(),
+            new Country(), new RepresentedCountry(), new ArrayList<>(), new Traits());
+        when(city.city(any(InetAddress.class)))
+            .thenThrow(new IOException("Database is unavailable"))
+            .thenReturn(cityResponse);
+        val service = new MaxmindDatabaseGeoLocationService(city, null);
+        assertNull(service.locate("192.168.1.10"));
+        assertNotNull(service.locate("192.168.1.10"));
+        verify(city, times(2)).city(any(InetAddress.class));
+    }
+
+    private static DatabaseReader mockCityDatabase() throws Exception {
+        val city = mock(DatabaseReader.class);
+        val cityResponse = new CityResponse(new City(), new Continent(), new Country(),
+            new Location(), new MaxMind(), new Postal(),
+            new Country(), new RepresentedCountry(), new ArrayList<>(), new Traits());
+        when(city.city(any(InetAddress.class))).thenReturn(cityResponse);
+        return city;
+    }
 }
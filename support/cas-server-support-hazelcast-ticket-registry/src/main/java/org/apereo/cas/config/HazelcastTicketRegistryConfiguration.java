@@ -2,20 +2,31 @@ package org.apereo.cas.config;
 
 import org.apereo.cas.configuration.CasConfigurationProperties;
 import org.apereo.cas.hz.HazelcastConfigurationFactory;
+import org.apereo.cas.ticket.Ticket;
 import org.apereo.cas.ticket.TicketCatalog;
 import org.apereo.cas.ticket.TicketDefinition;
+import org.apereo.cas.ticket.TicketGrantingTicket;
 import org.apereo.cas.ticket.registry.HazelcastTicketRegistry;
+import org.apereo.cas.ticket.registry.HazelcastTicketSerializer;
 import org.apereo.cas.ticket.registry.NoOpTicketRegistryCleaner;
 import org.apereo.cas.ticket.registry.TicketRegistry;
 import org.apereo.cas.ticket.registry.TicketRegistryCleaner;
+import org.apereo.cas.ticket.serialization.JdkTicketSerializer;
+import org.apereo.cas.ticket.serialization.TicketSerializer;
 import org.apereo.cas.util.CoreTicketUtils;
 
+import com.hazelcast.config.EvictionConfig;
+import com.hazelcast.config.EvictionPolicy;
+import com.hazelcast.config.InMemoryFormat;
+import com.hazelcast.config.NearCacheConfig;
+import com.hazelcast.config.SerializerConfig;
 import com.hazelcast.core.HazelcastInstance;
 import lombok.extern.slf4j.Slf4j;
 import lombok.val;
 import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -49,15 +60,32 @@ public class HazelcastTicketRegistryConfiguration {
     @Qualifier("ticketCatalog")
     private ObjectProvider<TicketCatalog> ticketCatalog;
 
+    @Autowired
+    @Qualifier("ticketSerializer")
+    private ObjectProvider<TicketSerializer> ticketSerializer;
+
+    @ConditionalOnMissingBean(name = "hazelcastTicketSerializerConfig")
+    @Bean
+    public SerializerConfig hazelcastTicketSerializerConfig() {
+        return new SerializerConfig()
+            .setTypeClass(Ticket.class)
+            .setImplementation(new HazelcastTicketSerializer(ticketSerializer.getIfAvailable(JdkTicketSerializer::new)));
+    }
+
     @Bean
     public TicketRegistry ticketRegistry() {
         val hz = casProperties.getTicket().getRegistry().getHazelcast();
         val factory = new HazelcastConfigurationFactory();
-        ticketCatalog.getIfAvailable().findAll().stream()
-                .map(TicketDefinition::getProperties)
-                .peek(p -> LOGGER.debug("Created Hazelcast map configuration for [{}]", p))
-                .map(p -> factory.buildMapConfig(hz, p.getStorageName(), p.getStorageTimeout()))
-                .forEach(m -> hazelcastInstance.getIfAvailable().getConfig().addMapConfig(m));
+        ticketCatalog.getIfAvailable().findAll().forEach(definition -> {
+            val p = definition.getProperties();
+            LOGGER.debug("Created Hazelcast map configuration for [{}]", p);
+            val mapConfig = factory.buildMapConfig(hz, p.getStorageName(), p.getStorageTimeout());
+            if (hz.isNearCacheEnabled() && TicketGrantingTicket.class.isAssignableFrom(definition.getImplementationClass())) {
+                LOGGER.debug("Enabling near cache for Hazelcast map [{}]", p.getStorageName());
+                mapConfig.setNearCacheConfig(buildNearCacheConfig(hz.getNearCacheMaxSize(), hz.getNearCacheMaxIdleSeconds()));
+            }
+            hazelcastInstance.getIfAvailable().getConfig().addMapConfig(mapConfig);
+        });
         val r = new HazelcastTicketRegistry(hazelcastInstance.getIfAvailable(),
             ticketCatalog.getIfAvailable(),
             hz.getPageSize());
@@ -69,4 +97,21 @@ public class HazelcastTicketRegistryConfiguration {
     public TicketRegistryCleaner ticketRegistryCleaner() {
         return NoOpTicketRegistryCleaner.getInstance();
     }
+
+    /**
+     * Near caches hold tickets in serialized form, so every read hands out
+     * a separate copy of the ticket that can be safely changed by the caller.
+     */
+    private static NearCacheConfig buildNearCacheConfig(final int maxSize, final int maxIdleSeconds) {
+        val eviction = new EvictionConfig()
+            .setEvictionPolicy(EvictionPolicy.LRU)
+            .setMaximumSizePolicy(EvictionConfig.MaxSizePolicy.ENTRY_COUNT)
+            .setSize(maxSize);
+        return new NearCacheConfig()
+            .setInMemoryFormat(InMemoryFormat.BINARY)
+            .setInvalidateOnChange(true)
+            .setCacheLocalEntries(false)
+            .setMaxIdleSeconds(maxIdleSeconds)
+            .setEvictionConfig(eviction);
+    }
 }
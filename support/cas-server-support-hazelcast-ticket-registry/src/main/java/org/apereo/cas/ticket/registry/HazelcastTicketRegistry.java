@@ -1,14 +1,23 @@
 package org.apereo.cas.ticket.registry;
 
+import org.apereo.cas.ticket.ServiceTicket;
 import org.apereo.cas.ticket.Ticket;
 import org.apereo.cas.ticket.TicketCatalog;
 import org.apereo.cas.ticket.TicketDefinition;
+import org.apereo.cas.ticket.TicketGrantingTicket;
+import org.apereo.cas.ticket.TicketGrantingTicketImpl;
+import org.apereo.cas.ticket.proxy.ProxyGrantingTicket;
 
+import com.hazelcast.core.EntryEvent;
 import com.hazelcast.core.HazelcastInstance;
 import com.hazelcast.core.IMap;
-import lombok.RequiredArgsConstructor;
+import com.hazelcast.core.MultiMap;
+import com.hazelcast.map.listener.EntryEvictedListener;
+import com.hazelcast.map.listener.EntryExpiredListener;
+import com.hazelcast.query.TruePredicate;
 import lombok.extern.slf4j.Slf4j;
 import lombok.val;
+import org.apache.commons.lang3.ObjectUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.springframework.beans.factory.DisposableBean;
 
@@ -18,6 +27,7 @@ import java.util.Objects;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Hazelcast-based implementation of a {@link TicketRegistry}.
@@ -25,24 +35,55 @@ import java.util.stream.Collectors;
  * which is an extension of the standard Java's {@code ConcurrentMap}.</p>
  * <p>The heavy lifting of distributed data partitioning, network cluster discovery and
  * join, data replication, etc. is done by Hazelcast's Map implementation.</p>
+ * <p>Ticket-granting tickets that expire or are evicted by Hazelcast are removed
+ * from the principal session index by the member that owns them.</p>
  *
  * @author Dmitriy Kopylenko
  * @author Jonathan Johnson
  * @since 4.1.0
  */
 @Slf4j
-@RequiredArgsConstructor
 public class HazelcastTicketRegistry extends AbstractTicketRegistry implements AutoCloseable, DisposableBean {
+    private static final String PRINCIPAL_SESSIONS_MAP_NAME = "principalSessionsCache";
+
     private final HazelcastInstance hazelcastInstance;
     private final TicketCatalog ticketCatalog;
     private final long pageSize;
 
+    public HazelcastTicketRegistry(final HazelcastInstance hazelcastInstance, final TicketCatalog ticketCatalog, final long pageSize) {
+        this.hazelcastInstance = hazelcastInstance;
+        this.ticketCatalog = ticketCatalog;
+        this.pageSize = pageSize;
+        registerPrincipalSessionsCleanupListener();
+    }
+
     @Override
     public Ticket updateTicket(final Ticket ticket) {
         addTicket(ticket);
+        deleteLegacyTicketEntry(ticket);
         return ticket;
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>Unless tickets are encrypted, only the delta is sent to the member that owns the ticket-granting ticket,
+     * so the authentication and the services already tracked by the ticket are not sent again.
+     * The time-to-live of the entry is then reset, as it would be if the whole ticket were written.
+     */
+    @Override
+    public Ticket updateTicketGrantingTicket(final TicketGrantingTicket ticket, final TicketGrantingTicketDelta delta) {
+        if (ticket instanceof TicketGrantingTicketImpl && !isCipherExecutorEnabled()) {
+            val map = getTicketMapInstanceByMetadata(this.ticketCatalog.find(ticket));
+            val processor = new TicketGrantingTicketUpdateEntryProcessor(delta);
+            if (Boolean.TRUE.equals(map.executeOnKey(ticket.getId(), processor))) {
+                map.setTtl(ticket.getId(), ticket.getExpirationPolicy().getTimeToLive(), TimeUnit.SECONDS);
+                LOGGER.debug("Updated ticket [{}] in place", ticket.getId());
+                return ticket;
+            }
+        }
+        return updateTicket(ticket);
+    }
+
     @Override
     public void addTicket(final Ticket ticket) {
         val ttl = ticket.getExpirationPolicy().getTimeToLive();
@@ -58,6 +99,69 @@ public class HazelcastTicketRegistry extends AbstractTicketRegistry implements A
 
         ticketMap.set(encTicket.getId(), encTicket, ttl, TimeUnit.SECONDS);
         LOGGER.debug("Added ticket [{}] with ttl [{}s]", encTicket.getId(), ttl);
+
+        val principalIndexKey = getPrincipalIndexKey(ticket);
+        if (principalIndexKey != null) {
+            getPrincipalSessionsMapInstance().put(principalIndexKey, encTicket.getId());
+        }
+    }
+
+    @Override
+    public Stream<? extends TicketGrantingTicket> getSessionsFor(final String principalId) {
+        val principalIndexKey = getPrincipalIndexKey(principalId);
+        if (principalIndexKey == null) {
+            return Stream.empty();
+        }
+        val sessions = getPrincipalSessionsMapInstance();
+        val ticketMap = getTicketMapInstanceByMetadata(this.ticketCatalog.find(TicketGrantingTicket.PREFIX));
+        return sessions.get(principalIndexKey)
+            .stream()
+            .map(encTicketId -> {
+                val ticket = ticketMap.get(encTicketId);
+                if (ticket == null) {
+                    LOGGER.trace("Removing stale session [{}] from the principal index", encTicketId);
+                    sessions.remove(principalIndexKey, encTicketId);
+                    return null;
+                }
+                return decodeTicket(ticket);
+            })
+            .filter(ticket -> ticket instanceof TicketGrantingTicket && !ticket.isExpired())
+            .map(TicketGrantingTicket.class::cast);
+    }
+
+    @Override
+    protected void removeFromSessionIndex(final TicketGrantingTicket ticket) {
+        val principalIndexKey = getPrincipalIndexKey(ticket);
+        if (principalIndexKey != null) {
+            getPrincipalSessionsMapInstance().remove(principalIndexKey, encodeTicketId(ticket.getId()));
+        }
+    }
+
+    private void registerPrincipalSessionsCleanupListener() {
+        Stream.of(TicketGrantingTicket.PREFIX, ProxyGrantingTicket.PROXY_GRANTING_TICKET_PREFIX)
+            .map(this.ticketCatalog::find)
+            .filter(Objects::nonNull)
+            .map(metadata -> metadata.getProperties().getStorageName())
+            .distinct()
+            .map(this::getTicketMapInstance)
+            .filter(Objects::nonNull)
+            .forEach(map -> map.addLocalEntryListener(new PrincipalSessionsCleanupListener(), TruePredicate.INSTANCE, true));
+    }
+
+    private void removeFromSessionIndex(final EntryEvent<String, Ticket> event) {
+        val ticket = ObjectUtils.defaultIfNull(event.getOldValue(), event.getValue());
+        if (ticket == null) {
+            return;
+        }
+        val principalIndexKey = getPrincipalIndexKey(decodeTicket(ticket));
+        if (principalIndexKey != null) {
+            LOGGER.trace("Removing [{}] session [{}] from the principal index", event.getEventType(), event.getKey());
+            getPrincipalSessionsMapInstance().remove(principalIndexKey, event.getKey());
+        }
+    }
+
+    private MultiMap<String, String> getPrincipalSessionsMapInstance() {
+        return hazelcastInstance.getMultiMap(PRINCIPAL_SESSIONS_MAP_NAME);
     }
 
     private IMap<String, Ticket> getTicketMapInstanceByMetadata(final TicketDefinition metadata) {
@@ -86,6 +190,46 @@ public class HazelcastTicketRegistry extends AbstractTicketRegistry implements A
         return null;
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>The ticket entry is locked cluster-wide for the duration of the operation.
+     */
+    @Override
+    public <T extends Ticket> T consumeTicket(final String ticketId, final Class<T> clazz, final Predicate<T> predicate) {
+        val encTicketId = encodeTicketId(ticketId);
+        if (StringUtils.isBlank(encTicketId)) {
+            return null;
+        }
+        val metadata = this.ticketCatalog.find(ticketId);
+        if (metadata == null) {
+            LOGGER.warn("No ticket definition could be found in the catalog to match [{}]", ticketId);
+            return null;
+        }
+        val map = getTicketMapInstanceByMetadata(metadata);
+        map.lock(encTicketId);
+        try {
+            val ticket = getTicketOfType(decodeTicket(map.get(encTicketId)), clazz);
+            if (ticket == null) {
+                return null;
+            }
+            if (ticket.isExpired()) {
+                map.delete(encTicketId);
+                return null;
+            }
+            if (!predicate.test(ticket)) {
+                return null;
+            }
+            if (recordTicketUsage(ticket)) {
+                map.set(encTicketId, encodeTicket(ticket), ticket.getExpirationPolicy().getTimeToLive(), TimeUnit.SECONDS);
+            } else {
+                map.delete(encTicketId);
+            }
+            return ticket;
+        } finally {
+            map.unlock(encTicketId);
+        }
+    }
+
     @Override
     public boolean deleteSingleTicket(final String ticketIdToDelete) {
         val encTicketId = encodeTicketId(ticketIdToDelete);
@@ -96,6 +240,7 @@ public class HazelcastTicketRegistry extends AbstractTicketRegistry implements A
 
     @Override
     public long deleteAll() {
+        getPrincipalSessionsMapInstance().clear();
         return this.ticketCatalog.findAll().stream()
             .map(this::getTicketMapInstanceByMetadata)
             .filter(Objects::nonNull)
@@ -123,6 +268,26 @@ public class HazelcastTicketRegistry extends AbstractTicketRegistry implements A
             .collect(Collectors.toSet());
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>Ticket-granting tickets are kept in their own map, whose size
+     * is maintained by Hazelcast and accounts for expired entries.
+     */
+    @Override
+    public long sessionCount() {
+        return getTicketMapInstanceByMetadata(this.ticketCatalog.find(TicketGrantingTicket.PREFIX)).size();
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>Service tickets are kept in their own map, whose size
+     * is maintained by Hazelcast and accounts for expired entries.
+     */
+    @Override
+    public long serviceTicketCount() {
+        return getTicketMapInstanceByMetadata(this.ticketCatalog.find(ServiceTicket.PREFIX)).size();
+    }
+
     /**
      * Make sure we shutdown HazelCast when the context is destroyed.
      */
@@ -155,4 +320,19 @@ public class HazelcastTicketRegistry extends AbstractTicketRegistry implements A
         }
         return null;
     }
+
+    /**
+     * Removes ticket-granting tickets that expire or are evicted from the principal session index.
+     */
+    private class PrincipalSessionsCleanupListener implements EntryExpiredListener<String, Ticket>, EntryEvictedListener<String, Ticket> {
+        @Override
+        public void entryExpired(final EntryEvent<String, Ticket> event) {
+            removeFromSessionIndex(event);
+        }
+
+        @Override
+        public void entryEvicted(final EntryEvent<String, Ticket> event) {
+            removeFromSessionIndex(event);
+        }
+    }
 }
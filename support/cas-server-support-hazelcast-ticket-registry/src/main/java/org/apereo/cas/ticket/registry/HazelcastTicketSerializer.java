@@ -0,0 +1,48 @@
+package org.apereo.cas.ticket.registry;
+
+import org.apereo.cas.ticket.Ticket;
+import org.apereo.cas.ticket.serialization.TicketSerializer;
+
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.StreamSerializer;
+import lombok.RequiredArgsConstructor;
+
+import java.io.IOException;
+
+/**
+ * This is {@link HazelcastTicketSerializer} that lets Hazelcast store tickets,
+ * along with their authentication, principal and services, using the
+ * configured {@link TicketSerializer} rather than its default Java serialization.
+ *
+ * @author Misagh Moayyed
+ * @since 6.1.0
+ */
+@RequiredArgsConstructor
+public class HazelcastTicketSerializer implements StreamSerializer<Ticket> {
+    /**
+     * Type id of this serializer, unique among the serializers registered with Hazelcast.
+     */
+    public static final int TYPE_ID = 6100;
+
+    private final TicketSerializer ticketSerializer;
+
+    @Override
+    public void write(final ObjectDataOutput out, final Ticket ticket) throws IOException {
+        out.writeByteArray(ticketSerializer.serialize(ticket));
+    }
+
+    @Override
+    public Ticket read(final ObjectDataInput in) throws IOException {
+        return ticketSerializer.deserialize(in.readByteArray());
+    }
+
+    @Override
+    public int getTypeId() {
+        return TYPE_ID;
+    }
+
+    @Override
+    public void destroy() {
+    }
+}
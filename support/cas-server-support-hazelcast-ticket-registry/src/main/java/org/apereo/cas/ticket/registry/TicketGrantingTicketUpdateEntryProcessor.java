@@ -0,0 +1,52 @@
+package org.apereo.cas.ticket.registry;
+
+import org.apereo.cas.ticket.Ticket;
+import org.apereo.cas.ticket.TicketGrantingTicketImpl;
+
+import com.hazelcast.map.AbstractEntryProcessor;
+import lombok.RequiredArgsConstructor;
+import lombok.val;
+
+import java.util.Map;
+
+/**
+ * This is {@link TicketGrantingTicketUpdateEntryProcessor} that applies a {@link TicketGrantingTicketDelta},
+ * that is the services added to or removed from a ticket-granting ticket along with its usage state,
+ * to the copy held by the member that owns the entry and its backups. The authentication and the services
+ * already tracked by the ticket are left untouched, so they are not sent over the network again
+ * when a service ticket is granted.
+ *
+ * @author Misagh Moayyed
+ * @since 6.1.0
+ */
+@RequiredArgsConstructor
+public class TicketGrantingTicketUpdateEntryProcessor extends AbstractEntryProcessor<String, Ticket> {
+    private static final long serialVersionUID = -2397553427164788112L;
+
+    private final TicketGrantingTicketDelta delta;
+
+    /**
+     * {@inheritDoc}
+     *
+     * @return {@link Boolean#TRUE} if the entry was found and updated
+     */
+    @Override
+    public Object process(final Map.Entry<String, Ticket> entry) {
+        val value = entry.getValue();
+        if (!(value instanceof TicketGrantingTicketImpl)) {
+            return Boolean.FALSE;
+        }
+        val ticket = (TicketGrantingTicketImpl) value;
+        this.delta.getRemovedServices().forEach(ticket.getServices()::remove);
+        ticket.getServices().putAll(this.delta.getAddedServices());
+        if (this.delta.getLastTimeUsed() != null) {
+            ticket.setLastTimeUsed(this.delta.getLastTimeUsed());
+        }
+        if (this.delta.getPreviousTimeUsed() != null) {
+            ticket.setPreviousTimeUsed(this.delta.getPreviousTimeUsed());
+        }
+        ticket.setCountOfUses(this.delta.getCountOfUses());
+        entry.setValue(ticket);
+        return Boolean.TRUE;
+    }
+}
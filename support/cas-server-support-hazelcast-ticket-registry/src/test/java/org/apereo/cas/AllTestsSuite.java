@@ -1,7 +1,10 @@
 package org.apereo.cas;
 
 import org.apereo.cas.ticket.registry.DefaultHazelcastInstanceConfigurationTests;
+import org.apereo.cas.ticket.registry.HazelcastTicketRegistryNearCacheTests;
 import org.apereo.cas.ticket.registry.HazelcastTicketRegistryTests;
+import org.apereo.cas.ticket.registry.HazelcastTicketSerializerTests;
+import org.apereo.cas.ticket.registry.TicketGrantingTicketUpdateEntryProcessorTests;
 
 import org.junit.runner.RunWith;
 import org.junit.runners.Suite;
@@ -13,6 +16,12 @@ import org.junit.runners.Suite;
  * @since 5.1.0
  */
 @RunWith(Suite.class)
-@Suite.SuiteClasses({DefaultHazelcastInstanceConfigurationTests.class, HazelcastTicketRegistryTests.class})
+@Suite.SuiteClasses({
+    DefaultHazelcastInstanceConfigurationTests.class,
+    HazelcastTicketRegistryTests.class,
+    HazelcastTicketRegistryNearCacheTests.class,
+    HazelcastTicketSerializerTests.class,
+    TicketGrantingTicketUpdateEntryProcessorTests.class
+})
 public class AllTestsSuite {
 }
@@ -0,0 +1,101 @@
+package org.apereo.cas.ticket.registry;
+
+import org.apereo.cas.config.CasCoreAuthenticationConfiguration;
+import org.apereo.cas.config.CasCoreAuthenticationHandlersConfiguration;
+import org.apereo.cas.config.CasCoreAuthenticationMetadataConfiguration;
+import org.apereo.cas.config.CasCoreAuthenticationPolicyConfiguration;
+import org.apereo.cas.config.CasCoreAuthenticationPrincipalConfiguration;
+import org.apereo.cas.config.CasCoreAuthenticationServiceSelectionStrategyConfiguration;
+import org.apereo.cas.config.CasCoreAuthenticationSupportConfiguration;
+import org.apereo.cas.config.CasCoreConfiguration;
+import org.apereo.cas.config.CasCoreHttpConfiguration;
+import org.apereo.cas.config.CasCoreServicesAuthenticationConfiguration;
+import org.apereo.cas.config.CasCoreServicesConfiguration;
+import org.apereo.cas.config.CasCoreTicketCatalogConfiguration;
+import org.apereo.cas.config.CasCoreTicketsConfiguration;
+import org.apereo.cas.config.CasCoreUtilConfiguration;
+import org.apereo.cas.config.CasCoreWebConfiguration;
+import org.apereo.cas.config.CasHazelcastConfiguration;
+import org.apereo.cas.config.CasPersonDirectoryConfiguration;
+import org.apereo.cas.config.HazelcastTicketRegistryConfiguration;
+import org.apereo.cas.config.HazelcastTicketRegistryTicketCatalogConfiguration;
+import org.apereo.cas.config.support.CasWebApplicationServiceFactoryConfiguration;
+import org.apereo.cas.logout.config.CasCoreLogoutConfiguration;
+
+import com.hazelcast.config.InMemoryFormat;
+import com.hazelcast.core.HazelcastInstance;
+import lombok.val;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cloud.autoconfigure.RefreshAutoConfiguration;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import static org.junit.Assert.*;
+
+/**
+ * This is {@link HazelcastTicketRegistryNearCacheTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 6.1.0
+ */
+@RunWith(SpringRunner.class)
+@SpringBootTest(classes = {
+    CasHazelcastConfiguration.class,
+    HazelcastTicketRegistryConfiguration.class,
+    CasCoreTicketsConfiguration.class,
+    CasCoreTicketCatalogConfiguration.class,
+    HazelcastTicketRegistryTicketCatalogConfiguration.class,
+    CasCoreUtilConfiguration.class,
+    CasPersonDirectoryConfiguration.class,
+    CasCoreLogoutConfiguration.class,
+    CasCoreAuthenticationConfiguration.class,
+    CasCoreServicesAuthenticationConfiguration.class,
+    CasCoreAuthenticationPrincipalConfiguration.class,
+    CasCoreAuthenticationPolicyConfiguration.class,
+    CasCoreAuthenticationMetadataConfiguration.class,
+    CasCoreAuthenticationSupportConfiguration.class,
+    CasCoreAuthenticationHandlersConfiguration.class,
+    CasCoreHttpConfiguration.class,
+    RefreshAutoConfiguration.class,
+    CasCoreConfiguration.class,
+    CasCoreAuthenticationServiceSelectionStrategyConfiguration.class,
+    CasCoreServicesConfiguration.class,
+    CasCoreWebConfiguration.class,
+    CasWebApplicationServiceFactoryConfiguration.class
+})
+@TestPropertySource(properties = {
+    "cas.ticket.registry.hazelcast.cluster.instanceName=nearcachelocalhostinstance",
+    "cas.ticket.registry.hazelcast.nearCacheEnabled=true",
+    "cas.ticket.registry.hazelcast.nearCacheMaxSize=500",
+    "cas.ticket.registry.hazelcast.nearCacheMaxIdleSeconds=60"
+})
+@DirtiesContext
+public class HazelcastTicketRegistryNearCacheTests {
+    @Autowired
+    @Qualifier("ticketRegistry")
+    private TicketRegistry ticketRegistry;
+
+    @Autowired
+    @Qualifier("casHazelcastInstance")
+    private HazelcastInstance hazelcastInstance;
+
+    @Test
+    public void verifyNearCacheIsOnlyConfiguredForTicketGrantingTickets() {
+        assertNotNull(ticketRegistry);
+        val mapConfigs = hazelcastInstance.getConfig().getMapConfigs();
+
+        val nearCache = mapConfigs.get("ticketGrantingTicketsCache").getNearCacheConfig();
+        assertNotNull(nearCache);
+        assertEquals(InMemoryFormat.BINARY, nearCache.getInMemoryFormat());
+        assertTrue(nearCache.isInvalidateOnChange());
+        assertEquals(500, nearCache.getEvictionConfig().getSize());
+        assertEquals(60, nearCache.getMaxIdleSeconds());
+
+        assertNull(mapConfigs.get("serviceTicketsCache").getNearCacheConfig());
+    }
+}
@@ -1,5 +1,6 @@
 package org.apereo.cas.ticket.registry;
 
+import org.apereo.cas.authentication.CoreAuthenticationTestUtils;
 import org.apereo.cas.config.CasCoreAuthenticationConfiguration;
 import org.apereo.cas.config.CasCoreAuthenticationHandlersConfiguration;
 import org.apereo.cas.config.CasCoreAuthenticationMetadataConfiguration;
@@ -21,7 +22,13 @@ import org.apereo.cas.config.HazelcastTicketRegistryConfiguration;
 import org.apereo.cas.config.HazelcastTicketRegistryTicketCatalogConfiguration;
 import org.apereo.cas.config.support.CasWebApplicationServiceFactoryConfiguration;
 import org.apereo.cas.logout.config.CasCoreLogoutConfiguration;
+import org.apereo.cas.ticket.Ticket;
+import org.apereo.cas.ticket.TicketGrantingTicketImpl;
+import org.apereo.cas.ticket.support.NeverExpiresExpirationPolicy;
 
+import com.hazelcast.core.HazelcastInstance;
+import lombok.val;
+import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.junit.runners.Parameterized;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -33,6 +40,8 @@ import org.springframework.test.context.TestPropertySource;
 import java.util.Arrays;
 import java.util.Collection;
 
+import static org.junit.Assert.*;
+
 /**
  * Unit tests for {@link HazelcastTicketRegistry}.
  *
@@ -72,6 +81,10 @@ public class HazelcastTicketRegistryTests extends BaseSpringRunnableTicketRegist
     @Qualifier("ticketRegistry")
     private TicketRegistry ticketRegistry;
 
+    @Autowired
+    @Qualifier("casHazelcastInstance")
+    private HazelcastInstance hazelcastInstance;
+
     public HazelcastTicketRegistryTests(final boolean useEncryption) {
         super(useEncryption);
     }
@@ -85,4 +98,22 @@ public class HazelcastTicketRegistryTests extends BaseSpringRunnableTicketRegist
     public TicketRegistry getNewTicketRegistry() {
         return ticketRegistry;
     }
+
+    @Test
+    public void verifyEvictedSessionIsRemovedFromPrincipalIndex() throws Exception {
+        ticketRegistry.addTicket(new TicketGrantingTicketImpl("TGT-evicted-session",
+            CoreAuthenticationTestUtils.getAuthentication("evicteduser"),
+            new NeverExpiresExpirationPolicy()));
+        val sessions = hazelcastInstance.getMultiMap("principalSessionsCache");
+        assertEquals(1, sessions.size());
+
+        val tickets = hazelcastInstance.<String, Ticket>getMap("ticketGrantingTicketsCache");
+        tickets.keySet().forEach(tickets::evict);
+
+        for (var i = 0; i < 100 && sessions.size() > 0; i++) {
+            Thread.sleep(100);
+        }
+        assertEquals(0, sessions.size());
+        assertEquals(0, ticketRegistry.getSessionsFor("evicteduser").count());
+    }
 }
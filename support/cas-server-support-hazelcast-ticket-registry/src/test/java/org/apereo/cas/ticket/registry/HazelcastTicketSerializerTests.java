@@ -0,0 +1,46 @@
+package org.apereo.cas.ticket.registry;
+
+import org.apereo.cas.authentication.CoreAuthenticationTestUtils;
+import org.apereo.cas.ticket.Ticket;
+import org.apereo.cas.ticket.TicketGrantingTicket;
+import org.apereo.cas.ticket.TicketGrantingTicketImpl;
+import org.apereo.cas.ticket.serialization.JdkTicketSerializer;
+import org.apereo.cas.ticket.support.NeverExpiresExpirationPolicy;
+
+import com.hazelcast.config.SerializationConfig;
+import com.hazelcast.config.SerializerConfig;
+import com.hazelcast.internal.serialization.impl.DefaultSerializationServiceBuilder;
+import lombok.val;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * This is {@link HazelcastTicketSerializerTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 6.1.0
+ */
+public class HazelcastTicketSerializerTests {
+    @Test
+    public void verifyTicketIsSerializedWithTicketSerializer() {
+        val serializerConfig = new SerializerConfig()
+            .setTypeClass(Ticket.class)
+            .setImplementation(new HazelcastTicketSerializer(new JdkTicketSerializer()));
+        val serializationService = new DefaultSerializationServiceBuilder()
+            .setConfig(new SerializationConfig().addSerializerConfig(serializerConfig))
+            .build();
+        try {
+            val ticket = new TicketGrantingTicketImpl("TGT-1", CoreAuthenticationTestUtils.getAuthentication(),
+                new NeverExpiresExpirationPolicy());
+            val data = serializationService.toData(ticket);
+            assertEquals(HazelcastTicketSerializer.TYPE_ID, data.getType());
+
+            val result = serializationService.<TicketGrantingTicket>toObject(data);
+            assertEquals(ticket, result);
+            assertEquals(ticket.getAuthentication().getPrincipal(), result.getAuthentication().getPrincipal());
+        } finally {
+            serializationService.dispose();
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package org.apereo.cas.ticket.registry;
+
+import org.apereo.cas.authentication.CoreAuthenticationTestUtils;
+import org.apereo.cas.services.RegisteredServiceTestUtils;
+import org.apereo.cas.ticket.Ticket;
+import org.apereo.cas.ticket.TicketGrantingTicketImpl;
+import org.apereo.cas.ticket.support.NeverExpiresExpirationPolicy;
+
+import lombok.val;
+import org.apache.commons.lang3.SerializationUtils;
+import org.junit.Test;
+
+import java.util.AbstractMap;
+import java.util.HashSet;
+
+import static org.junit.Assert.*;
+
+/**
+ * This is {@link TicketGrantingTicketUpdateEntryProcessorTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 6.1.0
+ */
+public class TicketGrantingTicketUpdateEntryProcessorTests {
+    @Test
+    public void verifyDeltaIsAppliedToStoredTicket() {
+        val ticket = new TicketGrantingTicketImpl("TGT-1", CoreAuthenticationTestUtils.getAuthentication(),
+            new NeverExpiresExpirationPolicy());
+        ticket.grantServiceTicket("ST-1", RegisteredServiceTestUtils.getService("https://example1.org"),
+            new NeverExpiresExpirationPolicy(), false, false);
+        val stored = SerializationUtils.clone(ticket);
+
+        val previousServices = new HashSet<String>(ticket.getServices().keySet());
+        ticket.grantServiceTicket("ST-2", RegisteredServiceTestUtils.getService("https://example2.org"),
+            new NeverExpiresExpirationPolicy(), false, false);
+        val processor = new TicketGrantingTicketUpdateEntryProcessor(TicketGrantingTicketDelta.of(ticket, previousServices));
+
+        val entry = new AbstractMap.SimpleEntry<String, Ticket>(stored.getId(), stored);
+        assertEquals(Boolean.TRUE, processor.process(entry));
+        val result = (TicketGrantingTicketImpl) entry.getValue();
+        assertEquals(ticket.getServices().keySet(), result.getServices().keySet());
+        assertEquals(ticket.getCountOfUses(), result.getCountOfUses());
+        assertEquals(ticket.getLastTimeUsed(), result.getLastTimeUsed());
+    }
+
+    @Test
+    public void verifyOnlyDeltaIsSent() {
+        val ticket = new TicketGrantingTicketImpl("TGT-1", CoreAuthenticationTestUtils.getAuthentication(),
+            new NeverExpiresExpirationPolicy());
+        for (int i = 0; i < 20; i++) {
+            ticket.grantServiceTicket("ST-" + i, RegisteredServiceTestUtils.getService("https://example" + i + ".org"),
+                new NeverExpiresExpirationPolicy(), false, false);
+        }
+        val previousServices = new HashSet<String>(ticket.getServices().keySet());
+        ticket.grantServiceTicket("ST-NEW", RegisteredServiceTestUtils.getService("https://example.org"),
+            new NeverExpiresExpirationPolicy(), false, false);
+        val delta = TicketGrantingTicketDelta.of(ticket, previousServices);
+        assertEquals(1, delta.getAddedServices().size());
+
+        val processor = new TicketGrantingTicketUpdateEntryProcessor(delta);
+        assertTrue(SerializationUtils.serialize(processor).length < SerializationUtils.serialize(ticket).length / 2);
+    }
+
+    @Test
+    public void verifyMissingEntryIsNotUpdated() {
+        val processor = new TicketGrantingTicketUpdateEntryProcessor(new TicketGrantingTicketDelta());
+        val entry = new AbstractMap.SimpleEntry<String, Ticket>("TGT-1", null);
+        assertEquals(Boolean.FALSE, processor.process(entry));
+        assertNull(entry.getValue());
+    }
+}
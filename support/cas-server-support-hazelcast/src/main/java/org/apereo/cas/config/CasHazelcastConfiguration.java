@@ -3,10 +3,12 @@ package org.apereo.cas.config;
 import org.apereo.cas.configuration.CasConfigurationProperties;
 import org.apereo.cas.hz.HazelcastConfigurationFactory;
 
+import com.hazelcast.config.SerializerConfig;
 import com.hazelcast.core.Hazelcast;
 import com.hazelcast.core.HazelcastInstance;
 import lombok.extern.slf4j.Slf4j;
 import lombok.val;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
@@ -28,11 +30,19 @@ public class CasHazelcastConfiguration {
     @Autowired
     private CasConfigurationProperties casProperties;
 
+    @Autowired
+    private ObjectProvider<SerializerConfig> hazelcastSerializers;
+
     @ConditionalOnMissingBean(name = "casHazelcastInstance")
     @Bean
     public HazelcastInstance casHazelcastInstance() {
         val hz = casProperties.getTicket().getRegistry().getHazelcast();
         LOGGER.debug("Creating Hazelcast instance using properties [{}]", hz);
-        return Hazelcast.newHazelcastInstance(HazelcastConfigurationFactory.build(hz));
+        val config = HazelcastConfigurationFactory.build(hz);
+        hazelcastSerializers.orderedStream().forEach(serializer -> {
+            LOGGER.debug("Registering Hazelcast serializer for [{}]", serializer.getTypeClass());
+            config.getSerializationConfig().addSerializerConfig(serializer);
+        });
+        return Hazelcast.newHazelcastInstance(config);
     }
 }
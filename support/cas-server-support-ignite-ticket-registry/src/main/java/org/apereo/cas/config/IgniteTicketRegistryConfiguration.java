@@ -6,6 +6,7 @@ import org.apereo.cas.configuration.support.Beans;
 import org.apereo.cas.ticket.TicketCatalog;
 import org.apereo.cas.ticket.registry.IgniteTicketRegistry;
 import org.apereo.cas.ticket.registry.TicketRegistry;
+import org.apereo.cas.ticket.serialization.TicketSerializer;
 import org.apereo.cas.util.CoreTicketUtils;
 
 import lombok.extern.slf4j.Slf4j;
@@ -20,6 +21,7 @@ import org.apache.ignite.configuration.IgniteConfiguration;
 import org.apache.ignite.spi.discovery.tcp.TcpDiscoverySpi;
 import org.apache.ignite.spi.discovery.tcp.ipfinder.vm.TcpDiscoveryVmIpFinder;
 import org.apache.ignite.ssl.SslContextFactory;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
@@ -48,6 +50,10 @@ public class IgniteTicketRegistryConfiguration {
     @Autowired
     private CasConfigurationProperties casProperties;
 
+    @Autowired
+    @Qualifier("ticketSerializer")
+    private ObjectProvider<TicketSerializer> ticketSerializer;
+
     private static Collection<CacheConfiguration> buildIgniteTicketCaches(final IgniteProperties ignite,
                                                                           final TicketCatalog ticketCatalog) {
         val definitions = ticketCatalog.findAll();
@@ -136,6 +142,9 @@ public class IgniteTicketRegistryConfiguration {
         val igniteConfiguration = igniteConfiguration(ticketCatalog);
         val r = new IgniteTicketRegistry(ticketCatalog, igniteConfiguration, igniteProperties);
         r.setCipherExecutor(CoreTicketUtils.newTicketRegistryCipherExecutor(igniteProperties.getCrypto(), "ignite"));
+        if (!"JDK".equalsIgnoreCase(casProperties.getTicket().getRegistry().getSerialization().getType())) {
+            r.setTicketSerializer(ticketSerializer.getIfAvailable());
+        }
         r.initialize();
         return r;
     }
@@ -5,7 +5,9 @@ import org.apereo.cas.ticket.ExpirationPolicy;
 import org.apereo.cas.ticket.Ticket;
 import org.apereo.cas.ticket.TicketCatalog;
 import org.apereo.cas.ticket.TicketDefinition;
+import org.apereo.cas.ticket.serialization.TicketSerializer;
 
+import lombok.Setter;
 import lombok.ToString;
 import lombok.extern.slf4j.Slf4j;
 import lombok.val;
@@ -39,6 +41,10 @@ import java.util.stream.Collectors;
  * <li>Tuning: use cache level time to live with different values for TGT an ST.</li>
  * <li>Monitoring: follow separately the number of TGT and ST.</li>
  * </ul>
+ * <p>
+ * Tickets are stored as objects handled by the Ignite marshaller, or as binary data produced by the
+ * {@link TicketSerializer} if one is assigned; either form is read back.
+ * </p>
  *
  * @author Timur Duehr timur.duehr@nccgroup.trust
  * @since 5.0.0
@@ -55,6 +61,9 @@ public class IgniteTicketRegistry extends AbstractTicketRegistry implements Disp
 
     private Ignite ignite;
 
+    @Setter
+    private TicketSerializer ticketSerializer;
+
     public IgniteTicketRegistry(final TicketCatalog ticketCatalog, final IgniteConfiguration igniteConfiguration, final IgniteProperties properties) {
         this.igniteConfiguration = igniteConfiguration;
         this.properties = properties;
@@ -69,7 +78,7 @@ public class IgniteTicketRegistry extends AbstractTicketRegistry implements Disp
         val policy = new IgniteInternalTicketExpiryPolicy(ticket.getExpirationPolicy());
         LOGGER.debug("Adding ticket [{}] to the cache [{}] with policy [{}]", ticket.getId(), cache.getName(), policy);
         val entries = cache.withExpiryPolicy(policy);
-        entries.put(encodedTicket.getId(), encodedTicket);
+        entries.put(encodedTicket.getId(), this.ticketSerializer != null ? this.ticketSerializer.serialize(encodedTicket) : encodedTicket);
     }
 
     @Override
@@ -110,7 +119,7 @@ public class IgniteTicketRegistry extends AbstractTicketRegistry implements Disp
         }
         val cache = getIgniteCacheFromMetadata(metadata);
         LOGGER.trace("Located ignite cache [{}] for ticket id [{}]", cache.getName(), ticketId);
-        val ticket = cache.get(ticketId);
+        val ticket = toTicket(cache.get(ticketId));
         LOGGER.trace("Located ticket from cache for ticket id [{}] is [{}]", ticketId, ticket);
         if (ticket == null) {
             LOGGER.debug("No ticket by id [{}] is found in the ignite ticket registry", ticketId);
@@ -128,12 +137,13 @@ public class IgniteTicketRegistry extends AbstractTicketRegistry implements Disp
     public Collection<? extends Ticket> getTickets() {
         return this.ticketCatalog.findAll().stream().map(this::getIgniteCacheFromMetadata)
             .map(cache -> cache.query(new ScanQuery<>()).getAll().stream()).flatMap(Function.identity())
-            .map(Cache.Entry::getValue).map(object -> decodeTicket((Ticket) object)).collect(Collectors.toSet());
+            .map(Cache.Entry::getValue).map(object -> decodeTicket(toTicket(object))).collect(Collectors.toSet());
     }
 
     @Override
     public Ticket updateTicket(final Ticket ticket) {
         addTicket(ticket);
+        deleteLegacyTicketEntry(ticket);
         return ticket;
     }
 
@@ -163,13 +173,23 @@ public class IgniteTicketRegistry extends AbstractTicketRegistry implements Disp
         }
     }
 
-    private IgniteCache<String, Ticket> getIgniteCacheFromMetadata(final TicketDefinition metadata) {
+    private Ticket toTicket(final Object value) {
+        if (value instanceof byte[]) {
+            if (this.ticketSerializer == null) {
+                throw new IllegalStateException("Ticket is stored as binary data, but no ticket serializer is assigned");
+            }
+            return this.ticketSerializer.deserialize((byte[]) value);
+        }
+        return (Ticket) value;
+    }
+
+    private IgniteCache<String, Object> getIgniteCacheFromMetadata(final TicketDefinition metadata) {
         val mapName = metadata.getProperties().getStorageName();
         LOGGER.trace("Locating cache name [{}] for ticket definition [{}]", mapName, metadata);
         return getIgniteCacheInstanceByName(mapName);
     }
 
-    private IgniteCache<String, Ticket> getIgniteCacheInstanceByName(final String name) {
+    private IgniteCache<String, Object> getIgniteCacheInstanceByName(final String name) {
         LOGGER.trace("Attempting to get/create cache [{}]", name);
         return this.ignite.getOrCreateCache(name);
     }
@@ -29,6 +29,7 @@ public class InfinispanTicketRegistry extends AbstractTicketRegistry {
     public Ticket updateTicket(final Ticket ticket) {
         val encodedTicket = encodeTicket(ticket);
         this.cache.put(encodedTicket.getId(), encodedTicket);
+        deleteLegacyTicketEntry(ticket);
         return ticket;
     }
 
@@ -5,9 +5,11 @@ import org.apereo.cas.ticket.Ticket;
 import org.apereo.cas.ticket.TicketCatalog;
 import org.apereo.cas.ticket.TicketDefinition;
 import org.apereo.cas.ticket.TicketGrantingTicket;
+import org.apereo.cas.util.CoreTicketUtils;
 
 import lombok.extern.slf4j.Slf4j;
 import lombok.val;
+import org.apache.commons.lang3.StringUtils;
 import org.hibernate.LockOptions;
 import org.springframework.transaction.annotation.EnableTransactionManagement;
 import org.springframework.transaction.annotation.Transactional;
@@ -18,8 +20,13 @@ import javax.persistence.LockModeType;
 import javax.persistence.PersistenceContext;
 import javax.persistence.Query;
 import javax.persistence.TypedQuery;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -40,6 +47,7 @@ public class JpaTicketRegistry extends AbstractTicketRegistry {
 
     private final TicketCatalog ticketCatalog;
     private final LockModeType lockType;
+    private final AtomicBoolean expirationTimesRecorded = new AtomicBoolean();
 
     @PersistenceContext(unitName = "ticketEntityManagerFactory")
     private transient EntityManager entityManager;
@@ -64,6 +72,40 @@ public class JpaTicketRegistry extends AbstractTicketRegistry {
         return ticket;
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>Only the columns that change as services are granted are updated, leaving the authentication
+     * of the ticket alone. The ticket is usually managed by the persistence context of the surrounding
+     * transaction, so it is detached first; otherwise it would be flushed and written as a whole,
+     * before the update runs. If no row is updated, the ticket is merged back as a whole.
+     */
+    @Override
+    public Ticket updateTicketGrantingTicket(final TicketGrantingTicket ticket, final TicketGrantingTicketDelta delta) {
+        if (!isTicketGrantingTicketDeltaApplicable(delta)) {
+            return updateTicket(ticket);
+        }
+        if (this.entityManager.contains(ticket)) {
+            this.entityManager.detach(ticket);
+        }
+        val md = this.ticketCatalog.find(ticket);
+        val sql = String.format("update %s t set t.services = :services, t.lastTimeUsed = :lastTimeUsed, "
+            + "t.previousTimeUsed = :previousTimeUsed, t.countOfUses = :countOfUses, t.expiresAt = :expiresAt "
+            + "where t.id = :id", getTicketEntityName(md));
+        val updated = this.entityManager.createQuery(sql)
+            .setParameter("services", new HashMap<>(ticket.getServices()))
+            .setParameter("lastTimeUsed", delta.getLastTimeUsed())
+            .setParameter("previousTimeUsed", delta.getPreviousTimeUsed())
+            .setParameter("countOfUses", delta.getCountOfUses())
+            .setParameter("expiresAt", CoreTicketUtils.getExpirationTime(ticket))
+            .setParameter("id", ticket.getId())
+            .executeUpdate();
+        if (updated == 0) {
+            return updateTicket(ticket);
+        }
+        LOGGER.debug("Updated services and usage of ticket [{}].", ticket);
+        return ticket;
+    }
+
     @Override
     public void addTicket(final Ticket ticket) {
         this.entityManager.persist(ticket);
@@ -98,6 +140,51 @@ public class JpaTicketRegistry extends AbstractTicketRegistry {
         return null;
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>The ticket row is locked for update until the surrounding transaction completes,
+     * which serializes concurrent attempts to consume the same ticket.
+     * Expiration policies may take more than the usage count into account,
+     * so the decision to remove the ticket is left to the policy rather than the query.
+     */
+    @Override
+    public <T extends Ticket> T consumeTicket(final String ticketId, final Class<T> clazz, final Predicate<T> predicate) {
+        try {
+            val tkt = ticketCatalog.find(ticketId);
+            if (tkt == null) {
+                LOGGER.debug("Ticket definition [{}] could not be found in the ticket catalog", ticketId);
+                return null;
+            }
+            val sql = String.format("select t from %s t where t.id = :id", getTicketEntityName(tkt));
+            val query = entityManager.createQuery(sql, tkt.getImplementationClass());
+            query.setParameter("id", ticketId);
+            query.setLockMode(LockModeType.PESSIMISTIC_WRITE);
+            val results = query.getResultList();
+            if (results.isEmpty()) {
+                return null;
+            }
+            val ticket = getTicketOfType(results.get(0), clazz);
+            if (ticket.isExpired()) {
+                deleteSingleTicket(ticketId);
+                return null;
+            }
+            if (!predicate.test(ticket)) {
+                return null;
+            }
+            if (recordTicketUsage(ticket)) {
+                this.entityManager.merge(ticket);
+            } else {
+                deleteSingleTicket(ticketId);
+            }
+            return ticket;
+        } catch (final ClassCastException e) {
+            throw e;
+        } catch (final Exception e) {
+            LOGGER.error("Error consuming ticket [{}] from registry.", ticketId, e);
+        }
+        return null;
+    }
+
     @Override
     public Collection<? extends Ticket> getTickets() {
         return this.ticketCatalog.findAll()
@@ -136,6 +223,76 @@ public class JpaTicketRegistry extends AbstractTicketRegistry {
             .flatMap(org.hibernate.query.Query::stream);
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>Only rows whose recorded expiration time has passed are loaded, in batches, by way of an indexed range query.
+     * Rows that predate the expiration time column have their expiration time recorded once, on the first run.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public Stream<? extends Ticket> getExpiredTickets() {
+        if (this.expirationTimesRecorded.compareAndSet(false, true)) {
+            recordMissingExpirationTimes();
+        }
+        val now = ZonedDateTime.now(ZoneOffset.UTC);
+        return this.ticketCatalog.findAll()
+            .stream()
+            .map(t -> {
+                val sql = String.format("select t from %s t where t.expiresAt <= :now", getTicketEntityName(t));
+                val query = (org.hibernate.query.Query<Ticket>) entityManager.createQuery(sql, t.getImplementationClass());
+                query.setParameter("now", now);
+                query.setFetchSize(STREAM_BATCH_SIZE);
+                query.setLockOptions(LockOptions.NONE);
+                return query;
+            })
+            .flatMap(org.hibernate.query.Query::stream)
+            .filter(Ticket::isExpired);
+    }
+
+    /**
+     * Record the expiration time of rows that predate the expiration time column,
+     * in batches, so that expired tickets can be located by their expiration time alone.
+     */
+    private void recordMissingExpirationTimes() {
+        this.ticketCatalog.findAll().forEach(t -> {
+            val entityName = getTicketEntityName(t);
+            val sql = String.format("select t from %s t where t.expiresAt is null", entityName);
+            val update = String.format("update %s t set t.expiresAt = :expiresAt where t.id = :id", entityName);
+            var count = 0;
+            var tickets = List.<Ticket>of();
+            do {
+                tickets = new ArrayList<>(this.entityManager.createQuery(sql, t.getImplementationClass())
+                    .setMaxResults(STREAM_BATCH_SIZE)
+                    .getResultList());
+                for (val ticket : tickets) {
+                    count += this.entityManager.createQuery(update)
+                        .setParameter("expiresAt", CoreTicketUtils.getExpirationTime(ticket))
+                        .setParameter("id", ticket.getId())
+                        .executeUpdate();
+                    this.entityManager.detach(ticket);
+                }
+            } while (!tickets.isEmpty());
+            if (count > 0) {
+                LOGGER.info("Recorded the expiration time of [{}] existing [{}] ticket(s)", count, entityName);
+            }
+        });
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Stream<? extends TicketGrantingTicket> getSessionsFor(final String principalId) {
+        if (StringUtils.isBlank(principalId)) {
+            return Stream.empty();
+        }
+        val md = this.ticketCatalog.find(TicketGrantingTicket.PREFIX);
+        val sql = String.format("select t from %s t where t.principalId = :principalId", getTicketEntityName(md));
+        val query = (org.hibernate.query.Query<TicketGrantingTicket>) entityManager.createQuery(sql, md.getImplementationClass());
+        query.setParameter("principalId", StringUtils.lowerCase(StringUtils.trim(principalId)));
+        query.setFetchSize(STREAM_BATCH_SIZE);
+        query.setLockOptions(LockOptions.NONE);
+        return query.stream().filter(ticket -> !ticket.isExpired());
+    }
+
     @Override
     public long sessionCount() {
         val md = this.ticketCatalog.find(TicketGrantingTicket.PREFIX);
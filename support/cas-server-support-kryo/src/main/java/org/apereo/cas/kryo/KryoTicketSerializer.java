@@ -0,0 +1,78 @@
+package org.apereo.cas.kryo;
+
+import org.apereo.cas.ticket.Ticket;
+import org.apereo.cas.ticket.serialization.JdkTicketSerializer;
+import org.apereo.cas.ticket.serialization.TicketSerializer;
+
+import com.esotericsoftware.kryo.KryoException;
+import com.esotericsoftware.kryo.io.Input;
+import com.esotericsoftware.kryo.io.Output;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+
+import java.io.ByteArrayOutputStream;
+
+/**
+ * This is {@link KryoTicketSerializer} that serializes tickets using Kryo.
+ * Every payload is prefixed with a format version byte so that the binary
+ * layout may evolve without breaking nodes that run a different version.
+ * Payloads produced by Java serialization are recognized and read back
+ * using the JDK serializer, which allows for rolling upgrades of existing registries.
+ *
+ * @author Misagh Moayyed
+ * @since 6.1.0
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class KryoTicketSerializer implements TicketSerializer {
+    /**
+     * Current format version of the serialized payload.
+     */
+    public static final byte FORMAT_VERSION = 0x01;
+
+    private static final int DEFAULT_BUFFER_SIZE = 512;
+
+    private final CasKryoPool kryoPool;
+
+    private final TicketSerializer fallbackSerializer;
+
+    public KryoTicketSerializer(final CasKryoPool kryoPool) {
+        this(kryoPool, new JdkTicketSerializer());
+    }
+
+    @Override
+    public byte[] serialize(final Ticket ticket) {
+        try (val kryo = this.kryoPool.borrow();
+             val byteStream = new ByteArrayOutputStream(DEFAULT_BUFFER_SIZE);
+             val output = new Output(byteStream)) {
+            output.writeByte(FORMAT_VERSION);
+            kryo.writeClassAndObject(output, ticket);
+            output.flush();
+            return byteStream.toByteArray();
+        } catch (final Exception exception) {
+            throw new KryoException(exception);
+        }
+    }
+
+    @Override
+    public Ticket deserialize(final byte[] data) {
+        if (JdkTicketSerializer.isJdkSerialized(data)) {
+            LOGGER.trace("Ticket payload is produced by Java serialization and will be read via [{}]", fallbackSerializer);
+            return fallbackSerializer.deserialize(data);
+        }
+        if (data == null || data.length == 0) {
+            throw new KryoException("Ticket payload is empty and cannot be deserialized");
+        }
+        val version = data[0];
+        if (version != FORMAT_VERSION) {
+            throw new KryoException("Unsupported ticket serialization format version " + version);
+        }
+        try (val kryo = this.kryoPool.borrow();
+             val input = new Input(data, 1, data.length - 1)) {
+            return (Ticket) kryo.readClassAndObject(input);
+        } catch (final Exception exception) {
+            throw new KryoException(exception);
+        }
+    }
+}
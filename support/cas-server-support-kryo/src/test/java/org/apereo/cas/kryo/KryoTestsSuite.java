@@ -0,0 +1,18 @@
+package org.apereo.cas.kryo;
+
+import org.junit.runner.RunWith;
+import org.junit.runners.Suite;
+
+/**
+ * This is {@link KryoTestsSuite}.
+ *
+ * @author Misagh Moayyed
+ * @since 6.1.0
+ */
+@RunWith(Suite.class)
+@Suite.SuiteClasses({
+    KryoTicketSerializerTests.class,
+    ZonedDateTimeSerializerTests.class
+})
+public class KryoTestsSuite {
+}
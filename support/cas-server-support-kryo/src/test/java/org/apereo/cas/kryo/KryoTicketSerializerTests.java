@@ -0,0 +1,74 @@
+package org.apereo.cas.kryo;
+
+import org.apereo.cas.authentication.CoreAuthenticationTestUtils;
+import org.apereo.cas.services.RegisteredServiceTestUtils;
+import org.apereo.cas.ticket.TicketGrantingTicketImpl;
+import org.apereo.cas.ticket.serialization.JdkTicketSerializer;
+import org.apereo.cas.ticket.support.NeverExpiresExpirationPolicy;
+
+import com.esotericsoftware.kryo.KryoException;
+import lombok.val;
+import org.junit.Test;
+
+import java.util.ArrayList;
+
+import static org.junit.Assert.*;
+
+/**
+ * This is {@link KryoTicketSerializerTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 6.1.0
+ */
+public class KryoTicketSerializerTests {
+    private static final String TGT_ID = "TGT-1234567890ABCDEFGHIJKLMNOPQRSTUVWXYZ01234567890ABCDEFGHIJK-cas1";
+    private static final String ST_ID = "ST-1234567890ABCDEFGHIJKLMNOPQRSTUVWXYZ01234567890ABCDEFGHIJK";
+
+    private final KryoTicketSerializer serializer = new KryoTicketSerializer(
+        new CasKryoPool(new ArrayList<>(), true, false, true, true));
+
+    private static TicketGrantingTicketImpl getTicketGrantingTicket() {
+        val tgt = new TicketGrantingTicketImpl(TGT_ID,
+            RegisteredServiceTestUtils.getService(), null,
+            CoreAuthenticationTestUtils.getAuthentication(),
+            new NeverExpiresExpirationPolicy());
+        tgt.grantServiceTicket(ST_ID, RegisteredServiceTestUtils.getService(),
+            new NeverExpiresExpirationPolicy(), false, true);
+        return tgt;
+    }
+
+    @Test
+    public void verifyRoundTrip() {
+        val tgt = getTicketGrantingTicket();
+        val data = serializer.serialize(tgt);
+        assertEquals(KryoTicketSerializer.FORMAT_VERSION, data[0]);
+        assertEquals(tgt, serializer.deserialize(data));
+    }
+
+    @Test
+    public void verifyJdkPayloadIsReadBack() {
+        val tgt = getTicketGrantingTicket();
+        val data = new JdkTicketSerializer().serialize(tgt);
+        assertEquals(tgt, serializer.deserialize(data));
+    }
+
+    @Test
+    public void verifyPayloadIsSmallerThanJdk() {
+        val tgt = getTicketGrantingTicket();
+        val kryo = serializer.serialize(tgt);
+        val jdk = new JdkTicketSerializer().serialize(tgt);
+        assertTrue(kryo.length < jdk.length);
+    }
+
+    @Test
+    public void verifyUnknownVersionFails() {
+        val data = serializer.serialize(getTicketGrantingTicket());
+        data[0] = 0x7F;
+        try {
+            serializer.deserialize(data);
+            fail("Unknown format version should not be accepted");
+        } catch (final KryoException e) {
+            assertNotNull(e.getMessage());
+        }
+    }
+}
@@ -1,7 +1,7 @@
 package org.apereo.cas.memcached;
 
 import org.apereo.cas.configuration.model.support.memcached.BaseMemcachedProperties;
-import org.apereo.cas.memcached.kryo.CasKryoPool;
+import org.apereo.cas.kryo.CasKryoPool;
 import org.apereo.cas.memcached.kryo.CasKryoTranscoder;
 
 import lombok.experimental.UtilityClass;
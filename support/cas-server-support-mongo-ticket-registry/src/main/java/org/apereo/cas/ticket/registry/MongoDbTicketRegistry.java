@@ -5,11 +5,17 @@ import org.apereo.cas.ticket.BaseTicketSerializers;
 import org.apereo.cas.ticket.Ticket;
 import org.apereo.cas.ticket.TicketCatalog;
 import org.apereo.cas.ticket.TicketDefinition;
+import org.apereo.cas.ticket.TicketGrantingTicket;
 import org.apereo.cas.ticket.TicketState;
+import org.apereo.cas.ticket.serialization.TicketSerializer;
+import org.apereo.cas.util.serialization.AbstractJacksonBackedStringSerializer;
+import org.apereo.cas.util.serialization.StringSerializer;
 
+import com.fasterxml.jackson.core.util.MinimalPrettyPrinter;
 import com.google.common.collect.ImmutableSet;
 import com.mongodb.client.ListIndexesIterable;
 import com.mongodb.client.MongoCollection;
+import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
 import lombok.val;
 import org.apache.commons.lang3.StringUtils;
@@ -22,6 +28,7 @@ import org.springframework.data.mongodb.core.index.Index;
 import org.springframework.data.mongodb.core.query.Criteria;
 import org.springframework.data.mongodb.core.query.Query;
 import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.data.util.StreamUtils;
 
 import java.util.Collection;
 import java.util.Date;
@@ -29,9 +36,15 @@ import java.util.List;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * A Ticket Registry storage backend based on MongoDB.
+ * Changes made to a ticket-granting ticket as it grants service tickets are pushed
+ * onto the document of the ticket, rather than serializing the whole ticket again. Once a number
+ * of changes are recorded, they are folded into the ticket which is then written as a whole.
+ * Tickets are stored as JSON documents, or as binary data produced by the {@link TicketSerializer} if one is assigned;
+ * either form is read back, so that existing documents remain usable once a serializer is assigned.
  *
  * @author Misagh Moayyed
  * @since 5.1.0
@@ -39,11 +52,26 @@ import java.util.stream.Collectors;
 @Slf4j
 public class MongoDbTicketRegistry extends AbstractTicketRegistry {
     private static final ImmutableSet<String> MONGO_INDEX_KEYS = ImmutableSet.of("v", "key", "name", "ns");
+    private static final int CONSUME_TICKET_MAX_ATTEMPTS = 5;
+    private static final int MAX_TICKET_DELTAS = 20;
+
+    private static final StringSerializer<TicketGrantingTicketDelta> TICKET_DELTA_SERIALIZER =
+        new AbstractJacksonBackedStringSerializer<>(new MinimalPrettyPrinter()) {
+            private static final long serialVersionUID = -3817263937268402471L;
+
+            @Override
+            protected Class<TicketGrantingTicketDelta> getTypeToSerialize() {
+                return TicketGrantingTicketDelta.class;
+            }
+        };
 
     private final TicketCatalog ticketCatalog;
     private final MongoOperations mongoTemplate;
     private final boolean dropCollection;
 
+    @Setter
+    private TicketSerializer ticketSerializer;
+
     public MongoDbTicketRegistry(final TicketCatalog ticketCatalog,
                                  final MongoOperations mongoTemplate,
                                  final boolean dropCollection) {
@@ -60,6 +88,9 @@ public class MongoDbTicketRegistry extends AbstractTicketRegistry {
      * Makes the assumption that the CAS server date and the Mongo server date are in sync.
      */
     private static Date getExpireAt(final Ticket ticket) {
+        if (ticket.isExpired()) {
+            return new Date();
+        }
         val expirationPolicy = ticket.getExpirationPolicy();
         val ttl = ticket instanceof TicketState
             ? expirationPolicy.getTimeToLive((TicketState) ticket)
@@ -81,8 +112,24 @@ public class MongoDbTicketRegistry extends AbstractTicketRegistry {
         return null;
     }
 
-    private static Ticket deserializeTicketFromMongoDocument(final TicketHolder holder) {
-        return BaseTicketSerializers.deserializeTicket(holder.getJson(), holder.getType());
+    private Ticket deserializeTicketFromMongoDocument(final TicketHolder holder) {
+        val ticket = holder.getData() != null
+            ? deserializeTicketFromBinaryData(holder)
+            : BaseTicketSerializers.deserializeTicket(holder.getJson(), holder.getType());
+        if (holder.getDeltas() != null) {
+            holder.getDeltas()
+                .stream()
+                .map(TICKET_DELTA_SERIALIZER::from)
+                .forEach(delta -> applyTicketGrantingTicketDelta(ticket, delta));
+        }
+        return ticket;
+    }
+
+    private Ticket deserializeTicketFromBinaryData(final TicketHolder holder) {
+        if (this.ticketSerializer == null) {
+            throw new IllegalStateException("Ticket " + holder.getTicketId() + " is stored as binary data, but no ticket serializer is assigned");
+        }
+        return this.ticketSerializer.deserialize(holder.getData());
     }
 
     private MongoCollection createTicketCollection(final TicketDefinition ticket, final MongoDbConnectionFactory factory) {
@@ -95,6 +142,12 @@ public class MongoDbTicketRegistry extends AbstractTicketRegistry {
         val index = new Index().on(TicketHolder.FIELD_NAME_EXPIRE_AT, Sort.Direction.ASC).expire(ticket.getProperties().getStorageTimeout());
         removeDifferingIndexIfAny(collection, index);
         mongoTemplate.indexOps(collectionName).ensureIndex(index);
+
+        if (TicketGrantingTicket.class.isAssignableFrom(ticket.getImplementationClass())) {
+            LOGGER.trace("Creating indices on collection [{}] to look up sessions by principal...", collectionName);
+            val principalIndex = new Index().on(TicketHolder.FIELD_NAME_PRINCIPAL, Sort.Direction.ASC).sparse();
+            mongoTemplate.indexOps(collectionName).ensureIndex(principalIndex);
+        }
         return collection;
     }
 
@@ -147,8 +200,8 @@ public class MongoDbTicketRegistry extends AbstractTicketRegistry {
                 return null;
             }
             val query = new Query(Criteria.where(TicketHolder.FIELD_NAME_ID).is(holder.getTicketId()));
-            val update = Update.update(TicketHolder.FIELD_NAME_JSON, holder.getJson());
-            this.mongoTemplate.upsert(query, update, collectionName);
+            this.mongoTemplate.upsert(query, buildTicketUpdate(holder), collectionName);
+            deleteLegacyTicketEntry(ticket);
             LOGGER.debug("Updated ticket [{}]", ticket);
         } catch (final Exception e) {
             LOGGER.error("Failed updating [{}]: [{}]", ticket, e);
@@ -156,6 +209,43 @@ public class MongoDbTicketRegistry extends AbstractTicketRegistry {
         return ticket;
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>Changes that only add services are pushed onto the document of the ticket,
+     * along with its new expiration time, as long as the document records fewer than
+     * {@value #MAX_TICKET_DELTAS} changes. The document is written again as a whole otherwise,
+     * which folds the recorded changes into the ticket and clears them.
+     */
+    @Override
+    public Ticket updateTicketGrantingTicket(final TicketGrantingTicket ticket, final TicketGrantingTicketDelta delta) {
+        if (!isTicketGrantingTicketDeltaApplicable(delta)) {
+            return updateTicket(ticket);
+        }
+        try {
+            val metadata = this.ticketCatalog.find(ticket);
+            if (metadata == null) {
+                LOGGER.error("Could not locate ticket definition in the catalog for ticket [{}]", ticket.getId());
+                return null;
+            }
+            val collectionName = getTicketCollectionInstanceByMetadata(metadata);
+            val query = new Query(Criteria.where(TicketHolder.FIELD_NAME_ID).is(ticket.getId())
+                .and(TicketHolder.FIELD_NAME_DELTAS + '.' + (MAX_TICKET_DELTAS - 1)).exists(false));
+            val update = new Update()
+                .push(TicketHolder.FIELD_NAME_DELTAS, TICKET_DELTA_SERIALIZER.toString(delta))
+                .set(TicketHolder.FIELD_NAME_EXPIRE_AT, getExpireAt(ticket));
+            val result = this.mongoTemplate.updateFirst(query, update, collectionName);
+            if (result.getMatchedCount() == 0) {
+                LOGGER.debug("Ticket [{}] is not found or has recorded [{}] changes; storing the ticket as a whole",
+                    ticket.getId(), MAX_TICKET_DELTAS);
+                return updateTicket(ticket);
+            }
+            LOGGER.debug("Recorded [{}] for ticket [{}]", delta, ticket.getId());
+        } catch (final Exception e) {
+            LOGGER.error("Failed updating [{}]: [{}]", ticket, e);
+        }
+        return ticket;
+    }
+
     @Override
     public void addTicket(final Ticket ticket) {
         try {
@@ -222,6 +312,84 @@ public class MongoDbTicketRegistry extends AbstractTicketRegistry {
             .collect(Collectors.toSet());
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>The consumed ticket is written back via {@code findAndModify}, or removed via {@code findAndRemove}, only if the stored
+     * document is still the same as the one that was read; otherwise, the operation is retried.
+     */
+    @Override
+    public <T extends Ticket> T consumeTicket(final String ticketId, final Class<T> clazz, final Predicate<T> predicate) {
+        val encTicketId = encodeTicketId(ticketId);
+        val metadata = this.ticketCatalog.find(ticketId);
+        if (encTicketId == null || metadata == null) {
+            LOGGER.debug("Ticket [{}] could not be found", ticketId);
+            return null;
+        }
+        val collectionName = getTicketCollectionInstanceByMetadata(metadata);
+        for (var attempt = 1; attempt <= CONSUME_TICKET_MAX_ATTEMPTS; attempt++) {
+            val holder = this.mongoTemplate.findOne(new Query(Criteria.where(TicketHolder.FIELD_NAME_ID).is(encTicketId)),
+                TicketHolder.class, collectionName);
+            if (holder == null) {
+                return null;
+            }
+            val ticket = getTicketOfType(decodeTicket(deserializeTicketFromMongoDocument(holder)), clazz);
+            val query = new Query(Criteria.where(TicketHolder.FIELD_NAME_ID).is(encTicketId)
+                .and(TicketHolder.FIELD_NAME_JSON).is(holder.getJson())
+                .and(TicketHolder.FIELD_NAME_DATA).is(holder.getData()));
+            if (ticket.isExpired()) {
+                this.mongoTemplate.remove(query, collectionName);
+                return null;
+            }
+            if (!predicate.test(ticket)) {
+                return null;
+            }
+            val result = recordTicketUsage(ticket)
+                ? this.mongoTemplate.findAndModify(query, buildTicketUpdate(ticket), TicketHolder.class, collectionName)
+                : this.mongoTemplate.findAndRemove(query, TicketHolder.class, collectionName);
+            if (result != null) {
+                return ticket;
+            }
+            LOGGER.debug("Ticket [{}] was concurrently modified; attempt [{}] to consume the ticket is aborted", ticketId, attempt);
+        }
+        LOGGER.warn("Unable to consume ticket [{}] after [{}] attempts", ticketId, CONSUME_TICKET_MAX_ATTEMPTS);
+        return null;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>Candidates are selected using the indexed expiration field of each ticket collection.
+     */
+    @Override
+    public Stream<? extends Ticket> getExpiredTickets() {
+        val now = new Date();
+        val query = new Query(new Criteria().orOperator(
+            Criteria.where(TicketHolder.FIELD_NAME_EXPIRE_AT).lte(now),
+            Criteria.where(TicketHolder.FIELD_NAME_EXPIRE_AT).is(null)));
+        return this.ticketCatalog.findAll()
+            .stream()
+            .map(this::getTicketCollectionInstanceByMetadata)
+            .filter(StringUtils::isNotBlank)
+            .flatMap(collectionName -> StreamUtils.createStreamFromIterator(this.mongoTemplate.stream(query, TicketHolder.class, collectionName)))
+            .map(holder -> decodeTicket(deserializeTicketFromMongoDocument(holder)))
+            .filter(Ticket::isExpired);
+    }
+
+    @Override
+    public Stream<? extends TicketGrantingTicket> getSessionsFor(final String principalId) {
+        val principalIndexKey = getPrincipalIndexKey(principalId);
+        if (principalIndexKey == null) {
+            return Stream.empty();
+        }
+        val metadata = this.ticketCatalog.find(TicketGrantingTicket.PREFIX);
+        val collectionName = getTicketCollectionInstanceByMetadata(metadata);
+        val query = new Query(Criteria.where(TicketHolder.FIELD_NAME_PRINCIPAL).is(principalIndexKey));
+        return this.mongoTemplate.find(query, TicketHolder.class, collectionName)
+            .stream()
+            .map(holder -> decodeTicket(deserializeTicketFromMongoDocument(holder)))
+            .filter(ticket -> ticket instanceof TicketGrantingTicket && !ticket.isExpired())
+            .map(TicketGrantingTicket.class::cast);
+    }
+
     @Override
     public boolean deleteSingleTicket(final String ticketIdToDelete) {
         val ticketId = encodeTicketId(ticketIdToDelete);
@@ -253,13 +421,31 @@ public class MongoDbTicketRegistry extends AbstractTicketRegistry {
             .sum();
     }
 
+    private static Update buildTicketUpdate(final TicketHolder holder) {
+        return Update.update(TicketHolder.FIELD_NAME_JSON, holder.getJson())
+            .set(TicketHolder.FIELD_NAME_DATA, holder.getData())
+            .set(TicketHolder.FIELD_NAME_PRINCIPAL, holder.getPrincipal())
+            .set(TicketHolder.FIELD_NAME_EXPIRE_AT, holder.getExpireAt())
+            .unset(TicketHolder.FIELD_NAME_DELTAS);
+    }
+
+    private Update buildTicketUpdate(final Ticket ticket) {
+        return buildTicketUpdate(buildTicketAsDocument(ticket));
+    }
+
     private TicketHolder buildTicketAsDocument(final Ticket ticket) {
         val encTicket = encodeTicket(ticket);
+        if (this.ticketSerializer != null) {
+            val data = this.ticketSerializer.serialize(encTicket);
+            LOGGER.trace("Serialized ticket [{}] into [{}] bytes of binary data", encTicket.getId(), data.length);
+            return new TicketHolder(null, encTicket.getId(), encTicket.getClass().getName(),
+                getExpireAt(ticket), getPrincipalIndexKey(ticket), null, data);
+        }
         val json = serializeTicketForMongoDocument(encTicket);
         if (StringUtils.isNotBlank(json)) {
             LOGGER.trace("Serialized ticket into a JSON document as \n [{}]", JsonValue.readJSON(json).toString(Stringify.FORMATTED));
             val expireAt = getExpireAt(ticket);
-            return new TicketHolder(json, encTicket.getId(), encTicket.getClass().getName(), expireAt);
+            return new TicketHolder(json, encTicket.getId(), encTicket.getClass().getName(), expireAt, getPrincipalIndexKey(ticket), null, null);
         }
         throw new IllegalArgumentException("Ticket " + ticket.getId() + " cannot be serialized to JSON");
     }
@@ -9,6 +9,7 @@ import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.io.Serializable;
 import java.util.Date;
+import java.util.List;
 
 /**
  * This is {@link TicketHolder}.
@@ -28,6 +29,11 @@ public class TicketHolder implements Serializable {
      */
     public static final String FIELD_NAME_JSON = "json";
 
+    /**
+     * Field name to hold the binary form of the ticket, when tickets are stored using a {@code TicketSerializer}.
+     */
+    public static final String FIELD_NAME_DATA = "data";
+
     /**
      * Field name to hold ticket expiration time.
      */
@@ -38,6 +44,16 @@ public class TicketHolder implements Serializable {
      */
     public static final String FIELD_NAME_ID = "ticketId";
 
+    /**
+     * Field name to hold the principal that owns the ticket.
+     */
+    public static final String FIELD_NAME_PRINCIPAL = "principal";
+
+    /**
+     * Field name to hold changes made to a ticket-granting ticket since it was last stored as a whole.
+     */
+    public static final String FIELD_NAME_DELTAS = "deltas";
+
     private static final long serialVersionUID = -4843440028617071224L;
 
     @JsonProperty
@@ -50,4 +66,13 @@ public class TicketHolder implements Serializable {
     private final String type;
 
     private final Date expireAt;
+
+    @JsonProperty
+    private final String principal;
+
+    @JsonProperty
+    private final List<String> deltas;
+
+    @JsonProperty
+    private final byte[] data;
 }
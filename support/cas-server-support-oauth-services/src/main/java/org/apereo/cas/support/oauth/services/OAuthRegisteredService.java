@@ -44,6 +44,15 @@ public class OAuthRegisteredService extends RegexRegisteredService {
     @Column
     private boolean generateRefreshToken;
 
+    @Column
+    private boolean jwtAccessToken;
+
+    @Column
+    private boolean encryptJwtAccessToken;
+
+    @Column
+    private boolean reuseClientCredentialsAccessToken;
+
     @Lob
     @Column(name = "supported_grants", length = Integer.MAX_VALUE)
     private HashSet<String> supportedGrantTypes = new HashSet<>();
@@ -54,7 +54,10 @@ import org.apereo.cas.support.oauth.web.endpoints.OAuth20UserProfileEndpointCont
 import org.apereo.cas.support.oauth.web.mgmt.OAuth20TokenManagementEndpoint;
 import org.apereo.cas.support.oauth.web.response.OAuth20CasClientRedirectActionBuilder;
 import org.apereo.cas.support.oauth.web.response.OAuth20DefaultCasClientRedirectActionBuilder;
+import org.apereo.cas.support.oauth.web.response.accesstoken.NoOpOAuth20JwtAccessTokenService;
+import org.apereo.cas.support.oauth.web.response.accesstoken.OAuth20ClientCredentialsAccessTokenCache;
 import org.apereo.cas.support.oauth.web.response.accesstoken.OAuth20DefaultTokenGenerator;
+import org.apereo.cas.support.oauth.web.response.accesstoken.OAuth20JwtAccessTokenService;
 import org.apereo.cas.support.oauth.web.response.accesstoken.OAuth20TokenGenerator;
 import org.apereo.cas.support.oauth.web.response.accesstoken.ext.AccessTokenAuthorizationCodeGrantRequestExtractor;
 import org.apereo.cas.support.oauth.web.response.accesstoken.ext.AccessTokenClientCredentialsGrantRequestExtractor;
@@ -359,7 +362,24 @@ public class CasOAuthConfiguration implements AuditTrailRecordResolutionPlanConf
             defaultDeviceTokenFactory(),
             defaultRefreshTokenFactory(),
             ticketRegistry.getIfAvailable(),
-            casProperties);
+            casProperties,
+            oauthJwtAccessTokenService(),
+            oauthClientCredentialsAccessTokenCache());
+    }
+
+    @ConditionalOnMissingBean(name = "oauthClientCredentialsAccessTokenCache")
+    @Bean
+    @RefreshScope
+    public OAuth20ClientCredentialsAccessTokenCache oauthClientCredentialsAccessTokenCache() {
+        val clientCredentials = casProperties.getAuthn().getOauth().getGrants().getClientCredentials();
+        return new OAuth20ClientCredentialsAccessTokenCache(ticketRegistry.getIfAvailable(),
+            Beans.newDuration(clientCredentials.getReuseMinimumRemainingTimeToLive()));
+    }
+
+    @ConditionalOnMissingBean(name = "oauthJwtAccessTokenService")
+    @Bean
+    public OAuth20JwtAccessTokenService oauthJwtAccessTokenService() {
+        return NoOpOAuth20JwtAccessTokenService.getInstance();
     }
 
     @Bean
@@ -395,7 +415,8 @@ public class CasOAuthConfiguration implements AuditTrailRecordResolutionPlanConf
             authenticationBuilder,
             centralAuthenticationService.getIfAvailable(),
             casProperties.getAuthn().getOauth(),
-            registeredServiceAccessStrategyEnforcer.getIfAvailable());
+            registeredServiceAccessStrategyEnforcer.getIfAvailable(),
+            oauthClientCredentialsAccessTokenCache());
 
         val deviceCodeExt = new AccessTokenDeviceCodeResponseRequestExtractor(servicesManager.getIfAvailable(),
             ticketRegistry.getIfAvailable(),
@@ -420,7 +441,8 @@ public class CasOAuthConfiguration implements AuditTrailRecordResolutionPlanConf
             casProperties,
             ticketGrantingTicketCookieGenerator.getIfAvailable(),
             centralAuthenticationService.getIfAvailable(),
-            registeredServiceAccessStrategyEnforcer.getIfAvailable());
+            registeredServiceAccessStrategyEnforcer.getIfAvailable(),
+            oauthJwtAccessTokenService());
     }
 
     @ConditionalOnMissingBean(name = "accessTokenController")
@@ -492,7 +514,8 @@ public class CasOAuthConfiguration implements AuditTrailRecordResolutionPlanConf
             casProperties,
             ticketGrantingTicketCookieGenerator.getIfAvailable(),
             oauthUserProfileViewRenderer(),
-            oAuth2UserProfileDataCreator());
+            oAuth2UserProfileDataCreator(),
+            oauthJwtAccessTokenService());
     }
 
     @ConditionalOnMissingBean(name = "oauthAuthorizationResponseBuilders")
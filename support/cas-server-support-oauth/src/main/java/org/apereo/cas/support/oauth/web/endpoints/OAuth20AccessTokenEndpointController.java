@@ -16,12 +16,14 @@ import org.apereo.cas.support.oauth.validator.token.OAuth20TokenRequestValidator
 import org.apereo.cas.support.oauth.validator.token.device.InvalidOAuth20DeviceTokenException;
 import org.apereo.cas.support.oauth.validator.token.device.ThrottledOAuth20DeviceUserCodeApprovalException;
 import org.apereo.cas.support.oauth.validator.token.device.UnapprovedOAuth20DeviceUserCodeException;
+import org.apereo.cas.support.oauth.web.response.accesstoken.OAuth20ClientCredentialsAccessTokenCache;
 import org.apereo.cas.support.oauth.web.response.accesstoken.OAuth20TokenGeneratedResult;
 import org.apereo.cas.support.oauth.web.response.accesstoken.OAuth20TokenGenerator;
 import org.apereo.cas.support.oauth.web.response.accesstoken.ext.AccessTokenRequestDataHolder;
 import org.apereo.cas.support.oauth.web.response.accesstoken.response.OAuth20AccessTokenResponseGenerator;
 import org.apereo.cas.support.oauth.web.response.accesstoken.response.OAuth20AccessTokenResponseResult;
 import org.apereo.cas.ticket.ExpirationPolicy;
+import org.apereo.cas.ticket.accesstoken.AccessToken;
 import org.apereo.cas.ticket.accesstoken.AccessTokenFactory;
 import org.apereo.cas.ticket.registry.TicketRegistry;
 import org.apereo.cas.util.Pac4jUtils;
@@ -166,10 +168,13 @@ public class OAuth20AccessTokenEndpointController extends BaseOAuth20Controller
         LOGGER.debug("Generating access token response for [{}]", result);
 
         val deviceRefreshInterval = Beans.newDuration(casProperties.getAuthn().getOauth().getDeviceToken().getRefreshInterval()).getSeconds();
+        val accessTokenTimeout = requestHolder.getToken() instanceof AccessToken
+            ? OAuth20ClientCredentialsAccessTokenCache.getRemainingTimeToLive((AccessToken) requestHolder.getToken())
+            : accessTokenExpirationPolicy.getTimeToLive();
         val tokenResult = OAuth20AccessTokenResponseResult.builder()
             .registeredService(requestHolder.getRegisteredService())
             .service(requestHolder.getService())
-            .accessTokenTimeout(accessTokenExpirationPolicy.getTimeToLive())
+            .accessTokenTimeout(accessTokenTimeout)
             .deviceRefreshInterval(deviceRefreshInterval)
             .deviceTokenTimeout(deviceTokenExpirationPolicy.getTimeToLive())
             .responseType(result.getResponseType().isPresent() ? result.getResponseType().get() : OAuth20ResponseTypes.NONE)
@@ -13,6 +13,7 @@ import org.apereo.cas.support.oauth.OAuth20Constants;
 import org.apereo.cas.support.oauth.profile.OAuth20ProfileScopeToAttributesFilter;
 import org.apereo.cas.support.oauth.services.OAuthRegisteredService;
 import org.apereo.cas.support.oauth.util.OAuth20Utils;
+import org.apereo.cas.support.oauth.web.response.accesstoken.OAuth20JwtAccessTokenService;
 import org.apereo.cas.support.oauth.web.response.introspection.OAuth20IntrospectionAccessTokenResponse;
 import org.apereo.cas.ticket.InvalidTicketException;
 import org.apereo.cas.ticket.accesstoken.AccessToken;
@@ -52,6 +53,7 @@ public class OAuth20IntrospectionEndpointController extends BaseOAuth20Controlle
 
     private final CentralAuthenticationService centralAuthenticationService;
     private final AuditableExecution registeredServiceAccessStrategyEnforcer;
+    private final OAuth20JwtAccessTokenService jwtAccessTokenService;
 
     public OAuth20IntrospectionEndpointController(final ServicesManager servicesManager,
                                                   final TicketRegistry ticketRegistry,
@@ -62,11 +64,13 @@ public class OAuth20IntrospectionEndpointController extends BaseOAuth20Controlle
                                                   final CasConfigurationProperties casProperties,
                                                   final CookieRetrievingCookieGenerator cookieGenerator,
                                                   final CentralAuthenticationService centralAuthenticationService,
-                                                  final AuditableExecution registeredServiceAccessStrategyEnforcer) {
+                                                  final AuditableExecution registeredServiceAccessStrategyEnforcer,
+                                                  final OAuth20JwtAccessTokenService jwtAccessTokenService) {
         super(servicesManager, ticketRegistry, accessTokenFactory, principalFactory,
             webApplicationServiceServiceFactory, scopeToAttributesFilter, casProperties, cookieGenerator);
         this.centralAuthenticationService = centralAuthenticationService;
         this.registeredServiceAccessStrategyEnforcer = registeredServiceAccessStrategyEnforcer;
+        this.jwtAccessTokenService = jwtAccessTokenService;
     }
 
     /**
@@ -112,12 +116,7 @@ public class OAuth20IntrospectionEndpointController extends BaseOAuth20Controlle
                             request.getParameter(OAuth20Constants.ACCESS_TOKEN));
 
                     LOGGER.debug("Located access token [{}] in the request", accessToken);
-                    var ticket = (AccessToken) null;
-                    try {
-                        ticket = this.centralAuthenticationService.getTicket(accessToken, AccessToken.class);
-                    } catch (final InvalidTicketException e) {
-                        LOGGER.info("Unable to fetch access token [{}]: [{}]", accessToken, e.getMessage());
-                    }
+                    val ticket = getAccessToken(accessToken);
                     val introspect = createIntrospectionValidResponse(service, ticket);
                     result = new ResponseEntity<>(introspect, HttpStatus.OK);
                 }
@@ -130,6 +129,18 @@ public class OAuth20IntrospectionEndpointController extends BaseOAuth20Controlle
         return result;
     }
 
+    private AccessToken getAccessToken(final String accessToken) {
+        if (OAuth20JwtAccessTokenService.isJwtAccessToken(accessToken)) {
+            return this.jwtAccessTokenService.decode(accessToken).orElse(null);
+        }
+        try {
+            return this.centralAuthenticationService.getTicket(accessToken, AccessToken.class);
+        } catch (final InvalidTicketException e) {
+            LOGGER.info("Unable to fetch access token [{}]: [{}]", accessToken, e.getMessage());
+        }
+        return null;
+    }
+
     private Optional<ResponseEntity<OAuth20IntrospectionAccessTokenResponse>> validateIntrospectionRequest(final OAuthRegisteredService registeredService,
                                                  final UsernamePasswordCredentials credentials,
                                                  final HttpServletRequest request) {
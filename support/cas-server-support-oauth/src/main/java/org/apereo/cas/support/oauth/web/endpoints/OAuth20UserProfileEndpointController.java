@@ -9,6 +9,7 @@ import org.apereo.cas.support.oauth.OAuth20Constants;
 import org.apereo.cas.support.oauth.profile.OAuth20ProfileScopeToAttributesFilter;
 import org.apereo.cas.support.oauth.profile.OAuth20UserProfileDataCreator;
 import org.apereo.cas.support.oauth.util.OAuth20Utils;
+import org.apereo.cas.support.oauth.web.response.accesstoken.OAuth20JwtAccessTokenService;
 import org.apereo.cas.support.oauth.web.views.OAuth20UserProfileViewRenderer;
 import org.apereo.cas.ticket.TicketState;
 import org.apereo.cas.ticket.accesstoken.AccessToken;
@@ -21,6 +22,7 @@ import lombok.extern.slf4j.Slf4j;
 import lombok.val;
 import org.apache.commons.lang3.StringUtils;
 import org.pac4j.core.context.HttpConstants;
+import org.pac4j.core.context.J2EContext;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -49,6 +51,12 @@ public class OAuth20UserProfileEndpointController extends BaseOAuth20Controller
      * User profile data creator.
      */
     private final OAuth20UserProfileDataCreator userProfileDataCreator;
+
+    /**
+     * JWT access token service.
+     */
+    private final OAuth20JwtAccessTokenService jwtAccessTokenService;
+
     private final ResponseEntity expiredAccessTokenResponseEntity;
 
     public OAuth20UserProfileEndpointController(final ServicesManager servicesManager,
@@ -60,11 +68,13 @@ public class OAuth20UserProfileEndpointController extends BaseOAuth20Controller
                                                 final CasConfigurationProperties casProperties,
                                                 final CookieRetrievingCookieGenerator cookieGenerator,
                                                 final OAuth20UserProfileViewRenderer userProfileViewRenderer,
-                                                final OAuth20UserProfileDataCreator userProfileDataCreator) {
+                                                final OAuth20UserProfileDataCreator userProfileDataCreator,
+                                                final OAuth20JwtAccessTokenService jwtAccessTokenService) {
         super(servicesManager, ticketRegistry, accessTokenFactory, principalFactory,
             webApplicationServiceServiceFactory, scopeToAttributesFilter, casProperties, cookieGenerator);
         this.userProfileViewRenderer = userProfileViewRenderer;
         this.userProfileDataCreator = userProfileDataCreator;
+        this.jwtAccessTokenService = jwtAccessTokenService;
         this.expiredAccessTokenResponseEntity = buildUnauthorizedResponseEntity(OAuth20Constants.EXPIRED_ACCESS_TOKEN);
     }
 
@@ -101,6 +111,15 @@ public class OAuth20UserProfileEndpointController extends BaseOAuth20Controller
             return buildUnauthorizedResponseEntity(OAuth20Constants.MISSING_ACCESS_TOKEN);
         }
 
+        if (OAuth20JwtAccessTokenService.isJwtAccessToken(accessToken)) {
+            val jwtAccessToken = this.jwtAccessTokenService.decode(accessToken);
+            if (jwtAccessToken.isEmpty()) {
+                LOGGER.error("JWT access token is invalid, expired or revoked");
+                return expiredAccessTokenResponseEntity;
+            }
+            return buildUserProfileResponseEntity(jwtAccessToken.get(), context);
+        }
+
         val accessTokenTicket = this.ticketRegistry.getTicket(accessToken, AccessToken.class);
 
         if (accessTokenTicket == null) {
@@ -122,7 +141,10 @@ public class OAuth20UserProfileEndpointController extends BaseOAuth20Controller
             }
         }
         updateAccessTokenUsage(accessTokenTicket);
+        return buildUserProfileResponseEntity(accessTokenTicket, context);
+    }
 
+    private ResponseEntity<String> buildUserProfileResponseEntity(final AccessToken accessTokenTicket, final J2EContext context) {
         val map = this.userProfileDataCreator.createFrom(accessTokenTicket, context);
         val value = this.userProfileViewRenderer.render(map, accessTokenTicket);
         return new ResponseEntity<>(value, HttpStatus.OK);
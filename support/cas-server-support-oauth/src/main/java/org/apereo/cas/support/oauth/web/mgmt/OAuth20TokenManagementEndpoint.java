@@ -8,14 +8,18 @@ import org.apereo.cas.ticket.registry.TicketRegistry;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import lombok.val;
+import org.apache.commons.lang3.StringUtils;
 import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
 import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
 import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
 import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.lang.Nullable;
 
 import java.util.Collection;
 import java.util.Comparator;
+import java.util.Objects;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * This is {@link OAuth20TokenManagementEndpoint}.
@@ -35,13 +39,28 @@ public class OAuth20TokenManagementEndpoint {
     /**
      * Gets access tokens.
      *
+     * @param username the username whose tokens should be listed, or none for all users
      * @return the access tokens
      */
     @ReadOperation
-    public Collection<Ticket> getTokens() {
-        return ticketRegistry.getTickets(ticket -> (ticket instanceof AccessToken || ticket instanceof RefreshToken) && !ticket.isExpired())
-            .sorted(Comparator.comparing(Ticket::getId))
-            .collect(Collectors.toList());
+    public Collection<Ticket> getTokens(@Nullable final String username) {
+        try (val tokens = StringUtils.isNotBlank(username) ? getTokensFor(username) : getAllTokens()) {
+            return tokens
+                .filter(ticket -> (ticket instanceof AccessToken || ticket instanceof RefreshToken) && !ticket.isExpired())
+                .sorted(Comparator.comparing(Ticket::getId))
+                .collect(Collectors.toList());
+        }
+    }
+
+    private Stream<? extends Ticket> getAllTokens() {
+        return ticketRegistry.getTickets(ticket -> ticket instanceof AccessToken || ticket instanceof RefreshToken);
+    }
+
+    private Stream<? extends Ticket> getTokensFor(final String username) {
+        return ticketRegistry.getSessionsFor(username)
+            .flatMap(tgt -> tgt.getDescendantTickets().stream())
+            .map(ticketRegistry::getTicket)
+            .filter(Objects::nonNull);
     }
 
 
@@ -0,0 +1,247 @@
+package org.apereo.cas.support.oauth.web.response.accesstoken;
+
+import org.apereo.cas.authentication.DefaultAuthenticationBuilder;
+import org.apereo.cas.authentication.principal.PrincipalFactory;
+import org.apereo.cas.authentication.principal.ServiceFactory;
+import org.apereo.cas.authentication.principal.WebApplicationService;
+import org.apereo.cas.support.oauth.OAuth20Constants;
+import org.apereo.cas.support.oauth.services.OAuthRegisteredService;
+import org.apereo.cas.ticket.TransientSessionTicket;
+import org.apereo.cas.ticket.TransientSessionTicketImpl;
+import org.apereo.cas.ticket.accesstoken.AccessToken;
+import org.apereo.cas.ticket.accesstoken.AccessTokenImpl;
+import org.apereo.cas.ticket.registry.TicketRegistry;
+import org.apereo.cas.ticket.support.HardTimeoutExpirationPolicy;
+import org.apereo.cas.util.CollectionUtils;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.apache.commons.lang3.StringUtils;
+import org.jose4j.jwt.JwtClaims;
+import org.jose4j.jwt.NumericDate;
+
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+/**
+ * This is {@link BaseOAuth20JwtAccessTokenService} that carries the principal, its attributes and the
+ * authentication attributes of the access token in the claims of the JWT, so that the token can be rebuilt
+ * when presented without looking it up in the ticket registry. Signing and encryption of the claims
+ * are left to subclasses that have access to the keys.
+ *
+ * @author Misagh Moayyed
+ * @since 6.1.0
+ */
+@Slf4j
+@RequiredArgsConstructor
+@Getter
+public abstract class BaseOAuth20JwtAccessTokenService implements OAuth20JwtAccessTokenService {
+    /**
+     * Claim that carries the service for which the access token was issued.
+     */
+    protected static final String CLAIM_SERVICE = "service";
+
+    /**
+     * Claim that carries the principal attributes.
+     */
+    protected static final String CLAIM_PRINCIPAL_ATTRIBUTES = "attributes";
+
+    /**
+     * Claim that carries the authentication attributes.
+     */
+    protected static final String CLAIM_AUTHENTICATION_ATTRIBUTES = "authentication";
+
+    /**
+     * Claim that carries the authentication date.
+     */
+    protected static final String CLAIM_AUTHENTICATION_DATE = "auth_time";
+
+    private final String issuer;
+
+    private final TicketRegistry ticketRegistry;
+
+    private final PrincipalFactory principalFactory;
+
+    private final ServiceFactory<WebApplicationService> webApplicationServiceServiceFactory;
+
+    /**
+     * Sign, and optionally encrypt, the claims for the service.
+     *
+     * @param registeredService the registered service
+     * @param claims            the claims
+     * @return the JWT
+     */
+    protected abstract String sign(OAuthRegisteredService registeredService, JwtClaims claims);
+
+    /**
+     * Decrypt the JWT if needed and verify its signature.
+     *
+     * @param token the JWT
+     * @return the claims, or empty if the signature cannot be verified
+     */
+    protected abstract Optional<JwtClaims> verify(String token);
+
+    @Override
+    public boolean supports(final OAuthRegisteredService registeredService) {
+        return registeredService != null && registeredService.isJwtAccessToken();
+    }
+
+    @Override
+    public String encode(final OAuthRegisteredService registeredService, final AccessToken accessToken) {
+        val authentication = accessToken.getAuthentication();
+        val principal = authentication.getPrincipal();
+        val issuedAt = accessToken.getCreationTime().toEpochSecond();
+
+        val claims = new JwtClaims();
+        claims.setJwtId(accessToken.getId());
+        claims.setIssuer(this.issuer);
+        claims.setAudience(registeredService.getClientId());
+        claims.setSubject(principal.getId());
+        claims.setIssuedAt(NumericDate.fromSeconds(issuedAt));
+        claims.setExpirationTime(NumericDate.fromSeconds(issuedAt + accessToken.getExpirationPolicy().getTimeToLive()));
+        claims.setStringClaim(OAuth20Constants.CLIENT_ID, registeredService.getClientId());
+        claims.setStringClaim(OAuth20Constants.SCOPE, String.join(" ", accessToken.getScopes()));
+        claims.setStringClaim(CLAIM_SERVICE, accessToken.getService().getId());
+        claims.setClaim(CLAIM_AUTHENTICATION_DATE, authentication.getAuthenticationDate().toEpochSecond());
+        claims.setClaim(CLAIM_PRINCIPAL_ATTRIBUTES, toClaimValues(principal.getAttributes()));
+        claims.setClaim(CLAIM_AUTHENTICATION_ATTRIBUTES, toClaimValues(authentication.getAttributes()));
+        LOGGER.debug("Encoding access token [{}] as JWT with claims [{}]", accessToken.getId(), claims);
+        return sign(registeredService, claims);
+    }
+
+    @Override
+    public Optional<AccessToken> decode(final String token) {
+        try {
+            val result = verify(token);
+            if (result.isEmpty()) {
+                LOGGER.warn("Unable to verify the signature of JWT access token");
+                return Optional.empty();
+            }
+            val claims = result.get();
+            if (!StringUtils.equals(this.issuer, claims.getIssuer())) {
+                LOGGER.warn("Issuer [{}] of JWT access token does not match [{}]", claims.getIssuer(), this.issuer);
+                return Optional.empty();
+            }
+            val accessToken = buildAccessToken(token, claims);
+            if (accessToken.isExpired()) {
+                LOGGER.debug("JWT access token [{}] has expired", claims.getJwtId());
+                return Optional.empty();
+            }
+            if (this.ticketRegistry.getTicket(getRevocationId(claims.getJwtId())) != null) {
+                LOGGER.debug("JWT access token [{}] has been revoked", claims.getJwtId());
+                return Optional.empty();
+            }
+            return Optional.of(accessToken);
+        } catch (final Exception e) {
+            LOGGER.warn("Unable to decode JWT access token: [{}]", e.getMessage());
+            LOGGER.debug(e.getMessage(), e);
+            return Optional.empty();
+        }
+    }
+
+    @Override
+    public boolean revoke(final String token) {
+        try {
+            val result = verify(token);
+            if (result.isEmpty()) {
+                return false;
+            }
+            val claims = result.get();
+            val accessToken = buildAccessToken(token, claims);
+            val remaining = claims.getExpirationTime().getValue() - Instant.now().getEpochSecond();
+            if (remaining <= 0) {
+                LOGGER.debug("JWT access token [{}] has already expired and need not be revoked", claims.getJwtId());
+                return false;
+            }
+            val revocation = new TransientSessionTicketImpl(getRevocationId(claims.getJwtId()),
+                new HardTimeoutExpirationPolicy(remaining), accessToken.getService());
+            this.ticketRegistry.addTicket(revocation);
+            LOGGER.debug("Revoked JWT access token [{}] for the next [{}] second(s)", claims.getJwtId(), remaining);
+            return true;
+        } catch (final Exception e) {
+            LOGGER.warn("Unable to revoke JWT access token: [{}]", e.getMessage());
+            LOGGER.debug(e.getMessage(), e);
+            return false;
+        }
+    }
+
+    /**
+     * Rebuild the access token from the claims of the JWT.
+     * The token is given the JWT itself as its id, and no ticket-granting ticket.
+     *
+     * @param token  the JWT
+     * @param claims the claims
+     * @return the access token
+     * @throws Exception the exception
+     */
+    protected AccessToken buildAccessToken(final String token, final JwtClaims claims) throws Exception {
+        val principal = this.principalFactory.createPrincipal(claims.getSubject(),
+            getClaimValues(claims, CLAIM_PRINCIPAL_ATTRIBUTES));
+        val authenticationDate = claims.getClaimValue(CLAIM_AUTHENTICATION_DATE, Long.class);
+        val authentication = DefaultAuthenticationBuilder.newInstance()
+            .setPrincipal(principal)
+            .setAttributes(getClaimValues(claims, CLAIM_AUTHENTICATION_ATTRIBUTES))
+            .setAuthenticationDate(ZonedDateTime.ofInstant(Instant.ofEpochSecond(authenticationDate), ZoneOffset.UTC))
+            .build();
+        val service = this.webApplicationServiceServiceFactory.createService(claims.getStringClaimValue(CLAIM_SERVICE));
+        val scopes = new LinkedHashSet<String>(Arrays.asList(StringUtils.split(
+            StringUtils.defaultString(claims.getStringClaimValue(OAuth20Constants.SCOPE)), ' ')));
+
+        val issuedAt = claims.getIssuedAt().getValue();
+        val timeToLive = claims.getExpirationTime().getValue() - issuedAt;
+        val accessToken = new AccessTokenImpl(token, service, authentication,
+            new HardTimeoutExpirationPolicy(timeToLive), null, scopes);
+        accessToken.setCreationTime(ZonedDateTime.ofInstant(Instant.ofEpochSecond(issuedAt), ZoneOffset.UTC));
+        return accessToken;
+    }
+
+    private static String getRevocationId(final String jwtId) {
+        return TransientSessionTicket.PREFIX + '-' + jwtId;
+    }
+
+    private static Map<String, Object> getClaimValues(final JwtClaims claims, final String name) {
+        val value = claims.getClaimValue(name);
+        if (value instanceof Map) {
+            return new LinkedHashMap<>((Map<String, Object>) value);
+        }
+        return new LinkedHashMap<>(0);
+    }
+
+    /**
+     * Turn attribute values into values that can be put into claims as JSON,
+     * keeping strings, numbers and booleans as they are.
+     *
+     * @param attributes the attributes
+     * @return the claim values
+     */
+    private static Map<String, Object> toClaimValues(final Map<String, Object> attributes) {
+        val values = new LinkedHashMap<String, Object>(attributes.size());
+        attributes.forEach((key, value) -> {
+            val collection = CollectionUtils.toCollection(value);
+            val list = collection.stream()
+                .filter(Objects::nonNull)
+                .map(BaseOAuth20JwtAccessTokenService::toClaimValue)
+                .collect(Collectors.toCollection(ArrayList::new));
+            values.put(key, list.size() == 1 ? list.get(0) : list);
+        });
+        return values;
+    }
+
+    private static Object toClaimValue(final Object value) {
+        if (value instanceof String || value instanceof Number || value instanceof Boolean) {
+            return value;
+        }
+        return value.toString();
+    }
+}
@@ -0,0 +1,50 @@
+package org.apereo.cas.support.oauth.web.response.accesstoken;
+
+import org.apereo.cas.support.oauth.services.OAuthRegisteredService;
+import org.apereo.cas.ticket.accesstoken.AccessToken;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+import java.util.Optional;
+
+/**
+ * This is {@link NoOpOAuth20JwtAccessTokenService} that never issues JWT access tokens,
+ * used when no keys are available to sign them.
+ *
+ * @author Misagh Moayyed
+ * @since 6.1.0
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class NoOpOAuth20JwtAccessTokenService implements OAuth20JwtAccessTokenService {
+    private static final OAuth20JwtAccessTokenService INSTANCE = new NoOpOAuth20JwtAccessTokenService();
+
+    /**
+     * Gets instance.
+     *
+     * @return the instance
+     */
+    public static OAuth20JwtAccessTokenService getInstance() {
+        return INSTANCE;
+    }
+
+    @Override
+    public boolean supports(final OAuthRegisteredService registeredService) {
+        return false;
+    }
+
+    @Override
+    public String encode(final OAuthRegisteredService registeredService, final AccessToken accessToken) {
+        throw new UnsupportedOperationException("JWT access tokens are not supported");
+    }
+
+    @Override
+    public Optional<AccessToken> decode(final String token) {
+        return Optional.empty();
+    }
+
+    @Override
+    public boolean revoke(final String token) {
+        return false;
+    }
+}
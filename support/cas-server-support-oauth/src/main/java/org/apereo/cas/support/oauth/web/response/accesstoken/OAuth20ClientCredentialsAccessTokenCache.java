@@ -0,0 +1,132 @@
+package org.apereo.cas.support.oauth.web.response.accesstoken;
+
+import org.apereo.cas.authentication.principal.Service;
+import org.apereo.cas.support.oauth.services.OAuthRegisteredService;
+import org.apereo.cas.ticket.TicketState;
+import org.apereo.cas.ticket.TransientSessionTicket;
+import org.apereo.cas.ticket.TransientSessionTicketImpl;
+import org.apereo.cas.ticket.accesstoken.AccessToken;
+import org.apereo.cas.ticket.registry.TicketRegistry;
+import org.apereo.cas.ticket.support.HardTimeoutExpirationPolicy;
+import org.apereo.cas.util.CollectionUtils;
+import org.apereo.cas.util.DigestUtils;
+
+import io.micrometer.core.instrument.Metrics;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+
+import java.io.Serializable;
+import java.time.Duration;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.Collection;
+import java.util.Optional;
+import java.util.TreeSet;
+
+/**
+ * This is {@link OAuth20ClientCredentialsAccessTokenCache} that lets services which opt in receive
+ * the same access token for repeated {@code client_credentials} requests with the same client id,
+ * scopes and audience, for as long as the token has enough lifetime left. The mapping from the request
+ * to the access token is kept in the ticket registry, so that it is shared by all nodes in a cluster.
+ *
+ * @author Misagh Moayyed
+ * @since 6.1.0
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class OAuth20ClientCredentialsAccessTokenCache {
+    private static final String PROPERTY_ACCESS_TOKEN = "accessToken";
+
+    private static final String METRIC_NAME = "cas.oauth.clientCredentials.accessToken.reuse";
+
+    private final TicketRegistry ticketRegistry;
+
+    private final Duration minimumRemainingTimeToLive;
+
+    /**
+     * Gets the number of seconds the access token has left before it expires,
+     * either because it is too old or because it has not been used for too long.
+     *
+     * @param accessToken the access token
+     * @return the remaining time to live in seconds
+     */
+    public static long getRemainingTimeToLive(final AccessToken accessToken) {
+        val policy = accessToken.getExpirationPolicy();
+        var expiresAt = accessToken.getCreationTime().plusSeconds(policy.getTimeToLive());
+        val timeToIdle = policy.getTimeToIdle();
+        if (timeToIdle != null && timeToIdle > 0 && accessToken instanceof TicketState) {
+            val idleExpiresAt = TicketState.class.cast(accessToken).getLastTimeUsed().plusSeconds(timeToIdle);
+            if (idleExpiresAt.isBefore(expiresAt)) {
+                expiresAt = idleExpiresAt;
+            }
+        }
+        return Math.max(0, Duration.between(ZonedDateTime.now(ZoneOffset.UTC), expiresAt).getSeconds());
+    }
+
+    /**
+     * Whether access tokens issued to the service may be reused.
+     *
+     * @param registeredService the registered service
+     * @return true/false
+     */
+    public boolean supports(final OAuthRegisteredService registeredService) {
+        return registeredService != null && registeredService.isReuseClientCredentialsAccessToken();
+    }
+
+    /**
+     * Find the access token previously issued for the request,
+     * as long as it has more than the minimum remaining time to live.
+     *
+     * @param registeredService the registered service
+     * @param service           the service
+     * @param scopes            the scopes
+     * @return the access token
+     */
+    public Optional<AccessToken> get(final OAuthRegisteredService registeredService, final Service service,
+                                     final Collection<String> scopes) {
+        val key = getCacheKey(registeredService, service, scopes);
+        val entry = this.ticketRegistry.getTicket(key, TransientSessionTicket.class);
+        if (entry != null && !entry.isExpired()) {
+            val accessTokenId = (String) entry.getProperties().get(PROPERTY_ACCESS_TOKEN);
+            val accessToken = this.ticketRegistry.getTicket(accessTokenId, AccessToken.class);
+            if (accessToken != null && !accessToken.isExpired()
+                && getRemainingTimeToLive(accessToken) > this.minimumRemainingTimeToLive.getSeconds()) {
+                LOGGER.debug("Reusing access token [{}] issued to client id [{}]", accessTokenId, registeredService.getClientId());
+                Metrics.counter(METRIC_NAME, "result", "hit").increment();
+                return Optional.of(accessToken);
+            }
+        }
+        Metrics.counter(METRIC_NAME, "result", "miss").increment();
+        return Optional.empty();
+    }
+
+    /**
+     * Remember the access token issued for the request, for as long as the token lives.
+     *
+     * @param registeredService the registered service
+     * @param service           the service
+     * @param scopes            the scopes
+     * @param accessToken       the access token
+     */
+    public void put(final OAuthRegisteredService registeredService, final Service service,
+                    final Collection<String> scopes, final AccessToken accessToken) {
+        val key = getCacheKey(registeredService, service, scopes);
+        if (this.ticketRegistry.getTicket(key) != null) {
+            this.ticketRegistry.deleteTicket(key);
+        }
+        val properties = CollectionUtils.<String, Serializable>wrap(PROPERTY_ACCESS_TOKEN, accessToken.getId());
+        val entry = new TransientSessionTicketImpl(key,
+            new HardTimeoutExpirationPolicy(getRemainingTimeToLive(accessToken)), service, properties);
+        this.ticketRegistry.addTicket(entry);
+        LOGGER.debug("Cached access token [{}] issued to client id [{}] under [{}]", accessToken.getId(),
+            registeredService.getClientId(), key);
+    }
+
+    private static String getCacheKey(final OAuthRegisteredService registeredService, final Service service,
+                                      final Collection<String> scopes) {
+        val audience = service != null ? service.getId() : registeredService.getServiceId();
+        val value = String.join("|", registeredService.getClientId(), String.join(" ", new TreeSet<>(scopes)), audience);
+        return TransientSessionTicket.PREFIX + '-' + DigestUtils.sha256(value);
+    }
+}
@@ -4,11 +4,13 @@ import org.apereo.cas.authentication.DefaultAuthenticationBuilder;
 import org.apereo.cas.configuration.CasConfigurationProperties;
 import org.apereo.cas.configuration.support.Beans;
 import org.apereo.cas.support.oauth.OAuth20Constants;
+import org.apereo.cas.support.oauth.OAuth20GrantTypes;
 import org.apereo.cas.support.oauth.OAuth20ResponseTypes;
 import org.apereo.cas.support.oauth.validator.token.device.InvalidOAuth20DeviceTokenException;
 import org.apereo.cas.support.oauth.validator.token.device.ThrottledOAuth20DeviceUserCodeApprovalException;
 import org.apereo.cas.support.oauth.validator.token.device.UnapprovedOAuth20DeviceUserCodeException;
 import org.apereo.cas.support.oauth.web.response.accesstoken.ext.AccessTokenRequestDataHolder;
+import org.apereo.cas.ticket.AbstractTicket;
 import org.apereo.cas.ticket.Ticket;
 import org.apereo.cas.ticket.TicketGrantingTicket;
 import org.apereo.cas.ticket.TicketState;
@@ -67,6 +69,16 @@ public class OAuth20DefaultTokenGenerator implements OAuth20TokenGenerator {
      */
     protected final CasConfigurationProperties casProperties;
 
+    /**
+     * The JWT access token service.
+     */
+    protected final OAuth20JwtAccessTokenService jwtAccessTokenService;
+
+    /**
+     * The cache of access tokens issued for the client credentials grant.
+     */
+    protected final OAuth20ClientCredentialsAccessTokenCache clientCredentialsAccessTokenCache;
+
     @Override
     public OAuth20TokenGeneratedResult generate(final AccessTokenRequestDataHolder holder) {
         if (OAuth20ResponseTypes.DEVICE_CODE.equals(holder.getResponseType())) {
@@ -183,6 +195,12 @@ public class OAuth20DefaultTokenGenerator implements OAuth20TokenGenerator {
      * @return the pair
      */
     protected Pair<AccessToken, RefreshToken> generateAccessTokenOAuthGrantTypes(final AccessTokenRequestDataHolder holder) {
+        val clientCredentials = OAuth20GrantTypes.CLIENT_CREDENTIALS.equals(holder.getGrantType());
+        if (clientCredentials && holder.getToken() instanceof AccessToken) {
+            LOGGER.debug("Reusing access token [{}] previously issued for [{}]", holder.getToken().getId(), holder.getService());
+            return Pair.of((AccessToken) holder.getToken(), null);
+        }
+
         LOGGER.debug("Creating access token for [{}]", holder.getService());
         val authn = DefaultAuthenticationBuilder
             .newInstance(holder.getAuthentication())
@@ -197,8 +215,15 @@ public class OAuth20DefaultTokenGenerator implements OAuth20TokenGenerator {
             authn, ticketGrantingTicket, holder.getScopes());
 
         LOGGER.debug("Created access token [{}]", accessToken);
-        addTicketToRegistry(accessToken, ticketGrantingTicket);
-        LOGGER.debug("Added access token [{}] to registry", accessToken);
+        if (this.jwtAccessTokenService.supports(holder.getRegisteredService())) {
+            encodeAccessTokenAsJwt(holder, accessToken);
+        } else {
+            addTicketToRegistry(accessToken, ticketGrantingTicket);
+            LOGGER.debug("Added access token [{}] to registry", accessToken);
+            if (clientCredentials && this.clientCredentialsAccessTokenCache.supports(holder.getRegisteredService())) {
+                this.clientCredentialsAccessTokenCache.put(holder.getRegisteredService(), holder.getService(), holder.getScopes(), accessToken);
+            }
+        }
 
         updateOAuthCode(holder);
 
@@ -212,6 +237,23 @@ public class OAuth20DefaultTokenGenerator implements OAuth20TokenGenerator {
         return Pair.of(accessToken, refreshToken);
     }
 
+    /**
+     * Encode the access token as a JWT which becomes its id, and is handed out in its place.
+     * The token is neither added to the registry nor tracked by the parent ticket-granting ticket.
+     *
+     * @param holder      the holder
+     * @param accessToken the access token
+     */
+    protected void encodeAccessTokenAsJwt(final AccessTokenRequestDataHolder holder, final AccessToken accessToken) {
+        val jwt = this.jwtAccessTokenService.encode(holder.getRegisteredService(), accessToken);
+        LOGGER.debug("Encoded access token [{}] as JWT for service [{}]", accessToken.getId(), holder.getService());
+        val ticketGrantingTicket = holder.getTicketGrantingTicket();
+        if (ticketGrantingTicket != null) {
+            ticketGrantingTicket.getDescendantTickets().remove(accessToken.getId());
+        }
+        AbstractTicket.class.cast(accessToken).setId(jwt);
+    }
+
     /**
      * Update OAuth code.
      *
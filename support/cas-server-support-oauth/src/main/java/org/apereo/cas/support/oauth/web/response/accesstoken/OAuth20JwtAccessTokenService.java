@@ -0,0 +1,67 @@
+package org.apereo.cas.support.oauth.web.response.accesstoken;
+
+import org.apereo.cas.support.oauth.services.OAuthRegisteredService;
+import org.apereo.cas.ticket.accesstoken.AccessToken;
+
+import lombok.val;
+import org.apache.commons.lang3.StringUtils;
+
+import java.util.Optional;
+
+/**
+ * This is {@link OAuth20JwtAccessTokenService} that issues access tokens as self-contained JWTs
+ * for services that ask for them. Such tokens are not tracked by the ticket registry and are
+ * validated by their signature alone; the registry only keeps the list of tokens revoked before they expire.
+ *
+ * @author Misagh Moayyed
+ * @since 6.1.0
+ */
+public interface OAuth20JwtAccessTokenService {
+
+    /**
+     * Whether access tokens issued to the service should be JWTs.
+     *
+     * @param registeredService the registered service
+     * @return true/false
+     */
+    boolean supports(OAuthRegisteredService registeredService);
+
+    /**
+     * Encode the access token as a signed, and optionally encrypted, JWT.
+     *
+     * @param registeredService the registered service
+     * @param accessToken       the access token
+     * @return the JWT
+     */
+    String encode(OAuthRegisteredService registeredService, AccessToken accessToken);
+
+    /**
+     * Validate the JWT and rebuild the access token it carries.
+     *
+     * @param token the JWT
+     * @return the access token, or empty if the token is invalid, expired or revoked
+     */
+    Optional<AccessToken> decode(String token);
+
+    /**
+     * Revoke the JWT before it expires.
+     *
+     * @param token the JWT
+     * @return true if the token was valid and is now revoked
+     */
+    boolean revoke(String token);
+
+    /**
+     * Whether the token looks like a JWT rather than the id of an access token in the ticket registry.
+     *
+     * @param token the token
+     * @return true/false
+     */
+    static boolean isJwtAccessToken(final String token) {
+        if (StringUtils.isBlank(token) || token.startsWith(AccessToken.PREFIX + '-')) {
+            return false;
+        }
+        val parts = StringUtils.countMatches(token, '.');
+        return parts == 2 || parts == 4;
+    }
+}
@@ -2,12 +2,20 @@ package org.apereo.cas.support.oauth.web.response.accesstoken.ext;
 
 import org.apereo.cas.CentralAuthenticationService;
 import org.apereo.cas.audit.AuditableExecution;
+import org.apereo.cas.authentication.Authentication;
+import org.apereo.cas.authentication.principal.Service;
 import org.apereo.cas.configuration.model.support.oauth.OAuthProperties;
 import org.apereo.cas.services.ServicesManager;
 import org.apereo.cas.support.oauth.OAuth20GrantTypes;
 import org.apereo.cas.support.oauth.authenticator.OAuth20CasAuthenticationBuilder;
+import org.apereo.cas.support.oauth.services.OAuthRegisteredService;
+import org.apereo.cas.support.oauth.web.response.accesstoken.OAuth20ClientCredentialsAccessTokenCache;
 import org.apereo.cas.ticket.registry.TicketRegistry;
 
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+
+import java.util.Set;
 
 /**
  * This is {@link AccessTokenClientCredentialsGrantRequestExtractor}.
@@ -15,17 +23,45 @@ import org.apereo.cas.ticket.registry.TicketRegistry;
  * @author Misagh Moayyed
  * @since 5.1.0
  */
+@Slf4j
 public class AccessTokenClientCredentialsGrantRequestExtractor extends AccessTokenPasswordGrantRequestExtractor {
 
+    private final OAuth20ClientCredentialsAccessTokenCache clientCredentialsAccessTokenCache;
 
     public AccessTokenClientCredentialsGrantRequestExtractor(final ServicesManager servicesManager,
                                                              final TicketRegistry ticketRegistry,
                                                              final OAuth20CasAuthenticationBuilder authenticationBuilder,
                                                              final CentralAuthenticationService centralAuthenticationService,
                                                              final OAuthProperties oAuthProperties,
-                                                             final AuditableExecution registeredServiceAccessStrategyEnforcer) {
+                                                             final AuditableExecution registeredServiceAccessStrategyEnforcer,
+                                                             final OAuth20ClientCredentialsAccessTokenCache clientCredentialsAccessTokenCache) {
         super(servicesManager, ticketRegistry, authenticationBuilder,
             centralAuthenticationService, oAuthProperties, registeredServiceAccessStrategyEnforcer);
+        this.clientCredentialsAccessTokenCache = clientCredentialsAccessTokenCache;
+    }
+
+    @Override
+    protected AccessTokenRequestDataHolder buildAccessTokenRequestDataHolder(final OAuthRegisteredService registeredService,
+                                                                             final Service service,
+                                                                             final Authentication authentication,
+                                                                             final Set<String> scopes,
+                                                                             final boolean requireServiceHeader) {
+        if (this.clientCredentialsAccessTokenCache.supports(registeredService)) {
+            val accessToken = this.clientCredentialsAccessTokenCache.get(registeredService, service, scopes);
+            if (accessToken.isPresent()) {
+                LOGGER.debug("Found reusable access token for [{}]; skipping creation of a ticket-granting ticket", service);
+                return AccessTokenRequestDataHolder.builder()
+                    .scopes(scopes)
+                    .service(service)
+                    .authentication(authentication)
+                    .registeredService(registeredService)
+                    .grantType(getGrantType())
+                    .token(accessToken.get())
+                    .generateRefreshToken(false)
+                    .build();
+            }
+        }
+        return super.buildAccessTokenRequestDataHolder(registeredService, service, authentication, scopes, requireServiceHeader);
     }
 
     @Override
@@ -3,7 +3,9 @@ package org.apereo.cas.support.oauth.web.response.accesstoken.ext;
 import org.apereo.cas.CentralAuthenticationService;
 import org.apereo.cas.audit.AuditableContext;
 import org.apereo.cas.audit.AuditableExecution;
+import org.apereo.cas.authentication.Authentication;
 import org.apereo.cas.authentication.DefaultAuthenticationResult;
+import org.apereo.cas.authentication.principal.Service;
 import org.apereo.cas.configuration.model.support.oauth.OAuthProperties;
 import org.apereo.cas.services.ServicesManager;
 import org.apereo.cas.services.UnauthorizedServiceException;
@@ -11,6 +13,7 @@ import org.apereo.cas.support.oauth.OAuth20Constants;
 import org.apereo.cas.support.oauth.OAuth20GrantTypes;
 import org.apereo.cas.support.oauth.OAuth20ResponseTypes;
 import org.apereo.cas.support.oauth.authenticator.OAuth20CasAuthenticationBuilder;
+import org.apereo.cas.support.oauth.services.OAuthRegisteredService;
 import org.apereo.cas.support.oauth.util.OAuth20Utils;
 import org.apereo.cas.ticket.registry.TicketRegistry;
 import org.apereo.cas.util.Pac4jUtils;
@@ -22,6 +25,7 @@ import org.pac4j.core.profile.CommonProfile;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import java.util.Optional;
+import java.util.Set;
 
 /**
  * This is {@link AccessTokenPasswordGrantRequestExtractor}.
@@ -81,6 +85,25 @@ public class AccessTokenPasswordGrantRequestExtractor extends BaseAccessTokenGra
         val accessResult = this.registeredServiceAccessStrategyEnforcer.execute(audit);
         accessResult.throwExceptionIfNeeded();
 
+        return buildAccessTokenRequestDataHolder(registeredService, service, authentication, scopes, requireServiceHeader);
+    }
+
+    /**
+     * Build the access token request data holder, creating the ticket-granting ticket
+     * that will parent the access token.
+     *
+     * @param registeredService    the registered service
+     * @param service              the service
+     * @param authentication       the authentication
+     * @param scopes               the scopes
+     * @param requireServiceHeader whether the service was identified by request headers
+     * @return the access token request data holder
+     */
+    protected AccessTokenRequestDataHolder buildAccessTokenRequestDataHolder(final OAuthRegisteredService registeredService,
+                                                                             final Service service,
+                                                                             final Authentication authentication,
+                                                                             final Set<String> scopes,
+                                                                             final boolean requireServiceHeader) {
         val result = new DefaultAuthenticationResult(authentication, requireServiceHeader ? service : null);
         val ticketGrantingTicket = this.centralAuthenticationService.createTicketGrantingTicket(result);
 
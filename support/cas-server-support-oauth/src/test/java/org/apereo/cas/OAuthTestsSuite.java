@@ -16,6 +16,7 @@ import org.apereo.cas.support.oauth.web.OAuth20ProfileControllerTests;
 import org.apereo.cas.support.oauth.web.OAuth20RefreshTokenTests;
 import org.apereo.cas.support.oauth.web.audit.AccessTokenGrantRequestAuditResourceResolverTests;
 import org.apereo.cas.support.oauth.web.audit.OAuth20UserProfileDataAuditResourceResolverTests;
+import org.apereo.cas.support.oauth.web.response.accesstoken.OAuth20ClientCredentialsAccessTokenCacheTests;
 import org.apereo.cas.support.oauth.web.views.OAuth20DefaultUserProfileViewRendererFlatTests;
 import org.apereo.cas.support.oauth.web.views.OAuth20DefaultUserProfileViewRendererNestedTests;
 import org.apereo.cas.ticket.accesstoken.OAuthAccessTokenExpirationPolicyTests;
@@ -55,7 +56,8 @@ import org.junit.runners.Suite;
     OAuth20DefaultUserProfileViewRendererNestedTests.class,
     AccessTokenGrantRequestAuditResourceResolverTests.class,
     OAuth20UserProfileDataAuditResourceResolverTests.class,
-    OAuth20RefreshTokenTests.class
+    OAuth20RefreshTokenTests.class,
+    OAuth20ClientCredentialsAccessTokenCacheTests.class
 })
 public class OAuthTestsSuite {
 }
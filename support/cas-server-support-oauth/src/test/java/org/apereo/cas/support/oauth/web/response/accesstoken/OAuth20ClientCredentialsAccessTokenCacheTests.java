@@ -0,0 +1,71 @@
+package org.apereo.cas.support.oauth.web.response.accesstoken;
+
+import org.apereo.cas.services.RegisteredServiceTestUtils;
+import org.apereo.cas.support.oauth.OAuth20GrantTypes;
+import org.apereo.cas.support.oauth.web.AbstractOAuth20Tests;
+import org.apereo.cas.ticket.accesstoken.AccessToken;
+import org.apereo.cas.ticket.accesstoken.AccessTokenImpl;
+import org.apereo.cas.ticket.support.HardTimeoutExpirationPolicy;
+import org.apereo.cas.util.CollectionUtils;
+
+import lombok.val;
+import org.junit.Test;
+
+import java.time.Duration;
+import java.util.UUID;
+
+import static org.junit.Assert.*;
+
+/**
+ * This is {@link OAuth20ClientCredentialsAccessTokenCacheTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 6.1.0
+ */
+public class OAuth20ClientCredentialsAccessTokenCacheTests extends AbstractOAuth20Tests {
+
+    private AccessToken addAccessToken(final long timeToLive) {
+        val accessToken = new AccessTokenImpl("AT-" + UUID.randomUUID().toString(),
+            RegisteredServiceTestUtils.getService(REDIRECT_URI),
+            getAuthentication(createPrincipal()),
+            new HardTimeoutExpirationPolicy(timeToLive), null,
+            CollectionUtils.wrapSet("profile"));
+        ticketRegistry.addTicket(accessToken);
+        return accessToken;
+    }
+
+    @Test
+    public void verifyReuse() {
+        val cache = new OAuth20ClientCredentialsAccessTokenCache(ticketRegistry, Duration.ofSeconds(30));
+        val registeredService = addRegisteredService(CollectionUtils.wrapSet(OAuth20GrantTypes.CLIENT_CREDENTIALS));
+        assertFalse(cache.supports(registeredService));
+        registeredService.setReuseClientCredentialsAccessToken(true);
+        assertTrue(cache.supports(registeredService));
+
+        val service = RegisteredServiceTestUtils.getService(REDIRECT_URI);
+        val scopes = CollectionUtils.wrapSet("profile");
+        assertFalse(cache.get(registeredService, service, scopes).isPresent());
+
+        val accessToken = addAccessToken(300);
+        cache.put(registeredService, service, scopes, accessToken);
+        val result = cache.get(registeredService, service, scopes);
+        assertTrue(result.isPresent());
+        assertEquals(accessToken.getId(), result.get().getId());
+
+        assertFalse(cache.get(registeredService, service, CollectionUtils.wrapSet("email")).isPresent());
+        assertFalse(cache.get(registeredService, RegisteredServiceTestUtils.getService(OTHER_REDIRECT_URI), scopes).isPresent());
+    }
+
+    @Test
+    public void verifyNoReuseNearExpiration() {
+        val cache = new OAuth20ClientCredentialsAccessTokenCache(ticketRegistry, Duration.ofSeconds(30));
+        val registeredService = addRegisteredService(CollectionUtils.wrapSet(OAuth20GrantTypes.CLIENT_CREDENTIALS));
+        registeredService.setReuseClientCredentialsAccessToken(true);
+
+        val service = RegisteredServiceTestUtils.getService(REDIRECT_URI);
+        val scopes = CollectionUtils.wrapSet("profile");
+        val accessToken = addAccessToken(20);
+        cache.put(registeredService, service, scopes, accessToken);
+        assertFalse(cache.get(registeredService, service, scopes).isPresent());
+    }
+}
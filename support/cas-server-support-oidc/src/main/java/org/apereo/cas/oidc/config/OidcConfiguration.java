@@ -31,6 +31,7 @@ import org.apereo.cas.oidc.profile.OidcRegisteredServicePreProcessorEventListene
 import org.apereo.cas.oidc.profile.OidcUserProfileDataCreator;
 import org.apereo.cas.oidc.token.OidcIdTokenGeneratorService;
 import org.apereo.cas.oidc.token.OidcIdTokenSigningAndEncryptionService;
+import org.apereo.cas.oidc.token.OidcJwtAccessTokenService;
 import org.apereo.cas.oidc.util.OidcAuthorizationRequestSupport;
 import org.apereo.cas.oidc.web.OidcAccessTokenResponseGenerator;
 import org.apereo.cas.oidc.web.OidcCallbackAuthorizeViewResolver;
@@ -60,6 +61,7 @@ import org.apereo.cas.support.oauth.profile.OAuth20UserProfileDataCreator;
 import org.apereo.cas.support.oauth.validator.authorization.OAuth20AuthorizationRequestValidator;
 import org.apereo.cas.support.oauth.validator.token.OAuth20TokenRequestValidator;
 import org.apereo.cas.support.oauth.web.response.OAuth20CasClientRedirectActionBuilder;
+import org.apereo.cas.support.oauth.web.response.accesstoken.OAuth20JwtAccessTokenService;
 import org.apereo.cas.support.oauth.web.response.accesstoken.OAuth20TokenGenerator;
 import org.apereo.cas.support.oauth.web.response.accesstoken.ext.AccessTokenGrantRequestExtractor;
 import org.apereo.cas.support.oauth.web.response.accesstoken.response.OAuth20AccessTokenResponseGenerator;
@@ -366,7 +368,8 @@ public class OidcConfiguration implements WebMvcConfigurer, CasWebflowExecutionP
             casProperties,
             ticketGrantingTicketCookieGenerator.getIfAvailable(),
             centralAuthenticationService.getIfAvailable(),
-            registeredServiceAccessStrategyEnforcer.getIfAvailable());
+            registeredServiceAccessStrategyEnforcer.getIfAvailable(),
+            oauthJwtAccessTokenService());
     }
 
     @RefreshScope
@@ -398,7 +401,8 @@ public class OidcConfiguration implements WebMvcConfigurer, CasWebflowExecutionP
             profileScopeToAttributesFilter(),
             casProperties,
             ticketGrantingTicketCookieGenerator.getIfAvailable(),
-            registeredServiceAccessStrategyEnforcer.getIfAvailable());
+            registeredServiceAccessStrategyEnforcer.getIfAvailable(),
+            oauthJwtAccessTokenService());
     }
 
     @RefreshScope
@@ -484,7 +488,8 @@ public class OidcConfiguration implements WebMvcConfigurer, CasWebflowExecutionP
             casProperties,
             ticketGrantingTicketCookieGenerator.getIfAvailable(),
             oauthUserProfileViewRenderer.getIfAvailable(),
-            oidcUserProfileDataCreator());
+            oidcUserProfileDataCreator(),
+            oauthJwtAccessTokenService());
     }
 
     @Bean
@@ -559,6 +564,15 @@ public class OidcConfiguration implements WebMvcConfigurer, CasWebflowExecutionP
             oidc.getIssuer());
     }
 
+    @Bean
+    public OAuth20JwtAccessTokenService oauthJwtAccessTokenService() {
+        return new OidcJwtAccessTokenService(oidcDefaultJsonWebKeystoreCache(),
+            casProperties.getAuthn().getOidc().getIssuer(),
+            ticketRegistry.getIfAvailable(),
+            oidcPrincipalFactory(),
+            webApplicationServiceFactory.getIfAvailable());
+    }
+
     @Bean
     public LoadingCache<OidcRegisteredService, Optional<RsaJsonWebKey>> oidcServiceJsonWebKeystoreCache() {
         val oidc = casProperties.getAuthn().getOidc();
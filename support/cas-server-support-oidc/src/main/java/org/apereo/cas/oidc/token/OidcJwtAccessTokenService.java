@@ -0,0 +1,108 @@
+package org.apereo.cas.oidc.token;
+
+import org.apereo.cas.authentication.principal.PrincipalFactory;
+import org.apereo.cas.authentication.principal.ServiceFactory;
+import org.apereo.cas.authentication.principal.WebApplicationService;
+import org.apereo.cas.services.OidcRegisteredService;
+import org.apereo.cas.support.oauth.services.OAuthRegisteredService;
+import org.apereo.cas.support.oauth.web.response.accesstoken.BaseOAuth20JwtAccessTokenService;
+import org.apereo.cas.ticket.registry.TicketRegistry;
+import org.apereo.cas.util.EncodingUtils;
+
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import lombok.SneakyThrows;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.apache.commons.lang3.StringUtils;
+import org.jose4j.jwa.AlgorithmConstraints;
+import org.jose4j.jwk.RsaJsonWebKey;
+import org.jose4j.jws.AlgorithmIdentifiers;
+import org.jose4j.jws.JsonWebSignature;
+import org.jose4j.jwt.JwtClaims;
+
+import java.util.Optional;
+
+/**
+ * This is {@link OidcJwtAccessTokenService} that signs JWT access tokens with the private key
+ * of the default keystore of the issuer, the same key used to sign id tokens. When the service asks for it,
+ * the signed token is also encrypted with the public key of the same keystore, so that only this server
+ * is able to read the token when it is presented back.
+ *
+ * @author Misagh Moayyed
+ * @since 6.1.0
+ */
+@Slf4j
+public class OidcJwtAccessTokenService extends BaseOAuth20JwtAccessTokenService {
+    private final LoadingCache<String, Optional<RsaJsonWebKey>> defaultJsonWebKeystoreCache;
+
+    public OidcJwtAccessTokenService(final LoadingCache<String, Optional<RsaJsonWebKey>> defaultJsonWebKeystoreCache,
+                                     final String issuer,
+                                     final TicketRegistry ticketRegistry,
+                                     final PrincipalFactory principalFactory,
+                                     final ServiceFactory<WebApplicationService> webApplicationServiceServiceFactory) {
+        super(issuer, ticketRegistry, principalFactory, webApplicationServiceServiceFactory);
+        this.defaultJsonWebKeystoreCache = defaultJsonWebKeystoreCache;
+    }
+
+    @Override
+    @SneakyThrows
+    protected String sign(final OAuthRegisteredService registeredService, final JwtClaims claims) {
+        val jsonWebKey = getJsonWebKey();
+        if (jsonWebKey.getPrivateKey() == null) {
+            throw new IllegalArgumentException("JSON web key used to sign the access token has no associated private key");
+        }
+        val jws = new JsonWebSignature();
+        jws.setPayload(claims.toJson());
+        jws.setKey(jsonWebKey.getPrivateKey());
+        jws.setAlgorithmConstraints(AlgorithmConstraints.DISALLOW_NONE);
+        jws.setAlgorithmHeaderValue(getJsonWebKeySigningAlgorithm(registeredService));
+        if (StringUtils.isNotBlank(jsonWebKey.getKeyId())) {
+            jws.setKeyIdHeaderValue(jsonWebKey.getKeyId());
+        }
+        val jwt = jws.getCompactSerialization();
+        if (registeredService.isEncryptJwtAccessToken()) {
+            LOGGER.debug("Service [{}] is set to encrypt JWT access tokens", registeredService.getServiceId());
+            return EncodingUtils.encryptValueAsJwtRsaOeap256Aes256Sha512(jsonWebKey.getPublicKey(), jwt);
+        }
+        return jwt;
+    }
+
+    @Override
+    @SneakyThrows
+    protected Optional<JwtClaims> verify(final String token) {
+        val jsonWebKey = getJsonWebKey();
+        if (jsonWebKey.getPublicKey() == null) {
+            throw new IllegalArgumentException("JSON web key used to verify the access token has no associated public key");
+        }
+        var jwt = token;
+        if (StringUtils.countMatches(token, '.') == 4) {
+            jwt = EncodingUtils.decryptJwtValue(jsonWebKey.getPrivateKey(), token);
+        }
+        val jws = new JsonWebSignature();
+        jws.setAlgorithmConstraints(AlgorithmConstraints.DISALLOW_NONE);
+        jws.setCompactSerialization(jwt);
+        jws.setKey(jsonWebKey.getPublicKey());
+        if (!jws.verifySignature()) {
+            return Optional.empty();
+        }
+        return Optional.of(JwtClaims.parse(jws.getPayload()));
+    }
+
+    private RsaJsonWebKey getJsonWebKey() {
+        val jwks = this.defaultJsonWebKeystoreCache.get(getIssuer());
+        if (jwks.isEmpty()) {
+            throw new IllegalArgumentException("No signing key could be found for issuer " + getIssuer());
+        }
+        return jwks.get();
+    }
+
+    private static String getJsonWebKeySigningAlgorithm(final OAuthRegisteredService registeredService) {
+        if (registeredService instanceof OidcRegisteredService) {
+            val algorithm = ((OidcRegisteredService) registeredService).getIdTokenSigningAlg();
+            if (StringUtils.isNotBlank(algorithm) && !AlgorithmIdentifiers.NONE.equalsIgnoreCase(algorithm)) {
+                return algorithm;
+            }
+        }
+        return AlgorithmIdentifiers.RSA_USING_SHA256;
+    }
+}
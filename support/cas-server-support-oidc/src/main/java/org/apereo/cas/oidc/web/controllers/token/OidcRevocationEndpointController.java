@@ -11,6 +11,7 @@ import org.apereo.cas.services.ServicesManager;
 import org.apereo.cas.support.oauth.profile.OAuth20ProfileScopeToAttributesFilter;
 import org.apereo.cas.support.oauth.util.OAuth20Utils;
 import org.apereo.cas.support.oauth.web.endpoints.BaseOAuth20Controller;
+import org.apereo.cas.support.oauth.web.response.accesstoken.OAuth20JwtAccessTokenService;
 import org.apereo.cas.ticket.accesstoken.AccessTokenFactory;
 import org.apereo.cas.ticket.registry.TicketRegistry;
 import org.apereo.cas.util.HttpRequestUtils;
@@ -36,6 +37,7 @@ import javax.servlet.http.HttpServletResponse;
 @Slf4j
 public class OidcRevocationEndpointController extends BaseOAuth20Controller {
     private final AuditableExecution registeredServiceAccessStrategyEnforcer;
+    private final OAuth20JwtAccessTokenService jwtAccessTokenService;
 
     public OidcRevocationEndpointController(final ServicesManager servicesManager,
                                             final TicketRegistry ticketRegistry,
@@ -45,11 +47,13 @@ public class OidcRevocationEndpointController extends BaseOAuth20Controller {
                                             final OAuth20ProfileScopeToAttributesFilter scopeToAttributesFilter,
                                             final CasConfigurationProperties casProperties,
                                             final CookieRetrievingCookieGenerator ticketGrantingTicketCookieGenerator,
-                                            final AuditableExecution registeredServiceAccessStrategyEnforcer) {
+                                            final AuditableExecution registeredServiceAccessStrategyEnforcer,
+                                            final OAuth20JwtAccessTokenService jwtAccessTokenService) {
         super(servicesManager, ticketRegistry, accessTokenFactory, principalFactory,
             webApplicationServiceServiceFactory, scopeToAttributesFilter,
             casProperties, ticketGrantingTicketCookieGenerator);
         this.registeredServiceAccessStrategyEnforcer = registeredServiceAccessStrategyEnforcer;
+        this.jwtAccessTokenService = jwtAccessTokenService;
     }
 
     /**
@@ -83,7 +87,11 @@ public class OidcRevocationEndpointController extends BaseOAuth20Controller {
                 && OAuth20Utils.checkClientSecret(registeredService, credentials.getPassword())) {
                 val token = request.getParameter(OidcConstants.TOKEN);
                 LOGGER.debug("Located token [{}] in the revocation request", token);
-                this.ticketRegistry.deleteTicket(token);
+                if (OAuth20JwtAccessTokenService.isJwtAccessToken(token)) {
+                    this.jwtAccessTokenService.revoke(token);
+                } else {
+                    this.ticketRegistry.deleteTicket(token);
+                }
             }
         } catch (final Exception e) {
             LOGGER.error(e.getMessage(), e);
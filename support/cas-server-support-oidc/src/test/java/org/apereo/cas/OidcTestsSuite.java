@@ -7,6 +7,7 @@ import org.apereo.cas.oidc.jwks.OidcServiceJsonWebKeystoreCacheLoaderTests;
 import org.apereo.cas.oidc.profile.OidcProfileScopeToAttributesFilterTests;
 import org.apereo.cas.oidc.token.OidcIdTokenGeneratorServiceTests;
 import org.apereo.cas.oidc.token.OidcIdTokenSigningAndEncryptionServiceTests;
+import org.apereo.cas.oidc.token.OidcJwtAccessTokenServiceTests;
 import org.apereo.cas.oidc.util.OidcAuthorizationRequestSupportTests;
 import org.apereo.cas.oidc.web.controllers.OidcWellKnownEndpointControllerTests;
 import org.apereo.cas.oidc.web.flow.OidcAuthenticationContextWebflowEventResolverTests;
@@ -33,7 +34,8 @@ import org.junit.runners.Suite;
     OidcServerDiscoverySettingsFactoryTests.class,
     OidcRegisteredServiceUIActionTests.class,
     OidcServiceJsonWebKeystoreCacheLoaderTests.class,
-    OidcAuthorizationRequestSupportTests.class
+    OidcAuthorizationRequestSupportTests.class,
+    OidcJwtAccessTokenServiceTests.class
 })
 public class OidcTestsSuite {
 }
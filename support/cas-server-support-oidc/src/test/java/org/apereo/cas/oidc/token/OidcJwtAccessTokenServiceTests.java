@@ -0,0 +1,86 @@
+package org.apereo.cas.oidc.token;
+
+import org.apereo.cas.authentication.CoreAuthenticationTestUtils;
+import org.apereo.cas.oidc.AbstractOidcTests;
+import org.apereo.cas.support.oauth.web.response.accesstoken.OAuth20JwtAccessTokenService;
+import org.apereo.cas.ticket.accesstoken.AccessToken;
+import org.apereo.cas.ticket.accesstoken.AccessTokenImpl;
+import org.apereo.cas.ticket.support.HardTimeoutExpirationPolicy;
+import org.apereo.cas.util.CollectionUtils;
+
+import lombok.val;
+import org.apache.commons.lang3.StringUtils;
+import org.junit.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+
+import static org.junit.Assert.*;
+
+/**
+ * This is {@link OidcJwtAccessTokenServiceTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 6.1.0
+ */
+public class OidcJwtAccessTokenServiceTests extends AbstractOidcTests {
+    @Autowired
+    @Qualifier("oauthJwtAccessTokenService")
+    private OAuth20JwtAccessTokenService oauthJwtAccessTokenService;
+
+    private static AccessToken getAccessToken() {
+        return new AccessTokenImpl("AT-1-" + StringUtils.leftPad("1", 16, '0'),
+            CoreAuthenticationTestUtils.getService("https://oauth.example.org"),
+            CoreAuthenticationTestUtils.getAuthentication(),
+            new HardTimeoutExpirationPolicy(60), null,
+            CollectionUtils.wrapSet("openid", "profile"));
+    }
+
+    @Test
+    public void verifyEncodeAndDecode() {
+        val svc = getOidcRegisteredService();
+        svc.setJwtAccessToken(true);
+        assertTrue(oauthJwtAccessTokenService.supports(svc));
+
+        val accessToken = getAccessToken();
+        val jwt = oauthJwtAccessTokenService.encode(svc, accessToken);
+        assertTrue(OAuth20JwtAccessTokenService.isJwtAccessToken(jwt));
+        assertFalse(OAuth20JwtAccessTokenService.isJwtAccessToken(accessToken.getId()));
+
+        val result = oauthJwtAccessTokenService.decode(jwt);
+        assertTrue(result.isPresent());
+        val decoded = result.get();
+        assertEquals(jwt, decoded.getId());
+        assertEquals(accessToken.getAuthentication().getPrincipal().getId(), decoded.getAuthentication().getPrincipal().getId());
+        assertEquals(accessToken.getService().getId(), decoded.getService().getId());
+        assertEquals(accessToken.getScopes(), decoded.getScopes());
+        assertFalse(decoded.isExpired());
+    }
+
+    @Test
+    public void verifyEncryptedToken() {
+        val svc = getOidcRegisteredService();
+        svc.setJwtAccessToken(true);
+        svc.setEncryptJwtAccessToken(true);
+        val jwt = oauthJwtAccessTokenService.encode(svc, getAccessToken());
+        assertEquals(4, StringUtils.countMatches(jwt, '.'));
+        assertTrue(oauthJwtAccessTokenService.decode(jwt).isPresent());
+    }
+
+    @Test
+    public void verifyTamperedToken() {
+        val svc = getOidcRegisteredService();
+        svc.setJwtAccessToken(true);
+        val jwt = oauthJwtAccessTokenService.encode(svc, getAccessToken());
+        val tampered = jwt.substring(0, jwt.lastIndexOf('.') + 1) + StringUtils.reverse(jwt.substring(jwt.lastIndexOf('.') + 1));
+        assertFalse(oauthJwtAccessTokenService.decode(tampered).isPresent());
+    }
+
+    @Test
+    public void verifyRevokedToken() {
+        val svc = getOidcRegisteredService();
+        svc.setJwtAccessToken(true);
+        val jwt = oauthJwtAccessTokenService.encode(svc, getAccessToken());
+        assertTrue(oauthJwtAccessTokenService.revoke(jwt));
+        assertFalse(oauthJwtAccessTokenService.decode(jwt).isPresent());
+    }
+}
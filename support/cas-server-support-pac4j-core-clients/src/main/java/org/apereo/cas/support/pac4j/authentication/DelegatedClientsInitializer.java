@@ -0,0 +1,104 @@
+package org.apereo.cas.support.pac4j.authentication;
+
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.apache.commons.lang3.concurrent.BasicThreadFactory;
+import org.pac4j.core.client.Client;
+import org.pac4j.core.client.Clients;
+import org.pac4j.core.util.InitializableObject;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.cloud.context.scope.refresh.RefreshScopeRefreshedEvent;
+import org.springframework.context.event.EventListener;
+
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This is {@link DelegatedClientsInitializer} that initializes delegated clients in the background
+ * once CAS has started and whenever clients are rebuilt, so that expensive work such as fetching
+ * discovery documents or identity provider metadata does not happen on the first login request.
+ * Clients that fail to initialize are retried with an exponential backoff, and are otherwise left to
+ * initialize lazily on first use.
+ *
+ * @author Misagh Moayyed
+ * @since 6.1.0
+ */
+@Slf4j
+public class DelegatedClientsInitializer implements DisposableBean {
+    private static final int POOL_SIZE = 4;
+
+    private static final int MAX_BACKOFF_SHIFT = 6;
+
+    private final Clients clients;
+
+    private final int maxAttempts;
+
+    private final Duration retryDelay;
+
+    private final ScheduledExecutorService scheduler;
+
+    public DelegatedClientsInitializer(final Clients clients, final int maxAttempts, final Duration retryDelay) {
+        this.clients = clients;
+        this.maxAttempts = maxAttempts;
+        this.retryDelay = retryDelay;
+        this.scheduler = Executors.newScheduledThreadPool(POOL_SIZE,
+            new BasicThreadFactory.Builder().namingPattern("delegated-client-init-%d").daemon(true).build());
+    }
+
+    /**
+     * Initialize clients once the application is ready.
+     *
+     * @param event the event
+     */
+    @EventListener
+    public void handleApplicationReadyEvent(final ApplicationReadyEvent event) {
+        initialize();
+    }
+
+    /**
+     * Initialize clients once they are rebuilt after a refresh.
+     *
+     * @param event the event
+     */
+    @EventListener
+    public void handleRefreshScopeRefreshedEvent(final RefreshScopeRefreshedEvent event) {
+        initialize();
+    }
+
+    /**
+     * Schedule the initialization of all clients.
+     */
+    public void initialize() {
+        val allClients = this.clients.findAllClients();
+        LOGGER.info("Initializing [{}] delegated client(s) in the background", allClients.size());
+        allClients.forEach(client -> this.scheduler.execute(() -> initialize(client, 1)));
+    }
+
+    @Override
+    public void destroy() {
+        this.scheduler.shutdownNow();
+    }
+
+    private void initialize(final Client client, final int attempt) {
+        if (!(client instanceof InitializableObject)) {
+            return;
+        }
+        try {
+            InitializableObject.class.cast(client).init();
+            LOGGER.debug("Initialized delegated client [{}]", client.getName());
+        } catch (final Exception e) {
+            if (attempt >= this.maxAttempts) {
+                LOGGER.warn("Unable to initialize delegated client [{}] after [{}] attempt(s); it will be initialized on first use: [{}]",
+                    client.getName(), attempt, e.getMessage());
+                return;
+            }
+            val delay = this.retryDelay.toMillis() << Math.min(attempt - 1, MAX_BACKOFF_SHIFT);
+            LOGGER.warn("Unable to initialize delegated client [{}]; retrying in [{}] ms: [{}]", client.getName(), delay, e.getMessage());
+            LOGGER.trace(e.getMessage(), e);
+            this.scheduler.schedule(() -> initialize(client, attempt + 1), delay, TimeUnit.MILLISECONDS);
+        }
+    }
+}
@@ -11,6 +11,7 @@ import org.apereo.cas.authentication.principal.ClientCredential;
 import org.apereo.cas.authentication.principal.ClientCustomPropertyConstants;
 import org.apereo.cas.authentication.principal.Service;
 import org.apereo.cas.authentication.principal.WebApplicationService;
+import org.apereo.cas.services.RegisteredService;
 import org.apereo.cas.services.ServicesManager;
 import org.apereo.cas.services.UnauthorizedServiceException;
 import org.apereo.cas.support.pac4j.logout.RequestSloException;
@@ -52,10 +53,13 @@ import org.springframework.webflow.execution.RequestContext;
 import javax.servlet.http.HttpServletRequest;
 import java.io.IOException;
 import java.io.Serializable;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Optional;
 import java.util.regex.Pattern;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 /**
@@ -117,6 +121,8 @@ public class DelegatedClientAuthenticationAction extends AbstractAuthenticationA
 
     private final CentralAuthenticationService centralAuthenticationService;
 
+    private final DelegatedClientIdentityProviderCache identityProviderCache;
+
     public DelegatedClientAuthenticationAction(final CasDelegatingWebflowEventResolver initialAuthenticationAttemptWebflowEventResolver,
                                                final CasWebflowEventResolver serviceTicketRequestWebflowEventResolver,
                                                final AdaptiveAuthenticationPolicy adaptiveAuthenticationPolicy,
@@ -129,7 +135,8 @@ public class DelegatedClientAuthenticationAction extends AbstractAuthenticationA
                                                final String localeParamName,
                                                final String themeParamName,
                                                final AuthenticationServiceSelectionPlan authenticationRequestServiceSelectionStrategies,
-                                               final CentralAuthenticationService centralAuthenticationService) {
+                                               final CentralAuthenticationService centralAuthenticationService,
+                                               final DelegatedClientIdentityProviderCache identityProviderCache) {
         super(initialAuthenticationAttemptWebflowEventResolver, serviceTicketRequestWebflowEventResolver, adaptiveAuthenticationPolicy);
         this.clients = clients;
         this.servicesManager = servicesManager;
@@ -141,6 +148,7 @@ public class DelegatedClientAuthenticationAction extends AbstractAuthenticationA
         this.themeParamName = themeParamName;
         this.authenticationRequestServiceSelectionStrategies = authenticationRequestServiceSelectionStrategies;
         this.centralAuthenticationService = centralAuthenticationService;
+        this.identityProviderCache = identityProviderCache;
     }
 
     /**
@@ -301,6 +309,8 @@ public class DelegatedClientAuthenticationAction extends AbstractAuthenticationA
 
     /**
      * Prepare the data for the login page.
+     * The identity providers allowed for the registered service are computed once and cached,
+     * so that only the redirect urls, which carry request parameters, are built on every request.
      *
      * @param context The current webflow context
      */
@@ -313,22 +323,12 @@ public class DelegatedClientAuthenticationAction extends AbstractAuthenticationA
         val webContext = Pac4jUtils.getPac4jJ2EContext(request, response);
 
         val urls = new LinkedHashSet<ProviderLoginPageConfiguration>();
-        this.clients
-            .findAllClients()
-            .stream()
-            .filter(client -> client instanceof IndirectClient && isDelegatedClientAuthorizedForService(client, service))
-            .map(IndirectClient.class::cast)
-            .forEach(client -> {
-                try {
-                    val provider = buildProviderConfiguration(client, webContext, currentService);
-                    provider.ifPresent(p -> {
-                        urls.add(p);
-                        if (p.isAutoRedirect()) {
-                            WebUtils.putDelegatedAuthenticationProviderDominant(context, p);
-                        }
-                    });
-                } catch (final Exception e) {
-                    LOGGER.error("Cannot process client [{}]", client, e);
+        getIdentityProvidersForService(service)
+            .forEach(identityProvider -> {
+                val provider = buildProviderConfiguration(identityProvider, webContext, currentService);
+                urls.add(provider);
+                if (provider.isAutoRedirect()) {
+                    WebUtils.putDelegatedAuthenticationProviderDominant(context, provider);
                 }
             });
 
@@ -340,6 +340,57 @@ public class DelegatedClientAuthenticationAction extends AbstractAuthenticationA
         }
     }
 
+    /**
+     * Gets the identity providers that may be offered for the service,
+     * from the cache kept per registered service.
+     *
+     * @param service the service
+     * @return the identity providers
+     */
+    protected List<DelegatedClientIdentityProviderCache.IdentityProvider> getIdentityProvidersForService(final Service service) {
+        if (service == null || StringUtils.isBlank(service.getId())) {
+            LOGGER.debug("Can not evaluate delegated authentication policy since no service was provided in the request");
+            return this.identityProviderCache.get(null, this::buildIdentityProviders);
+        }
+        val registeredService = this.servicesManager.findServiceBy(service);
+        if (registeredService == null || !registeredService.getAccessStrategy().isServiceAccessAllowed()) {
+            LOGGER.warn("Service access for [{}] is denied", registeredService);
+            return new ArrayList<>(0);
+        }
+        return this.identityProviderCache.get(registeredService, this::buildIdentityProviders);
+    }
+
+    /**
+     * Build the identity providers that may be offered for the registered service.
+     *
+     * @param registeredService the registered service, or null if the request carries no service
+     * @return the identity providers
+     */
+    protected List<DelegatedClientIdentityProviderCache.IdentityProvider> buildIdentityProviders(final RegisteredService registeredService) {
+        return this.clients
+            .findAllClients()
+            .stream()
+            .filter(client -> client instanceof IndirectClient
+                && (registeredService == null || isDelegatedClientAuthorizedForRegisteredService(client, registeredService)))
+            .map(IndirectClient.class::cast)
+            .map(this::buildIdentityProvider)
+            .collect(Collectors.toList());
+    }
+
+    /**
+     * Build the request-independent description of the identity provider for the client.
+     *
+     * @param client the client
+     * @return the identity provider
+     */
+    protected DelegatedClientIdentityProviderCache.IdentityProvider buildIdentityProvider(final IndirectClient client) {
+        val name = client.getName();
+        val matcher = PAC4J_CLIENT_SUFFIX_PATTERN.matcher(client.getClass().getSimpleName());
+        val type = matcher.replaceAll(StringUtils.EMPTY).toLowerCase();
+        val autoRedirect = (Boolean) client.getCustomProperties().getOrDefault(ClientCustomPropertyConstants.CLIENT_CUSTOM_PROPERTY_AUTO_REDIRECT, Boolean.FALSE);
+        return new DelegatedClientIdentityProviderCache.IdentityProvider(name, type, getCssClass(name), autoRedirect);
+    }
+
     /**
      * Build provider configuration optional.
      *
@@ -350,12 +401,24 @@ public class DelegatedClientAuthenticationAction extends AbstractAuthenticationA
      */
     protected Optional<ProviderLoginPageConfiguration> buildProviderConfiguration(final IndirectClient client, final WebContext webContext,
                                                                                   final WebApplicationService service) {
-        val name = client.getName();
-        val matcher = PAC4J_CLIENT_SUFFIX_PATTERN.matcher(client.getClass().getSimpleName());
-        val type = matcher.replaceAll(StringUtils.EMPTY).toLowerCase();
+        return Optional.of(buildProviderConfiguration(buildIdentityProvider(client), webContext, service));
+    }
+
+    /**
+     * Build provider configuration for the identity provider,
+     * adding the parameters of the current request to its redirect url.
+     *
+     * @param identityProvider the identity provider
+     * @param webContext       the web context
+     * @param service          the service
+     * @return the provider login page configuration
+     */
+    protected ProviderLoginPageConfiguration buildProviderConfiguration(final DelegatedClientIdentityProviderCache.IdentityProvider identityProvider,
+                                                                        final WebContext webContext,
+                                                                        final WebApplicationService service) {
         val uriBuilder = UriComponentsBuilder
             .fromUriString(DelegatedClientNavigationController.ENDPOINT_REDIRECT)
-            .queryParam(Pac4jConstants.DEFAULT_CLIENT_NAME_PARAMETER, name);
+            .queryParam(Pac4jConstants.DEFAULT_CLIENT_NAME_PARAMETER, identityProvider.getName());
 
         if (service != null) {
             val sourceParam = service.getSource();
@@ -378,9 +441,8 @@ public class DelegatedClientAuthenticationAction extends AbstractAuthenticationA
             uriBuilder.queryParam(this.themeParamName, themeParam);
         }
         val redirectUrl = uriBuilder.toUriString();
-        val autoRedirect = (Boolean) client.getCustomProperties().getOrDefault(ClientCustomPropertyConstants.CLIENT_CUSTOM_PROPERTY_AUTO_REDIRECT, Boolean.FALSE);
-        val p = new ProviderLoginPageConfiguration(name, redirectUrl, type, getCssClass(name), autoRedirect);
-        return Optional.of(p);
+        return new ProviderLoginPageConfiguration(identityProvider.getName(), redirectUrl, identityProvider.getType(),
+            identityProvider.getCssClass(), identityProvider.isAutoRedirect());
     }
 
     /**
@@ -426,6 +488,17 @@ public class DelegatedClientAuthenticationAction extends AbstractAuthenticationA
             return false;
         }
         LOGGER.trace("Located registered service definition [{}] matching [{}]", registeredService, service);
+        return isDelegatedClientAuthorizedForRegisteredService(client, registeredService);
+    }
+
+    /**
+     * Is delegated client authorized by the delegated authentication policy of the registered service.
+     *
+     * @param client            the client
+     * @param registeredService the registered service
+     * @return the boolean
+     */
+    protected boolean isDelegatedClientAuthorizedForRegisteredService(final Client client, final RegisteredService registeredService) {
         val context = AuditableContext.builder()
             .registeredService(registeredService)
             .properties(CollectionUtils.wrap(Client.class.getSimpleName(), client.getName()))
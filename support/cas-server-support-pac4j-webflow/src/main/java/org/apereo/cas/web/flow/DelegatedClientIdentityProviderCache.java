@@ -0,0 +1,154 @@
+package org.apereo.cas.web.flow;
+
+import org.apereo.cas.services.RegisteredService;
+import org.apereo.cas.support.events.service.CasRegisteredServiceDeletedEvent;
+import org.apereo.cas.support.events.service.CasRegisteredServiceSavedEvent;
+import org.apereo.cas.support.events.service.CasRegisteredServicesDeletedEvent;
+import org.apereo.cas.support.events.service.CasRegisteredServicesLoadedEvent;
+import org.apereo.cas.support.events.service.CasRegisteredServicesRefreshEvent;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.springframework.cloud.context.scope.refresh.RefreshScopeRefreshedEvent;
+import org.springframework.context.event.EventListener;
+
+import java.io.Serializable;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * This is {@link DelegatedClientIdentityProviderCache} that remembers, for each registered service,
+ * the identity providers that may be offered on the login page. Entries are computed on first use and
+ * dropped whenever service definitions change or delegated clients are rebuilt after a refresh.
+ *
+ * @author Misagh Moayyed
+ * @since 6.1.0
+ */
+@Slf4j
+public class DelegatedClientIdentityProviderCache {
+    private static final long NO_REGISTERED_SERVICE = Long.MIN_VALUE;
+
+    private static final long MAXIMUM_SIZE = 10_000;
+
+    private final Cache<Long, List<IdentityProvider>> cache = Caffeine.newBuilder()
+        .maximumSize(MAXIMUM_SIZE)
+        .build();
+
+    /**
+     * Get the identity providers that may be offered for the registered service,
+     * computing them if this is the first request for it.
+     *
+     * @param registeredService the registered service, or null if the request carries no service
+     * @param builder           the function that computes the providers for the registered service
+     * @return the identity providers
+     */
+    public List<IdentityProvider> get(final RegisteredService registeredService,
+                                      final Function<RegisteredService, List<IdentityProvider>> builder) {
+        return this.cache.get(getKey(registeredService), key -> {
+            LOGGER.debug("Computing delegated identity providers for [{}]", registeredService);
+            return builder.apply(registeredService);
+        });
+    }
+
+    /**
+     * Remove the identity providers computed for the registered service.
+     *
+     * @param registeredService the registered service
+     */
+    public void invalidate(final RegisteredService registeredService) {
+        this.cache.invalidate(getKey(registeredService));
+    }
+
+    /**
+     * Remove all identity providers computed so far.
+     */
+    public void invalidateAll() {
+        LOGGER.trace("Removing all cached delegated identity providers");
+        this.cache.invalidateAll();
+    }
+
+    /**
+     * Handle registered service saved event.
+     *
+     * @param event the event
+     */
+    @EventListener
+    public void handleCasRegisteredServiceSavedEvent(final CasRegisteredServiceSavedEvent event) {
+        invalidate(event.getRegisteredService());
+    }
+
+    /**
+     * Handle registered service deleted event.
+     *
+     * @param event the event
+     */
+    @EventListener
+    public void handleCasRegisteredServiceDeletedEvent(final CasRegisteredServiceDeletedEvent event) {
+        invalidate(event.getRegisteredService());
+    }
+
+    /**
+     * Handle registered services loaded event.
+     *
+     * @param event the event
+     */
+    @EventListener
+    public void handleCasRegisteredServicesLoadedEvent(final CasRegisteredServicesLoadedEvent event) {
+        invalidateAll();
+    }
+
+    /**
+     * Handle registered services deleted event.
+     *
+     * @param event the event
+     */
+    @EventListener
+    public void handleCasRegisteredServicesDeletedEvent(final CasRegisteredServicesDeletedEvent event) {
+        invalidateAll();
+    }
+
+    /**
+     * Handle registered services refresh event.
+     *
+     * @param event the event
+     */
+    @EventListener
+    public void handleCasRegisteredServicesRefreshEvent(final CasRegisteredServicesRefreshEvent event) {
+        invalidateAll();
+    }
+
+    /**
+     * Handle refresh scope refreshed event, after which clients are rebuilt.
+     *
+     * @param event the event
+     */
+    @EventListener
+    public void handleRefreshScopeRefreshedEvent(final RefreshScopeRefreshedEvent event) {
+        invalidateAll();
+    }
+
+    private static Long getKey(final RegisteredService registeredService) {
+        return registeredService != null ? registeredService.getId() : NO_REGISTERED_SERVICE;
+    }
+
+    /**
+     * Request-independent description of an identity provider offered on the login page.
+     */
+    @RequiredArgsConstructor
+    @Getter
+    @ToString
+    public static class IdentityProvider implements Serializable {
+
+        private static final long serialVersionUID = -3893291285640826420L;
+
+        private final String name;
+        private final String type;
+        private final String cssClass;
+        private final boolean autoRedirect;
+    }
+}
@@ -23,6 +23,7 @@ import org.apereo.cas.web.flow.DelegatedAuthenticationErrorViewResolver;
 import org.apereo.cas.web.flow.DelegatedAuthenticationSAML2ClientLogoutAction;
 import org.apereo.cas.web.flow.DelegatedAuthenticationWebflowConfigurer;
 import org.apereo.cas.web.flow.DelegatedClientAuthenticationAction;
+import org.apereo.cas.web.flow.DelegatedClientIdentityProviderCache;
 import org.apereo.cas.web.flow.resolver.CasDelegatingWebflowEventResolver;
 import org.apereo.cas.web.flow.resolver.CasWebflowEventResolver;
 import org.apereo.cas.web.pac4j.DelegatedSessionCookieManager;
@@ -172,7 +173,14 @@ public class DelegatedAuthenticationWebflowConfiguration implements CasWebflowEx
             casProperties.getLocale().getParamName(),
             casProperties.getTheme().getParamName(),
             authenticationRequestServiceSelectionStrategies.getIfAvailable(),
-            centralAuthenticationService.getIfAvailable());
+            centralAuthenticationService.getIfAvailable(),
+            delegatedClientIdentityProviderCache());
+    }
+
+    @ConditionalOnMissingBean(name = "delegatedClientIdentityProviderCache")
+    @Bean
+    public DelegatedClientIdentityProviderCache delegatedClientIdentityProviderCache() {
+        return new DelegatedClientIdentityProviderCache();
     }
 
     @ConditionalOnMissingBean(name = "delegatedAuthenticationWebflowConfigurer")
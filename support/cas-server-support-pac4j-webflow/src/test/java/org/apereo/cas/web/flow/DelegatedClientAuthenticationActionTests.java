@@ -308,6 +308,7 @@ public class DelegatedClientAuthenticationActionTests {
             LocaleChangeInterceptor.DEFAULT_PARAM_NAME,
             ThemeChangeInterceptor.DEFAULT_PARAM_NAME,
             new DefaultAuthenticationServiceSelectionPlan(new DefaultAuthenticationServiceSelectionStrategy()),
-            mock(CentralAuthenticationService.class));
+            mock(CentralAuthenticationService.class),
+            new DelegatedClientIdentityProviderCache());
     }
 }
@@ -0,0 +1,59 @@
+package org.apereo.cas.web.flow;
+
+import org.apereo.cas.services.RegisteredServiceTestUtils;
+import org.apereo.cas.support.events.service.CasRegisteredServiceSavedEvent;
+import org.apereo.cas.util.CollectionUtils;
+
+import lombok.val;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+/**
+ * This is {@link DelegatedClientIdentityProviderCacheTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 6.1.0
+ */
+public class DelegatedClientIdentityProviderCacheTests {
+
+    @Test
+    public void verifyProvidersComputedOncePerService() {
+        val cache = new DelegatedClientIdentityProviderCache();
+        val registeredService = RegisteredServiceTestUtils.getRegisteredService("https://example.org");
+        registeredService.setId(100);
+        val count = new AtomicInteger();
+        val provider = new DelegatedClientIdentityProviderCache.IdentityProvider("FacebookClient", "facebook", "fa fa-lock", false);
+
+        val result = cache.get(registeredService, svc -> {
+            count.incrementAndGet();
+            return CollectionUtils.wrapList(provider);
+        });
+        assertEquals(1, result.size());
+        cache.get(registeredService, svc -> {
+            count.incrementAndGet();
+            return CollectionUtils.wrapList(provider);
+        });
+        assertEquals(1, count.get());
+
+        cache.handleCasRegisteredServiceSavedEvent(new CasRegisteredServiceSavedEvent(this, registeredService));
+        cache.get(registeredService, svc -> {
+            count.incrementAndGet();
+            return CollectionUtils.wrapList(provider);
+        });
+        assertEquals(2, count.get());
+    }
+
+    @Test
+    public void verifyProvidersWithoutService() {
+        val cache = new DelegatedClientIdentityProviderCache();
+        val provider = new DelegatedClientIdentityProviderCache.IdentityProvider("TwitterClient", "twitter", "fa fa-lock", true);
+        val result = cache.get(null, svc -> CollectionUtils.wrapList(provider));
+        assertTrue(result.get(0).isAutoRedirect());
+        cache.invalidateAll();
+        assertTrue(cache.get(null, svc -> new ArrayList<>()).isEmpty());
+    }
+}
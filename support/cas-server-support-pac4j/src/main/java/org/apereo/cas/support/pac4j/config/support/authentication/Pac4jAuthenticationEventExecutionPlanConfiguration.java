@@ -10,9 +10,11 @@ import org.apereo.cas.authentication.principal.PrincipalFactory;
 import org.apereo.cas.authentication.principal.PrincipalFactoryUtils;
 import org.apereo.cas.authentication.principal.PrincipalResolver;
 import org.apereo.cas.configuration.CasConfigurationProperties;
+import org.apereo.cas.configuration.support.Beans;
 import org.apereo.cas.services.ServicesManager;
 import org.apereo.cas.support.pac4j.authentication.ClientAuthenticationMetaDataPopulator;
 import org.apereo.cas.support.pac4j.authentication.DelegatedClientFactory;
+import org.apereo.cas.support.pac4j.authentication.DelegatedClientsInitializer;
 import org.apereo.cas.support.pac4j.authentication.handler.support.ClientAuthenticationHandler;
 
 import lombok.extern.slf4j.Slf4j;
@@ -24,6 +26,7 @@ import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.cloud.context.config.annotation.RefreshScope;
 import org.springframework.context.annotation.Bean;
@@ -77,6 +80,15 @@ public class Pac4jAuthenticationEventExecutionPlanConfiguration implements Audit
         return new Clients(casProperties.getServer().getLoginUrl(), new ArrayList<>(clients));
     }
 
+    @ConditionalOnMissingBean(name = "delegatedClientsInitializer")
+    @ConditionalOnProperty(prefix = "cas.authn.pac4j", name = "initializeClientsEagerly", havingValue = "true", matchIfMissing = true)
+    @Bean
+    public DelegatedClientsInitializer delegatedClientsInitializer() {
+        val pac4j = casProperties.getAuthn().getPac4j();
+        return new DelegatedClientsInitializer(builtClients(), pac4j.getClientInitializationMaxAttempts(),
+            Beans.newDuration(pac4j.getClientInitializationRetryDelay()));
+    }
+
     @ConditionalOnMissingBean(name = "clientPrincipalFactory")
     @Bean
     public PrincipalFactory clientPrincipalFactory() {
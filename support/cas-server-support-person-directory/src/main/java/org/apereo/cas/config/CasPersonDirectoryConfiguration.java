@@ -7,6 +7,7 @@ import org.apereo.cas.configuration.support.Beans;
 import org.apereo.cas.configuration.support.JpaBeans;
 import org.apereo.cas.persondir.DefaultPersonDirectoryAttributeRepositoryPlan;
 import org.apereo.cas.persondir.PersonDirectoryAttributeRepositoryPlanConfigurer;
+import org.apereo.cas.persondir.support.ParallelMergingPersonAttributeDao;
 import org.apereo.cas.util.CollectionUtils;
 import org.apereo.cas.util.LdapUtils;
 
@@ -48,6 +49,7 @@ import org.springframework.http.HttpMethod;
 import javax.naming.directory.SearchControls;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.TimeUnit;
@@ -334,12 +336,21 @@ public class CasPersonDirectoryConfiguration implements PersonDirectoryAttribute
     @Bean
     @ConditionalOnMissingBean(name = "aggregatingAttributeRepository")
     public IPersonAttributeDao aggregatingAttributeRepository() {
-        val mergingDao = new MergingPersonAttributeDaoImpl();
-        val merger = StringUtils.defaultIfBlank(casProperties.getAuthn().getAttributeRepository().getMerger(), "replace").trim();
+        val props = casProperties.getAuthn().getAttributeRepository();
+        val merger = StringUtils.defaultIfBlank(props.getMerger(), "replace").trim();
         LOGGER.trace("Configured merging strategy for attribute sources is [{}]", merger);
-        mergingDao.setMerger(getAttributeMerger(merger));
 
         val list = attributeRepositories();
+        if (props.getParallel().isEnabled()) {
+            val parallel = props.getParallel();
+            val sources = buildAttributeRepositorySources(list);
+            LOGGER.debug("Configured attribute repository sources to query concurrently: [{}]", sources);
+            return new ParallelMergingPersonAttributeDao(sources, getAttributeMerger(merger),
+                parallel.getPoolSize(), parallel.getQueueCapacity(), parallel.isFailOpen());
+        }
+
+        val mergingDao = new MergingPersonAttributeDaoImpl();
+        mergingDao.setMerger(getAttributeMerger(merger));
         mergingDao.setPersonAttributeDaos(list);
 
         if (list.isEmpty()) {
@@ -351,6 +362,29 @@ public class CasPersonDirectoryConfiguration implements PersonDirectoryAttribute
         return mergingDao;
     }
 
+    private List<ParallelMergingPersonAttributeDao.AttributeRepositorySource> buildAttributeRepositorySources(
+        final List<IPersonAttributeDao> repositories) {
+        val types = new IdentityHashMap<IPersonAttributeDao, String>();
+        ldapAttributeRepositories().forEach(dao -> types.put(dao, "ldap"));
+        jdbcAttributeRepositories().forEach(dao -> types.put(dao, "jdbc"));
+        jsonAttributeRepositories().forEach(dao -> types.put(dao, "json"));
+        groovyAttributeRepositories().forEach(dao -> types.put(dao, "groovy"));
+        grouperAttributeRepositories().forEach(dao -> types.put(dao, "grouper"));
+        restfulAttributeRepositories().forEach(dao -> types.put(dao, "rest"));
+        scriptedAttributeRepositories().forEach(dao -> types.put(dao, "script"));
+        stubAttributeRepositories().forEach(dao -> types.put(dao, "stub"));
+
+        val parallel = casProperties.getAuthn().getAttributeRepository().getParallel();
+        val sources = new ArrayList<ParallelMergingPersonAttributeDao.AttributeRepositorySource>(repositories.size());
+        for (var i = 0; i < repositories.size(); i++) {
+            val dao = repositories.get(i);
+            val type = types.getOrDefault(dao, dao.getClass().getSimpleName());
+            val timeout = Beans.newDuration(parallel.getSourceTimeouts().getOrDefault(type, parallel.getTimeout()));
+            sources.add(new ParallelMergingPersonAttributeDao.AttributeRepositorySource(type + '-' + i, dao, timeout));
+        }
+        return sources;
+    }
+
     private static IAttributeMerger getAttributeMerger(final String merger) {
         switch (merger.toLowerCase()) {
             case "merge":
@@ -0,0 +1,233 @@
+package org.apereo.cas.persondir.support;
+
+import org.apereo.cas.util.CollectionUtils;
+
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.apache.commons.lang3.concurrent.BasicThreadFactory;
+import org.apereo.services.persondir.IPersonAttributeDao;
+import org.apereo.services.persondir.IPersonAttributes;
+import org.apereo.services.persondir.support.BasePersonAttributeDao;
+import org.apereo.services.persondir.support.NamedPersonImpl;
+import org.apereo.services.persondir.support.merger.IAttributeMerger;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.dao.DataRetrievalFailureException;
+import org.springframework.dao.QueryTimeoutException;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * This is {@link ParallelMergingPersonAttributeDao} that queries all attribute repository sources
+ * concurrently on a bounded thread pool, rather than one after another, and merges their results
+ * in the order of the sources using the configured {@link IAttributeMerger}. Each source is given
+ * its own timeout. Sources that fail or time out, or that cannot be queried because the pool
+ * and its queue are full, are either skipped, or fail the query as a whole.
+ *
+ * @author Misagh Moayyed
+ * @since 6.1.0
+ */
+@Slf4j
+public class ParallelMergingPersonAttributeDao extends BasePersonAttributeDao implements DisposableBean {
+    private static final String METRIC_NAME_PREFIX = "cas.persondir.source.";
+
+    private final List<AttributeRepositorySource> sources;
+
+    private final IAttributeMerger merger;
+
+    private final ThreadPoolExecutor executor;
+
+    private final boolean failOpen;
+
+    public ParallelMergingPersonAttributeDao(final List<AttributeRepositorySource> sources, final IAttributeMerger merger,
+                                             final int poolSize, final int queueCapacity, final boolean failOpen) {
+        this.sources = new ArrayList<>(sources);
+        this.merger = merger;
+        this.failOpen = failOpen;
+        val threads = Math.max(1, poolSize);
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(Math.max(1, queueCapacity)),
+            new BasicThreadFactory.Builder().namingPattern("persondir-source-%d").daemon(true).build(),
+            new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    private static Map<String, List<Object>> stuffAttributesIntoList(final Map<String, ?> personAttributesMap) {
+        val entries = (Set<? extends Map.Entry<String, ?>>) personAttributesMap.entrySet();
+        return entries.stream()
+            .collect(Collectors.toMap(Map.Entry::getKey, entry -> CollectionUtils.toCollection(entry.getValue(), ArrayList.class)));
+    }
+
+    @Override
+    public IPersonAttributes getPerson(final String uid) {
+        val people = query(dao -> dao.getPerson(uid));
+        if (people.isEmpty()) {
+            LOGGER.debug("No attribute repository source could produce attributes for [{}]", uid);
+            return null;
+        }
+        Map<String, List<Object>> attributes = new LinkedHashMap<>();
+        for (val person : people) {
+            attributes = this.merger.mergeAttributes(attributes, person.getAttributes());
+        }
+        return new NamedPersonImpl(people.get(0).getName(), attributes);
+    }
+
+    @Override
+    public Set<IPersonAttributes> getPeople(final Map<String, Object> map) {
+        return getPeopleWithMultivaluedAttributes(stuffAttributesIntoList(map));
+    }
+
+    @Override
+    public Set<IPersonAttributes> getPeopleWithMultivaluedAttributes(final Map<String, List<Object>> map) {
+        val results = query(dao -> dao.getPeopleWithMultivaluedAttributes(map));
+        Set<IPersonAttributes> people = null;
+        for (val result : results) {
+            people = people == null ? new LinkedHashSet<>(result) : this.merger.mergeResults(people, result);
+        }
+        if (people == null) {
+            LOGGER.debug("No attribute repository source could produce attributes for query [{}]", map);
+            return new LinkedHashSet<>(0);
+        }
+        return people;
+    }
+
+    @Override
+    public Set<String> getPossibleUserAttributeNames() {
+        return this.sources.stream()
+            .map(source -> source.getAttributeRepository().getPossibleUserAttributeNames())
+            .filter(Objects::nonNull)
+            .flatMap(Collection::stream)
+            .collect(Collectors.toCollection(LinkedHashSet::new));
+    }
+
+    @Override
+    public Set<String> getAvailableQueryAttributes() {
+        return this.sources.stream()
+            .map(source -> source.getAttributeRepository().getAvailableQueryAttributes())
+            .filter(Objects::nonNull)
+            .flatMap(Collection::stream)
+            .collect(Collectors.toCollection(LinkedHashSet::new));
+    }
+
+    @Override
+    public void destroy() {
+        this.executor.shutdownNow();
+    }
+
+    /**
+     * Run the query against all sources at once, and collect results in the order of the sources.
+     * Every source is given until its own timeout, counted from the moment the query started.
+     *
+     * @param <T>   the type of result
+     * @param query the query
+     * @return results of the sources that produced any
+     */
+    private <T> List<T> query(final Function<IPersonAttributeDao, T> query) {
+        val started = System.nanoTime();
+        val futures = this.sources.stream()
+            .map(source -> submit(source, query))
+            .collect(Collectors.toList());
+
+        val results = new ArrayList<T>(futures.size());
+        for (var i = 0; i < futures.size(); i++) {
+            val source = this.sources.get(i);
+            val future = futures.get(i);
+            try {
+                val remaining = source.getTimeout().toNanos() - (System.nanoTime() - started);
+                val result = future.get(Math.max(0, remaining), TimeUnit.NANOSECONDS);
+                if (result != null) {
+                    results.add(result);
+                }
+            } catch (final TimeoutException e) {
+                future.cancel(true);
+                Metrics.counter(METRIC_NAME_PREFIX + "timeout", "source", source.getName()).increment();
+                LOGGER.warn("Attribute repository source [{}] did not respond within [{}]", source.getName(), source.getTimeout());
+                if (!this.failOpen) {
+                    cancelAll(futures);
+                    throw new QueryTimeoutException("Attribute repository source " + source.getName() + " timed out");
+                }
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                cancelAll(futures);
+                throw new DataRetrievalFailureException("Interrupted while querying attribute repository sources", e);
+            } catch (final ExecutionException e) {
+                Metrics.counter(METRIC_NAME_PREFIX + "failure", "source", source.getName()).increment();
+                LOGGER.warn("Attribute repository source [{}] failed: [{}]", source.getName(), e.getCause().getMessage());
+                LOGGER.debug(e.getMessage(), e);
+                if (!this.failOpen) {
+                    cancelAll(futures);
+                    if (e.getCause() instanceof RuntimeException) {
+                        throw (RuntimeException) e.getCause();
+                    }
+                    throw new DataRetrievalFailureException("Attribute repository source " + source.getName() + " failed", e.getCause());
+                }
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Submit the query of the source to the pool. If the pool and its queue are full, the query
+     * is rejected and the source is treated as if it had failed, rather than being run by the caller.
+     */
+    private <T> Future<T> submit(final AttributeRepositorySource source, final Function<IPersonAttributeDao, T> query) {
+        try {
+            return this.executor.submit(() -> querySource(source, query));
+        } catch (final RejectedExecutionException e) {
+            Metrics.counter(METRIC_NAME_PREFIX + "rejected", "source", source.getName()).increment();
+            val future = new CompletableFuture<T>();
+            future.completeExceptionally(new RejectedExecutionException("Attribute repository source "
+                + source.getName() + " could not be queried since the thread pool is exhausted", e));
+            return future;
+        }
+    }
+
+    private static <T> T querySource(final AttributeRepositorySource source, final Function<IPersonAttributeDao, T> query) {
+        val sample = Timer.start(Metrics.globalRegistry);
+        try {
+            return query.apply(source.getAttributeRepository());
+        } finally {
+            sample.stop(Metrics.timer(METRIC_NAME_PREFIX + "latency", "source", source.getName()));
+        }
+    }
+
+    private static void cancelAll(final List<? extends Future<?>> futures) {
+        futures.forEach(future -> future.cancel(true));
+    }
+
+    /**
+     * An attribute repository source, along with the name under which it is reported
+     * and the time it is given to produce attributes.
+     */
+    @Getter
+    @RequiredArgsConstructor
+    @ToString
+    public static class AttributeRepositorySource {
+        private final String name;
+
+        private final IPersonAttributeDao attributeRepository;
+
+        private final Duration timeout;
+    }
+}
@@ -16,7 +16,8 @@ import org.junit.runners.Suite;
     JdbcSingleRowAttributeRepositoryTests.class,
     RestfulPersonAttributeDaoTests.class,
     CachingAttributeRepositoryTests.class,
-    JdbcSingleRowAttributeRepositoryPostgresTests.class
+    JdbcSingleRowAttributeRepositoryPostgresTests.class,
+    ParallelMergingPersonAttributeDaoTests.class
 })
 public class AllTestsSuite {
 }
@@ -0,0 +1,155 @@
+package org.apereo.cas;
+
+import org.apereo.cas.persondir.support.ParallelMergingPersonAttributeDao;
+import org.apereo.cas.util.CollectionUtils;
+
+import lombok.SneakyThrows;
+import lombok.val;
+import org.apereo.services.persondir.IPersonAttributeDao;
+import org.apereo.services.persondir.IPersonAttributes;
+import org.apereo.services.persondir.support.NamedStubPersonAttributeDao;
+import org.apereo.services.persondir.support.merger.MultivaluedAttributeMerger;
+import org.junit.Test;
+import org.springframework.dao.QueryTimeoutException;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+/**
+ * This is {@link ParallelMergingPersonAttributeDaoTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 6.1.0
+ */
+public class ParallelMergingPersonAttributeDaoTests {
+
+    private static IPersonAttributeDao newStubAttributeRepository(final String name, final Object value) {
+        val dao = new NamedStubPersonAttributeDao();
+        dao.setBackingMap(CollectionUtils.wrap(name, CollectionUtils.wrapList(value)));
+        return dao;
+    }
+
+    private static IPersonAttributeDao newSlowAttributeRepository() {
+        val dao = new NamedStubPersonAttributeDao() {
+            @Override
+            @SneakyThrows
+            public IPersonAttributes getPerson(final String uid) {
+                Thread.sleep(2_000);
+                return super.getPerson(uid);
+            }
+        };
+        dao.setBackingMap(CollectionUtils.wrap("slow", CollectionUtils.wrapList("slow")));
+        return dao;
+    }
+
+    private static IPersonAttributeDao newSleepingAttributeRepository(final long millis, final String name, final Object value,
+                                                                      final CountDownLatch interrupted) {
+        val dao = new NamedStubPersonAttributeDao() {
+            @Override
+            public IPersonAttributes getPerson(final String uid) {
+                try {
+                    Thread.sleep(millis);
+                } catch (final InterruptedException e) {
+                    interrupted.countDown();
+                    Thread.currentThread().interrupt();
+                    return null;
+                }
+                return super.getPerson(uid);
+            }
+        };
+        dao.setBackingMap(CollectionUtils.wrap(name, CollectionUtils.wrapList(value)));
+        return dao;
+    }
+
+    private static ParallelMergingPersonAttributeDao newSaturatedAttributeRepository(final boolean failOpen) {
+        val sources = List.of(
+            new ParallelMergingPersonAttributeDao.AttributeRepositorySource("sleeping-0",
+                newSleepingAttributeRepository(200, "givenName", "cas", new CountDownLatch(1)), Duration.ofSeconds(5)),
+            new ParallelMergingPersonAttributeDao.AttributeRepositorySource("stub-1",
+                newStubAttributeRepository("givenName", "apereo"), Duration.ofSeconds(5)),
+            new ParallelMergingPersonAttributeDao.AttributeRepositorySource("stub-2",
+                newStubAttributeRepository("givenName", "rejected"), Duration.ofSeconds(5)));
+        return new ParallelMergingPersonAttributeDao(sources, new MultivaluedAttributeMerger(), 1, 1, failOpen);
+    }
+
+    private static ParallelMergingPersonAttributeDao newAttributeRepository(final boolean failOpen) {
+        val sources = List.of(
+            new ParallelMergingPersonAttributeDao.AttributeRepositorySource("stub-0",
+                newStubAttributeRepository("givenName", "cas"), Duration.ofSeconds(5)),
+            new ParallelMergingPersonAttributeDao.AttributeRepositorySource("slow-1",
+                newSlowAttributeRepository(), Duration.ofMillis(100)),
+            new ParallelMergingPersonAttributeDao.AttributeRepositorySource("stub-2",
+                newStubAttributeRepository("givenName", "apereo"), Duration.ofSeconds(5)));
+        return new ParallelMergingPersonAttributeDao(sources, new MultivaluedAttributeMerger(), 5, 10, failOpen);
+    }
+
+    @Test
+    public void verifySourcesAreMergedWhenSlowSourceTimesOut() {
+        val repository = newAttributeRepository(true);
+        try {
+            val person = repository.getPerson("casuser");
+            assertNotNull(person);
+            assertEquals("casuser", person.getName());
+            assertEquals(List.of("cas", "apereo"), person.getAttributes().get("givenName"));
+            assertFalse(person.getAttributes().containsKey("slow"));
+        } finally {
+            repository.destroy();
+        }
+    }
+
+    @Test(expected = QueryTimeoutException.class)
+    public void verifyFailClosedWhenSlowSourceTimesOut() {
+        val repository = newAttributeRepository(false);
+        try {
+            repository.getPerson("casuser");
+        } finally {
+            repository.destroy();
+        }
+    }
+
+    @Test
+    @SneakyThrows
+    public void verifySlowSourceIsInterruptedOnTimeout() {
+        val interrupted = new CountDownLatch(1);
+        val sources = List.of(
+            new ParallelMergingPersonAttributeDao.AttributeRepositorySource("stub-0",
+                newStubAttributeRepository("givenName", "cas"), Duration.ofSeconds(5)),
+            new ParallelMergingPersonAttributeDao.AttributeRepositorySource("sleeping-1",
+                newSleepingAttributeRepository(10_000, "slow", "slow", interrupted), Duration.ofMillis(100)));
+        val repository = new ParallelMergingPersonAttributeDao(sources, new MultivaluedAttributeMerger(), 5, 10, true);
+        try {
+            val person = repository.getPerson("casuser");
+            assertEquals(List.of("cas"), person.getAttributes().get("givenName"));
+            assertTrue(interrupted.await(5, TimeUnit.SECONDS));
+        } finally {
+            repository.destroy();
+        }
+    }
+
+    @Test
+    public void verifyRejectedSourceIsSkippedWhenFailOpen() {
+        val repository = newSaturatedAttributeRepository(true);
+        try {
+            val person = repository.getPerson("casuser");
+            assertNotNull(person);
+            assertEquals(List.of("cas", "apereo"), person.getAttributes().get("givenName"));
+        } finally {
+            repository.destroy();
+        }
+    }
+
+    @Test(expected = RejectedExecutionException.class)
+    public void verifyRejectedSourceFailsQueryWhenFailClosed() {
+        val repository = newSaturatedAttributeRepository(false);
+        try {
+            repository.getPerson("casuser");
+        } finally {
+            repository.destroy();
+        }
+    }
+}
@@ -1,16 +1,34 @@
 package org.apereo.cas.ticket.registry;
 
+import org.apereo.cas.authentication.principal.Service;
+import org.apereo.cas.ticket.ServiceTicket;
 import org.apereo.cas.ticket.Ticket;
+import org.apereo.cas.ticket.TicketGrantingTicket;
+import org.apereo.cas.util.CoreTicketUtils;
 
+import com.google.common.collect.AbstractIterator;
+import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import lombok.val;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.data.redis.core.RedisOperations;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.ZSetOperations;
 
 import java.io.IOException;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 import java.util.Spliterator;
 import java.util.Spliterators;
 import java.util.concurrent.TimeUnit;
@@ -21,6 +39,11 @@ import java.util.stream.StreamSupport;
 
 /**
  * Key-value ticket registry implementation that stores tickets in redis keyed on the ticket ID.
+ * Services granted by a ticket-granting ticket, along with its usage state, are recorded as fields
+ * of a separate hash once the ticket is stored, so the ticket and its authentication are not written
+ * again every time it grants a service ticket. The hash is fetched in the same round trip as the ticket,
+ * and only for ticket-granting tickets.
+ * When tickets are encrypted, tickets and the indexes that refer to them are keyed by encoded ticket ids.
  *
  * @author serv
  * @since 5.1.0
@@ -29,7 +52,18 @@ import java.util.stream.StreamSupport;
 @RequiredArgsConstructor
 public class RedisTicketRegistry extends AbstractTicketRegistry {
     private static final String CAS_TICKET_PREFIX = "CAS_TICKET:";
+    private static final String CAS_PRINCIPAL_PREFIX = "CAS_PRINCIPAL:";
+    private static final String CAS_TICKET_DELTA_PREFIX = "CAS_TICKET_DELTA:";
+    private static final String DELTA_FIELD_LAST_TIME_USED = "lastTimeUsed";
+    private static final String DELTA_FIELD_PREVIOUS_TIME_USED = "previousTimeUsed";
+    private static final String DELTA_FIELD_COUNT_OF_USES = "countOfUses";
+    private static final String CAS_TICKET_EXPIRATIONS_KEY = "CAS_TICKET_EXPIRATIONS";
+    private static final String CAS_TICKET_COUNT_PREFIX = "CAS_TICKET_COUNT:";
+    private static final String CAS_SESSION_COUNT_KEY = CAS_TICKET_COUNT_PREFIX + TicketGrantingTicket.PREFIX;
+    private static final String CAS_SERVICE_TICKET_COUNT_KEY = CAS_TICKET_COUNT_PREFIX + ServiceTicket.PREFIX;
     private static final long SCAN_COUNT = 100L;
+    private static final long EXPIRATION_INDEX_PAGE_SIZE = 500L;
+    private static final int CONSUME_TICKET_MAX_ATTEMPTS = 5;
 
     private final RedisTemplate<String, Ticket> client;
 
@@ -55,6 +89,24 @@ public class RedisTicketRegistry extends AbstractTicketRegistry {
         return CAS_TICKET_PREFIX + '*';
     }
 
+    private static String getTicketDeltaRedisKey(final String ticketId) {
+        return CAS_TICKET_DELTA_PREFIX + ticketId;
+    }
+
+    private static String getPrincipalRedisKey(final String principalIndexKey) {
+        return CAS_PRINCIPAL_PREFIX + principalIndexKey;
+    }
+
+    private static String getTicketCountRedisKey(final String ticketId) {
+        if (isTicketGrantingTicketId(ticketId)) {
+            return CAS_SESSION_COUNT_KEY;
+        }
+        if (isServiceTicketId(ticketId)) {
+            return CAS_SERVICE_TICKET_COUNT_KEY;
+        }
+        return null;
+    }
+
     @Override
     public long deleteAll() {
         val redisKeys = this.client.keys(getPatternTicketRedisKey());
@@ -64,14 +116,33 @@ public class RedisTicketRegistry extends AbstractTicketRegistry {
         }
         val size = redisKeys.size();
         this.client.delete(redisKeys);
+        val principalKeys = this.client.keys(CAS_PRINCIPAL_PREFIX + '*');
+        if (principalKeys != null) {
+            this.client.delete(principalKeys);
+        }
+        val deltaKeys = this.client.keys(CAS_TICKET_DELTA_PREFIX + '*');
+        if (deltaKeys != null) {
+            this.client.delete(deltaKeys);
+        }
+        this.client.delete(CAS_TICKET_EXPIRATIONS_KEY);
+        this.client.delete(CAS_SESSION_COUNT_KEY);
+        this.client.delete(CAS_SERVICE_TICKET_COUNT_KEY);
         return size;
     }
 
     @Override
     public boolean deleteSingleTicket(final String ticketId) {
         try {
-            val redisKey = getTicketRedisKey(ticketId);
+            val encodedTicketId = encodeTicketId(ticketId);
+            val redisKey = getTicketRedisKey(encodedTicketId);
             this.client.delete(redisKey);
+            this.client.delete(getTicketDeltaRedisKey(encodedTicketId));
+            val expirations = getExpirationIndex();
+            expirations.remove(CAS_TICKET_EXPIRATIONS_KEY, encodedTicketId);
+            val countKey = getTicketCountRedisKey(ticketId);
+            if (countKey != null) {
+                expirations.remove(countKey, encodedTicketId);
+            }
             return true;
         } catch (final Exception e) {
             LOGGER.error("Ticket not found or is already removed. Failed deleting [{}]", ticketId, e);
@@ -83,22 +154,152 @@ public class RedisTicketRegistry extends AbstractTicketRegistry {
     public void addTicket(final Ticket ticket) {
         try {
             LOGGER.debug("Adding ticket [{}]", ticket);
-            val redisKey = getTicketRedisKey(ticket.getId());
             val encodeTicket = encodeTicket(ticket);
+            val redisKey = getTicketRedisKey(encodeTicket.getId());
             val timeout = getTimeout(ticket);
             this.client.boundValueOps(redisKey).set(encodeTicket, timeout.longValue(), TimeUnit.SECONDS);
+            this.client.delete(getTicketDeltaRedisKey(encodeTicket.getId()));
+            addToSessionIndex(ticket, encodeTicket.getId(), timeout);
+            addToExpirationIndex(ticket, encodeTicket.getId());
         } catch (final Exception e) {
             LOGGER.error("Failed to add [{}]", ticket, e);
         }
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>Candidates are looked up from a sorted set scored by expiration time,
+     * so only tickets whose expiration time has passed are ever fetched. The set is read
+     * in pages as the stream is consumed, so a backlog of expired tickets is never loaded at once.
+     */
+    @Override
+    public Stream<? extends Ticket> getExpiredTickets() {
+        val now = ZonedDateTime.now(ZoneOffset.UTC).toEpochSecond();
+        val expirations = getExpirationIndex();
+        expirations.removeRangeByScore(CAS_SESSION_COUNT_KEY, 0, now);
+        expirations.removeRangeByScore(CAS_SERVICE_TICKET_COUNT_KEY, 0, now);
+        return StreamSupport
+            .stream(Spliterators.spliteratorUnknownSize(new ExpiredTicketIdIterator(now), Spliterator.ORDERED), false)
+            .map(encodedTicketId -> {
+                val ticket = getTicketByRedisKey(getTicketRedisKey(encodedTicketId));
+                if (ticket == null) {
+                    LOGGER.trace("Removing [{}] from the expiration index, as the ticket is already removed", encodedTicketId);
+                    expirations.remove(CAS_TICKET_EXPIRATIONS_KEY, encodedTicketId);
+                } else if (!ticket.isExpired()) {
+                    LOGGER.trace("Ticket [{}] has not expired yet; its expiration time is recorded again", encodedTicketId);
+                    addToExpirationIndex(ticket, encodedTicketId);
+                }
+                return ticket;
+            })
+            .filter(Objects::nonNull)
+            .filter(Ticket::isExpired);
+    }
+
+    @Override
+    public Stream<? extends TicketGrantingTicket> getSessionsFor(final String principalId) {
+        val principalIndexKey = getPrincipalIndexKey(principalId);
+        if (principalIndexKey == null) {
+            return Stream.empty();
+        }
+        val redisKey = getPrincipalRedisKey(principalIndexKey);
+        val sessions = this.client.<String, String>opsForHash();
+        return sessions.keys(redisKey)
+            .stream()
+            .map(encodedTicketId -> {
+                val ticket = getTicketByRedisKey(getTicketRedisKey(encodedTicketId));
+                if (ticket == null) {
+                    LOGGER.trace("Removing stale session [{}] from the principal index", encodedTicketId);
+                    sessions.delete(redisKey, encodedTicketId);
+                }
+                return ticket;
+            })
+            .filter(ticket -> ticket instanceof TicketGrantingTicket && !ticket.isExpired())
+            .map(TicketGrantingTicket.class::cast);
+    }
+
+    @Override
+    protected void removeFromSessionIndex(final TicketGrantingTicket ticket) {
+        val principalIndexKey = getPrincipalIndexKey(ticket);
+        if (principalIndexKey != null) {
+            this.client.<String, String>opsForHash().delete(getPrincipalRedisKey(principalIndexKey), encodeTicketId(ticket.getId()));
+        }
+    }
+
+    /**
+     * Keep track of the session in a hash keyed by the principal, whose own expiration
+     * is extended to outlive the longest-living session it contains. Sessions are
+     * recorded by their encoded ids, so that ticket ids are not stored in the clear
+     * when tickets are encrypted.
+     *
+     * @param ticket          the ticket
+     * @param encodedTicketId the encoded ticket id
+     * @param timeout         the ticket timeout in seconds
+     */
+    private void addToSessionIndex(final Ticket ticket, final String encodedTicketId, final long timeout) {
+        val principalIndexKey = getPrincipalIndexKey(ticket);
+        if (principalIndexKey == null) {
+            return;
+        }
+        val redisKey = getPrincipalRedisKey(principalIndexKey);
+        this.client.<String, String>opsForHash().put(redisKey, encodedTicketId, encodedTicketId);
+        val expiration = this.client.getExpire(redisKey, TimeUnit.SECONDS);
+        if (expiration == null || expiration < timeout) {
+            this.client.expire(redisKey, timeout, TimeUnit.SECONDS);
+        }
+    }
+
+    /**
+     * Keep track of the ticket in a sorted set scored by its expiration time.
+     *
+     * @param ticket          the ticket
+     * @param encodedTicketId the encoded ticket id
+     */
+    private void addToExpirationIndex(final Ticket ticket, final String encodedTicketId) {
+        val expiresAt = CoreTicketUtils.getExpirationTime(ticket).toEpochSecond();
+        val expirations = getExpirationIndex();
+        expirations.add(CAS_TICKET_EXPIRATIONS_KEY, encodedTicketId, expiresAt);
+        val countKey = getTicketCountRedisKey(ticket.getId());
+        if (countKey != null) {
+            expirations.add(countKey, encodedTicketId, expiresAt);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>Sessions are counted from a sorted set scored by expiration time, which
+     * does not require a scan of the ticket keys.
+     */
+    @Override
+    public long sessionCount() {
+        return countTickets(CAS_SESSION_COUNT_KEY);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>Service tickets are counted from a sorted set scored by expiration time, which
+     * does not require a scan of the ticket keys.
+     */
+    @Override
+    public long serviceTicketCount() {
+        return countTickets(CAS_SERVICE_TICKET_COUNT_KEY);
+    }
+
+    private long countTickets(final String countKey) {
+        val now = ZonedDateTime.now(ZoneOffset.UTC).toEpochSecond();
+        val count = getExpirationIndex().count(countKey, now, Double.POSITIVE_INFINITY);
+        return count == null ? 0 : count;
+    }
+
+    @SuppressWarnings("unchecked")
+    private ZSetOperations<String, String> getExpirationIndex() {
+        return (ZSetOperations) this.client.opsForZSet();
+    }
+
     @Override
     public Ticket getTicket(final String ticketId, final Predicate<Ticket> predicate) {
         try {
-            val redisKey = getTicketRedisKey(ticketId);
-            val t = this.client.boundValueOps(redisKey).get();
-            if (t != null) {
-                val result = decodeTicket(t);
+            val result = getTicketByRedisKey(getTicketRedisKey(encodeTicketId(ticketId)));
+            if (result != null) {
                 if (predicate.test(result)) {
                     return result;
                 }
@@ -112,6 +313,73 @@ public class RedisTicketRegistry extends AbstractTicketRegistry {
         return null;
     }
 
+    /**
+     * Get the ticket stored under the key. For ticket-granting tickets, the hash of recorded
+     * services is fetched in the same pipeline as the ticket, and applied to it.
+     *
+     * @param redisKey the redis key of the ticket
+     * @return the ticket, or null
+     */
+    @SuppressWarnings("unchecked")
+    private Ticket getTicketByRedisKey(final String redisKey) {
+        val encodedTicketId = StringUtils.removeStart(redisKey, CAS_TICKET_PREFIX);
+        if (!isTicketGrantingTicketDeltaRecorded(encodedTicketId)) {
+            val ticket = this.client.boundValueOps(redisKey).get();
+            return ticket == null ? null : decodeTicket(ticket);
+        }
+        val results = this.client.executePipelined(new SessionCallback<Object>() {
+            @Override
+            public <K, V> Object execute(final RedisOperations<K, V> operations) {
+                val ops = (RedisOperations<String, Object>) operations;
+                ops.opsForValue().get(redisKey);
+                ops.opsForHash().entries(getTicketDeltaRedisKey(encodedTicketId));
+                return null;
+            }
+        });
+        val ticket = (Ticket) results.get(0);
+        if (ticket == null) {
+            return null;
+        }
+        return applyTicketGrantingTicketDelta(decodeTicket(ticket), (Map<Object, Object>) results.get(1));
+    }
+
+    /**
+     * Whether services may have been recorded for the ticket in a separate hash.
+     * That is only the case for ticket-granting tickets that are not encrypted.
+     *
+     * @param encodedTicketId the encoded ticket id
+     * @return true/false
+     */
+    private boolean isTicketGrantingTicketDeltaRecorded(final String encodedTicketId) {
+        return !isCipherExecutorEnabled() && isTicketGrantingTicketId(encodedTicketId);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>The ticket is consumed in an optimistic transaction that watches the ticket key,
+     * and is retried if the ticket is concurrently modified by another node.
+     */
+    @Override
+    public <T extends Ticket> T consumeTicket(final String ticketId, final Class<T> clazz, final Predicate<T> predicate) {
+        val redisKey = getTicketRedisKey(encodeTicketId(ticketId));
+        for (var attempt = 1; attempt <= CONSUME_TICKET_MAX_ATTEMPTS; attempt++) {
+            try {
+                val callback = new ConsumeTicketSessionCallback<T>(redisKey, clazz, predicate);
+                if (Boolean.TRUE.equals(this.client.execute(callback))) {
+                    return callback.getConsumedTicket();
+                }
+                LOGGER.debug("Ticket [{}] was concurrently modified; attempt [{}] to consume the ticket is aborted", ticketId, attempt);
+            } catch (final ClassCastException e) {
+                throw e;
+            } catch (final Exception e) {
+                LOGGER.error("Failed consuming [{}]", ticketId, e);
+                return null;
+            }
+        }
+        LOGGER.warn("Unable to consume ticket [{}] after [{}] attempts", ticketId, CONSUME_TICKET_MAX_ATTEMPTS);
+        return null;
+    }
+
     @Override
     public Collection<? extends Ticket> getTickets() {
         try (val ticketsStream = getTicketsStream()) {
@@ -123,15 +391,13 @@ public class RedisTicketRegistry extends AbstractTicketRegistry {
     public Stream<? extends Ticket> getTicketsStream() {
         return getKeysStream()
             .map(redisKey -> {
-                val ticket = this.client.boundValueOps(redisKey).get();
+                val ticket = getTicketByRedisKey(redisKey);
                 if (ticket == null) {
                     this.client.delete(redisKey);
-                    return null;
                 }
                 return ticket;
             })
-            .filter(Objects::nonNull)
-            .map(this::decodeTicket);
+            .filter(Objects::nonNull);
 
     }
 
@@ -140,11 +406,15 @@ public class RedisTicketRegistry extends AbstractTicketRegistry {
         try {
             LOGGER.debug("Updating ticket [{}]", ticket);
             val encodeTicket = this.encodeTicket(ticket);
-            val redisKey = getTicketRedisKey(ticket.getId());
+            val redisKey = getTicketRedisKey(encodeTicket.getId());
             LOGGER.debug("Fetched redis key [{}] for ticket [{}]", redisKey, ticket);
 
             val timeout = getTimeout(ticket);
             this.client.boundValueOps(redisKey).set(encodeTicket, timeout.longValue(), TimeUnit.SECONDS);
+            this.client.delete(getTicketDeltaRedisKey(encodeTicket.getId()));
+            addToSessionIndex(ticket, encodeTicket.getId(), timeout);
+            addToExpirationIndex(ticket, encodeTicket.getId());
+            deleteLegacyTicketEntry(ticket);
             return encodeTicket;
         } catch (final Exception e) {
             LOGGER.error("Failed to update [{}]", ticket, e);
@@ -152,6 +422,63 @@ public class RedisTicketRegistry extends AbstractTicketRegistry {
         return null;
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>Services added to the ticket are recorded as fields of a hash kept next to the ticket,
+     * along with its usage state. The stored ticket itself is left alone, and is only written again
+     * once services are removed from it, which rewrites the ticket as a whole and clears the hash.
+     */
+    @Override
+    public Ticket updateTicketGrantingTicket(final TicketGrantingTicket ticket, final TicketGrantingTicketDelta delta) {
+        if (!isTicketGrantingTicketDeltaApplicable(delta)) {
+            return updateTicket(ticket);
+        }
+        try {
+            LOGGER.debug("Recording [{}] for ticket [{}]", delta, ticket.getId());
+            val timeout = getTimeout(ticket);
+            val encodedTicketId = encodeTicketId(ticket.getId());
+            val deltaKey = getTicketDeltaRedisKey(encodedTicketId);
+            val fields = new HashMap<String, Object>(delta.getAddedServices());
+            fields.put(DELTA_FIELD_LAST_TIME_USED, delta.getLastTimeUsed());
+            fields.put(DELTA_FIELD_PREVIOUS_TIME_USED, delta.getPreviousTimeUsed());
+            fields.put(DELTA_FIELD_COUNT_OF_USES, delta.getCountOfUses());
+            this.client.<String, Object>opsForHash().putAll(deltaKey, fields);
+            this.client.expire(deltaKey, timeout, TimeUnit.SECONDS);
+            this.client.expire(getTicketRedisKey(encodedTicketId), timeout, TimeUnit.SECONDS);
+            addToSessionIndex(ticket, encodedTicketId, timeout);
+            addToExpirationIndex(ticket, encodedTicketId);
+            return ticket;
+        } catch (final Exception e) {
+            LOGGER.error("Failed to update [{}]", ticket, e);
+        }
+        return null;
+    }
+
+    /**
+     * Apply services and usage state recorded in the hash of a ticket-granting ticket
+     * to the ticket as it was last stored as a whole.
+     *
+     * @param ticket the ticket
+     * @param fields the fields of the hash
+     * @return the ticket
+     */
+    private static Ticket applyTicketGrantingTicketDelta(final Ticket ticket, final Map<?, Object> fields) {
+        if (!(ticket instanceof TicketGrantingTicket) || fields == null || fields.isEmpty()) {
+            return ticket;
+        }
+        val delta = new TicketGrantingTicketDelta();
+        fields.forEach((field, value) -> {
+            if (value instanceof Service) {
+                delta.getAddedServices().put(field.toString(), (Service) value);
+            }
+        });
+        delta.setLastTimeUsed((ZonedDateTime) fields.get(DELTA_FIELD_LAST_TIME_USED));
+        delta.setPreviousTimeUsed((ZonedDateTime) fields.get(DELTA_FIELD_PREVIOUS_TIME_USED));
+        val countOfUses = fields.get(DELTA_FIELD_COUNT_OF_USES);
+        delta.setCountOfUses(countOfUses instanceof Integer ? (Integer) countOfUses : 0);
+        return applyTicketGrantingTicketDelta(ticket, delta);
+    }
+
     /**
      * Get a stream of all CAS-related keys from Redis DB.
      *
@@ -175,4 +502,118 @@ public class RedisTicketRegistry extends AbstractTicketRegistry {
                 }
             });
     }
+
+    /**
+     * Reads the ids of tickets whose expiration time has passed from the expiration index, one page at a time.
+     * Tickets are removed from the index as they are cleaned up, so every page is read from the start of the index;
+     * ids that were already produced by the previous page are skipped, and reading stops once a page has nothing new.
+     */
+    @RequiredArgsConstructor
+    private class ExpiredTicketIdIterator extends AbstractIterator<String> {
+        private final long now;
+
+        private Set<String> previousPage = Set.of();
+
+        private Iterator<String> currentPage = Collections.emptyIterator();
+
+        @Override
+        protected String computeNext() {
+            while (!currentPage.hasNext()) {
+                val page = getExpirationIndex().rangeByScore(CAS_TICKET_EXPIRATIONS_KEY, 0, now, 0, EXPIRATION_INDEX_PAGE_SIZE);
+                if (page == null) {
+                    return endOfData();
+                }
+                val unseen = page.stream()
+                    .filter(id -> !previousPage.contains(id))
+                    .collect(Collectors.toCollection(LinkedHashSet::new));
+                if (unseen.isEmpty()) {
+                    return endOfData();
+                }
+                previousPage = page;
+                currentPage = unseen.iterator();
+            }
+            return currentPage.next();
+        }
+    }
+
+    /**
+     * Watches the ticket key, reads and consumes the ticket, and writes back the result in a transaction.
+     * Produces {@code false} if the transaction was aborted because the ticket changed in the meantime.
+     *
+     * @param <T> the ticket type
+     */
+    @RequiredArgsConstructor
+    private class ConsumeTicketSessionCallback<T extends Ticket> implements SessionCallback<Boolean> {
+        private final String redisKey;
+        private final Class<T> clazz;
+        private final Predicate<T> predicate;
+
+        @Getter
+        private T consumedTicket;
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <K, V> Boolean execute(final RedisOperations<K, V> operations) {
+            val ops = (RedisOperations<String, Ticket>) operations;
+            ops.watch(redisKey);
+            val found = ops.opsForValue().get(redisKey);
+            if (found == null) {
+                ops.unwatch();
+                return Boolean.TRUE;
+            }
+            var decoded = decodeTicket(found);
+            val encodedTicketId = StringUtils.removeStart(redisKey, CAS_TICKET_PREFIX);
+            if (isTicketGrantingTicketDeltaRecorded(encodedTicketId)) {
+                decoded = applyTicketGrantingTicketDelta(decoded,
+                    client.<Object, Object>opsForHash().entries(getTicketDeltaRedisKey(encodedTicketId)));
+            }
+            val ticket = getTicketOfType(decoded, clazz);
+            if (ticket.isExpired()) {
+                ops.unwatch();
+                ops.multi();
+                removeTicketEntries(ops, ticket, encodedTicketId);
+                ops.exec();
+                return Boolean.TRUE;
+            }
+            if (!predicate.test(ticket)) {
+                ops.unwatch();
+                return Boolean.TRUE;
+            }
+            val usable = recordTicketUsage(ticket);
+            ops.multi();
+            if (usable) {
+                ops.opsForValue().getAndSet(redisKey, encodeTicket(ticket));
+                ops.expire(redisKey, getTimeout(ticket), TimeUnit.SECONDS);
+                ops.delete(getTicketDeltaRedisKey(encodedTicketId));
+            } else {
+                removeTicketEntries(ops, ticket, encodedTicketId);
+            }
+            /*
+             * Commands queued above all produce replies; no results
+             * indicate that the watched key changed and the transaction was discarded.
+             */
+            val results = ops.exec();
+            if (results == null || results.isEmpty()) {
+                return Boolean.FALSE;
+            }
+            this.consumedTicket = ticket;
+            return Boolean.TRUE;
+        }
+
+        /**
+         * Queue the removal of the ticket along with its recorded changes and its index entries,
+         * so that all of them are removed in the same transaction.
+         */
+        @SuppressWarnings("unchecked")
+        private void removeTicketEntries(final RedisOperations<String, Ticket> ops, final Ticket ticket, final String encodedTicketId) {
+            ops.delete(redisKey);
+            ops.delete(getTicketDeltaRedisKey(encodedTicketId));
+            val zsets = (ZSetOperations<String, String>) (ZSetOperations) ops.opsForZSet();
+            zsets.remove(CAS_TICKET_EXPIRATIONS_KEY, encodedTicketId);
+            val countKey = getTicketCountRedisKey(ticket.getId());
+            if (countKey != null) {
+                zsets.remove(countKey, encodedTicketId);
+            }
+        }
+    }
 }
@@ -0,0 +1,44 @@
+package org.apereo.cas.ticket.registry;
+
+import org.apereo.cas.ticket.Ticket;
+import org.apereo.cas.ticket.serialization.JdkTicketSerializer;
+import org.apereo.cas.ticket.serialization.TicketSerializer;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.redis.serializer.JdkSerializationRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+/**
+ * This is {@link RedisTicketSerializer} that adapts the configured {@link TicketSerializer}
+ * to a redis value serializer. Tickets are handed over to the ticket serializer while
+ * other values such as ticket ids kept in the expiration index continue to use Java serialization.
+ *
+ * @author Misagh Moayyed
+ * @since 6.1.0
+ */
+@RequiredArgsConstructor
+public class RedisTicketSerializer implements RedisSerializer<Object> {
+    private final JdkSerializationRedisSerializer jdkSerializer = new JdkSerializationRedisSerializer();
+
+    private final TicketSerializer ticketSerializer;
+
+    @Override
+    public byte[] serialize(final Object value) throws SerializationException {
+        if (value instanceof Ticket) {
+            return ticketSerializer.serialize((Ticket) value);
+        }
+        return jdkSerializer.serialize(value);
+    }
+
+    @Override
+    public Object deserialize(final byte[] bytes) throws SerializationException {
+        if (bytes == null || bytes.length == 0) {
+            return null;
+        }
+        if (JdkTicketSerializer.isJdkSerialized(bytes)) {
+            return jdkSerializer.deserialize(bytes);
+        }
+        return ticketSerializer.deserialize(bytes);
+    }
+}
@@ -1,14 +1,24 @@
 package org.apereo.cas.ticket.registry;
 
+import org.apereo.cas.authentication.CoreAuthenticationTestUtils;
 import org.apereo.cas.category.RedisCategory;
 import org.apereo.cas.config.CasCoreTicketCatalogConfiguration;
 import org.apereo.cas.config.CasCoreTicketsConfiguration;
 import org.apereo.cas.config.CasCoreWebConfiguration;
 import org.apereo.cas.config.RedisTicketRegistryConfiguration;
 import org.apereo.cas.config.support.CasWebApplicationServiceFactoryConfiguration;
+import org.apereo.cas.services.RegisteredServiceTestUtils;
+import org.apereo.cas.ticket.ServiceTicket;
+import org.apereo.cas.ticket.Ticket;
+import org.apereo.cas.ticket.TicketGrantingTicketImpl;
+import org.apereo.cas.ticket.support.MultiTimeUseOrTimeoutExpirationPolicy;
+import org.apereo.cas.ticket.support.NeverExpiresExpirationPolicy;
 
+import lombok.val;
 import org.junit.AfterClass;
+import org.junit.Assume;
 import org.junit.BeforeClass;
+import org.junit.Test;
 import org.junit.experimental.categories.Category;
 import org.junit.runner.RunWith;
 import org.junit.runners.Parameterized;
@@ -18,12 +28,19 @@ import org.springframework.boot.autoconfigure.aop.AopAutoConfiguration;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.cloud.autoconfigure.RefreshAutoConfiguration;
 import org.springframework.context.annotation.EnableAspectJAutoProxy;
+import org.springframework.data.redis.connection.DataType;
+import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.util.AopTestUtils;
 import org.springframework.transaction.annotation.EnableTransactionManagement;
 import redis.embedded.RedisServer;
 
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+import static org.junit.Assert.*;
 
 /**
  * Unit test for {@link RedisTicketRegistry}.
@@ -56,6 +73,10 @@ public class RedisEmbeddedTicketRegistryTests extends BaseSpringRunnableTicketRe
     @Qualifier("ticketRegistry")
     private TicketRegistry ticketRegistry;
 
+    @Autowired
+    @Qualifier("ticketRedisTemplate")
+    private RedisTemplate<String, Ticket> ticketRedisTemplate;
+
     public RedisEmbeddedTicketRegistryTests(final boolean useEncryption) {
         super(useEncryption);
     }
@@ -81,4 +102,62 @@ public class RedisEmbeddedTicketRegistryTests extends BaseSpringRunnableTicketRe
     public TicketRegistry getNewTicketRegistry() {
         return this.ticketRegistry;
     }
+
+    @Test
+    public void verifyTicketIdsAreNotStoredInTheClear() {
+        val registry = (AbstractTicketRegistry) AopTestUtils.getTargetObject(this.ticketRegistry);
+        Assume.assumeTrue(registry.isCipherExecutorEnabled());
+        val ticketId = "TGT-CLEAR-TEXT-1234567890";
+        registry.addTicket(new TicketGrantingTicketImpl(ticketId,
+            CoreAuthenticationTestUtils.getAuthentication("casuser"), new NeverExpiresExpirationPolicy()));
+        assertEquals(1, registry.countSessionsFor("casuser"));
+
+        val keys = this.ticketRedisTemplate.keys("*");
+        assertNotNull(keys);
+        keys.forEach(key -> {
+            assertFalse(key.contains(ticketId));
+            if (this.ticketRedisTemplate.type(key) == DataType.HASH) {
+                this.ticketRedisTemplate.opsForHash().keys(key)
+                    .forEach(field -> assertFalse(String.valueOf(field).contains(ticketId)));
+            } else if (this.ticketRedisTemplate.type(key) == DataType.ZSET) {
+                ((Set<?>) this.ticketRedisTemplate.opsForZSet().range(key, 0, -1))
+                    .forEach(member -> assertFalse(String.valueOf(member).contains(ticketId)));
+            }
+        });
+    }
+
+    @Test
+    public void verifyExpiredTicketsAreReadInPages() {
+        val count = 1_200;
+        IntStream.range(0, count).forEach(i -> {
+            val ticket = new TicketGrantingTicketImpl("TGT-EXPIRED-" + i,
+                CoreAuthenticationTestUtils.getAuthentication(), new NeverExpiresExpirationPolicy());
+            ticket.markTicketExpired();
+            this.ticketRegistry.addTicket(ticket);
+        });
+        try (val expired = this.ticketRegistry.getExpiredTickets()) {
+            assertEquals(count, expired.mapToInt(this.ticketRegistry::deleteTicket).sum());
+        }
+        try (val expired = this.ticketRegistry.getExpiredTickets()) {
+            assertEquals(0, expired.count());
+        }
+    }
+
+    @Test
+    public void verifyConsumedTicketIsRemovedFromIndexes() {
+        val tgt = new TicketGrantingTicketImpl("TGT-CONSUMED-INDEX",
+            CoreAuthenticationTestUtils.getAuthentication(), new NeverExpiresExpirationPolicy());
+        this.ticketRegistry.addTicket(tgt);
+        val expirations = this.ticketRedisTemplate.opsForZSet().size("CAS_TICKET_EXPIRATIONS");
+
+        val st = tgt.grantServiceTicket("ST-CONSUMED-INDEX", RegisteredServiceTestUtils.getService(),
+            new MultiTimeUseOrTimeoutExpirationPolicy(1, 60), false, true);
+        this.ticketRegistry.addTicket(st);
+        assertEquals(expirations + 1, this.ticketRedisTemplate.opsForZSet().size("CAS_TICKET_EXPIRATIONS").longValue());
+
+        assertNotNull(this.ticketRegistry.consumeTicket(st.getId(), ServiceTicket.class));
+        assertNull(this.ticketRegistry.getTicket(st.getId()));
+        assertEquals(expirations, this.ticketRedisTemplate.opsForZSet().size("CAS_TICKET_EXPIRATIONS"));
+        assertEquals(0, this.ticketRegistry.serviceTicketCount());
+    }
 }
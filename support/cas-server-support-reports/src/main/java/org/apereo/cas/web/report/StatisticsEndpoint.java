@@ -1,8 +1,7 @@
 package org.apereo.cas.web.report;
 
-import org.apereo.cas.CentralAuthenticationService;
 import org.apereo.cas.configuration.CasConfigurationProperties;
-import org.apereo.cas.ticket.ServiceTicket;
+import org.apereo.cas.ticket.registry.TicketRegistryMeterBinder;
 import org.apereo.cas.web.BaseCasMvcEndpoint;
 
 import lombok.val;
@@ -15,7 +14,6 @@ import java.time.ZoneOffset;
 import java.time.ZonedDateTime;
 import java.util.HashMap;
 import java.util.Map;
-import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * @author Scott Battaglia
@@ -25,16 +23,18 @@ import java.util.concurrent.atomic.AtomicInteger;
 public class StatisticsEndpoint extends BaseCasMvcEndpoint {
     private final ZonedDateTime upTimeStartDate = ZonedDateTime.now(ZoneOffset.UTC);
 
-    private final CentralAuthenticationService centralAuthenticationService;
+    private final TicketRegistryMeterBinder ticketRegistryMeterBinder;
 
-    public StatisticsEndpoint(final CentralAuthenticationService centralAuthenticationService,
+    public StatisticsEndpoint(final TicketRegistryMeterBinder ticketRegistryMeterBinder,
                               final CasConfigurationProperties casProperties) {
         super(casProperties);
-        this.centralAuthenticationService = centralAuthenticationService;
+        this.ticketRegistryMeterBinder = ticketRegistryMeterBinder;
     }
 
     /**
      * Gets availability times of the server.
+     * Ticket counts are those memoized by the ticket registry metrics,
+     * which are refreshed at most once per metrics refresh interval.
      *
      * @return the availability
      */
@@ -50,34 +50,12 @@ public class StatisticsEndpoint extends BaseCasMvcEndpoint {
         model.put("maxMemory", FileUtils.byteCountToDisplaySize(runtime.maxMemory()));
         model.put("freeMemory", FileUtils.byteCountToDisplaySize(runtime.freeMemory()));
 
-        val unexpiredTgts = new AtomicInteger();
-        val unexpiredSts = new AtomicInteger();
-        val expiredTgts = new AtomicInteger();
-        val expiredSts = new AtomicInteger();
-
-        val tickets = this.centralAuthenticationService.getTickets(ticket -> true);
-        tickets.forEach(ticket -> {
-            if (ticket instanceof ServiceTicket) {
-                if (ticket.isExpired()) {
-                    this.centralAuthenticationService.deleteTicket(ticket.getId());
-                    expiredSts.incrementAndGet();
-                } else {
-                    unexpiredSts.incrementAndGet();
-                }
-            } else {
-                if (ticket.isExpired()) {
-                    this.centralAuthenticationService.deleteTicket(ticket.getId());
-                    expiredTgts.incrementAndGet();
-                } else {
-                    unexpiredTgts.incrementAndGet();
-                }
-            }
-        });
-
-        model.put("unexpiredTgts", unexpiredTgts);
-        model.put("unexpiredSts", unexpiredSts);
-        model.put("expiredTgts", expiredTgts);
-        model.put("expiredSts", expiredSts);
+        val sessionCount = this.ticketRegistryMeterBinder.getSessionCount();
+        val serviceTicketCount = this.ticketRegistryMeterBinder.getServiceTicketCount();
+        model.put("sessionCount", sessionCount);
+        model.put("serviceTicketCount", serviceTicketCount);
+        model.put("unexpiredTgts", sessionCount);
+        model.put("unexpiredSts", serviceTicketCount);
 
         return model;
     }
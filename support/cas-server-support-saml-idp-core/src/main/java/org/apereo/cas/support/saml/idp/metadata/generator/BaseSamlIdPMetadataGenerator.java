@@ -1,6 +1,7 @@
 package org.apereo.cas.support.saml.idp.metadata.generator;
 
 import org.apereo.cas.CipherExecutor;
+import org.apereo.cas.support.saml.idp.metadata.locator.SamlIdPMetadataChangedEvent;
 import org.apereo.cas.support.saml.idp.metadata.locator.SamlIdPMetadataLocator;
 import org.apereo.cas.support.saml.idp.metadata.writer.SamlIdPCertificateAndKeyWriter;
 import org.apereo.cas.support.saml.services.idp.metadata.SamlIdPMetadataDocument;
@@ -12,6 +13,8 @@ import lombok.val;
 import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.tuple.Pair;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.ApplicationEventPublisherAware;
 import org.springframework.core.io.ResourceLoader;
 
 import java.io.StringWriter;
@@ -25,7 +28,7 @@ import java.nio.charset.StandardCharsets;
  */
 @Slf4j
 @RequiredArgsConstructor
-public abstract class BaseSamlIdPMetadataGenerator implements SamlIdPMetadataGenerator {
+public abstract class BaseSamlIdPMetadataGenerator implements SamlIdPMetadataGenerator, ApplicationEventPublisherAware {
     private static final String BEGIN_CERTIFICATE = "-----BEGIN CERTIFICATE-----";
     private static final String END_CERTIFICATE = "-----END CERTIFICATE-----";
 
@@ -49,6 +52,13 @@ public abstract class BaseSamlIdPMetadataGenerator implements SamlIdPMetadataGen
     private final String casServerPrefix;
     private final String scope;
 
+    private ApplicationEventPublisher applicationEventPublisher;
+
+    @Override
+    public void setApplicationEventPublisher(final ApplicationEventPublisher applicationEventPublisher) {
+        this.applicationEventPublisher = applicationEventPublisher;
+    }
+
     @Override
     @SneakyThrows
     public SamlIdPMetadataDocument generate() {
@@ -71,7 +81,11 @@ public abstract class BaseSamlIdPMetadataGenerator implements SamlIdPMetadataGen
             doc.setSigningCertificate(signing.getKey());
             doc.setSigningKey(signing.getValue());
             doc.setMetadata(metadata);
-            return finalizeMetadataDocument(doc);
+            val result = finalizeMetadataDocument(doc);
+            if (applicationEventPublisher != null) {
+                applicationEventPublisher.publishEvent(new SamlIdPMetadataChangedEvent(this));
+            }
+            return result;
         }
 
         return samlIdPMetadataLocator.fetch();
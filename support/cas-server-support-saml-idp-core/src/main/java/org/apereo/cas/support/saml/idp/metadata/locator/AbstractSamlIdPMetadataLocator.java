@@ -10,15 +10,21 @@ import lombok.RequiredArgsConstructor;
 import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
 import lombok.val;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.ApplicationEventPublisherAware;
 import org.springframework.core.io.InputStreamResource;
 import org.springframework.core.io.Resource;
 
 import java.io.ByteArrayInputStream;
 import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
 import java.util.concurrent.TimeUnit;
 
 /**
  * This is {@link AbstractSamlIdPMetadataLocator}.
+ * A {@link SamlIdPMetadataChangedEvent} is published whenever the document
+ * fetched from storage differs from the one previously loaded.
  *
  * @author Misagh Moayyed
  * @since 5.3.0
@@ -27,7 +33,7 @@ import java.util.concurrent.TimeUnit;
 @Getter
 @Setter
 @RequiredArgsConstructor
-public abstract class AbstractSamlIdPMetadataLocator implements SamlIdPMetadataLocator {
+public abstract class AbstractSamlIdPMetadataLocator implements SamlIdPMetadataLocator, ApplicationEventPublisherAware {
 
     /**
      * Cipher executor to encrypt/sign metadata.
@@ -41,6 +47,12 @@ public abstract class AbstractSamlIdPMetadataLocator implements SamlIdPMetadataL
 
     private Cache<String, SamlIdPMetadataDocument> metadataCache;
 
+    private ApplicationEventPublisher applicationEventPublisher;
+
+    @Override
+    public void setApplicationEventPublisher(final ApplicationEventPublisher applicationEventPublisher) {
+        this.applicationEventPublisher = applicationEventPublisher;
+    }
 
     @Override
     public Resource getSigningCertificate() {
@@ -108,9 +120,13 @@ public abstract class AbstractSamlIdPMetadataLocator implements SamlIdPMetadataL
         if (map.containsKey("CasSamlIdentityProviderMetadata")) {
             return map.get("CasSamlIdentityProviderMetadata");
         }
+        val previousContents = getMetadataDocumentContents();
         val document = fetchInternal();
         if (isMetadataDocumentValid()) {
             map.put("CasSamlIdentityProviderMetadata", this.metadataDocument);
+            if (!previousContents.equals(getMetadataDocumentContents())) {
+                publishMetadataChangedEvent();
+            }
         }
         return document;
     }
@@ -122,6 +138,21 @@ public abstract class AbstractSamlIdPMetadataLocator implements SamlIdPMetadataL
      */
     protected abstract SamlIdPMetadataDocument fetchInternal();
 
+    private void publishMetadataChangedEvent() {
+        if (applicationEventPublisher != null) {
+            LOGGER.debug("SAML2 identity provider metadata document has changed");
+            applicationEventPublisher.publishEvent(new SamlIdPMetadataChangedEvent(this));
+        }
+    }
+
+    private List<String> getMetadataDocumentContents() {
+        if (metadataDocument == null) {
+            return List.of();
+        }
+        return Arrays.asList(metadataDocument.getMetadata(), metadataDocument.getSigningCertificate(),
+            metadataDocument.getSigningKey(), metadataDocument.getEncryptionCertificate(), metadataDocument.getEncryptionKey());
+    }
+
     private boolean isMetadataDocumentValid() {
         return metadataDocument != null && metadataDocument.isValid();
     }
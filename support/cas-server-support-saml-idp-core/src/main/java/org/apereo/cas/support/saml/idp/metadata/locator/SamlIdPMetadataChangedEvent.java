@@ -0,0 +1,23 @@
+package org.apereo.cas.support.saml.idp.metadata.locator;
+
+import org.apereo.cas.support.events.AbstractCasEvent;
+
+import lombok.ToString;
+
+/**
+ * This is {@link SamlIdPMetadataChangedEvent}, published once the metadata,
+ * keys or certificates of the identity provider are generated or replaced
+ * so that components holding on to them may reload.
+ *
+ * @author Misagh Moayyed
+ * @since 6.1.0
+ */
+@ToString(callSuper = true)
+public class SamlIdPMetadataChangedEvent extends AbstractCasEvent {
+
+    private static final long serialVersionUID = 3262185914716455683L;
+
+    public SamlIdPMetadataChangedEvent(final Object source) {
+        super(source);
+    }
+}
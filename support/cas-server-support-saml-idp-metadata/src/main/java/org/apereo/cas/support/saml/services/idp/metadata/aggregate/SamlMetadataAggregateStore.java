@@ -0,0 +1,323 @@
+package org.apereo.cas.support.saml.services.idp.metadata.aggregate;
+
+import org.apereo.cas.configuration.model.support.saml.idp.SamlIdPProperties;
+import org.apereo.cas.configuration.model.support.saml.idp.metadata.SamlMetadataAggregateProperties;
+import org.apereo.cas.configuration.support.Beans;
+import org.apereo.cas.support.saml.InMemoryResourceMetadataResolver;
+import org.apereo.cas.support.saml.OpenSamlConfigBean;
+import org.apereo.cas.support.saml.SamlUtils;
+import org.apereo.cas.util.DigestUtils;
+import org.apereo.cas.util.HttpUtils;
+import org.apereo.cas.util.ResourceUtils;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.Setter;
+import lombok.SneakyThrows;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.concurrent.BasicThreadFactory;
+import org.apache.http.HttpHeaders;
+import org.apache.http.HttpResponse;
+import org.apache.http.HttpStatus;
+import org.opensaml.saml.metadata.resolver.MetadataResolver;
+import org.opensaml.saml.metadata.resolver.filter.MetadataFilter;
+import org.opensaml.saml.metadata.resolver.filter.MetadataFilterChain;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.core.io.FileSystemResource;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * This is {@link SamlMetadataAggregateStore} that loads each configured metadata aggregate once
+ * and shares the resulting metadata resolver with all services whose metadata location points
+ * to the aggregate. Entities are indexed by their entity id once the aggregate is parsed, so
+ * lookups do not walk the aggregate. Aggregates are checked for changes periodically in the background
+ * and are only parsed again if the server or the file system reports a change; until the new copy is
+ * ready, the previous copy continues to be served. A compressed copy of each aggregate may be
+ * kept on disk and is used if the aggregate cannot be fetched. Aggregates whose signature
+ * certificate cannot be located are never loaded.
+ *
+ * @author Misagh Moayyed
+ * @since 6.1.0
+ */
+@Slf4j
+public class SamlMetadataAggregateStore implements DisposableBean {
+    private static final String BACKUP_FILE_EXTENSION = ".xml.gz";
+
+    private final Map<String, Aggregate> aggregates = new ConcurrentHashMap<>();
+
+    private final SamlIdPProperties samlIdPProperties;
+
+    private final OpenSamlConfigBean configBean;
+
+    private final File backupDirectory;
+
+    private final ExecutorService refreshExecutor;
+
+    @SneakyThrows
+    public SamlMetadataAggregateStore(final SamlIdPProperties samlIdPProperties, final OpenSamlConfigBean configBean) {
+        this.samlIdPProperties = samlIdPProperties;
+        this.configBean = configBean;
+        this.refreshExecutor = Executors.newSingleThreadExecutor(
+            new BasicThreadFactory.Builder().namingPattern("saml-metadata-aggregate-refresh-%d").daemon(true).build());
+        this.backupDirectory = new File(samlIdPProperties.getMetadata().getLocation().getFile(), "metadata-backups/aggregates");
+        samlIdPProperties.getMetadata().getAggregates()
+            .stream()
+            .filter(props -> StringUtils.isNotBlank(props.getLocation()))
+            .forEach(props -> aggregates.put(props.getLocation(), new Aggregate(props)));
+    }
+
+    /**
+     * Whether the location points to a known aggregate.
+     *
+     * @param location the metadata location
+     * @return true/false
+     */
+    public boolean contains(final String location) {
+        return StringUtils.isNotBlank(location) && aggregates.containsKey(location);
+    }
+
+    /**
+     * Gets the shared metadata resolver for the aggregate at the given location.
+     * The aggregate is loaded on first access; afterwards, once the refresh interval has passed,
+     * a refresh is scheduled in the background and the current resolver is returned.
+     *
+     * @param location the metadata location
+     * @return the metadata resolver, or null if the aggregate is unknown or cannot be loaded
+     */
+    public MetadataResolver getMetadataResolver(final String location) {
+        val aggregate = aggregates.get(location);
+        if (aggregate == null) {
+            return null;
+        }
+        val current = aggregate.getResolver();
+        if (current != null) {
+            if (aggregate.isRefreshDue()) {
+                refreshInBackground(aggregate);
+            }
+            return current;
+        }
+        aggregate.getLock().lock();
+        try {
+            if (aggregate.getResolver() == null) {
+                refresh(aggregate);
+            }
+            return aggregate.getResolver();
+        } finally {
+            aggregate.getLock().unlock();
+        }
+    }
+
+    @Override
+    public void destroy() {
+        this.refreshExecutor.shutdownNow();
+    }
+
+    private void refreshInBackground(final Aggregate aggregate) {
+        if (!aggregate.getRefreshing().compareAndSet(false, true)) {
+            return;
+        }
+        val location = aggregate.getProperties().getLocation();
+        LOGGER.debug("Refreshing metadata aggregate [{}] in the background", location);
+        try {
+            this.refreshExecutor.execute(() -> {
+                aggregate.getLock().lock();
+                try {
+                    refresh(aggregate);
+                } finally {
+                    aggregate.getLock().unlock();
+                    aggregate.getRefreshing().set(false);
+                }
+            });
+        } catch (final Exception e) {
+            aggregate.getRefreshing().set(false);
+            LOGGER.debug("Unable to schedule refresh of metadata aggregate [{}]: [{}]", location, e.getMessage());
+        }
+    }
+
+    private void refresh(final Aggregate aggregate) {
+        val location = aggregate.getProperties().getLocation();
+        try {
+            val content = fetch(aggregate);
+            if (content == null) {
+                LOGGER.debug("Metadata aggregate [{}] has not changed since it was last loaded", location);
+            } else {
+                aggregate.setResolver(buildMetadataResolver(aggregate, content.getData()));
+                aggregate.setVersion(content.getVersion());
+                LOGGER.info("Loaded metadata aggregate from [{}]", location);
+                backup(aggregate, content.getData());
+            }
+        } catch (final Exception e) {
+            LOGGER.error("Unable to load metadata aggregate from [{}]: [{}]", location, e.getMessage());
+            LOGGER.debug(e.getMessage(), e);
+            if (aggregate.getResolver() == null) {
+                restore(aggregate);
+            }
+        } finally {
+            aggregate.setLastChecked(System.currentTimeMillis());
+        }
+    }
+
+    /**
+     * Fetch the aggregate content, unless it has not changed since it was last loaded.
+     *
+     * @param aggregate the aggregate
+     * @return the content, or null if unchanged
+     * @throws Exception the exception
+     */
+    private static Content fetch(final Aggregate aggregate) throws Exception {
+        val location = aggregate.getProperties().getLocation();
+        if (StringUtils.startsWith(location, "http")) {
+            return fetchFromUrl(aggregate, location);
+        }
+        val resource = ResourceUtils.getResourceFrom(location);
+        if (resource instanceof FileSystemResource) {
+            val lastModified = resource.lastModified();
+            if (aggregate.getResolver() != null && String.valueOf(lastModified).equals(aggregate.getVersion())) {
+                return null;
+            }
+            try (val is = resource.getInputStream()) {
+                return new Content(IOUtils.toByteArray(is), String.valueOf(lastModified));
+            }
+        }
+        try (val is = resource.getInputStream()) {
+            return new Content(IOUtils.toByteArray(is), null);
+        }
+    }
+
+    private static Content fetchFromUrl(final Aggregate aggregate, final String location) throws Exception {
+        val headers = new LinkedHashMap<String, Object>();
+        if (aggregate.getResolver() != null && StringUtils.isNotBlank(aggregate.getVersion())) {
+            if (aggregate.getVersion().startsWith("\"") || aggregate.getVersion().startsWith("W/")) {
+                headers.put(HttpHeaders.IF_NONE_MATCH, aggregate.getVersion());
+            } else {
+                headers.put(HttpHeaders.IF_MODIFIED_SINCE, aggregate.getVersion());
+            }
+        }
+        HttpResponse response = null;
+        try {
+            response = HttpUtils.executeGet(location, new LinkedHashMap<>(), headers);
+            if (response == null) {
+                throw new IllegalStateException("No response was received from " + location);
+            }
+            val status = response.getStatusLine().getStatusCode();
+            if (status == HttpStatus.SC_NOT_MODIFIED) {
+                return null;
+            }
+            if (status < HttpStatus.SC_OK || status >= HttpStatus.SC_MULTIPLE_CHOICES) {
+                throw new IllegalStateException("Unexpected response status " + status + " from " + location);
+            }
+            val etag = response.getFirstHeader(HttpHeaders.ETAG);
+            val lastModified = response.getFirstHeader(HttpHeaders.LAST_MODIFIED);
+            val version = etag != null ? etag.getValue() : lastModified != null ? lastModified.getValue() : null;
+            try (val is = response.getEntity().getContent()) {
+                return new Content(IOUtils.toByteArray(is), version);
+            }
+        } finally {
+            HttpUtils.close(response);
+        }
+    }
+
+    private MetadataResolver buildMetadataResolver(final Aggregate aggregate, final byte[] content) throws Exception {
+        val props = aggregate.getProperties();
+        val md = samlIdPProperties.getMetadata();
+        val resolver = new InMemoryResourceMetadataResolver(new ByteArrayInputStream(content), configBean);
+        resolver.setParserPool(configBean.getParserPool());
+        resolver.setFailFastInitialization(md.isFailFast());
+        resolver.setRequireValidMetadata(md.isRequireValidMetadata());
+        resolver.setId(props.getLocation());
+        if (StringUtils.isNotBlank(props.getSignatureLocation())) {
+            val signatureValidationFilter = SamlUtils.buildSignatureValidationFilter(props.getSignatureLocation());
+            if (signatureValidationFilter == null) {
+                throw new IllegalStateException("Signature of metadata aggregate " + props.getLocation()
+                    + " cannot be verified since " + props.getSignatureLocation() + " cannot be located");
+            }
+            signatureValidationFilter.setRequireSignedRoot(false);
+            val filters = new MetadataFilterChain();
+            val chain = new ArrayList<MetadataFilter>();
+            chain.add(signatureValidationFilter);
+            filters.setFilters(chain);
+            resolver.setMetadataFilter(filters);
+        }
+        resolver.initialize();
+        return resolver;
+    }
+
+    private File getBackupFile(final Aggregate aggregate) {
+        return new File(backupDirectory, DigestUtils.sha256(aggregate.getProperties().getLocation()) + BACKUP_FILE_EXTENSION);
+    }
+
+    private void backup(final Aggregate aggregate, final byte[] content) {
+        if (!aggregate.getProperties().isBackupEnabled()) {
+            return;
+        }
+        val backupFile = getBackupFile(aggregate);
+        try {
+            FileUtils.forceMkdir(backupDirectory);
+            val tempFile = new File(backupDirectory, backupFile.getName() + ".tmp");
+            try (val output = new GZIPOutputStream(Files.newOutputStream(tempFile.toPath()))) {
+                output.write(content);
+            }
+            Files.move(tempFile.toPath(), backupFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            LOGGER.debug("Stored a copy of metadata aggregate [{}] at [{}]", aggregate.getProperties().getLocation(), backupFile);
+        } catch (final Exception e) {
+            LOGGER.warn("Unable to store a copy of metadata aggregate [{}] at [{}]", aggregate.getProperties().getLocation(), backupFile);
+            LOGGER.debug(e.getMessage(), e);
+        }
+    }
+
+    private void restore(final Aggregate aggregate) {
+        val backupFile = getBackupFile(aggregate);
+        if (!aggregate.getProperties().isBackupEnabled() || !backupFile.exists()) {
+            return;
+        }
+        try (val input = new GZIPInputStream(Files.newInputStream(backupFile.toPath()))) {
+            aggregate.setResolver(buildMetadataResolver(aggregate, IOUtils.toByteArray(input)));
+            aggregate.setVersion(null);
+            LOGGER.warn("Loaded metadata aggregate [{}] from the copy stored at [{}]", aggregate.getProperties().getLocation(), backupFile);
+        } catch (final Exception e) {
+            LOGGER.error("Unable to load metadata aggregate [{}] from [{}]", aggregate.getProperties().getLocation(), backupFile);
+            LOGGER.debug(e.getMessage(), e);
+        }
+    }
+
+    @RequiredArgsConstructor
+    @Getter
+    @Setter
+    private static class Aggregate {
+        private final SamlMetadataAggregateProperties properties;
+        private final ReentrantLock lock = new ReentrantLock();
+        private final AtomicBoolean refreshing = new AtomicBoolean();
+        private volatile MetadataResolver resolver;
+        private volatile String version;
+        private volatile long lastChecked;
+
+        boolean isRefreshDue() {
+            return System.currentTimeMillis() - lastChecked >= Beans.newDuration(properties.getRefreshInterval()).toMillis();
+        }
+    }
+
+    @RequiredArgsConstructor
+    @Getter
+    private static class Content {
+        private final byte[] data;
+        private final String version;
+    }
+}
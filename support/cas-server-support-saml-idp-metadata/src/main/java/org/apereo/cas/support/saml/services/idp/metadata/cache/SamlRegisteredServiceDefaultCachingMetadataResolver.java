@@ -2,35 +2,93 @@ package org.apereo.cas.support.saml.services.idp.metadata.cache;
 
 import org.apereo.cas.support.saml.services.SamlRegisteredService;
 
+import com.github.benmanes.caffeine.cache.CacheWriter;
 import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import lombok.val;
+import org.apache.commons.lang3.concurrent.BasicThreadFactory;
 import org.opensaml.saml.metadata.resolver.MetadataResolver;
+import org.springframework.beans.factory.DisposableBean;
+
+import javax.annotation.Nonnull;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 /**
  * An adaptation of metadata resolver which handles the resolution of metadata resources
  * inside a cache. It basically is a fancy wrapper around a cache, and constructs the cache
  * semantics before processing the resolution of metadata for a SAML service.
+ * <p>
+ * When refresh-ahead is enabled, metadata is reloaded in the background once a portion of its cache
+ * lifetime has passed, and the previous resolver is served until the new one is ready. Only if the reload fails
+ * does the last good resolver remain in use past its expiration, for no longer than the maximum staleness.
+ * Reloads run on a small, bounded pool of threads.
  *
  * @author Misagh Moayyed
  * @since 5.0.0
  */
 @Slf4j
-public class SamlRegisteredServiceDefaultCachingMetadataResolver implements SamlRegisteredServiceCachingMetadataResolver {
+public class SamlRegisteredServiceDefaultCachingMetadataResolver implements SamlRegisteredServiceCachingMetadataResolver, DisposableBean {
 
     private static final int MAX_CACHE_SIZE = 10_000;
 
+    private static final long REFRESH_RETRY_INTERVAL_NANOS = TimeUnit.MINUTES.toNanos(1);
+
+    private static final int REFRESH_POOL_SIZE = 4;
+
+    private static final int REFRESH_QUEUE_CAPACITY = 1000;
+
+    private static final String METRIC_NAME_PREFIX = "cas.saml.metadata.";
+
+    private final Map<SamlRegisteredServiceCacheKey, Long> refreshTimes = new ConcurrentHashMap<>();
+
+    private final Map<SamlRegisteredServiceCacheKey, Long> stalenessDeadlines = new ConcurrentHashMap<>();
+
+    private final Set<SamlRegisteredServiceCacheKey> refreshing = ConcurrentHashMap.newKeySet();
+
+    private final Map<String, Long> loadTimes = new ConcurrentHashMap<>();
+
     private final SamlRegisteredServiceMetadataResolverCacheLoader chainingMetadataResolverCacheLoader;
     private final LoadingCache<SamlRegisteredServiceCacheKey, MetadataResolver> cache;
+    private final ExecutorService refreshExecutor;
+    private final double refreshAheadFactor;
+    private final long maximumStalenessNanos;
 
     public SamlRegisteredServiceDefaultCachingMetadataResolver(final long metadataCacheExpirationMinutes,
                                                                final SamlRegisteredServiceMetadataResolverCacheLoader loader) {
+        this(metadataCacheExpirationMinutes, loader, 0, Duration.ZERO);
+    }
+
+    public SamlRegisteredServiceDefaultCachingMetadataResolver(final long metadataCacheExpirationMinutes,
+                                                               final SamlRegisteredServiceMetadataResolverCacheLoader loader,
+                                                               final double refreshAheadFactor,
+                                                               final Duration maximumStaleness) {
         this.chainingMetadataResolverCacheLoader = loader;
+        this.refreshAheadFactor = refreshAheadFactor;
+        this.maximumStalenessNanos = isRefreshAheadEnabled() ? maximumStaleness.toNanos() : 0;
+        val executor = new ThreadPoolExecutor(REFRESH_POOL_SIZE, REFRESH_POOL_SIZE, 1, TimeUnit.MINUTES,
+            new ArrayBlockingQueue<>(REFRESH_QUEUE_CAPACITY),
+            new BasicThreadFactory.Builder().namingPattern("saml-metadata-refresh-%d").daemon(true).build());
+        executor.allowCoreThreadTimeOut(true);
+        this.refreshExecutor = executor;
         this.cache = Caffeine.newBuilder()
             .maximumSize(MAX_CACHE_SIZE)
-            .expireAfter(new SamlRegisteredServiceMetadataExpirationPolicy(metadataCacheExpirationMinutes))
-            .build(this.chainingMetadataResolverCacheLoader);
+            .expireAfter(new RefreshAheadExpirationPolicy(new SamlRegisteredServiceMetadataExpirationPolicy(metadataCacheExpirationMinutes)))
+            .writer(new RefreshTimeCleaner())
+            .build(this::loadMetadataResolver);
     }
 
     @Override
@@ -40,6 +98,129 @@ public class SamlRegisteredServiceDefaultCachingMetadataResolver implements Saml
         LOGGER.trace("Locating cached metadata resolver using key [{}] for service [{}]", k.getId(), service.getName());
         val resolver = this.cache.get(k);
         LOGGER.debug("Loaded and cached SAML metadata [{}] from [{}]", resolver.getId(), service.getMetadataLocation());
+        refreshIfNecessary(k);
         return resolver;
     }
+
+    @Override
+    public void destroy() {
+        this.refreshExecutor.shutdownNow();
+    }
+
+    private boolean isRefreshAheadEnabled() {
+        return this.refreshAheadFactor > 0 && this.refreshAheadFactor < 1;
+    }
+
+    private void refreshIfNecessary(final SamlRegisteredServiceCacheKey key) {
+        val refreshTime = this.refreshTimes.get(key);
+        if (refreshTime == null || System.nanoTime() - refreshTime < 0 || !this.refreshing.add(key)) {
+            return;
+        }
+        val service = key.getRegisteredService();
+        LOGGER.debug("Refreshing SAML metadata for [{}] from [{}] in the background", service.getName(), service.getMetadataLocation());
+        try {
+            this.refreshExecutor.execute(() -> {
+                try {
+                    this.cache.put(key, loadMetadataResolver(key));
+                } catch (final Exception e) {
+                    LOGGER.warn("Unable to refresh SAML metadata for [{}] from [{}]; previously loaded metadata remains in use: [{}]",
+                        service.getName(), service.getMetadataLocation(), e.getMessage());
+                    LOGGER.debug(e.getMessage(), e);
+                    this.refreshTimes.computeIfPresent(key, (k, v) -> System.nanoTime() + REFRESH_RETRY_INTERVAL_NANOS);
+                    extendToStalenessDeadline(key);
+                } finally {
+                    this.refreshing.remove(key);
+                }
+            });
+        } catch (final Exception e) {
+            this.refreshing.remove(key);
+            LOGGER.debug("Unable to schedule refresh of SAML metadata from [{}]: [{}]", service.getMetadataLocation(), e.getMessage());
+        }
+    }
+
+    /**
+     * Keep serving the last good resolver, once its refresh has failed, until its expiration plus the maximum staleness.
+     */
+    private void extendToStalenessDeadline(final SamlRegisteredServiceCacheKey key) {
+        val deadline = this.stalenessDeadlines.get(key);
+        if (deadline == null) {
+            return;
+        }
+        val remaining = deadline - System.nanoTime();
+        if (remaining > 0) {
+            this.cache.policy().expireVariably().ifPresent(expiration -> expiration.setExpiresAfter(key, remaining, TimeUnit.NANOSECONDS));
+        }
+    }
+
+    private MetadataResolver loadMetadataResolver(final SamlRegisteredServiceCacheKey key) throws Exception {
+        val source = key.getRegisteredService().getMetadataLocation();
+        val tags = Tags.of("source", source);
+        val sample = Timer.start(Metrics.globalRegistry);
+        try {
+            val resolver = this.chainingMetadataResolverCacheLoader.load(key);
+            if (this.loadTimes.put(source, System.currentTimeMillis()) == null) {
+                Metrics.gauge(METRIC_NAME_PREFIX + "age", tags, this.loadTimes,
+                    times -> TimeUnit.MILLISECONDS.toSeconds(System.currentTimeMillis() - times.getOrDefault(source, System.currentTimeMillis())));
+            }
+            return resolver;
+        } catch (final Exception e) {
+            Metrics.counter(METRIC_NAME_PREFIX + "load.failure", tags).increment();
+            throw e;
+        } finally {
+            sample.stop(Metrics.timer(METRIC_NAME_PREFIX + "load", tags));
+        }
+    }
+
+    /**
+     * Records when each entry should be refreshed ahead of its expiration,
+     * and until when it may be served if that refresh fails.
+     */
+    @RequiredArgsConstructor
+    private class RefreshAheadExpirationPolicy implements Expiry<SamlRegisteredServiceCacheKey, MetadataResolver> {
+        private final SamlRegisteredServiceMetadataExpirationPolicy policy;
+
+        @Override
+        public long expireAfterCreate(@Nonnull final SamlRegisteredServiceCacheKey key,
+                                      @Nonnull final MetadataResolver resolver, final long currentTime) {
+            val duration = policy.expireAfterCreate(key, resolver, currentTime);
+            if (isRefreshAheadEnabled()) {
+                refreshTimes.put(key, currentTime + (long) (duration * refreshAheadFactor));
+                val lifetime = duration + maximumStalenessNanos;
+                if (lifetime >= 0) {
+                    stalenessDeadlines.put(key, currentTime + lifetime);
+                }
+            }
+            return duration;
+        }
+
+        @Override
+        public long expireAfterUpdate(@Nonnull final SamlRegisteredServiceCacheKey key,
+                                      @Nonnull final MetadataResolver resolver,
+                                      final long currentTime, final long currentDuration) {
+            return expireAfterCreate(key, resolver, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(@Nonnull final SamlRegisteredServiceCacheKey key,
+                                    @Nonnull final MetadataResolver resolver,
+                                    final long currentTime, final long currentDuration) {
+            return policy.expireAfterRead(key, resolver, currentTime, currentDuration);
+        }
+    }
+
+    /**
+     * Forgets refresh times and staleness deadlines of entries as soon as they leave the cache.
+     */
+    private class RefreshTimeCleaner implements CacheWriter<SamlRegisteredServiceCacheKey, MetadataResolver> {
+        @Override
+        public void write(@Nonnull final SamlRegisteredServiceCacheKey key, @Nonnull final MetadataResolver resolver) {
+        }
+
+        @Override
+        public void delete(@Nonnull final SamlRegisteredServiceCacheKey key, final MetadataResolver resolver,
+                           @Nonnull final RemovalCause cause) {
+            refreshTimes.remove(key);
+            stalenessDeadlines.remove(key);
+        }
+    }
 }
@@ -89,6 +89,38 @@ public abstract class BaseSamlRegisteredServiceMetadataResolver implements SamlR
         }
     }
 
+    /**
+     * Whether the metadata location of the service points to a shared metadata aggregate,
+     * which is handled by {@link MetadataAggregateResourceMetadataResolver} instead.
+     * Services that define their own metadata filters are never served from the shared aggregate,
+     * and continue to load the metadata with their filters applied.
+     *
+     * @param service the service
+     * @return true/false
+     */
+    protected boolean isMetadataAggregate(final SamlRegisteredService service) {
+        return !hasMetadataFilters(service) && samlIdPProperties.getMetadata().getAggregates()
+            .stream()
+            .anyMatch(aggregate -> StringUtils.equals(aggregate.getLocation(), service.getMetadataLocation()));
+    }
+
+    /**
+     * Whether the service defines metadata filters of its own, such as signature validation,
+     * maximum validity, entity roles or entity id predicates. The default entity role,
+     * {@code SPSSODescriptor}, is not considered a filter of its own.
+     *
+     * @param service the service
+     * @return true/false
+     */
+    protected static boolean hasMetadataFilters(final SamlRegisteredService service) {
+        return StringUtils.isNotBlank(service.getMetadataSignatureLocation())
+            || service.getMetadataMaxValidity() > 0
+            || (StringUtils.isNotBlank(service.getMetadataCriteriaRoles())
+                && !StringUtils.equalsIgnoreCase(service.getMetadataCriteriaRoles().trim(), SPSSODescriptor.DEFAULT_ELEMENT_LOCAL_NAME))
+            || StringUtils.isNotBlank(service.getMetadataCriteriaDirection())
+            || StringUtils.isNotBlank(service.getMetadataCriteriaPattern());
+    }
+
     /**
      * Build metadata resolver from document.
      *
@@ -64,7 +64,7 @@ public class FileSystemResourceMetadataResolver extends BaseSamlRegisteredServic
         try {
             val metadataLocation = service.getMetadataLocation();
             val metadataResource = ResourceUtils.getResourceFrom(metadataLocation);
-            return metadataResource instanceof FileSystemResource;
+            return metadataResource instanceof FileSystemResource && !isMetadataAggregate(service);
         } catch (final Exception e) {
             LOGGER.trace(e.getMessage(), e);
         }
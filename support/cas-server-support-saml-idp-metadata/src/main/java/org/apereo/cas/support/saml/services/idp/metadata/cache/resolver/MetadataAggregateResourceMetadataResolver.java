@@ -0,0 +1,66 @@
+package org.apereo.cas.support.saml.services.idp.metadata.cache.resolver;
+
+import org.apereo.cas.configuration.model.support.saml.idp.SamlIdPProperties;
+import org.apereo.cas.support.saml.OpenSamlConfigBean;
+import org.apereo.cas.support.saml.services.SamlRegisteredService;
+import org.apereo.cas.support.saml.services.idp.metadata.aggregate.SamlMetadataAggregateStore;
+import org.apereo.cas.util.CollectionUtils;
+
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.opensaml.saml.metadata.resolver.MetadataResolver;
+
+import java.util.ArrayList;
+import java.util.Collection;
+
+/**
+ * This is {@link MetadataAggregateResourceMetadataResolver} that hands out the shared
+ * metadata resolver of a metadata aggregate to every service whose metadata location
+ * points to the aggregate, rather than parsing the aggregate once per service.
+ * Services that define metadata filters of their own are not supported here, since the shared
+ * copy cannot apply them; such services load the metadata through their own resolver instead.
+ *
+ * @author Misagh Moayyed
+ * @since 6.1.0
+ */
+@Slf4j
+public class MetadataAggregateResourceMetadataResolver extends BaseSamlRegisteredServiceMetadataResolver {
+    private final SamlMetadataAggregateStore metadataAggregateStore;
+
+    public MetadataAggregateResourceMetadataResolver(final SamlIdPProperties samlIdPProperties,
+                                                     final OpenSamlConfigBean configBean,
+                                                     final SamlMetadataAggregateStore metadataAggregateStore) {
+        super(samlIdPProperties, configBean);
+        this.metadataAggregateStore = metadataAggregateStore;
+    }
+
+    @Override
+    public Collection<? extends MetadataResolver> resolve(final SamlRegisteredService service) {
+        val metadataLocation = service.getMetadataLocation();
+        LOGGER.debug("Locating shared metadata aggregate [{}] for [{}]", metadataLocation, service.getName());
+        val resolver = metadataAggregateStore.getMetadataResolver(metadataLocation);
+        if (resolver != null) {
+            return CollectionUtils.wrap(resolver);
+        }
+        LOGGER.warn("Metadata aggregate [{}] for [{}] could not be loaded", metadataLocation, service.getName());
+        return new ArrayList<>(0);
+    }
+
+    @Override
+    public boolean supports(final SamlRegisteredService service) {
+        if (!metadataAggregateStore.contains(service.getMetadataLocation())) {
+            return false;
+        }
+        if (hasMetadataFilters(service)) {
+            LOGGER.debug("Service [{}] defines its own metadata filters and will not be served from the shared metadata aggregate [{}]",
+                service.getName(), service.getMetadataLocation());
+            return false;
+        }
+        return true;
+    }
+
+    @Override
+    public boolean isAvailable(final SamlRegisteredService service) {
+        return supports(service) && metadataAggregateStore.getMetadataResolver(service.getMetadataLocation()) != null;
+    }
+}
@@ -201,7 +201,8 @@ public class UrlResourceMetadataResolver extends BaseSamlRegisteredServiceMetada
     public boolean supports(final SamlRegisteredService service) {
         try {
             val metadataLocation = getMetadataLocationForService(service);
-            return StringUtils.isNotBlank(metadataLocation) && StringUtils.startsWith(metadataLocation, "http");
+            return StringUtils.isNotBlank(metadataLocation) && StringUtils.startsWith(metadataLocation, "http")
+                && !isMetadataAggregate(service);
         } catch (final Exception e) {
             LOGGER.trace(e.getMessage(), e);
         }
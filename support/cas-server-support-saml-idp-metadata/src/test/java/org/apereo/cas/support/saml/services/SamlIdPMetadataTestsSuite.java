@@ -1,9 +1,11 @@
 package org.apereo.cas.support.saml.services;
 
+import org.apereo.cas.support.saml.services.idp.metadata.cache.SamlRegisteredServiceDefaultCachingMetadataResolverTests;
 import org.apereo.cas.support.saml.services.idp.metadata.cache.resolver.ClasspathResourceMetadataResolverTests;
 import org.apereo.cas.support.saml.services.idp.metadata.cache.resolver.DynamicResourceMetadataResolverTests;
 import org.apereo.cas.support.saml.services.idp.metadata.cache.resolver.GroovyResourceMetadataResolverTests;
 import org.apereo.cas.support.saml.services.idp.metadata.cache.resolver.JsonResourceMetadataResolverTests;
+import org.apereo.cas.support.saml.services.idp.metadata.cache.resolver.MetadataAggregateResourceMetadataResolverTests;
 import org.apereo.cas.support.saml.services.idp.metadata.cache.resolver.UrlResourceMetadataResolverTests;
 
 import org.junit.runner.RunWith;
@@ -22,7 +24,9 @@ import org.junit.runners.Suite;
     DynamicResourceMetadataResolverTests.class,
     GroovyResourceMetadataResolverTests.class,
     UrlResourceMetadataResolverTests.class,
-    JsonResourceMetadataResolverTests.class
+    JsonResourceMetadataResolverTests.class,
+    SamlRegisteredServiceDefaultCachingMetadataResolverTests.class,
+    MetadataAggregateResourceMetadataResolverTests.class
 })
 public class SamlIdPMetadataTestsSuite {
 }
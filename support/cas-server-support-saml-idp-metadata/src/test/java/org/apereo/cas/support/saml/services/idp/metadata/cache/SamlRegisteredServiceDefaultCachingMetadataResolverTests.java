@@ -0,0 +1,104 @@
+package org.apereo.cas.support.saml.services.idp.metadata.cache;
+
+import org.apereo.cas.support.saml.services.SamlRegisteredService;
+
+import lombok.SneakyThrows;
+import lombok.val;
+import org.junit.After;
+import org.junit.Test;
+import org.opensaml.saml.metadata.resolver.ChainingMetadataResolver;
+import org.opensaml.saml.metadata.resolver.MetadataResolver;
+
+import java.time.Duration;
+
+import static org.junit.Assert.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * This is {@link SamlRegisteredServiceDefaultCachingMetadataResolverTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 6.1.0
+ */
+public class SamlRegisteredServiceDefaultCachingMetadataResolverTests {
+    private SamlRegisteredServiceDefaultCachingMetadataResolver resolver;
+
+    @After
+    public void tearDown() {
+        if (resolver != null) {
+            resolver.destroy();
+        }
+    }
+
+    @Test
+    public void verifyStaleMetadataIsServedWhileRefreshing() {
+        val first = mock(ChainingMetadataResolver.class);
+        val second = mock(ChainingMetadataResolver.class);
+        val loader = mock(SamlRegisteredServiceMetadataResolverCacheLoader.class);
+        when(loader.load(any())).thenReturn(first, second);
+        resolver = new SamlRegisteredServiceDefaultCachingMetadataResolver(60, loader, 0.5, Duration.ofHours(1));
+
+        val service = getSamlRegisteredService();
+        assertSame(first, resolver.resolve(service));
+        sleep(600);
+        assertSame(first, resolver.resolve(service));
+        assertSame(second, awaitResolverOtherThan(service, first));
+        verify(loader, times(2)).load(any());
+    }
+
+    @Test
+    public void verifyFailedRefreshKeepsLastGoodMetadata() {
+        val first = mock(ChainingMetadataResolver.class);
+        val loader = mock(SamlRegisteredServiceMetadataResolverCacheLoader.class);
+        when(loader.load(any())).thenReturn(first).thenThrow(new IllegalStateException("Metadata is unavailable"));
+        resolver = new SamlRegisteredServiceDefaultCachingMetadataResolver(60, loader, 0.5, Duration.ofHours(1));
+
+        val service = getSamlRegisteredService();
+        assertSame(first, resolver.resolve(service));
+        sleep(600);
+        assertSame(first, resolver.resolve(service));
+        verify(loader, timeout(5000).times(2)).load(any());
+        sleep(600);
+        assertSame(first, resolver.resolve(service));
+    }
+
+    @Test
+    public void verifyMetadataIsNotServedPastExpirationUnlessRefreshFails() {
+        val first = mock(ChainingMetadataResolver.class);
+        val second = mock(ChainingMetadataResolver.class);
+        val loader = mock(SamlRegisteredServiceMetadataResolverCacheLoader.class);
+        when(loader.load(any())).thenReturn(first, second);
+        resolver = new SamlRegisteredServiceDefaultCachingMetadataResolver(60, loader, 0.5, Duration.ofHours(1));
+
+        val service = getSamlRegisteredService();
+        assertSame(first, resolver.resolve(service));
+        sleep(1200);
+        assertSame(second, resolver.resolve(service));
+        verify(loader, times(2)).load(any());
+    }
+
+    private MetadataResolver awaitResolverOtherThan(final SamlRegisteredService service, final MetadataResolver current) {
+        val deadline = System.currentTimeMillis() + 5000;
+        var result = resolver.resolve(service);
+        while (result == current && System.currentTimeMillis() < deadline) {
+            sleep(50);
+            result = resolver.resolve(service);
+        }
+        return result;
+    }
+
+    private static SamlRegisteredService getSamlRegisteredService() {
+        val service = new SamlRegisteredService();
+        service.setName("Example");
+        service.setServiceId("https://sp.example.org");
+        service.setMetadataLocation("https://sp.example.org/metadata");
+        service.setMetadataExpirationDuration("PT1S");
+        return service;
+    }
+
+    @SneakyThrows
+    private static void sleep(final long millis) {
+        Thread.sleep(millis);
+    }
+}
@@ -0,0 +1,143 @@
+package org.apereo.cas.support.saml.services.idp.metadata.cache.resolver;
+
+import org.apereo.cas.configuration.model.support.saml.idp.SamlIdPProperties;
+import org.apereo.cas.configuration.model.support.saml.idp.metadata.SamlMetadataAggregateProperties;
+import org.apereo.cas.support.saml.services.BaseSamlIdPServicesTests;
+import org.apereo.cas.support.saml.services.SamlRegisteredService;
+import org.apereo.cas.support.saml.services.idp.metadata.aggregate.SamlMetadataAggregateStore;
+
+import lombok.SneakyThrows;
+import lombok.val;
+import net.shibboleth.utilities.java.support.resolver.CriteriaSet;
+import org.apache.commons.io.FileUtils;
+import org.junit.Test;
+import org.opensaml.core.criterion.EntityIdCriterion;
+import org.springframework.core.io.FileSystemResource;
+
+import static org.junit.Assert.*;
+
+/**
+ * This is {@link MetadataAggregateResourceMetadataResolverTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 6.1.0
+ */
+public class MetadataAggregateResourceMetadataResolverTests extends BaseSamlIdPServicesTests {
+    private static final String AGGREGATE_LOCATION = "classpath:sample-sp.xml";
+
+    private SamlIdPProperties getSamlIdPProperties() {
+        val props = new SamlIdPProperties();
+        props.getMetadata().setLocation(new FileSystemResource(FileUtils.getTempDirectory()));
+        val aggregate = new SamlMetadataAggregateProperties();
+        aggregate.setLocation(AGGREGATE_LOCATION);
+        aggregate.setBackupEnabled(false);
+        props.getMetadata().getAggregates().add(aggregate);
+        return props;
+    }
+
+    @Test
+    public void verifyResolverSupports() {
+        val props = getSamlIdPProperties();
+        val resolver = new MetadataAggregateResourceMetadataResolver(props, openSamlConfigBean,
+            new SamlMetadataAggregateStore(props, openSamlConfigBean));
+        val service = new SamlRegisteredService();
+        service.setMetadataLocation("classpath:metadata/testshib-providers.xml");
+        assertFalse(resolver.supports(service));
+        service.setMetadataLocation(AGGREGATE_LOCATION);
+        assertTrue(resolver.supports(service));
+    }
+
+    @Test
+    public void verifyServicesWithMetadataFiltersAreNotServedFromAggregate() {
+        val props = getSamlIdPProperties();
+        val resolver = new MetadataAggregateResourceMetadataResolver(props, openSamlConfigBean,
+            new SamlMetadataAggregateStore(props, openSamlConfigBean));
+
+        val service = new SamlRegisteredService();
+        service.setMetadataLocation(AGGREGATE_LOCATION);
+        service.setMetadataSignatureLocation("classpath:inc-md-pub.pem");
+        assertFalse(resolver.supports(service));
+
+        service.setMetadataSignatureLocation(null);
+        service.setMetadataMaxValidity(3600);
+        assertFalse(resolver.supports(service));
+
+        service.setMetadataMaxValidity(0);
+        service.setMetadataCriteriaDirection("INCLUDE");
+        service.setMetadataCriteriaPattern("https://.+\\.osu\\.edu/.*");
+        assertFalse(resolver.supports(service));
+
+        service.setMetadataCriteriaDirection(null);
+        service.setMetadataCriteriaPattern(null);
+        service.setMetadataCriteriaRoles("SPSSODescriptor,IDPSSODescriptor");
+        assertFalse(resolver.supports(service));
+
+        service.setMetadataCriteriaRoles("SPSSODescriptor");
+        assertTrue(resolver.supports(service));
+    }
+
+    @Test
+    public void verifyDefaultServiceIsServedFromAggregate() {
+        val props = getSamlIdPProperties();
+        val store = new SamlMetadataAggregateStore(props, openSamlConfigBean);
+        val resolver = new MetadataAggregateResourceMetadataResolver(props, openSamlConfigBean, store);
+
+        val service = new SamlRegisteredService();
+        service.setName("DefaultService");
+        service.setId(3000);
+        service.setMetadataLocation(AGGREGATE_LOCATION);
+        assertTrue(resolver.supports(service));
+
+        val results = resolver.resolve(service);
+        assertEquals(1, results.size());
+        assertSame(store.getMetadataResolver(AGGREGATE_LOCATION), results.iterator().next());
+    }
+
+    @Test
+    public void verifyAggregateIsNotLoadedWhenSignatureCannotBeLocated() {
+        val props = getSamlIdPProperties();
+        props.getMetadata().getAggregates().get(0).setSignatureLocation("classpath:does-not-exist.crt");
+        val store = new SamlMetadataAggregateStore(props, openSamlConfigBean);
+        assertNull(store.getMetadataResolver(AGGREGATE_LOCATION));
+    }
+
+    @Test
+    public void verifyAggregateIsRefreshedInTheBackground() {
+        val props = getSamlIdPProperties();
+        props.getMetadata().getAggregates().get(0).setRefreshInterval("PT0S");
+        val store = new SamlMetadataAggregateStore(props, openSamlConfigBean);
+        try {
+            val resolver = store.getMetadataResolver(AGGREGATE_LOCATION);
+            assertNotNull(resolver);
+            assertNotNull(store.getMetadataResolver(AGGREGATE_LOCATION));
+        } finally {
+            store.destroy();
+        }
+    }
+
+    @Test
+    @SneakyThrows
+    public void verifyAggregateIsSharedAcrossServices() {
+        val props = getSamlIdPProperties();
+        val resolver = new MetadataAggregateResourceMetadataResolver(props, openSamlConfigBean,
+            new SamlMetadataAggregateStore(props, openSamlConfigBean));
+
+        val service1 = new SamlRegisteredService();
+        service1.setName("Service1");
+        service1.setId(1000);
+        service1.setMetadataLocation(AGGREGATE_LOCATION);
+        val service2 = new SamlRegisteredService();
+        service2.setName("Service2");
+        service2.setId(2000);
+        service2.setMetadataLocation(AGGREGATE_LOCATION);
+
+        val results1 = resolver.resolve(service1);
+        val results2 = resolver.resolve(service2);
+        assertEquals(1, results1.size());
+        assertSame(results1.iterator().next(), results2.iterator().next());
+
+        val entity = results1.iterator().next().resolveSingle(
+            new CriteriaSet(new EntityIdCriterion("https://carmenwiki.osu.edu/shibboleth")));
+        assertNotNull(entity);
+    }
+}
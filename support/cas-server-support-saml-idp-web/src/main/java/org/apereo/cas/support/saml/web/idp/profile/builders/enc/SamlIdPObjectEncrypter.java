@@ -6,6 +6,8 @@ import org.apereo.cas.support.saml.services.SamlRegisteredService;
 import org.apereo.cas.support.saml.services.idp.metadata.SamlRegisteredServiceServiceProviderMetadataFacade;
 import org.apereo.cas.util.EncodingUtils;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import lombok.RequiredArgsConstructor;
 import lombok.SneakyThrows;
 import lombok.extern.slf4j.Slf4j;
@@ -20,6 +22,7 @@ import org.opensaml.saml.saml2.core.EncryptedAttribute;
 import org.opensaml.saml.saml2.core.EncryptedID;
 import org.opensaml.saml.saml2.core.NameID;
 import org.opensaml.saml.saml2.encryption.Encrypter;
+import org.opensaml.saml.saml2.metadata.RoleDescriptor;
 import org.opensaml.saml.saml2.metadata.SPSSODescriptor;
 import org.opensaml.saml.security.impl.MetadataCredentialResolver;
 import org.opensaml.security.credential.Credential;
@@ -42,6 +45,8 @@ import java.util.ArrayList;
 
 /**
  * This is {@link SamlIdPObjectEncrypter}.
+ * Key encryption credentials are cached per service provider metadata descriptor,
+ * and are resolved again once the service provider metadata is refreshed.
  *
  * @author Misagh Moayyed
  * @since 5.0.0
@@ -50,8 +55,15 @@ import java.util.ArrayList;
 @RequiredArgsConstructor
 public class SamlIdPObjectEncrypter {
 
+    private static final int CACHE_MAXIMUM_SIZE = 1_000;
+
     private final SamlIdPProperties samlIdPProperties;
 
+    private final Cache<RoleDescriptor, Credential> keyEncryptionCredentialCache = Caffeine.newBuilder()
+        .weakKeys()
+        .maximumSize(CACHE_MAXIMUM_SIZE)
+        .build();
+
     /**
      * Encode a given saml object by invoking a number of outbound security handlers on the context.
      *
@@ -115,7 +127,8 @@ public class SamlIdPObjectEncrypter {
         val className = samlObject.getClass().getName();
         val entityId = adaptor.getEntityId();
         LOGGER.debug("Attempting to encrypt [{}] for [{}]", className, entityId);
-        val credential = getKeyEncryptionCredential(entityId, adaptor, service);
+        val credential = keyEncryptionCredentialCache.get(adaptor.getSsoDescriptor(),
+            k -> resolveKeyEncryptionCredential(entityId, adaptor, service));
         LOGGER.info("Found encryption public key: [{}]", EncodingUtils.encodeBase64(credential.getPublicKey().getEncoded()));
 
         val keyEncParams = getKeyEncryptionParameters(samlObject, service, adaptor, credential);
@@ -130,6 +143,14 @@ public class SamlIdPObjectEncrypter {
         return encrypter;
     }
 
+    @SneakyThrows
+    private Credential resolveKeyEncryptionCredential(final String peerEntityId,
+                                                      final SamlRegisteredServiceServiceProviderMetadataFacade adaptor,
+                                                      final SamlRegisteredService service) {
+        LOGGER.trace("Resolving key encryption credential for [{}]", peerEntityId);
+        return getKeyEncryptionCredential(peerEntityId, adaptor, service);
+    }
+
     /**
      * Gets encrypter.
      *
@@ -5,6 +5,7 @@ import org.apereo.cas.configuration.model.support.saml.idp.SamlIdPResponseProper
 import org.apereo.cas.support.saml.SamlException;
 import org.apereo.cas.support.saml.SamlIdPUtils;
 import org.apereo.cas.support.saml.SamlUtils;
+import org.apereo.cas.support.saml.idp.metadata.locator.SamlIdPMetadataChangedEvent;
 import org.apereo.cas.support.saml.idp.metadata.locator.SamlIdPMetadataLocator;
 import org.apereo.cas.support.saml.services.SamlRegisteredService;
 import org.apereo.cas.support.saml.services.idp.metadata.SamlRegisteredServiceServiceProviderMetadataFacade;
@@ -13,6 +14,8 @@ import org.apereo.cas.util.RegexUtils;
 import org.apereo.cas.util.crypto.CertUtils;
 import org.apereo.cas.util.crypto.PrivateKeyFactoryBean;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import com.google.common.collect.Sets;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
@@ -47,15 +50,21 @@ import org.opensaml.xmlsec.SignatureSigningParameters;
 import org.opensaml.xmlsec.config.impl.DefaultSecurityConfigurationBootstrap;
 import org.opensaml.xmlsec.context.SecurityParametersContext;
 import org.opensaml.xmlsec.criterion.SignatureSigningConfigurationCriterion;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.io.Resource;
 
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import java.security.PrivateKey;
 import java.util.ArrayList;
+import java.util.List;
 import java.util.regex.Pattern;
 
 /**
  * This is {@link SamlIdPObjectSigner}.
+ * The signing private key and the resolved signing credentials provided by the {@link SamlIdPMetadataLocator}
+ * are cached, and are only parsed and resolved again once a {@link SamlIdPMetadataChangedEvent} is received,
+ * or once a file-backed key, certificate or metadata resource is changed on disk.
  *
  * @author Misagh Moayyed
  * @since 5.0.0
@@ -63,12 +72,22 @@ import java.util.regex.Pattern;
 @Slf4j
 @RequiredArgsConstructor
 public class SamlIdPObjectSigner {
+    private static final int CACHE_MAXIMUM_SIZE = 100;
+
     private final MetadataResolver casSamlIdPMetadataResolver;
 
     private final CasConfigurationProperties casProperties;
 
     private final SamlIdPMetadataLocator samlIdPMetadataLocator;
 
+    private final Cache<String, PrivateKey> signingPrivateKeyCache = Caffeine.newBuilder()
+        .maximumSize(CACHE_MAXIMUM_SIZE)
+        .build();
+
+    private final Cache<String, List<Credential>> signingCredentialsCache = Caffeine.newBuilder()
+        .maximumSize(CACHE_MAXIMUM_SIZE)
+        .build();
+
     /**
      * Encode a given saml object by invoking a number of outbound security handlers on the context.
      *
@@ -255,6 +274,33 @@ public class SamlIdPObjectSigner {
         LOGGER.trace("Signature signing whitelisted algorithms: [{}]", config.getWhitelistedAlgorithms());
         LOGGER.trace("Signature signing reference digest methods: [{}]", config.getSignatureReferenceDigestMethods());
 
+        val cacheKey = getSigningCredentialsCacheKey(service);
+        val creds = signingCredentialsCache.get(cacheKey, k -> {
+            LOGGER.trace("Resolving signature signing credentials for [{}]", k);
+            val resolved = resolveSigningCredentials(config, service);
+            return resolved.isEmpty() ? null : List.copyOf(resolved);
+        });
+
+        if (creds == null) {
+            LOGGER.error("Unable to locate any signing credentials for service [{}]", service.getName());
+            throw new IllegalArgumentException("Unable to locate signing credentials");
+        }
+
+        config.setSigningCredentials(creds);
+        LOGGER.trace("Signature signing credentials configured with [{}] credentials", creds.size());
+        return config;
+    }
+
+    /**
+     * Resolve signing credentials for the service.
+     *
+     * @param config  the signature signing configuration
+     * @param service the service
+     * @return the signing credentials
+     */
+    @SneakyThrows
+    protected List<Credential> resolveSigningCredentials(final SignatureSigningConfiguration config,
+                                                         final SamlRegisteredService service) {
         val privateKey = getSigningPrivateKey();
         val idp = casProperties.getAuthn().getSamlIdp();
 
@@ -280,24 +326,13 @@ public class SamlIdPObjectSigner {
                 }
             }
         });
-
-        if (creds.isEmpty()) {
-            LOGGER.error("Unable to locate any signing credentials for service [{}]", service.getName());
-            throw new IllegalArgumentException("Unable to locate signing credentials");
-        }
-
-        config.setSigningCredentials(creds);
-        LOGGER.trace("Signature signing credentials configured with [{}] credentials", creds.size());
-        return config;
+        return creds;
     }
 
     private AbstractCredential getResolvedSigningCredential(final Credential c, final PrivateKey privateKey,
                                                             final SamlRegisteredService service) {
-        val samlIdp = casProperties.getAuthn().getSamlIdp();
-
         try {
-            val credType = SamlIdPResponseProperties.SignatureCredentialTypes.valueOf(
-                StringUtils.defaultIfBlank(service.getSigningCredentialType(), samlIdp.getResponse().getCredentialType().name()).toUpperCase());
+            val credType = SamlIdPResponseProperties.SignatureCredentialTypes.valueOf(getSigningCredentialType(service));
             LOGGER.trace("Requested credential type [{}] is found for service [{}]", credType, service.getName());
 
             switch (credType) {
@@ -325,6 +360,33 @@ public class SamlIdPObjectSigner {
         return null;
     }
 
+    private String getSigningCredentialType(final SamlRegisteredService service) {
+        val samlIdp = casProperties.getAuthn().getSamlIdp();
+        return StringUtils.defaultIfBlank(service.getSigningCredentialType(), samlIdp.getResponse().getCredentialType().name()).toUpperCase();
+    }
+
+    private String getSigningCredentialsCacheKey(final SamlRegisteredService service) {
+        return String.join("|",
+            getResourceFingerprint(samlIdPMetadataLocator.getSigningKey()),
+            getResourceFingerprint(samlIdPMetadataLocator.getSigningCertificate()),
+            getResourceFingerprint(samlIdPMetadataLocator.getMetadata()),
+            getSigningCredentialType(service),
+            StringUtils.defaultString(service.getSigningCredentialFingerprint()));
+    }
+
+    /**
+     * Files are fingerprinted by their location, size and last modification date.
+     * Other resources are not fingerprinted, and are only reloaded once a {@link SamlIdPMetadataChangedEvent} is received.
+     */
+    @SneakyThrows
+    private static String getResourceFingerprint(final Resource resource) {
+        if (resource == null || !resource.isFile()) {
+            return StringUtils.EMPTY;
+        }
+        val file = resource.getFile();
+        return file.getCanonicalPath() + ':' + file.lastModified() + ':' + file.length();
+    }
+
     private static boolean doesCredentialFingerprintMatch(final AbstractCredential credential, final SamlRegisteredService samlRegisteredService) {
         val fingerprint = samlRegisteredService.getSigningCredentialFingerprint();
         if (StringUtils.isNotBlank(fingerprint)) {
@@ -350,6 +412,31 @@ public class SamlIdPObjectSigner {
      * @throws Exception the exception
      */
     protected PrivateKey getSigningPrivateKey() throws Exception {
+        val cacheKey = getResourceFingerprint(samlIdPMetadataLocator.getSigningKey());
+        return signingPrivateKeyCache.get(cacheKey, k -> loadSigningPrivateKey());
+    }
+
+    /**
+     * Invalidate the cached signing key and credentials.
+     */
+    public void invalidate() {
+        LOGGER.trace("Removing all cached signing keys and credentials");
+        signingPrivateKeyCache.invalidateAll();
+        signingCredentialsCache.invalidateAll();
+    }
+
+    /**
+     * Handle saml idp metadata changed event.
+     *
+     * @param event the event
+     */
+    @EventListener
+    public void handleSamlIdPMetadataChangedEvent(final SamlIdPMetadataChangedEvent event) {
+        invalidate();
+    }
+
+    @SneakyThrows
+    private PrivateKey loadSigningPrivateKey() {
         val samlIdp = casProperties.getAuthn().getSamlIdp();
         val signingKey = samlIdPMetadataLocator.getSigningKey();
         val privateKeyFactoryBean = new PrivateKeyFactoryBean();
@@ -11,6 +11,7 @@ import org.apereo.cas.configuration.CasConfigurationProperties;
 import org.apereo.cas.logout.LogoutExecutionPlan;
 import org.apereo.cas.logout.LogoutExecutionPlanConfigurer;
 import org.apereo.cas.logout.slo.SingleLogoutMessageCreator;
+import org.apereo.cas.logout.slo.SingleLogoutMessageDispatcher;
 import org.apereo.cas.logout.slo.SingleLogoutServiceLogoutUrlBuilder;
 import org.apereo.cas.logout.slo.SingleLogoutServiceMessageHandler;
 import org.apereo.cas.services.ServicesManager;
@@ -139,6 +140,10 @@ public class SamlIdPConfiguration implements AuditTrailRecordResolutionPlanConfi
     @Qualifier("noRedirectHttpClient")
     private ObjectProvider<HttpClient> httpClient;
 
+    @Autowired
+    @Qualifier("singleLogoutMessageDispatcher")
+    private ObjectProvider<SingleLogoutMessageDispatcher> singleLogoutMessageDispatcher;
+
     @Autowired
     @Qualifier("authenticationServiceSelectionPlan")
     private ObjectProvider<AuthenticationServiceSelectionPlan> authenticationServiceSelectionPlan;
@@ -165,7 +170,7 @@ public class SamlIdPConfiguration implements AuditTrailRecordResolutionPlanConfi
     @ConditionalOnMissingBean(name = "samlSingleLogoutServiceMessageHandler")
     @Bean
     public SingleLogoutServiceMessageHandler samlSingleLogoutServiceMessageHandler() {
-        return new SamlIdPSingleLogoutServiceMessageHandler(httpClient.getIfAvailable(),
+        val handler = new SamlIdPSingleLogoutServiceMessageHandler(httpClient.getIfAvailable(),
             samlLogoutBuilder(),
             servicesManager.getIfAvailable(),
             samlSingleLogoutServiceLogoutUrlBuilder(),
@@ -173,6 +178,8 @@ public class SamlIdPConfiguration implements AuditTrailRecordResolutionPlanConfi
             authenticationServiceSelectionPlan.getIfAvailable(),
             defaultSamlRegisteredServiceCachingMetadataResolver.getIfAvailable(),
             velocityEngineFactory.getIfAvailable());
+        handler.setSingleLogoutMessageDispatcher(singleLogoutMessageDispatcher.getIfAvailable());
+        return handler;
     }
 
     @ConditionalOnMissingBean(name = "samlProfileSamlResponseBuilder")
@@ -1,6 +1,7 @@
 package org.apereo.cas.config;
 
 import org.apereo.cas.configuration.CasConfigurationProperties;
+import org.apereo.cas.configuration.support.Beans;
 import org.apereo.cas.services.ServicesManager;
 import org.apereo.cas.support.saml.InMemoryResourceMetadataResolver;
 import org.apereo.cas.support.saml.OpenSamlConfigBean;
@@ -11,6 +12,7 @@ import org.apereo.cas.support.saml.idp.metadata.locator.SamlIdPMetadataLocator;
 import org.apereo.cas.support.saml.idp.metadata.writer.DefaultSamlIdPCertificateAndKeyWriter;
 import org.apereo.cas.support.saml.idp.metadata.writer.SamlIdPCertificateAndKeyWriter;
 import org.apereo.cas.support.saml.services.idp.metadata.SamlRegisteredServiceMetadataHealthIndicator;
+import org.apereo.cas.support.saml.services.idp.metadata.aggregate.SamlMetadataAggregateStore;
 import org.apereo.cas.support.saml.services.idp.metadata.cache.SamlRegisteredServiceCachingMetadataResolver;
 import org.apereo.cas.support.saml.services.idp.metadata.cache.SamlRegisteredServiceDefaultCachingMetadataResolver;
 import org.apereo.cas.support.saml.services.idp.metadata.cache.SamlRegisteredServiceMetadataResolverCacheLoader;
@@ -18,6 +20,7 @@ import org.apereo.cas.support.saml.services.idp.metadata.cache.resolver.Classpat
 import org.apereo.cas.support.saml.services.idp.metadata.cache.resolver.FileSystemResourceMetadataResolver;
 import org.apereo.cas.support.saml.services.idp.metadata.cache.resolver.GroovyResourceMetadataResolver;
 import org.apereo.cas.support.saml.services.idp.metadata.cache.resolver.JsonResourceMetadataResolver;
+import org.apereo.cas.support.saml.services.idp.metadata.cache.resolver.MetadataAggregateResourceMetadataResolver;
 import org.apereo.cas.support.saml.services.idp.metadata.cache.resolver.MetadataQueryProtocolMetadataResolver;
 import org.apereo.cas.support.saml.services.idp.metadata.cache.resolver.UrlResourceMetadataResolver;
 import org.apereo.cas.support.saml.services.idp.metadata.plan.DefaultSamlRegisteredServiceMetadataResolutionPlan;
@@ -141,6 +144,13 @@ public class SamlIdPMetadataConfiguration {
             samlRegisteredServiceMetadataResolvers());
     }
 
+    @ConditionalOnMissingBean(name = "samlMetadataAggregateStore")
+    @Bean
+    @RefreshScope
+    public SamlMetadataAggregateStore samlMetadataAggregateStore() {
+        return new SamlMetadataAggregateStore(casProperties.getAuthn().getSamlIdp(), openSamlConfigBean.getIfAvailable());
+    }
+
     @ConditionalOnMissingBean(name = "samlRegisteredServiceMetadataResolvers")
     @Bean
     public SamlRegisteredServiceMetadataResolutionPlan samlRegisteredServiceMetadataResolvers() {
@@ -148,6 +158,7 @@ public class SamlIdPMetadataConfiguration {
 
         val samlIdp = casProperties.getAuthn().getSamlIdp();
         val cfgBean = openSamlConfigBean.getIfAvailable();
+        plan.registerMetadataResolver(new MetadataAggregateResourceMetadataResolver(samlIdp, cfgBean, samlMetadataAggregateStore()));
         plan.registerMetadataResolver(new MetadataQueryProtocolMetadataResolver(samlIdp, cfgBean));
         plan.registerMetadataResolver(new JsonResourceMetadataResolver(samlIdp, cfgBean));
         plan.registerMetadataResolver(new FileSystemResourceMetadataResolver(samlIdp, cfgBean));
@@ -169,9 +180,12 @@ public class SamlIdPMetadataConfiguration {
     @Bean
     @RefreshScope
     public SamlRegisteredServiceCachingMetadataResolver defaultSamlRegisteredServiceCachingMetadataResolver() {
+        val metadata = casProperties.getAuthn().getSamlIdp().getMetadata();
         return new SamlRegisteredServiceDefaultCachingMetadataResolver(
-            casProperties.getAuthn().getSamlIdp().getMetadata().getCacheExpirationMinutes(),
-            chainingMetadataResolverCacheLoader()
+            metadata.getCacheExpirationMinutes(),
+            chainingMetadataResolverCacheLoader(),
+            metadata.getCacheRefreshAheadFactor(),
+            Beans.newDuration(metadata.getCacheMaximumStaleness())
         );
     }
 
@@ -12,6 +12,8 @@ import org.apereo.cas.support.saml.services.logout.SamlIdPSingleLogoutServiceLog
 import org.apereo.cas.support.saml.services.logout.SamlProfileSingleLogoutMessageCreatorTests;
 import org.apereo.cas.support.saml.util.SamlIdPUtilsTests;
 import org.apereo.cas.support.saml.web.idp.profile.builders.attr.SamlProfileSamlRegisteredServiceAttributeBuilderTests;
+import org.apereo.cas.support.saml.web.idp.profile.builders.enc.SamlIdPObjectEncrypterTests;
+import org.apereo.cas.support.saml.web.idp.profile.builders.enc.SamlIdPObjectSignerTests;
 import org.apereo.cas.support.saml.web.idp.profile.builders.enc.SamlObjectSignatureValidatorTests;
 import org.apereo.cas.support.saml.web.idp.profile.builders.nameid.SamlProfileSamlNameIdBuilderTests;
 import org.apereo.cas.support.saml.web.idp.profile.builders.response.SamlProfileSaml2ResponseBuilderTests;
@@ -41,7 +43,9 @@ import org.junit.runners.Suite;
     SamlRegisteredServiceJpaPostgresTests.class,
     SamlIdPUtilsTests.class,
     SamlObjectSignatureValidatorTests.class,
-    SamlProfileSaml2ResponseBuilderTests.class
+    SamlProfileSaml2ResponseBuilderTests.class,
+    SamlIdPObjectSignerTests.class,
+    SamlIdPObjectEncrypterTests.class
 })
 public class AllTestsSuite {
 }
@@ -0,0 +1,56 @@
+package org.apereo.cas.support.saml.web.idp.profile.builders.enc;
+
+import org.apereo.cas.category.FileSystemCategory;
+import org.apereo.cas.support.saml.BaseSamlIdPConfigurationTests;
+import org.apereo.cas.support.saml.services.idp.metadata.SamlRegisteredServiceServiceProviderMetadataFacade;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import lombok.val;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.opensaml.saml.saml2.core.NameID;
+import org.opensaml.saml.saml2.core.impl.NameIDBuilder;
+import org.opensaml.saml.saml2.metadata.RoleDescriptor;
+import org.opensaml.security.credential.Credential;
+import org.springframework.test.util.AopTestUtils;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.junit.Assert.*;
+
+/**
+ * This is {@link SamlIdPObjectEncrypterTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 6.1.0
+ */
+@Category(FileSystemCategory.class)
+public class SamlIdPObjectEncrypterTests extends BaseSamlIdPConfigurationTests {
+    @Test
+    public void verifyKeyEncryptionCredentialIsCachedPerServiceProvider() {
+        val service = getSamlRegisteredServiceForTestShib(false, false, true);
+        val adaptor = SamlRegisteredServiceServiceProviderMetadataFacade.get(samlRegisteredServiceCachingMetadataResolver,
+            service, service.getServiceId()).get();
+
+        assertNotNull(samlIdPObjectEncrypter.encode(newNameID(), service, adaptor));
+        val cache = getKeyEncryptionCredentialCache();
+        val credential = cache.getIfPresent(adaptor.getSsoDescriptor());
+        assertNotNull(credential);
+
+        assertNotNull(samlIdPObjectEncrypter.encode(newNameID(), service, adaptor));
+        assertSame(credential, cache.getIfPresent(adaptor.getSsoDescriptor()));
+        assertEquals(1, cache.asMap().size());
+    }
+
+    private static NameID newNameID() {
+        val nameId = new NameIDBuilder().buildObject();
+        nameId.setValue("casuser");
+        nameId.setFormat(NameID.UNSPECIFIED);
+        return nameId;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Cache<RoleDescriptor, Credential> getKeyEncryptionCredentialCache() {
+        val target = AopTestUtils.getTargetObject(samlIdPObjectEncrypter);
+        return (Cache<RoleDescriptor, Credential>) ReflectionTestUtils.getField(target, "keyEncryptionCredentialCache");
+    }
+}
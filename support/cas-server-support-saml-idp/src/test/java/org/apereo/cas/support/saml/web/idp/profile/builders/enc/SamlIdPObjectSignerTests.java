@@ -0,0 +1,92 @@
+package org.apereo.cas.support.saml.web.idp.profile.builders.enc;
+
+import org.apereo.cas.category.FileSystemCategory;
+import org.apereo.cas.support.saml.BaseSamlIdPConfigurationTests;
+import org.apereo.cas.support.saml.idp.metadata.locator.SamlIdPMetadataChangedEvent;
+import org.apereo.cas.support.saml.idp.metadata.locator.SamlIdPMetadataLocator;
+import org.apereo.cas.support.saml.services.idp.metadata.SamlRegisteredServiceServiceProviderMetadataFacade;
+
+import lombok.val;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.ApplicationEventPublisher;
+
+import static org.junit.Assert.*;
+
+/**
+ * This is {@link SamlIdPObjectSignerTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 6.1.0
+ */
+@Category(FileSystemCategory.class)
+public class SamlIdPObjectSignerTests extends BaseSamlIdPConfigurationTests {
+    @Autowired
+    private ApplicationEventPublisher applicationEventPublisher;
+
+    @Autowired
+    @Qualifier("samlIdPMetadataLocator")
+    private SamlIdPMetadataLocator samlIdPMetadataLocator;
+
+    @Test
+    public void verifySigningPrivateKeyIsCachedUntilMetadataChanges() throws Exception {
+        val privateKey = samlIdPObjectSigner.getSigningPrivateKey();
+        assertNotNull(privateKey);
+        assertSame(privateKey, samlIdPObjectSigner.getSigningPrivateKey());
+
+        applicationEventPublisher.publishEvent(new SamlIdPMetadataChangedEvent(this));
+        val reloaded = samlIdPObjectSigner.getSigningPrivateKey();
+        assertNotSame(privateKey, reloaded);
+        assertEquals(privateKey, reloaded);
+    }
+
+    @Test
+    public void verifySigningPrivateKeyIsReloadedOnceFileChanges() throws Exception {
+        val privateKey = samlIdPObjectSigner.getSigningPrivateKey();
+        assertSame(privateKey, samlIdPObjectSigner.getSigningPrivateKey());
+
+        val file = samlIdPMetadataLocator.getSigningKey().getFile();
+        val lastModified = file.lastModified();
+        try {
+            assertTrue(file.setLastModified(lastModified + 5000));
+            val reloaded = samlIdPObjectSigner.getSigningPrivateKey();
+            assertNotSame(privateKey, reloaded);
+            assertEquals(privateKey, reloaded);
+        } finally {
+            file.setLastModified(lastModified);
+        }
+    }
+
+    @Test
+    public void verifySigningCredentialsAreCachedUntilMetadataChanges() throws Exception {
+        val service = getSamlRegisteredServiceForTestShib(true, true);
+        val adaptor = SamlRegisteredServiceServiceProviderMetadataFacade.get(samlRegisteredServiceCachingMetadataResolver,
+            service, service.getServiceId()).get();
+
+        val credentials = samlIdPObjectSigner.getSignatureSigningConfiguration(adaptor.getSsoDescriptor(), service).getSigningCredentials();
+        assertFalse(credentials.isEmpty());
+        val cached = samlIdPObjectSigner.getSignatureSigningConfiguration(adaptor.getSsoDescriptor(), service).getSigningCredentials();
+        assertEquals(credentials.size(), cached.size());
+        assertSame(credentials.get(0), cached.get(0));
+
+        samlIdPObjectSigner.invalidate();
+        val resolved = samlIdPObjectSigner.getSignatureSigningConfiguration(adaptor.getSsoDescriptor(), service).getSigningCredentials();
+        assertEquals(credentials.size(), resolved.size());
+        assertNotSame(credentials.get(0), resolved.get(0));
+    }
+
+    @Test
+    public void verifySigningCredentialsAreCachedPerCredentialType() throws Exception {
+        val service = getSamlRegisteredServiceForTestShib(true, true);
+        val adaptor = SamlRegisteredServiceServiceProviderMetadataFacade.get(samlRegisteredServiceCachingMetadataResolver,
+            service, service.getServiceId()).get();
+        service.setSigningCredentialType("X509");
+        val x509 = samlIdPObjectSigner.getSignatureSigningConfiguration(adaptor.getSsoDescriptor(), service).getSigningCredentials();
+        service.setSigningCredentialType("BASIC");
+        val basic = samlIdPObjectSigner.getSignatureSigningConfiguration(adaptor.getSsoDescriptor(), service).getSigningCredentials();
+        assertNotSame(x509.get(0), basic.get(0));
+        assertNotEquals(x509.get(0).getClass(), basic.get(0).getClass());
+    }
+}
@@ -1,10 +1,9 @@
 package org.apereo.cas.web.flow.client;
 
-import org.apereo.cas.support.spnego.util.ReverseDNSRunnable;
+import org.apereo.cas.support.spnego.util.ReverseDNSResolver;
 import org.apereo.cas.util.RegexUtils;
 import org.apereo.cas.web.support.WebUtils;
 
-import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.Setter;
 import lombok.ToString;
@@ -32,7 +31,6 @@ import java.util.regex.Pattern;
 @ToString
 @Setter
 @Getter
-@AllArgsConstructor
 public class BaseSpnegoKnownClientSystemsFilterAction extends AbstractAction {
 
     /**
@@ -51,6 +49,11 @@ public class BaseSpnegoKnownClientSystemsFilterAction extends AbstractAction {
      */
     private long timeout;
 
+    /**
+     * Resolver shared by all requests to look up host names of client systems.
+     */
+    private ReverseDNSResolver reverseDNSResolver;
+
     /**
      * Instantiates a new Base.
      *
@@ -58,6 +61,23 @@ public class BaseSpnegoKnownClientSystemsFilterAction extends AbstractAction {
      */
     public BaseSpnegoKnownClientSystemsFilterAction(final String ipsToCheckPattern) {
         setIpsToCheckPattern(RegexUtils.createPattern(ipsToCheckPattern));
+        setReverseDNSResolver(new ReverseDNSResolver());
+    }
+
+    public BaseSpnegoKnownClientSystemsFilterAction(final Pattern ipsToCheckPattern,
+                                                    final String alternativeRemoteHostAttribute,
+                                                    final long timeout) {
+        this(ipsToCheckPattern, alternativeRemoteHostAttribute, timeout, new ReverseDNSResolver());
+    }
+
+    public BaseSpnegoKnownClientSystemsFilterAction(final Pattern ipsToCheckPattern,
+                                                    final String alternativeRemoteHostAttribute,
+                                                    final long timeout,
+                                                    final ReverseDNSResolver reverseDNSResolver) {
+        this.ipsToCheckPattern = ipsToCheckPattern;
+        this.alternativeRemoteHostAttribute = alternativeRemoteHostAttribute;
+        this.timeout = timeout;
+        this.reverseDNSResolver = reverseDNSResolver;
     }
 
 
@@ -144,23 +164,15 @@ public class BaseSpnegoKnownClientSystemsFilterAction extends AbstractAction {
     }
 
     /**
-     * Convenience method to perform a reverse DNS lookup. Threads the request
-     * through a custom Runnable class in order to prevent inordinately long
-     * user waits while performing reverse lookup.
+     * Convenience method to perform a reverse DNS lookup. The lookup is handed
+     * to a shared resolver that caches results by address, in order to prevent
+     * inordinately long user waits while performing reverse lookup.
      *
      * @param remoteIp the remote ip
      * @return the remote host name
      */
     protected String getRemoteHostName(final String remoteIp) {
-        val revDNS = new ReverseDNSRunnable(remoteIp);
-        val t = new Thread(revDNS);
-        t.start();
-        try {
-            t.join(this.timeout);
-        } catch (final InterruptedException e) {
-            LOGGER.debug("Threaded lookup failed.  Defaulting to IP [{}].", remoteIp, e);
-        }
-        val remoteHostName = revDNS.getHostName();
+        val remoteHostName = this.reverseDNSResolver.resolve(remoteIp, this.timeout);
         LOGGER.debug("Found remote host name [{}].", remoteHostName);
         return StringUtils.isNotBlank(remoteHostName) ? remoteHostName : remoteIp;
     }
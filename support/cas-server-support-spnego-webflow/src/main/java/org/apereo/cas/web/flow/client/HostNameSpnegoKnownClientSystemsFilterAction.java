@@ -1,5 +1,7 @@
 package org.apereo.cas.web.flow.client;
 
+import org.apereo.cas.support.spnego.util.ReverseDNSResolver;
+
 import lombok.extern.slf4j.Slf4j;
 import lombok.val;
 
@@ -36,6 +38,23 @@ public class HostNameSpnegoKnownClientSystemsFilterAction extends BaseSpnegoKnow
         this.hostNamePatternString = Pattern.compile(hostNamePatternString);
     }
 
+    /**
+     * Instantiates a new hostname spnego known client systems filter action.
+     *
+     * @param ipsToCheckPattern     the ips to check pattern
+     * @param alternativeHost       the alternative remote host attribute
+     * @param dnsTimeout            # of milliseconds to wait for a DNS request to return
+     * @param reverseDNSResolver    the shared reverse DNS resolver
+     * @param hostNamePatternString the host name pattern string.
+     */
+    public HostNameSpnegoKnownClientSystemsFilterAction(final Pattern ipsToCheckPattern, final String alternativeHost,
+                                                        final long dnsTimeout,
+                                                        final ReverseDNSResolver reverseDNSResolver,
+                                                        final String hostNamePatternString) {
+        super(ipsToCheckPattern, alternativeHost, dnsTimeout, reverseDNSResolver);
+        this.hostNamePatternString = Pattern.compile(hostNamePatternString);
+    }
+
     /**
      * {@inheritDoc}.
      * <p>
@@ -1,5 +1,7 @@
 package org.apereo.cas.web.flow.client;
 
+import org.apereo.cas.support.spnego.util.ReverseDNSResolver;
+
 import lombok.SneakyThrows;
 import lombok.extern.slf4j.Slf4j;
 import lombok.val;
@@ -56,6 +58,30 @@ public class LdapSpnegoKnownClientSystemsFilterAction extends BaseSpnegoKnownCli
         this.searchRequest = searchRequest;
     }
 
+    /**
+     * Instantiates a new action.
+     *
+     * @param ipsToCheckPattern              the ips to check pattern
+     * @param alternativeRemoteHostAttribute the alternative remote host attribute
+     * @param dnsTimeout                     # of milliseconds to wait for a DNS request to return
+     * @param reverseDNSResolver             the shared reverse DNS resolver
+     * @param connectionFactory              the connection factory
+     * @param searchRequest                  the search request
+     * @param spnegoAttributeName            the certificate revocation list attribute name
+     */
+    public LdapSpnegoKnownClientSystemsFilterAction(final Pattern ipsToCheckPattern,
+                                                    final String alternativeRemoteHostAttribute,
+                                                    final long dnsTimeout,
+                                                    final ReverseDNSResolver reverseDNSResolver,
+                                                    final ConnectionFactory connectionFactory,
+                                                    final SearchRequest searchRequest,
+                                                    final String spnegoAttributeName) {
+        super(ipsToCheckPattern, alternativeRemoteHostAttribute, dnsTimeout, reverseDNSResolver);
+        this.connectionFactory = connectionFactory;
+        this.spnegoAttributeName = spnegoAttributeName;
+        this.searchRequest = searchRequest;
+    }
+
     /**
      * Create and open a connection to ldap
      * via the given config and provider.
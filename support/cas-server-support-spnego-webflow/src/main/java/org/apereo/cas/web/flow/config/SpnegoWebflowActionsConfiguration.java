@@ -3,6 +3,7 @@ package org.apereo.cas.web.flow.config;
 import org.apereo.cas.authentication.adaptive.AdaptiveAuthenticationPolicy;
 import org.apereo.cas.configuration.CasConfigurationProperties;
 import org.apereo.cas.configuration.support.Beans;
+import org.apereo.cas.support.spnego.util.ReverseDNSResolver;
 import org.apereo.cas.util.LdapUtils;
 import org.apereo.cas.util.RegexUtils;
 import org.apereo.cas.web.flow.SpnegoCredentialsAction;
@@ -17,6 +18,7 @@ import lombok.val;
 import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.cloud.context.config.annotation.RefreshScope;
 import org.springframework.context.annotation.Bean;
@@ -71,13 +73,24 @@ public class SpnegoWebflowActionsConfiguration {
         return new SpnegoNegotiateCredentialsAction(supportedBrowsers, spnegoProperties.isNtlm(), spnegoProperties.isMixedModeAuthentication());
     }
 
+    @Bean
+    @ConditionalOnMissingBean(name = "spnegoReverseDNSResolver")
+    public ReverseDNSResolver spnegoReverseDNSResolver() {
+        val spnegoProperties = casProperties.getAuthn().getSpnego();
+        return new ReverseDNSResolver(spnegoProperties.getDnsResolverPoolSize(),
+            spnegoProperties.getDnsCacheMaximumSize(),
+            Beans.newDuration(spnegoProperties.getDnsCacheTimeToLive()),
+            Beans.newDuration(spnegoProperties.getDnsNegativeCacheTimeToLive()));
+    }
+
     @Bean
     @RefreshScope
     public Action baseSpnegoClientAction() {
         val spnegoProperties = casProperties.getAuthn().getSpnego();
         return new BaseSpnegoKnownClientSystemsFilterAction(RegexUtils.createPattern(spnegoProperties.getIpsToCheckPattern()),
             spnegoProperties.getAlternativeRemoteHostAttribute(),
-            Beans.newDuration(spnegoProperties.getDnsTimeout()).toMillis());
+            Beans.newDuration(spnegoProperties.getDnsTimeout()).toMillis(),
+            spnegoReverseDNSResolver());
     }
 
     @Bean
@@ -87,6 +100,7 @@ public class SpnegoWebflowActionsConfiguration {
         return new HostNameSpnegoKnownClientSystemsFilterAction(RegexUtils.createPattern(spnegoProperties.getIpsToCheckPattern()),
             spnegoProperties.getAlternativeRemoteHostAttribute(),
             Beans.newDuration(spnegoProperties.getDnsTimeout()).toMillis(),
+            spnegoReverseDNSResolver(),
             spnegoProperties.getHostNamePatternString());
     }
 
@@ -102,6 +116,7 @@ public class SpnegoWebflowActionsConfiguration {
         return new LdapSpnegoKnownClientSystemsFilterAction(RegexUtils.createPattern(spnegoProperties.getIpsToCheckPattern()),
             spnegoProperties.getAlternativeRemoteHostAttribute(),
             Beans.newDuration(spnegoProperties.getDnsTimeout()).toMillis(),
+            spnegoReverseDNSResolver(),
             connectionFactory,
             searchRequest,
             spnegoProperties.getSpnegoAttributeName());
@@ -0,0 +1,148 @@
+package org.apereo.cas.support.spnego.util;
+
+import com.github.benmanes.caffeine.cache.AsyncLoadingCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.concurrent.BasicThreadFactory;
+import org.springframework.beans.factory.DisposableBean;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Resolves host names of client systems through reverse DNS lookups that run on a shared, bounded pool.
+ * Results are cached by IP address; addresses that have no host name are remembered for a shorter period.
+ * Concurrent requests for the same address wait on the same lookup, and callers never wait longer than
+ * the given timeout: a lookup that is still running keeps going in the background and its result is cached
+ * for the requests that follow.
+ *
+ * @author Misagh Moayyed
+ * @since 6.1.0
+ */
+@Slf4j
+public class ReverseDNSResolver implements DisposableBean {
+    private static final int DEFAULT_POOL_SIZE = 10;
+
+    private static final int DEFAULT_QUEUE_CAPACITY = 1000;
+
+    private static final long DEFAULT_MAXIMUM_SIZE = 10_000;
+
+    private static final Duration DEFAULT_TIME_TO_LIVE = Duration.ofMinutes(10);
+
+    private static final Duration DEFAULT_NEGATIVE_TIME_TO_LIVE = Duration.ofMinutes(1);
+
+    private static final String METRIC_NAME = "cas.spnego.dns";
+
+    private final ThreadPoolExecutor executor;
+
+    private final AsyncLoadingCache<String, String> cache;
+
+    public ReverseDNSResolver() {
+        this(DEFAULT_POOL_SIZE, DEFAULT_MAXIMUM_SIZE, DEFAULT_TIME_TO_LIVE, DEFAULT_NEGATIVE_TIME_TO_LIVE);
+    }
+
+    public ReverseDNSResolver(final int poolSize, final long maximumSize,
+                              final Duration timeToLive, final Duration negativeTimeToLive) {
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 60, TimeUnit.SECONDS,
+            new LinkedBlockingQueue<>(DEFAULT_QUEUE_CAPACITY),
+            new BasicThreadFactory.Builder().namingPattern("spnego-dns-%d").daemon(true).build());
+        this.executor.allowCoreThreadTimeOut(true);
+        this.cache = Caffeine.newBuilder()
+            .maximumSize(maximumSize)
+            .expireAfter(new ResolvedHostNameExpirationPolicy(timeToLive, negativeTimeToLive))
+            .buildAsync((ipAddress, cacheExecutor) -> CompletableFuture.supplyAsync(() -> lookup(ipAddress), this.executor));
+    }
+
+    /**
+     * Resolve the host name of the given address, waiting no longer than the given timeout.
+     *
+     * @param ipAddress the ip address
+     * @param timeout   the number of milliseconds to wait for the lookup
+     * @return the host name, or the ip address itself if it cannot be resolved in time
+     */
+    public String resolve(final String ipAddress, final long timeout) {
+        if (StringUtils.isBlank(ipAddress)) {
+            return ipAddress;
+        }
+        try {
+            var result = this.cache.getIfPresent(ipAddress);
+            if (result != null && result.isDone()) {
+                Metrics.counter(METRIC_NAME + ".cache", "result", "hit").increment();
+            } else {
+                Metrics.counter(METRIC_NAME + ".cache", "result", "miss").increment();
+                result = this.cache.get(ipAddress);
+            }
+            val hostName = timeout > 0 ? result.get(timeout, TimeUnit.MILLISECONDS) : result.get();
+            return StringUtils.defaultIfBlank(hostName, ipAddress);
+        } catch (final TimeoutException e) {
+            LOGGER.debug("Reverse lookup of [{}] did not complete within [{}] ms. Defaulting to IP.", ipAddress, timeout);
+            Metrics.counter(METRIC_NAME + ".timeout").increment();
+        } catch (final InterruptedException e) {
+            LOGGER.debug("Reverse lookup of [{}] was interrupted. Defaulting to IP.", ipAddress, e);
+            Thread.currentThread().interrupt();
+        } catch (final Exception e) {
+            LOGGER.debug("Reverse lookup of [{}] failed. Defaulting to IP.", ipAddress, e);
+        }
+        return ipAddress;
+    }
+
+    @Override
+    public void destroy() {
+        this.executor.shutdownNow();
+    }
+
+    private static String lookup(final String ipAddress) {
+        val dns = new ReverseDNSRunnable(ipAddress);
+        val sample = Timer.start(Metrics.globalRegistry);
+        dns.run();
+        val hostName = dns.getHostName();
+        sample.stop(Metrics.timer(METRIC_NAME + ".lookup", "result",
+            isResolved(ipAddress, hostName) ? "resolved" : "unresolved"));
+        return hostName;
+    }
+
+    private static boolean isResolved(final String ipAddress, final String hostName) {
+        return StringUtils.isNotBlank(hostName) && !hostName.equals(ipAddress);
+    }
+
+    /**
+     * Keeps resolved host names for the configured time to live,
+     * and addresses that could not be resolved for the negative time to live.
+     */
+    private static class ResolvedHostNameExpirationPolicy implements Expiry<String, String> {
+        private final long timeToLive;
+
+        private final long negativeTimeToLive;
+
+        ResolvedHostNameExpirationPolicy(final Duration timeToLive, final Duration negativeTimeToLive) {
+            this.timeToLive = timeToLive.toNanos();
+            this.negativeTimeToLive = negativeTimeToLive.toNanos();
+        }
+
+        @Override
+        public long expireAfterCreate(final String ipAddress, final String hostName, final long currentTime) {
+            return isResolved(ipAddress, hostName) ? this.timeToLive : this.negativeTimeToLive;
+        }
+
+        @Override
+        public long expireAfterUpdate(final String ipAddress, final String hostName, final long currentTime,
+                                      final long currentDuration) {
+            return expireAfterCreate(ipAddress, hostName, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(final String ipAddress, final String hostName, final long currentTime,
+                                    final long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -3,6 +3,7 @@ package org.apereo.cas;
 import org.apereo.cas.support.spnego.authentication.handler.support.JcifsSpnegoAuthenticationHandlerTests;
 import org.apereo.cas.support.spnego.authentication.principal.SpnegoCredentialsTests;
 import org.apereo.cas.support.spnego.authentication.principal.SpnegoCredentialsToPrincipalResolverTests;
+import org.apereo.cas.support.spnego.util.ReverseDNSResolverTests;
 
 import org.junit.runner.RunWith;
 import org.junit.runners.Suite;
@@ -17,7 +18,8 @@ import org.junit.runners.Suite;
 @Suite.SuiteClasses({
     JcifsSpnegoAuthenticationHandlerTests.class,
     SpnegoCredentialsTests.class,
-    SpnegoCredentialsToPrincipalResolverTests.class
+    SpnegoCredentialsToPrincipalResolverTests.class,
+    ReverseDNSResolverTests.class
 })
 public class AllTestsSuite {
 }
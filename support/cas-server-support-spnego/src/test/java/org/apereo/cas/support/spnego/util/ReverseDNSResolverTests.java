@@ -0,0 +1,40 @@
+package org.apereo.cas.support.spnego.util;
+
+import lombok.val;
+import org.junit.Test;
+
+import java.time.Duration;
+
+import static org.junit.Assert.*;
+
+/**
+ * This is {@link ReverseDNSResolverTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 6.1.0
+ */
+public class ReverseDNSResolverTests {
+
+    @Test
+    public void verifyResolvedHostNameIsCached() {
+        val resolver = new ReverseDNSResolver(2, 100, Duration.ofMinutes(1), Duration.ofSeconds(10));
+        try {
+            val hostName = resolver.resolve("127.0.0.1", 5000);
+            assertNotNull(hostName);
+            assertEquals(hostName, resolver.resolve("127.0.0.1", 5000));
+        } finally {
+            resolver.destroy();
+        }
+    }
+
+    @Test
+    public void verifyBlankAddress() {
+        val resolver = new ReverseDNSResolver();
+        try {
+            assertNull(resolver.resolve(null, 1000));
+            assertEquals(" ", resolver.resolve(" ", 1000));
+        } finally {
+            resolver.destroy();
+        }
+    }
+}
@@ -8,13 +8,14 @@ import lombok.extern.slf4j.Slf4j;
 import lombok.val;
 
 import javax.servlet.http.HttpServletRequest;
-import java.time.ZoneOffset;
-import java.time.ZonedDateTime;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Implementation of a HandlerInterceptorAdapter that keeps track of a mapping
  * of IP Addresses to number of failures to authenticate.
+ * Failures are counted per key in a {@link ThrottledSubmissionWindow}, and a submission is throttled
+ * once more failures than the failure threshold are counted within the failure range.
  *
  * @author Scott Battaglia
  * @since 3.0.0
@@ -23,9 +24,7 @@ import java.util.concurrent.ConcurrentMap;
 public abstract class AbstractInMemoryThrottledSubmissionHandlerInterceptorAdapter extends AbstractThrottledSubmissionHandlerInterceptorAdapter
     implements InMemoryThrottledSubmissionHandlerInterceptor {
 
-    private static final double SUBMISSION_RATE_DIVIDEND = 1000.0;
-
-    private final ConcurrentMap<String, ZonedDateTime> ipMap;
+    private final ConcurrentMap<String, ThrottledSubmissionWindow> ipMap;
 
     public AbstractInMemoryThrottledSubmissionHandlerInterceptorAdapter(final int failureThreshold,
                                                                         final int failureRangeInSeconds,
@@ -42,28 +41,23 @@ public abstract class AbstractInMemoryThrottledSubmissionHandlerInterceptorAdapt
         this.ipMap = map;
     }
 
-    /**
-     * Computes the instantaneous rate in between two given dates corresponding to two submissions.
-     *
-     * @param a First date.
-     * @param b Second date.
-     * @return Instantaneous submission rate in submissions/sec, e.g. {@code a - b}.
-     */
-    private static double submissionRate(final ZonedDateTime a, final ZonedDateTime b) {
-        return SUBMISSION_RATE_DIVIDEND / (a.toInstant().toEpochMilli() - b.toInstant().toEpochMilli());
-    }
-
     @Override
     public boolean exceedsThreshold(final HttpServletRequest request) {
-        val last = this.ipMap.get(constructKey(request));
-        return last != null && submissionRate(ZonedDateTime.now(ZoneOffset.UTC), last) > getThresholdRate();
+        val window = this.ipMap.get(constructKey(request));
+        return window != null && window.getFailureCount(System.currentTimeMillis(), getFailureRangeInMillis()) > getFailureThreshold();
     }
 
     @Override
     public void recordSubmissionFailure(final HttpServletRequest request) {
         val key = constructKey(request);
         LOGGER.debug("Recording submission failure [{}]", key);
-        this.ipMap.put(key, ZonedDateTime.now(ZoneOffset.UTC));
+        val now = System.currentTimeMillis();
+        val length = getFailureRangeInMillis();
+        this.ipMap.compute(key, (k, window) -> ThrottledSubmissionWindow.record(window, now, length));
+    }
+
+    private long getFailureRangeInMillis() {
+        return TimeUnit.SECONDS.toMillis(Math.max(getFailureRangeInSeconds(), 1));
     }
 
     /**
@@ -73,8 +67,9 @@ public abstract class AbstractInMemoryThrottledSubmissionHandlerInterceptorAdapt
     @Override
     public void decrement() {
         LOGGER.info("Beginning audit cleanup...");
-        val now = ZonedDateTime.now(ZoneOffset.UTC);
-        this.ipMap.entrySet().removeIf(entry -> submissionRate(now, entry.getValue()) < getThresholdRate());
+        val now = System.currentTimeMillis();
+        val length = getFailureRangeInMillis();
+        this.ipMap.entrySet().removeIf(entry -> entry.getValue().isExpired(now, length));
         LOGGER.debug("Done decrementing count for throttler.");
     }
 }
@@ -0,0 +1,84 @@
+package org.apereo.cas.web.support;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+import lombok.val;
+
+import java.io.Serializable;
+
+/**
+ * This is {@link ThrottledSubmissionWindow}. It counts submission failures in a sliding window,
+ * approximated by the failure counts of the current fixed window and the one before it.
+ * The number of failures in the sliding window is the count of the current window, plus the count of
+ * the previous window weighted by how much of it still overlaps with the sliding window.
+ * Instances are immutable, so they can be safely replaced in shared and distributed maps.
+ *
+ * @author Misagh Moayyed
+ * @since 6.1.0
+ */
+@Getter
+@ToString
+@EqualsAndHashCode
+@RequiredArgsConstructor
+public class ThrottledSubmissionWindow implements Serializable {
+    private static final long serialVersionUID = -3519542406553298467L;
+
+    private final long windowStart;
+
+    private final int previousCount;
+
+    private final int currentCount;
+
+    /**
+     * Record a submission failure.
+     *
+     * @param window the window, may be null if no failures are recorded yet
+     * @param now    the current time in milliseconds
+     * @param length the window length in milliseconds
+     * @return the window that includes the failure
+     */
+    public static ThrottledSubmissionWindow record(final ThrottledSubmissionWindow window, final long now, final long length) {
+        if (window == null) {
+            return new ThrottledSubmissionWindow(now, 0, 1);
+        }
+        val elapsedWindows = (now - window.windowStart) / length;
+        if (elapsedWindows <= 0) {
+            return new ThrottledSubmissionWindow(window.windowStart, window.previousCount, window.currentCount + 1);
+        }
+        val previous = elapsedWindows == 1 ? window.currentCount : 0;
+        return new ThrottledSubmissionWindow(window.windowStart + elapsedWindows * length, previous, 1);
+    }
+
+    /**
+     * Estimate the number of failures in the sliding window that ends now.
+     *
+     * @param now    the current time in milliseconds
+     * @param length the window length in milliseconds
+     * @return the estimated number of failures
+     */
+    public double getFailureCount(final long now, final long length) {
+        val elapsed = now - this.windowStart;
+        if (elapsed >= 2 * length) {
+            return 0;
+        }
+        if (elapsed >= length) {
+            val overlap = 1.0 - (double) (elapsed - length) / length;
+            return this.currentCount * overlap;
+        }
+        val overlap = 1.0 - (double) Math.max(elapsed, 0) / length;
+        return this.currentCount + this.previousCount * overlap;
+    }
+
+    /**
+     * Whether no failures of this window overlap with the sliding window that ends now.
+     *
+     * @param now    the current time in milliseconds
+     * @param length the window length in milliseconds
+     * @return true/false
+     */
+    public boolean isExpired(final long now, final long length) {
+        return now - this.windowStart >= 2 * length;
+    }
+}
@@ -0,0 +1,48 @@
+package org.apereo.cas.web.support;
+
+import lombok.val;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * This is {@link ThrottledSubmissionWindowTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 6.1.0
+ */
+public class ThrottledSubmissionWindowTests {
+    private static final long LENGTH = 1000;
+
+    @Test
+    public void verifyFailuresInCurrentWindow() {
+        var window = ThrottledSubmissionWindow.record(null, 0, LENGTH);
+        window = ThrottledSubmissionWindow.record(window, 100, LENGTH);
+        window = ThrottledSubmissionWindow.record(window, 200, LENGTH);
+        assertEquals(3, window.getFailureCount(500, LENGTH), 0);
+        assertFalse(window.isExpired(500, LENGTH));
+    }
+
+    @Test
+    public void verifyPreviousWindowIsWeighted() {
+        var window = ThrottledSubmissionWindow.record(null, 0, LENGTH);
+        window = ThrottledSubmissionWindow.record(window, 100, LENGTH);
+        window = ThrottledSubmissionWindow.record(window, 1500, LENGTH);
+        assertEquals(LENGTH, window.getWindowStart());
+        assertEquals(2, window.getPreviousCount());
+        assertEquals(1, window.getCurrentCount());
+        assertEquals(2, window.getFailureCount(1500, LENGTH), 0);
+    }
+
+    @Test
+    public void verifyWindowExpires() {
+        val window = ThrottledSubmissionWindow.record(null, 0, LENGTH);
+        assertEquals(0.5, window.getFailureCount(1500, LENGTH), 0);
+        assertTrue(window.isExpired(2 * LENGTH, LENGTH));
+        assertEquals(0, window.getFailureCount(2 * LENGTH, LENGTH), 0);
+
+        val next = ThrottledSubmissionWindow.record(window, 5 * LENGTH, LENGTH);
+        assertEquals(0, next.getPreviousCount());
+        assertEquals(1, next.getCurrentCount());
+    }
+}